@@ -89,6 +89,25 @@ public interface Calendar extends java.io.Serializable, java.lang.Cloneable {
      */
     long getNextIncludedTime(long timeStamp);
 
+    /**
+     * <p>
+     * Determine the start of the next interval of time (in milliseconds)
+     * that may be 'included' by the Calendar, at or after the given time.
+     * Every time from the given time up to, but not including, the returned
+     * one is excluded, so that triggers can skip over an excluded range in
+     * one step rather than trying each of their fire times within it.
+     * </p>
+     *
+     * <p>
+     * The returned time itself need not be included, it is only a lower
+     * bound.  The default implementation returns the given time, which is
+     * always correct.
+     * </p>
+     */
+    default long getNextIncludedIntervalStart(long timeStamp) {
+        return timeStamp;
+    }
+
     /**
      * <p>
      * Return the description given to the <code>Calendar</code> instance by
@@ -0,0 +1,620 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.quartz;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.TreeSet;
+
+/**
+ * A <code>{@link CronExpression}</code> compiled into bit masks, evaluated
+ * with arithmetic on local epoch seconds rather than with a
+ * <code>java.util.Calendar</code>.
+ *
+ * <p>
+ * <code>{@link #getTimeAfter(long, TimeZone)}</code> takes exactly the steps
+ * <code>CronExpression.getTimeAfter</code> takes - advancing the second, the
+ * minute, the hour, the day, the month and the year in turn, and starting
+ * over whenever one of them moves - so that it gives the very same results,
+ * quirks included.  The one thing it does not reproduce is how a lenient
+ * <code>Calendar</code> resolves local times that are skipped or repeated
+ * at a daylight saving transition: when the time searched from, or the time
+ * found, is within a few days of a transition of the time zone, it answers
+ * <code>{@link #UNSUPPORTED}</code> and the caller uses the
+ * <code>Calendar</code> instead.  Expressions using the 'W' character are
+ * not compiled at all.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable, apart from a cache of time zone rules, and
+ * thread-safe.
+ * </p>
+ */
+final class CompiledCronExpression {
+
+    /** Returned when there is no time after the given one. */
+    static final long NO_TIME = Long.MAX_VALUE;
+
+    /** Returned when the time has to be computed with a <code>Calendar</code>. */
+    static final long UNSUPPORTED = Long.MIN_VALUE;
+
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    // how far from a time zone transition a lenient Calendar may behave
+    // differently from plain local time arithmetic
+    private static final long TRANSITION_MARGIN_MILLIS = 3L * SECONDS_PER_DAY * 1000L;
+
+    // the Calendar used by CronExpression switches to the Julian calendar
+    // in 1582
+    private static final long MIN_LOCAL_SECOND = daysFromCivil(1600, 1, 1) * SECONDS_PER_DAY;
+
+    // java.util.TimeZone only keeps the transitions of a zone up to the end
+    // of 2037, and follows a repeating rule after that
+    private static final long TIME_ZONE_TRANSITIONS_END = daysFromCivil(2038, 1, 1) * SECONDS_PER_DAY * 1000L;
+
+    // the seconds or minutes mask of '*'
+    private static final long ALL_SIXTY = (1L << 60) - 1;
+
+    private final long seconds;
+    private final long minutes;
+    private final int hours;
+    // days 1 to 31, and the "L-30" to "L" offsets at their codes, 32 to 62
+    private final long daysOfMonth;
+    private final int months;
+    private final int daysOfWeek;
+    private final int[] years;
+    private final boolean byDayOfMonth;
+    private final boolean lastDayOfWeek;
+    private final int nthDayOfWeek;
+
+    private volatile ZoneWindow zoneWindow;
+
+    private CompiledCronExpression(CronExpression expression, boolean byDayOfMonth) {
+        this.seconds = mask(expression.seconds, 0, 59);
+        this.minutes = mask(expression.minutes, 0, 59);
+        this.hours = (int) mask(expression.hours, 0, 23);
+        this.daysOfMonth = mask(expression.daysOfMonth, 1, CronExpression.LAST_DAY_OFFSET_END);
+        this.months = (int) mask(expression.months, 1, 12);
+        this.daysOfWeek = (int) mask(expression.daysOfWeek, 1, 7);
+        this.years = new int[expression.years.size()];
+        int i = 0;
+        for (int year : expression.years) {
+            years[i++] = year;
+        }
+        this.byDayOfMonth = byDayOfMonth;
+        this.lastDayOfWeek = expression.lastDayOfWeek;
+        this.nthDayOfWeek = expression.nthDayOfWeek;
+    }
+
+    // shares the fields of the given one, which never change
+    private CompiledCronExpression(CompiledCronExpression compiled) {
+        this.seconds = compiled.seconds;
+        this.minutes = compiled.minutes;
+        this.hours = compiled.hours;
+        this.daysOfMonth = compiled.daysOfMonth;
+        this.months = compiled.months;
+        this.daysOfWeek = compiled.daysOfWeek;
+        this.years = compiled.years;
+        this.byDayOfMonth = compiled.byDayOfMonth;
+        this.lastDayOfWeek = compiled.lastDayOfWeek;
+        this.nthDayOfWeek = compiled.nthDayOfWeek;
+    }
+
+    /**
+     * Get a copy of this compiled expression, for a copy of the expression
+     * it was compiled from, which may be resolved in another time zone: the
+     * offsets of the time zone are kept for one of them at a time.
+     */
+    CompiledCronExpression copy() {
+        return new CompiledCronExpression(this);
+    }
+
+    /**
+     * Compile the given, parsed, expression.
+     *
+     * @return the compiled expression, or null if it uses features that
+     *         are not compiled
+     */
+    static CompiledCronExpression compile(CronExpression expression) {
+        if (!expression.nearestWeekdays.isEmpty()) {
+            return null;
+        }
+        boolean dayOfMSpec = !expression.daysOfMonth.contains(CronExpression.NO_SPEC);
+        boolean dayOfWSpec = !expression.daysOfWeek.contains(CronExpression.NO_SPEC);
+        if (dayOfMSpec == dayOfWSpec) {
+            return null; // the Calendar based computation reports this
+        }
+        CompiledCronExpression compiled = new CompiledCronExpression(expression, dayOfMSpec);
+        if (compiled.seconds == 0L || compiled.minutes == 0L || compiled.hours == 0
+                || compiled.months == 0 || compiled.years.length == 0
+                || (dayOfWSpec && compiled.daysOfWeek == 0)) {
+            return null;
+        }
+        return compiled;
+    }
+
+    private static long mask(TreeSet<Integer> values, int min, int max) {
+        long mask = 0L;
+        for (int value : values) {
+            // the '*' and '?' markers lie outside of every field's range
+            if (value >= min && value <= max) {
+                mask |= 1L << value;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Get the first time after the given one that satisfies the expression,
+     * in the given time zone.
+     *
+     * @return the time, in milliseconds, <code>{@link #NO_TIME}</code> if
+     *         there is none, or <code>{@link #UNSUPPORTED}</code> if it has to
+     *         be computed with a <code>Calendar</code>
+     */
+    long getTimeAfter(long afterTime, TimeZone timeZone) {
+        // move ahead one second, since we're computing the time *after* the
+        // given time
+        long start = afterTime + 1000L;
+        ZoneWindow window = zoneWindow(timeZone, start);
+        if (window == null) {
+            return UNSUPPORTED;
+        }
+
+        long localStart = Math.floorDiv(start + window.offset, 1000L);
+        if (localStart < MIN_LOCAL_SECOND) {
+            return UNSUPPORTED;
+        }
+
+        long local = getLocalTimeAfter(localStart);
+        if (local == NO_TIME) {
+            return NO_TIME;
+        }
+
+        long time = local * 1000L - window.offset;
+        if (!window.contains(time)) {
+            window = zoneWindow(timeZone, time);
+            if (window == null) {
+                return UNSUPPORTED;
+            }
+            time = local * 1000L - window.offset;
+            if (!window.contains(time)) {
+                return UNSUPPORTED;
+            }
+        }
+        return time;
+    }
+
+    /**
+     * Get the end of the run of seconds satisfying the expression, in the
+     * given time zone, that the given time is in: the first time after it
+     * that does not satisfy the expression.  The run is followed a minute,
+     * an hour or a day at a time where every second of them satisfies the
+     * expression.
+     *
+     * @return the time, in milliseconds, <code>noLaterThan</code> if the run
+     *         lasts until then, the given time if it does not satisfy the
+     *         expression, or <code>{@link #UNSUPPORTED}</code> if it has to
+     *         be computed with a <code>Calendar</code>
+     */
+    long getSatisfiedRangeEnd(long time, TimeZone timeZone, long noLaterThan) {
+        ZoneWindow window = zoneWindow(timeZone, time);
+        if (window == null) {
+            return UNSUPPORTED;
+        }
+
+        long local = Math.floorDiv(time + window.offset, 1000L);
+        if (local < MIN_LOCAL_SECOND) {
+            return UNSUPPORTED;
+        }
+        if (getLocalTimeAfter(local) != local) {
+            return time;
+        }
+
+        // the run is only followed while the window's offset holds
+        long limit = Math.min(window.to, noLaterThan);
+        long localLimit = Math.floorDiv(limit, 1000L) + window.offset / 1000L;
+        long t = local;
+        while (t < localLimit) {
+            // t satisfies the expression, and so does the rest of its
+            // minute, hour or day as far as the smaller fields allow
+            long epochDay = Math.floorDiv(t, SECONDS_PER_DAY);
+            int secondOfDay = (int) (t - epochDay * SECONDS_PER_DAY);
+            int hr = secondOfDay / 3600;
+            int min = secondOfDay / 60 % 60;
+            int sec = secondOfDay % 60;
+            long minuteStart = t - sec;
+            long hourStart = minuteStart - min * 60L;
+
+            int end = runEnd(seconds, sec);
+            if (end < 60) {
+                t = minuteStart + end;
+                break;
+            }
+            if (seconds != ALL_SIXTY) {
+                t = minuteStart + 60L;
+            } else {
+                end = runEnd(minutes, min);
+                if (end < 60) {
+                    t = hourStart + end * 60L;
+                    break;
+                }
+                if (minutes != ALL_SIXTY) {
+                    t = hourStart + 3600L;
+                } else {
+                    end = runEnd(hours, hr);
+                    if (end < 24) {
+                        t = epochDay * SECONDS_PER_DAY + end * 3600L;
+                        break;
+                    }
+                    t = (epochDay + 1) * SECONDS_PER_DAY;
+                }
+            }
+            if (getLocalTimeAfter(t) != t) {
+                break;
+            }
+        }
+        // within a day of the window's end, the offset still holds
+        return Math.min(t * 1000L - window.offset, limit);
+    }
+
+    /**
+     * The steps of <code>CronExpression.getTimeAfter</code>, on local epoch
+     * seconds: every field that has to move moves, resets the smaller ones,
+     * and starts the search over.
+     */
+    private long getLocalTimeAfter(long time) {
+        while (true) {
+            long epochDay = Math.floorDiv(time, SECONDS_PER_DAY);
+            int secondOfDay = (int) (time - epochDay * SECONDS_PER_DAY);
+            int date = civil(epochDay);
+            int year = date >> 9;
+            int mon = (date >> 5) & 15;
+            int day = date & 31;
+            int hr = secondOfDay / 3600;
+            int min = secondOfDay / 60 % 60;
+            int sec = secondOfDay % 60;
+
+            if (year > 2999) { // prevent endless loop...
+                return NO_TIME;
+            }
+
+            // get second.................................................
+            int next = nextBit(seconds, sec);
+            if (next != sec) {
+                time += next < 0 ? 60 - sec + firstBit(seconds) : next - sec;
+                continue;
+            }
+
+            // get minute.................................................
+            next = nextBit(minutes, min);
+            if (next != min) {
+                long hourStart = epochDay * SECONDS_PER_DAY + hr * 3600L;
+                time = next < 0 ? hourStart + 3600L + firstBit(minutes) * 60L : hourStart + next * 60L;
+                continue;
+            }
+
+            // get hour...................................................
+            next = nextBit(hours, hr);
+            if (next != hr) {
+                time = next < 0 ? (epochDay + 1) * SECONDS_PER_DAY + firstBit(hours) * 3600L
+                        : epochDay * SECONDS_PER_DAY + next * 3600L;
+                continue;
+            }
+
+            // get day...................................................
+            if (byDayOfMonth) {
+                int smallestDay = findSmallestDay(day, mon, year);
+                if (smallestDay < 0) {
+                    time = firstOfMonth(year, mon + 1);
+                    continue;
+                }
+                if (smallestDay != day) {
+                    time = (epochDay + smallestDay - day) * SECONDS_PER_DAY;
+                    continue;
+                }
+            } else {
+                int cDow = dayOfWeek(epochDay);
+                int dow = firstBit(daysOfWeek);
+                int lDay = getLastDayOfMonth(mon, year);
+                if (lastDayOfWeek) {
+                    int daysToAdd = daysUntil(cDow, dow);
+                    if (day + daysToAdd > lDay) {
+                        time = firstOfMonth(year, mon + 1);
+                        continue;
+                    }
+                    while ((day + daysToAdd + 7) <= lDay) {
+                        daysToAdd += 7;
+                    }
+                    if (daysToAdd > 0) {
+                        time = (epochDay + daysToAdd) * SECONDS_PER_DAY;
+                        continue;
+                    }
+                } else if (nthDayOfWeek != 0) {
+                    int daysToAdd = daysUntil(cDow, dow);
+                    boolean dayShifted = daysToAdd > 0;
+                    int nthDay = day + daysToAdd;
+                    int weekOfMonth = nthDay / 7;
+                    if (nthDay % 7 > 0) {
+                        weekOfMonth++;
+                    }
+                    int weeksToAdd = (nthDayOfWeek - weekOfMonth) * 7;
+                    nthDay += weeksToAdd;
+                    if (weeksToAdd < 0 || nthDay > lDay) {
+                        time = firstOfMonth(year, mon + 1);
+                        continue;
+                    } else if (weeksToAdd > 0 || dayShifted) {
+                        time = (epochDay + nthDay - day) * SECONDS_PER_DAY;
+                        continue;
+                    }
+                } else {
+                    next = nextBit(daysOfWeek, cDow);
+                    int daysToAdd = daysUntil(cDow, next < 0 ? dow : next);
+                    if (day + daysToAdd > lDay) {
+                        time = firstOfMonth(year, mon + 1);
+                        continue;
+                    } else if (daysToAdd > 0) {
+                        time = (epochDay + daysToAdd) * SECONDS_PER_DAY;
+                        continue;
+                    }
+                }
+            }
+
+            // test for expressions that never generate a valid fire date,
+            // but keep looping...
+            if (year > CronExpression.MAX_YEAR) {
+                return NO_TIME;
+            }
+
+            // get month...................................................
+            next = nextBit(months, mon);
+            if (next != mon) {
+                time = next < 0 ? firstOfMonth(year + 1, firstBit(months)) : firstOfMonth(year, next);
+                continue;
+            }
+
+            // get year...................................................
+            int i = Arrays.binarySearch(years, year);
+            if (i < 0) {
+                i = -i - 1;
+                if (i == years.length) {
+                    return NO_TIME; // ran out of years...
+                }
+                time = firstOfMonth(years[i], 1);
+                continue;
+            }
+
+            return time;
+        }
+    }
+
+    /**
+     * <code>CronExpression.findSmallestDay</code>, on the day of month mask.
+     *
+     * @return the day, or -1 if there is none
+     */
+    private int findSmallestDay(int day, int mon, int year) {
+        int lastDay = getLastDayOfMonth(mon, year);
+        // For "L", "L-1", etc.
+        int code = nextBit(daysOfMonth, CronExpression.LAST_DAY_OFFSET_END - (lastDay - day));
+        int smallestDay = code < 0 ? Integer.MAX_VALUE : code - CronExpression.LAST_DAY_OFFSET_START + 1;
+
+        // For "1", "2", etc.
+        int first = nextBit(daysOfMonth & ((1L << CronExpression.LAST_DAY_OFFSET_START) - 1), day);
+        // make sure we don't over-run a short month, such as february
+        if (first >= 0 && first < smallestDay && first <= lastDay) {
+            return first;
+        }
+
+        if (smallestDay == Integer.MAX_VALUE) {
+            return -1;
+        }
+        return smallestDay + lastDay - CronExpression.LAST_DAY_OFFSET_START + 1;
+    }
+
+    private static int daysUntil(int cDow, int dow) {
+        if (cDow < dow) {
+            return dow - cDow;
+        }
+        if (cDow > dow) {
+            return dow + (7 - cDow);
+        }
+        return 0;
+    }
+
+    private static int nextBit(long mask, int from) {
+        if (from >= 64) {
+            return -1;
+        }
+        long bits = mask & (-1L << from);
+        return bits == 0L ? -1 : Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * @return the first bit at or after the given one that is not set
+     */
+    private static int runEnd(long mask, int from) {
+        return Long.numberOfTrailingZeros(~mask & (-1L << from));
+    }
+
+    private static int firstBit(long mask) {
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    //
+    // Date arithmetic, on the proleptic Gregorian calendar
+    //
+    ////////////////////////////////////////////////////////////////////////////
+
+    static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yoe = y - era * 400;
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097L + doe - 719468L;
+    }
+
+    /**
+     * @return the year, month and day of month of the given epoch day, packed
+     *         as <code>year &lt;&lt; 9 | month &lt;&lt; 5 | day</code>
+     */
+    static int civil(long epochDay) {
+        long z = epochDay + 719468L;
+        long era = Math.floorDiv(z, 146097L);
+        int doe = (int) (z - era * 146097L);
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yoe + era * 400L) + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    /**
+     * @return the day of the week, from <code>Calendar.SUNDAY</code> to
+     *         <code>Calendar.SATURDAY</code>
+     */
+    static int dayOfWeek(long epochDay) {
+        // 1970-01-01 was a Thursday
+        return (int) Math.floorMod(epochDay + 4, 7L) + 1;
+    }
+
+    private static long firstOfMonth(int year, int month) {
+        if (month > 12) {
+            year++;
+            month -= 12;
+        }
+        return daysFromCivil(year, month, 1) * SECONDS_PER_DAY;
+    }
+
+    static int getLastDayOfMonth(int month, int year) {
+        switch (month) {
+            case 2:
+                return ((year % 4 == 0 && year % 100 != 0) || (year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    //
+    // Time zone handling
+    //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get the stretch of time around the given time over which the time zone
+     * has a single offset, and is far enough from its transitions, or null if
+     * there is none or the time zone's rules are not known.
+     */
+    private ZoneWindow zoneWindow(TimeZone timeZone, long time) {
+        ZoneWindow window = zoneWindow;
+        if (window != null && window.timeZone == timeZone) {
+            if (window.rules == null) {
+                return null;
+            }
+            if (window.contains(time)) {
+                return window;
+            }
+        }
+
+        ZoneRules rules = window != null && window.timeZone == timeZone ? window.rules : rulesOf(timeZone);
+        if (rules == null) {
+            zoneWindow = new ZoneWindow(timeZone, null, 0L, -1L, 0);
+            return null;
+        }
+
+        Instant instant = Instant.ofEpochMilli(time);
+        int offset = rules.getOffset(instant).getTotalSeconds() * 1000;
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+        if (!rules.isFixedOffset()) {
+            // a transition at the given time is a previous one
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1L));
+            if (previous != null) {
+                from = previous.getInstant().toEpochMilli() + TRANSITION_MARGIN_MILLIS;
+            }
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            if (next != null) {
+                to = next.getInstant().toEpochMilli() - TRANSITION_MARGIN_MILLIS;
+            }
+            List<ZoneOffsetTransition> transitions = rules.getTransitions();
+            if (to > TIME_ZONE_TRANSITIONS_END && !transitions.isEmpty()
+                    && transitions.get(transitions.size() - 1).getInstant().toEpochMilli() >= TIME_ZONE_TRANSITIONS_END) {
+                // irregular transitions after 2037, that the time zone doesn't know of
+                to = TIME_ZONE_TRANSITIONS_END - TRANSITION_MARGIN_MILLIS;
+            }
+        }
+        if (timeZone.getOffset(time) != offset) {
+            // the time zone disagrees with its own rules
+            zoneWindow = new ZoneWindow(timeZone, null, 0L, -1L, 0);
+            return null;
+        }
+
+        window = new ZoneWindow(timeZone, rules, from, to, offset);
+        zoneWindow = window;
+        return window.contains(time) ? window : null;
+    }
+
+    private static ZoneRules rulesOf(TimeZone timeZone) {
+        try {
+            ZoneId zoneId = timeZone.toZoneId();
+            // a custom SimpleTimeZone may carry the ID of a different zone
+            if (!timeZone.hasSameRules(TimeZone.getTimeZone(zoneId))) {
+                return null;
+            }
+            return zoneId.getRules();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class ZoneWindow {
+        private final TimeZone timeZone;
+        private final ZoneRules rules;
+        private final long from;
+        private final long to;
+        private final int offset;
+
+        private ZoneWindow(TimeZone timeZone, ZoneRules rules, long from, long to, int offset) {
+            this.timeZone = timeZone;
+            this.rules = rules;
+            this.from = from;
+            this.to = to;
+            this.offset = offset;
+        }
+
+        private boolean contains(long time) {
+            return time >= from && time <= to;
+        }
+    }
+}
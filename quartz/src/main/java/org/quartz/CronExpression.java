@@ -263,6 +263,7 @@ public final class CronExpression implements Serializable, Cloneable {
     protected transient boolean lastDayOfWeek = false;
     protected transient int nthDayOfWeek = 0;
     protected transient boolean expressionParsed = false;
+    private transient CompiledCronExpression compiled;
     
     public static final int MAX_YEAR = Calendar.getInstance().get(Calendar.YEAR) + 100;
 
@@ -288,26 +289,32 @@ public final class CronExpression implements Serializable, Cloneable {
     
     /**
      * Constructs a new {@code CronExpression} as a copy of an existing
-     * instance.
+     * instance.  The copy has its own time zone, but shares the parsed
+     * form of the expression, which never changes once parsed.
      * 
      * @param expression
      *            The existing cron expression to be copied
      */
     public CronExpression(CronExpression expression) {
-        /*
-         * We don't call the other constructor here since we need to swallow the
-         * ParseException. We also elide some of the sanity checking as it is
-         * not logically trippable.
-         */
+        this(expression, (TimeZone) expression.getTimeZone().clone());
+    }
+
+    // a copy of the given expression, resolved in the given time zone
+    CronExpression(CronExpression expression, TimeZone timeZone) {
         this.cronExpression = expression.getCronExpression();
-        try {
-            buildExpression(cronExpression);
-        } catch (ParseException ex) {
-            throw new AssertionError("Could not parse expression!", ex);
-        }
-        if (expression.getTimeZone() != null) {
-            setTimeZone((TimeZone) expression.getTimeZone().clone());
-        }
+        this.seconds = expression.seconds;
+        this.minutes = expression.minutes;
+        this.hours = expression.hours;
+        this.daysOfMonth = expression.daysOfMonth;
+        this.nearestWeekdays = expression.nearestWeekdays;
+        this.months = expression.months;
+        this.daysOfWeek = expression.daysOfWeek;
+        this.years = expression.years;
+        this.lastDayOfWeek = expression.lastDayOfWeek;
+        this.nthDayOfWeek = expression.nthDayOfWeek;
+        this.expressionParsed = expression.expressionParsed;
+        this.compiled = (expression.compiled != null) ? expression.compiled.copy() : null;
+        this.timeZone = timeZone;
     }
 
     /**
@@ -343,6 +350,28 @@ public final class CronExpression implements Serializable, Cloneable {
     public Date getNextValidTimeAfter(Date date) {
         return getTimeAfter(date);
     }
+
+    /**
+     * Returns the next time (in milliseconds) <I>after</I> the given time
+     * which satisfies the cron expression, like
+     * <code>{@link #getNextValidTimeAfter(Date)}</code>, but without creating
+     * a <code>Date</code> where the expression can be evaluated without one.
+     * 
+     * @param time the time at which to begin the search for the next valid
+     *             time
+     * @return the next valid time, or <code>Long.MAX_VALUE</code> if there is
+     *         none
+     */
+    public long getNextValidTimeAfter(long time) {
+        if (compiled != null) {
+            long next = compiled.getTimeAfter(time, getTimeZone());
+            if (next != CompiledCronExpression.UNSUPPORTED) {
+                return next;
+            }
+        }
+        Date next = getTimeAfterUsingCalendar(new Date(time));
+        return (next == null) ? Long.MAX_VALUE : next.getTime();
+    }
     
     /**
      * Returns the next date/time <I>after</I> the given date/time which does
@@ -383,6 +412,30 @@ public final class CronExpression implements Serializable, Cloneable {
         return new Date(lastDate.getTime() + 1000);
     }
     
+    /**
+     * Returns the end of the run of seconds satisfying the expression that
+     * the given time is in: the first time (in milliseconds) after it that
+     * does not satisfy the expression.  Unlike
+     * <code>{@link #getNextInvalidTimeAfter(Date)}</code>, this steps over
+     * whole minutes, hours and days at once, and gives up where it would
+     * have to test every second.
+     * 
+     * @param time the time at which to begin the search
+     * @param noLaterThan the time at which to stop the search
+     * @return the end of the run, <code>noLaterThan</code> if the run lasts
+     *         until then, or the given time if it does not satisfy the
+     *         expression or the end of its run is not known
+     */
+    public long getSatisfiedRangeEnd(long time, long noLaterThan) {
+        if (compiled != null) {
+            long end = compiled.getSatisfiedRangeEnd(time, getTimeZone(), noLaterThan);
+            if (end != CompiledCronExpression.UNSUPPORTED) {
+                return end;
+            }
+        }
+        return time;
+    }
+
     /**
      * Returns the time zone for which this <code>CronExpression</code> 
      * will be resolved.
@@ -525,6 +578,8 @@ public final class CronExpression implements Serializable, Cloneable {
                             "Support for specifying both a day-of-week AND a day-of-month parameter is not implemented.", 0);
                 }
             }
+
+            compiled = CompiledCronExpression.compile(this);
         } catch (ParseException pe) {
             throw pe;
         } catch (Exception e) {
@@ -1183,6 +1238,22 @@ public final class CronExpression implements Serializable, Cloneable {
     ////////////////////////////////////////////////////////////////////////////
 
     public Date getTimeAfter(Date afterTime) {
+        if (compiled != null) {
+            long time = compiled.getTimeAfter(afterTime.getTime(), getTimeZone());
+            if (time != CompiledCronExpression.UNSUPPORTED) {
+                return time == CompiledCronExpression.NO_TIME ? null : new Date(time);
+            }
+        }
+        return getTimeAfterUsingCalendar(afterTime);
+    }
+
+    /**
+     * The time after the given one, computed by walking a
+     * <code>java.util.Calendar</code>.  <code>{@link #getTimeAfter(Date)}</code>
+     * uses a compiled form of the expression instead, where it can, which
+     * gives the same results.
+     */
+    Date getTimeAfterUsingCalendar(Date afterTime) {
 
         // Computation is based on Gregorian year only.
         Calendar cl = new java.util.GregorianCalendar(getTimeZone()); 
@@ -0,0 +1,93 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.quartz;
+
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * A bounded, least-recently-used cache of parsed
+ * <code>{@link CronExpression}</code>s, by expression, so that the many
+ * triggers of a scheduler that share a schedule also share a single parsed
+ * (and compiled) form of it.
+ *
+ * <p>
+ * The parsed expressions themselves are never handed out: each caller gets
+ * a <code>CronExpression</code> of its own, resolved in the time zone it
+ * asks for, which shares their parsed form, and which can be changed like
+ * any other.  <code>CronTriggerImpl</code> gets its expressions from here.
+ * </p>
+ */
+public final class CronExpressionCache {
+
+    /** The number of distinct expressions kept. */
+    public static final int MAX_SIZE = 1024;
+
+    private static final Map<String, CronExpression> entries = new LinkedHashMap<String, CronExpression>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CronExpression> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private CronExpressionCache() {
+    }
+
+    /**
+     * Get a new <code>CronExpression</code> for the given expression
+     * string, resolved in the given time zone, which shares the parsed form
+     * of the expression with the others got from here.
+     *
+     * @param timeZone the time zone, or null for the default one
+     * @throws ParseException if the expression is invalid
+     */
+    public static CronExpression get(String expression, TimeZone timeZone) throws ParseException {
+        if (expression == null) {
+            throw new IllegalArgumentException("cronExpression cannot be null");
+        }
+        CronExpression parsed;
+        synchronized (entries) {
+            parsed = entries.get(expression);
+        }
+        if (parsed == null) {
+            parsed = new CronExpression(expression);
+            synchronized (entries) {
+                CronExpression cached = entries.putIfAbsent(expression, parsed);
+                if (cached != null) {
+                    parsed = cached;
+                }
+            }
+        }
+        return new CronExpression(parsed, timeZone);
+    }
+
+    public static int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public static void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
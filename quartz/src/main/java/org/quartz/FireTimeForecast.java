@@ -0,0 +1,255 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.quartz;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.quartz.spi.OperableTrigger;
+
+/**
+ * A histogram of the number of times that the <code>{@link Trigger}s</code>
+ * of a <code>{@link Scheduler}</code> are expected to fire, per job group and
+ * per time bucket of a future window, e.g. per minute for the next hour.
+ *
+ * <p>
+ * The counts are projected from the triggers' schedules and calendars, as
+ * they are when the forecast is made.  Paused triggers are not counted, nor
+ * are the effects of misfires, which depend on how late the scheduler gets
+ * to a trigger.
+ * </p>
+ *
+ * @see Scheduler#getFireTimeForecast(org.quartz.impl.matchers.GroupMatcher, Date, long, int)
+ * @see org.quartz.spi.JobStore#getFireTimeForecast(org.quartz.impl.matchers.GroupMatcher, long, long, int)
+ */
+public class FireTimeForecast implements java.io.Serializable {
+
+    private static final long serialVersionUID = -4407815323052096315L;
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Data members.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private final long windowStart;
+
+    private final long bucketMillis;
+
+    private final int bucketCount;
+
+    private final TreeMap<String, int[]> fireCountsByGroup = new TreeMap<>();
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * Create an empty forecast for the window of the given number of buckets
+     * of the given length, starting at the given time.
+     *
+     * @throws IllegalArgumentException if the bucket length or count is less
+     * than 1, or the window does not end before <code>Long.MAX_VALUE</code>
+     */
+    public FireTimeForecast(Date windowStart, long bucketMillis, int bucketCount) {
+        if (windowStart == null) {
+            throw new IllegalArgumentException("Window start cannot be null.");
+        }
+        if (bucketMillis < 1) {
+            throw new IllegalArgumentException("Bucket length must be at least 1 millisecond.");
+        }
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("Bucket count must be at least 1.");
+        }
+        if (bucketMillis > (Long.MAX_VALUE - 1 - Math.max(windowStart.getTime(), 0L)) / bucketCount) {
+            throw new IllegalArgumentException("Window ends too far in the future.");
+        }
+        this.windowStart = windowStart.getTime();
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Interface.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * Count the fire times of the given trigger that fall within the window,
+     * as projected with the given calendar, for the group of its job.
+     *
+     * @param calendar the trigger's calendar, or <code>null</code> if it has
+     * none
+     * @see OperableTrigger#projectFireTimes(Calendar, long, long)
+     */
+    public void addFireTimes(OperableTrigger trigger, Calendar calendar) {
+        Date nextFireTime = trigger.getNextFireTime();
+        if (nextFireTime != null && nextFireTime.getTime() >= getWindowEndMillis()) {
+            return;
+        }
+        addFireTimes(trigger.getJobKey().getGroup(),
+                trigger.projectFireTimes(calendar, windowStart, getWindowEndMillis() - 1));
+    }
+
+    /**
+     * Count the given fire times (in milliseconds, in ascending order) that
+     * fall within the window, for the given job group.
+     */
+    public void addFireTimes(String jobGroup, PrimitiveIterator.OfLong fireTimes) {
+        long windowEnd = getWindowEndMillis();
+        int[] fireCounts = null;
+        while (fireTimes.hasNext()) {
+            long fireTime = fireTimes.nextLong();
+            if (fireTime >= windowEnd) {
+                break;
+            }
+            if (fireTime < windowStart) {
+                continue;
+            }
+            if (fireCounts == null) {
+                fireCounts = fireCountsByGroup.computeIfAbsent(jobGroup, g -> new int[bucketCount]);
+            }
+            fireCounts[(int) ((fireTime - windowStart) / bucketMillis)]++;
+        }
+    }
+
+    /**
+     * Get the start of the window (inclusive).
+     */
+    public Date getWindowStart() {
+        return new Date(windowStart);
+    }
+
+    /**
+     * Get the end of the window (exclusive).
+     */
+    public Date getWindowEnd() {
+        return new Date(getWindowEndMillis());
+    }
+
+    private long getWindowEndMillis() {
+        return windowStart + bucketMillis * bucketCount;
+    }
+
+    /**
+     * Get the length of each bucket, in milliseconds.
+     */
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * Get the number of buckets in the window.
+     */
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Get the start of the given bucket (inclusive).
+     */
+    public Date getBucketStart(int bucket) {
+        checkBucket(bucket);
+        return new Date(windowStart + bucketMillis * bucket);
+    }
+
+    /**
+     * Get the names of the job groups that are expected to fire within the
+     * window, in ascending order.
+     */
+    public Set<String> getJobGroupNames() {
+        return Collections.unmodifiableSet(fireCountsByGroup.keySet());
+    }
+
+    /**
+     * Get the number of expected fires of the given job group in the given
+     * bucket.
+     */
+    public int getFireCount(String jobGroup, int bucket) {
+        checkBucket(bucket);
+        int[] fireCounts = fireCountsByGroup.get(jobGroup);
+        return (fireCounts == null) ? 0 : fireCounts[bucket];
+    }
+
+    /**
+     * Get the number of expected fires of the given job group per bucket.
+     */
+    public int[] getFireCounts(String jobGroup) {
+        int[] fireCounts = fireCountsByGroup.get(jobGroup);
+        return (fireCounts == null) ? new int[bucketCount] : fireCounts.clone();
+    }
+
+    /**
+     * Get the number of expected fires of all job groups per bucket.
+     */
+    public int[] getTotalFireCounts() {
+        int[] totals = new int[bucketCount];
+        for (int[] fireCounts : fireCountsByGroup.values()) {
+            for (int i = 0; i < bucketCount; i++) {
+                totals[i] += fireCounts[i];
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Get the number of expected fires of all job groups within the window.
+     */
+    public long getTotalFireCount() {
+        long total = 0L;
+        for (int[] fireCounts : fireCountsByGroup.values()) {
+            for (int fireCount : fireCounts) {
+                total += fireCount;
+            }
+        }
+        return total;
+    }
+
+    private void checkBucket(int bucket) {
+        if (bucket < 0 || bucket >= bucketCount) {
+            throw new IndexOutOfBoundsException("Bucket " + bucket + " is not within 0 to " + (bucketCount - 1) + ".");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder("FireTimeForecast from ")
+            .append(getWindowStart()).append(" in ").append(bucketCount)
+            .append(" buckets of ").append(bucketMillis).append("ms:");
+        for (Map.Entry<String, int[]> entry : fireCountsByGroup.entrySet()) {
+            str.append(' ').append(entry.getKey()).append('=')
+                .append(Arrays.toString(entry.getValue()));
+        }
+        return str.toString();
+    }
+}
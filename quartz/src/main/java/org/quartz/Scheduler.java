@@ -20,13 +20,16 @@
 package org.quartz;
 
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.quartz.Trigger.TriggerState;
 import org.quartz.impl.matchers.GroupMatcher;
 import org.quartz.spi.JobFactory;
+import org.quartz.spi.OperableTrigger;
 import org.quartz.utils.Key;
 
 /**
@@ -789,6 +792,134 @@ public interface Scheduler {
      */
     Set<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher) throws SchedulerException;
 
+    /**
+     * Get a page of the keys of the <code>{@link org.quartz.JobDetail}s</code>
+     * in the matching groups, ordered by group and then name.  Pass the last
+     * key of a page to get the next page, so that a large number of jobs can
+     * be paged through without loading all of their keys at once.
+     * 
+     * @param matcher Matcher to evaluate against known groups
+     * @param after the last key of the previous page, or <code>null</code>
+     * for the first page
+     * @param limit the maximum number of keys to return
+     * @return the page of keys, empty after the last page
+     * @throws SchedulerException On error
+     * @see Key#GROUP_AND_NAME_ORDER
+     */
+    default List<JobKey> getJobKeys(GroupMatcher<JobKey> matcher, JobKey after, int limit) throws SchedulerException {
+        return Key.page(getJobKeys(matcher), after, limit);
+    }
+
+    /**
+     * Get a page of the keys of the <code>{@link Trigger}s</code> in the
+     * matching groups, ordered by group and then name.
+     * 
+     * @param matcher Matcher to evaluate against known groups
+     * @param after the last key of the previous page, or <code>null</code>
+     * for the first page
+     * @param limit the maximum number of keys to return
+     * @return the page of keys, empty after the last page
+     * @throws SchedulerException On error
+     * @see #getJobKeys(GroupMatcher, JobKey, int)
+     */
+    default List<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher, TriggerKey after, int limit) throws SchedulerException {
+        return Key.page(getTriggerKeys(matcher), after, limit);
+    }
+
+    /**
+     * Pass the key of every <code>{@link org.quartz.JobDetail}</code> in the
+     * matching groups to the given action, fetching them one page at a time
+     * with <code>{@link #getJobKeys(GroupMatcher, JobKey, int)}</code>.
+     * 
+     * @param matcher Matcher to evaluate against known groups
+     * @param pageSize the number of keys to fetch at a time
+     * @param action the action to perform for each key
+     * @throws SchedulerException On error
+     */
+    default void forEachJobKey(GroupMatcher<JobKey> matcher, int pageSize, Consumer<? super JobKey> action) throws SchedulerException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+        List<JobKey> page = getJobKeys(matcher, null, pageSize);
+        while (!page.isEmpty()) {
+            page.forEach(action);
+            if (page.size() < pageSize) {
+                break;
+            }
+            page = getJobKeys(matcher, page.get(page.size() - 1), pageSize);
+        }
+    }
+
+    /**
+     * Pass the key of every <code>{@link Trigger}</code> in the matching
+     * groups to the given action, fetching them one page at a time with
+     * <code>{@link #getTriggerKeys(GroupMatcher, TriggerKey, int)}</code>.
+     * 
+     * @param matcher Matcher to evaluate against known groups
+     * @param pageSize the number of keys to fetch at a time
+     * @param action the action to perform for each key
+     * @throws SchedulerException On error
+     */
+    default void forEachTriggerKey(GroupMatcher<TriggerKey> matcher, int pageSize, Consumer<? super TriggerKey> action) throws SchedulerException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+        List<TriggerKey> page = getTriggerKeys(matcher, null, pageSize);
+        while (!page.isEmpty()) {
+            page.forEach(action);
+            if (page.size() < pageSize) {
+                break;
+            }
+            page = getTriggerKeys(matcher, page.get(page.size() - 1), pageSize);
+        }
+    }
+
+    /**
+     * Forecast how many times the <code>{@link Trigger}s</code> of the jobs
+     * in the matching groups are expected to fire, per job group and per
+     * bucket of the given window, e.g. per minute for the next hour, so that
+     * capacity can be planned ahead of the load.
+     * 
+     * <p>
+     * Paused triggers are not counted.  The default implementation loads
+     * every trigger, which the built-in schedulers avoid by only projecting
+     * the triggers whose next fire time is within the window.
+     * </p>
+     * 
+     * @param matcher Matcher to evaluate against the groups of the jobs, or
+     * <code>null</code> for all groups
+     * @param from the start of the window
+     * @param bucketMillis the length of each bucket, in milliseconds
+     * @param bucketCount the number of buckets in the window
+     * @return the number of expected fires per job group and bucket
+     * @throws SchedulerException On error
+     */
+    default FireTimeForecast getFireTimeForecast(GroupMatcher<JobKey> matcher, Date from, long bucketMillis, int bucketCount) throws SchedulerException {
+        FireTimeForecast forecast = new FireTimeForecast(from, bucketMillis, bucketCount);
+        Map<String, Calendar> calendars = new HashMap<>();
+        for (TriggerKey triggerKey : getTriggerKeys(GroupMatcher.anyTriggerGroup())) {
+            Trigger trigger = getTrigger(triggerKey);
+            if (!(trigger instanceof OperableTrigger)
+                    || (matcher != null && !matcher.isMatch(trigger.getJobKey()))) {
+                continue;
+            }
+            TriggerState state = getTriggerState(triggerKey);
+            if (state != TriggerState.NORMAL && state != TriggerState.BLOCKED) {
+                continue;
+            }
+            Calendar calendar = null;
+            if (trigger.getCalendarName() != null) {
+                calendar = calendars.get(trigger.getCalendarName());
+                if (calendar == null) {
+                    calendar = getCalendar(trigger.getCalendarName());
+                    calendars.put(trigger.getCalendarName(), calendar);
+                }
+            }
+            forecast.addFireTimes((OperableTrigger) trigger, calendar);
+        }
+        return forecast;
+    }
+
     /**
      * Get the names of all <code>{@link Trigger}</code> groups that are paused.
      */
@@ -22,6 +22,11 @@ package org.quartz;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 import org.quartz.spi.OperableTrigger;
 
@@ -62,8 +67,8 @@ public class TriggerUtils {
     /**
      * Returns a list of Dates that are the next fire times of a 
      * <code>Trigger</code>.
-     * The input trigger will be cloned before any work is done, so you need
-     * not worry about its state being altered by this method.
+     * The input trigger is not altered by this method, its fire times are
+     * projected as by <code>{@link #projectFireTimes(OperableTrigger, Calendar, long)}</code>.
      * 
      * @param trigger
      *          The trigger upon which to do the work
@@ -77,32 +82,74 @@ public class TriggerUtils {
             int numTimes) {
         LinkedList<Date> lst = new LinkedList<>();
 
-        OperableTrigger t = (OperableTrigger) trigger.clone();
+        PrimitiveIterator.OfLong fireTimes = trigger.projectFireTimes(cal, Long.MAX_VALUE);
 
-        if (t.getNextFireTime() == null) {
-            t.computeFirstFireTime(cal);
-        }
-
-        for (int i = 0; i < numTimes; i++) {
-            Date d = t.getNextFireTime();
-            if (d != null) {
-                lst.add(d);
-                t.triggered(cal);
-            } else {
-                break;
-            }
+        for (int i = 0; i < numTimes && fireTimes.hasNext(); i++) {
+            lst.add(new Date(fireTimes.nextLong()));
         }
 
         return java.util.Collections.unmodifiableList(lst);
     }
+
+    /**
+     * Returns the next fire times of a <code>Trigger</code>, in milliseconds,
+     * up to and including the given end time. Unlike
+     * <code>{@link #computeFireTimes(OperableTrigger, Calendar, int)}</code>,
+     * the built-in triggers compute them one at a time as they are asked for,
+     * without cloning the trigger or creating an object for each of them.
+     * The input trigger is not altered by this method.
+     * 
+     * <p>
+     * Projections keep no state but their own, so the fire times of many
+     * triggers can be projected in parallel, as long as the triggers are not
+     * changed meanwhile, and the calendars given are safe for concurrent use
+     * (such as those compiled by
+     * <code>{@link org.quartz.impl.calendar.CompiledCalendar#compile(Calendar)}</code>).
+     * </p>
+     * 
+     * @param trigger
+     *          The trigger upon which to do the work
+     * @param cal
+     *          The calendar to apply to the trigger's schedule
+     * @param to
+     *          The time (in milliseconds) at which to stop finding fire times
+     * @return the fire times, in ascending order
+     * @see OperableTrigger#projectFireTimes(Calendar, long)
+     */
+    public static PrimitiveIterator.OfLong projectFireTimes(OperableTrigger trigger,
+            org.quartz.Calendar cal, long to) {
+        return trigger.projectFireTimes(cal, to);
+    }
+
+    /**
+     * Returns a stream of the next fire times of a <code>Trigger</code>, in
+     * milliseconds, up to and including the given end time, as given by
+     * <code>{@link #projectFireTimes(OperableTrigger, Calendar, long)}</code>.
+     * Use <code>limit()</code> on it to get a number of them.
+     * 
+     * @param trigger
+     *          The trigger upon which to do the work
+     * @param cal
+     *          The calendar to apply to the trigger's schedule
+     * @param to
+     *          The time (in milliseconds) at which to stop finding fire times
+     * @return a sequential, sorted stream of the fire times
+     */
+    public static LongStream fireTimeStream(OperableTrigger trigger,
+            org.quartz.Calendar cal, long to) {
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(
+                projectFireTimes(trigger, cal, to),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
     
     /**
      * Compute the <code>Date</code> that is 1 second after the Nth firing of 
      * the given <code>Trigger</code>, taking the trigger's associated 
      * <code>Calendar</code> into consideration.
      *  
-     * The input trigger will be cloned before any work is done, so you need
-     * not worry about its state being altered by this method.
+     * The input trigger is not altered by this method, its fire times are
+     * projected as by <code>{@link #projectFireTimes(OperableTrigger, Calendar, long)}</code>.
      * 
      * @param trigger
      *          The trigger upon which to do the work
@@ -115,41 +162,31 @@ public class TriggerUtils {
     public static Date computeEndTimeToAllowParticularNumberOfFirings(OperableTrigger trigger, org.quartz.Calendar cal, 
             int numTimes) {
 
-        OperableTrigger t = (OperableTrigger) trigger.clone();
+        PrimitiveIterator.OfLong fireTimes = trigger.projectFireTimes(cal, Long.MAX_VALUE);
 
-        if (t.getNextFireTime() == null) {
-            t.computeFirstFireTime(cal);
-        }
-        
+        long endTime = 0L;
         int c = 0;
-        Date endTime = null;
         
-        for (int i = 0; i < numTimes; i++) {
-            Date d = t.getNextFireTime();
-            if (d != null) {
-                c++;
-                t.triggered(cal);
-                if(c == numTimes)
-                    endTime = d;
-            } else {
-                break;
-            }
+        while (c < numTimes && fireTimes.hasNext()) {
+            endTime = fireTimes.nextLong();
+            c++;
         }
         
-        if(endTime == null)
+        if(numTimes <= 0 || c < numTimes)
             return null;
         
-        endTime = new Date(endTime.getTime() + 1000L);
-        
-        return endTime;
+        return new Date(endTime + 1000L);
     }
 
     /**
      * Returns a list of Dates that are the next fire times of a 
      * <code>Trigger</code>
-     * that fall within the given date range. The input trigger will be cloned
-     * before any work is done, so you need not worry about its state being
-     * altered by this method.
+     * that fall within the given date range. The input trigger is not
+     * altered by this method, its fire times are projected as by
+     * <code>{@link OperableTrigger#projectFireTimes(Calendar, long, long)}</code>.
+     * A trigger that has not been scheduled yet is projected as if it had
+     * been started at the start of the range, and ended at its end, on a
+     * clone of it.
      * 
      * <p>
      * NOTE: if this is a trigger that has previously fired within the given
@@ -171,29 +208,18 @@ public class TriggerUtils {
             org.quartz.Calendar cal, Date from, Date to) {
         LinkedList<Date> lst = new LinkedList<>();
 
-        OperableTrigger t = (OperableTrigger) trigger.clone();
+        OperableTrigger t = trigger;
 
         if (t.getNextFireTime() == null) {
+            t = (OperableTrigger) trigger.clone();
             t.setStartTime(from);
             t.setEndTime(to);
             t.computeFirstFireTime(cal);
         }
 
-        while (true) {
-            Date d = t.getNextFireTime();
-            if (d != null) {
-                if (d.before(from)) {
-                    t.triggered(cal);
-                    continue;
-                }
-                if (d.after(to)) {
-                    break;
-                }
-                lst.add(d);
-                t.triggered(cal);
-            } else {
-                break;
-            }
+        PrimitiveIterator.OfLong fireTimes = t.projectFireTimes(cal, from.getTime(), to.getTime());
+        while (fireTimes.hasNext()) {
+            lst.add(new Date(fireTimes.nextLong()));
         }
 
         return java.util.Collections.unmodifiableList(lst);
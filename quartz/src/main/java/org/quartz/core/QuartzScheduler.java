@@ -42,6 +42,7 @@ import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
 import org.quartz.Calendar;
+import org.quartz.FireTimeForecast;
 import org.quartz.InterruptableJob;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
@@ -600,6 +601,10 @@ public class QuartzScheduler implements RemotableQuartzScheduler {
         return resources.getJobStore().getClass();
     }
 
+    public Map<String, Long> getJobStorePerformanceMetrics() {
+        return resources.getJobStore().getPerformanceMetrics();
+    }
+
     public boolean supportsPersistence() {
         return resources.getJobStore().supportsPersistence();
     }
@@ -1467,6 +1472,67 @@ public class QuartzScheduler implements RemotableQuartzScheduler {
         return resources.getJobStore().getTriggerKeys(matcher);
     }
 
+    /**
+     * <p>
+     * Get a page of the keys of the <code>{@link org.quartz.Job}s</code> in
+     * the matching groups, ordered by group and then name.
+     * </p>
+     */
+    public List<JobKey> getJobKeys(GroupMatcher<JobKey> matcher, JobKey after, int limit)
+        throws SchedulerException {
+        validateState();
+
+        if(matcher == null) {
+            matcher = GroupMatcher.groupEquals(Scheduler.DEFAULT_GROUP);
+        }
+        if(limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1.");
+        }
+        
+        return resources.getJobStore().getJobKeys(matcher, after, limit);
+    }
+
+    /**
+     * <p>
+     * Get a page of the keys of the <code>{@link org.quartz.Trigger}s</code>
+     * in the matching groups, ordered by group and then name.
+     * </p>
+     */
+    public List<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher, TriggerKey after, int limit)
+        throws SchedulerException {
+        validateState();
+
+        if(matcher == null) {
+            matcher = GroupMatcher.groupEquals(Scheduler.DEFAULT_GROUP);
+        }
+        if(limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1.");
+        }
+        
+        return resources.getJobStore().getTriggerKeys(matcher, after, limit);
+    }
+
+    /**
+     * <p>
+     * Forecast how many times the <code>{@link org.quartz.Trigger}s</code>
+     * of the jobs in the matching groups are expected to fire, per job group
+     * and per bucket of the given window.
+     * </p>
+     */
+    public FireTimeForecast getFireTimeForecast(GroupMatcher<JobKey> matcher, Date from, long bucketMillis, int bucketCount)
+        throws SchedulerException {
+        validateState();
+
+        if(matcher == null) {
+            matcher = GroupMatcher.anyJobGroup();
+        }
+        if(from == null) {
+            throw new IllegalArgumentException("Window start cannot be null.");
+        }
+
+        return resources.getJobStore().getFireTimeForecast(matcher, from.getTime(), bucketMillis, bucketCount);
+    }
+
     /**
      * <p>
      * Get the <code>{@link JobDetail}</code> for the <code>Job</code>
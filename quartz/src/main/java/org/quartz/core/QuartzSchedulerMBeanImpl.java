@@ -1003,6 +1003,7 @@ public class QuartzSchedulerMBeanImpl extends StandardMBean implements
         result.put("JobsCompleted", getJobsCompletedMostRecentSample());
         result.put("JobsExecuted", getJobsExecutedMostRecentSample());
         result.put("JobsScheduled", getJobsScheduledMostRecentSample());
+        result.putAll(scheduler.getJobStorePerformanceMetrics());
         return result;
     }
 }
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.quartz.Calendar;
+import org.quartz.FireTimeForecast;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
@@ -143,6 +144,12 @@ public interface RemotableQuartzScheduler extends Remote {
 
     Set<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher) throws SchedulerException, RemoteException;
 
+    List<JobKey> getJobKeys(GroupMatcher<JobKey> matcher, JobKey after, int limit) throws SchedulerException, RemoteException;
+
+    List<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher, TriggerKey after, int limit) throws SchedulerException, RemoteException;
+
+    FireTimeForecast getFireTimeForecast(GroupMatcher<JobKey> matcher, Date from, long bucketMillis, int bucketCount) throws SchedulerException, RemoteException;
+
     JobDetail getJobDetail(JobKey jobKey) throws SchedulerException, RemoteException;
 
     List<JobDetail> getJobDetails(GroupMatcher<JobKey> matcher) throws SchedulerException, RemoteException;
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.quartz.Calendar;
+import org.quartz.FireTimeForecast;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
@@ -725,6 +726,51 @@ public class RemoteScheduler implements Scheduler {
         }
     }
 
+    /**
+     * <p>
+     * Calls the equivalent method on the 'proxied' <code>QuartzScheduler</code>.
+     * </p>
+     */
+    @Override
+    public List<JobKey> getJobKeys(GroupMatcher<JobKey> matcher, JobKey after, int limit) throws SchedulerException {
+        try {
+            return getRemoteScheduler().getJobKeys(matcher, after, limit);
+        } catch (RemoteException re) {
+            throw invalidateHandleCreateException(
+                    "Error communicating with remote scheduler.", re);
+        }
+    }
+
+    /**
+     * <p>
+     * Calls the equivalent method on the 'proxied' <code>QuartzScheduler</code>.
+     * </p>
+     */
+    @Override
+    public List<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher, TriggerKey after, int limit) throws SchedulerException {
+        try {
+            return getRemoteScheduler().getTriggerKeys(matcher, after, limit);
+        } catch (RemoteException re) {
+            throw invalidateHandleCreateException(
+                    "Error communicating with remote scheduler.", re);
+        }
+    }
+
+    /**
+     * <p>
+     * Calls the equivalent method on the 'proxied' <code>QuartzScheduler</code>.
+     * </p>
+     */
+    @Override
+    public FireTimeForecast getFireTimeForecast(GroupMatcher<JobKey> matcher, Date from, long bucketMillis, int bucketCount) throws SchedulerException {
+        try {
+            return getRemoteScheduler().getFireTimeForecast(matcher, from, bucketMillis, bucketCount);
+        } catch (RemoteException re) {
+            throw invalidateHandleCreateException(
+                    "Error communicating with remote scheduler.", re);
+        }
+    }
+
     /**
      * <p>
      * Calls the equivalent method on the 'proxied' <code>QuartzScheduler</code>.
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.quartz.Calendar;
+import org.quartz.FireTimeForecast;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
@@ -489,6 +490,36 @@ public class StdScheduler implements Scheduler {
         return sched.getTriggerKeys(matcher);
     }
 
+    /**
+     * <p>
+     * Calls the equivalent method on the 'proxied' <code>QuartzScheduler</code>.
+     * </p>
+     */
+    @Override
+    public List<JobKey> getJobKeys(GroupMatcher<JobKey> matcher, JobKey after, int limit) throws SchedulerException {
+        return sched.getJobKeys(matcher, after, limit);
+    }
+
+    /**
+     * <p>
+     * Calls the equivalent method on the 'proxied' <code>QuartzScheduler</code>.
+     * </p>
+     */
+    @Override
+    public List<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher, TriggerKey after, int limit) throws SchedulerException {
+        return sched.getTriggerKeys(matcher, after, limit);
+    }
+
+    /**
+     * <p>
+     * Calls the equivalent method on the 'proxied' <code>QuartzScheduler</code>.
+     * </p>
+     */
+    @Override
+    public FireTimeForecast getFireTimeForecast(GroupMatcher<JobKey> matcher, Date from, long bucketMillis, int bucketCount) throws SchedulerException {
+        return sched.getFireTimeForecast(matcher, from, bucketMillis, bucketCount);
+    }
+
     /**
      * <p>
      * Calls the equivalent method on the 'proxied' <code>QuartzScheduler</code>.
@@ -31,6 +31,7 @@ import org.quartz.ee.jta.JTAAnnotationAwareJobRunShellFactory;
 import org.quartz.ee.jta.JTAJobRunShellFactory;
 import org.quartz.ee.jta.UserTransactionHelper;
 import org.quartz.impl.jdbcjobstore.JobStoreSupport;
+import org.quartz.impl.jdbcjobstore.RetryPolicy;
 import org.quartz.impl.jdbcjobstore.Semaphore;
 import org.quartz.impl.jdbcjobstore.TablePrefixAware;
 import org.quartz.impl.matchers.EverythingMatcher;
@@ -38,6 +39,7 @@ import org.quartz.management.ManagementRESTServiceConfiguration;
 import org.quartz.simpl.RAMJobStore;
 import org.quartz.simpl.SimpleThreadPool;
 import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.FireInstanceIdGenerator;
 import org.quartz.spi.InstanceIdGenerator;
 import org.quartz.spi.JobFactory;
 import org.quartz.spi.JobStore;
@@ -203,6 +205,14 @@ public class StdSchedulerFactory implements SchedulerFactory {
 
     public static final String PROP_JOB_STORE_LOCK_HANDLER_CLASS = PROP_JOB_STORE_LOCK_HANDLER_PREFIX + ".class";
 
+    public static final String PROP_JOB_STORE_RETRY_POLICY_PREFIX = PROP_JOB_STORE_PREFIX + ".retryPolicy";
+
+    public static final String PROP_JOB_STORE_RETRY_POLICY_CLASS = PROP_JOB_STORE_RETRY_POLICY_PREFIX + ".class";
+
+    public static final String PROP_JOB_STORE_FIRE_INSTANCE_ID_GENERATOR_PREFIX = PROP_JOB_STORE_PREFIX + ".fireInstanceIdGenerator";
+
+    public static final String PROP_JOB_STORE_FIRE_INSTANCE_ID_GENERATOR_CLASS = PROP_JOB_STORE_FIRE_INSTANCE_ID_GENERATOR_PREFIX + ".class";
+
     public static final String PROP_TABLE_PREFIX = "tablePrefix";
 
     public static final String PROP_SCHED_NAME = "schedName";
@@ -885,7 +895,9 @@ public class StdSchedulerFactory implements SchedulerFactory {
 
         SchedulerDetailsSetter.setDetails(js, schedName, schedInstId);
 
-        tProps = cfg.getPropertyGroup(PROP_JOB_STORE_PREFIX, true, new String[] {PROP_JOB_STORE_LOCK_HANDLER_PREFIX});
+        tProps = cfg.getPropertyGroup(PROP_JOB_STORE_PREFIX, true,
+                new String[] {PROP_JOB_STORE_LOCK_HANDLER_PREFIX, PROP_JOB_STORE_RETRY_POLICY_PREFIX,
+                        PROP_JOB_STORE_FIRE_INSTANCE_ID_GENERATOR_PREFIX});
         try {
             setBeanProps(js, tProps);
         } catch (Exception e) {
@@ -928,6 +940,68 @@ public class StdSchedulerFactory implements SchedulerFactory {
                     throw initException;
                 }
             }
+
+            // Install custom retry policy
+            String retryPolicyClass = cfg.getStringProperty(PROP_JOB_STORE_RETRY_POLICY_CLASS);
+            if (retryPolicyClass != null) {
+                RetryPolicy retryPolicy;
+                try {
+                    retryPolicy = (RetryPolicy) loadHelper.loadClass(retryPolicyClass)
+                            .getDeclaredConstructor().newInstance();
+                } catch (Exception e) {
+                    initException = new SchedulerException("JobStore RetryPolicy class '" + retryPolicyClass
+                            + "' could not be instantiated.", e);
+                    throw initException;
+                }
+
+                tProps = cfg.getPropertyGroup(PROP_JOB_STORE_RETRY_POLICY_PREFIX, true);
+                try {
+                    setBeanProps(retryPolicy, tProps);
+                } catch (Exception e) {
+                    initException = new SchedulerException("JobStore RetryPolicy class '" + retryPolicyClass
+                            + "' props could not be configured.", e);
+                    throw initException;
+                }
+
+                ((JobStoreSupport)js).setRetryPolicy(retryPolicy);
+                getLog().info("Using retry policy: {}", retryPolicyClass);
+            }
+        }
+
+        // Install custom fire instance id generator
+        String fireInstanceIdGeneratorClass = cfg.getStringProperty(PROP_JOB_STORE_FIRE_INSTANCE_ID_GENERATOR_CLASS);
+        if (fireInstanceIdGeneratorClass != null) {
+            if (!(js instanceof JobStoreSupport) && !(js instanceof RAMJobStore)) {
+                initException = new SchedulerException("JobStore class '" + jsClass
+                        + "' does not support a custom FireInstanceIdGenerator.");
+                throw initException;
+            }
+
+            FireInstanceIdGenerator fireInstanceIdGenerator;
+            try {
+                fireInstanceIdGenerator = (FireInstanceIdGenerator) loadHelper.loadClass(fireInstanceIdGeneratorClass)
+                        .getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                initException = new SchedulerException("FireInstanceIdGenerator class '" + fireInstanceIdGeneratorClass
+                        + "' could not be instantiated.", e);
+                throw initException;
+            }
+
+            tProps = cfg.getPropertyGroup(PROP_JOB_STORE_FIRE_INSTANCE_ID_GENERATOR_PREFIX, true);
+            try {
+                setBeanProps(fireInstanceIdGenerator, tProps);
+            } catch (Exception e) {
+                initException = new SchedulerException("FireInstanceIdGenerator class '" + fireInstanceIdGeneratorClass
+                        + "' props could not be configured.", e);
+                throw initException;
+            }
+
+            if (js instanceof JobStoreSupport) {
+                ((JobStoreSupport)js).setFireInstanceIdGenerator(fireInstanceIdGenerator);
+            } else {
+                ((RAMJobStore)js).setFireInstanceIdGenerator(fireInstanceIdGenerator);
+            }
+            getLog().info("Using fire instance id generator: {}", fireInstanceIdGeneratorClass);
         }
 
         // Set up any DataSources
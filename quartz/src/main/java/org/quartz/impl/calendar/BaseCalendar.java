@@ -48,6 +48,10 @@ public class BaseCalendar implements Calendar, Serializable, Cloneable {
 
     private static final long serialVersionUID = 3106623404629760239L;
 
+    // how many excluded ranges are skipped in one query, when a calendar and
+    // its base calendars keep moving the time past each other's ranges
+    private static final int MAX_EXCLUDED_RANGES_SKIPPED = 100;
+
     // <p>A optional base calendar.</p>
     private Calendar baseCalendar;
 
@@ -202,6 +206,50 @@ public class BaseCalendar implements Calendar, Serializable, Cloneable {
         return timeStamp;
     }
 
+    /**
+     * <p>
+     * Determine the start of the next interval of time that may be included
+     * by the Calendar, at or after the given time. The implementation of
+     * BaseCalendar skips the range excluded by this calendar itself, as given
+     * by <code>{@link #getExcludedRangeEnd(long)}</code>, and the ranges
+     * excluded by the base calendar in turn, until neither moves the time on.
+     * </p>
+     *
+     * @see org.quartz.Calendar#getNextIncludedIntervalStart(long)
+     */
+    public long getNextIncludedIntervalStart(long timeStamp) {
+        long time = timeStamp;
+        for (int i = 0; i < MAX_EXCLUDED_RANGES_SKIPPED && time > 0; i++) {
+            long next = getExcludedRangeEnd(time);
+            if (baseCalendar != null) {
+                next = baseCalendar.getNextIncludedIntervalStart(next);
+            }
+            if (next <= time) {
+                break;
+            }
+            time = next;
+        }
+
+        return time;
+    }
+
+    /**
+     * <p>
+     * Determine the end of the range of time excluded by the rules of this
+     * calendar itself, regardless of its base calendar, that the given time
+     * is in. Every time from the given time up to, but not including, the
+     * returned one must be excluded by those rules. Return the given time if
+     * it is not excluded, or if the end of its range is not known.
+     * </p>
+     *
+     * <p>
+     * The implementation of BaseCalendar excludes nothing of its own.
+     * </p>
+     */
+    protected long getExcludedRangeEnd(long timeStamp) {
+        return timeStamp;
+    }
+
     /**
      * Build a <code>{@link java.util.Calendar}</code> for the given timeStamp.
      * The new Calendar will use the <code>BaseCalendar</code> time zone if it
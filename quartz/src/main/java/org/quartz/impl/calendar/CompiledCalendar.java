@@ -0,0 +1,470 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.quartz.impl.calendar;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.quartz.Calendar;
+
+/**
+ * <p>
+ * An immutable, precompiled form of a chain of the built-in calendars. The
+ * times excluded by the whole chain are flattened, a year at a time, into a
+ * sorted array of the boundaries of the excluded ranges, so that
+ * <code>{@link #isTimeIncluded(long)}</code> and
+ * <code>{@link #getNextIncludedTime(long)}</code> are a binary search which
+ * allocates nothing, rather than a walk down the chain which builds a
+ * <code>java.util.Calendar</code> for each calendar in it.
+ * </p>
+ *
+ * <p>
+ * Only chains of <code>BaseCalendar</code>, <code>WeeklyCalendar</code>,
+ * <code>MonthlyCalendar</code>, <code>AnnualCalendar</code>,
+ * <code>HolidayCalendar</code> and <code>DailyCalendar</code> instances (and
+ * not their subclasses) can be compiled, see <code>{@link #compile(Calendar)}</code>.
+ * The ranges of a year are compiled the first time a time in it is looked
+ * up. Times before 1970 or after 2369, and the years whose days could not be
+ * lined up with those of <code>java.util.Calendar</code>, are left to the
+ * calendars of the chain.
+ * </p>
+ *
+ * <p>
+ * The compiled form is built from a copy of the chain taken when it is
+ * compiled, so that later changes to the calendars are not seen by it. It
+ * cannot be changed itself, and is serialized as that copy.
+ * </p>
+ */
+public final class CompiledCalendar implements Calendar {
+
+    private static final long serialVersionUID = -2736475021594418753L;
+
+    private static final long MILLIS_PER_DAY = 24L * 60L * 60L * 1000L;
+
+    // the years (UTC) whose excluded ranges are compiled
+    private static final int FIRST_YEAR = 1970;
+    private static final int YEAR_COUNT = 400;
+
+    private static final long[] YEAR_STARTS = new long[YEAR_COUNT + 1];
+
+    static {
+        for (int i = 0; i <= YEAR_COUNT; i++) {
+            YEAR_STARTS[i] = LocalDate.of(FIRST_YEAR + i, 1, 1).toEpochDay() * MILLIS_PER_DAY;
+        }
+    }
+
+    // marks a year whose excluded ranges could not be compiled
+    private static final long[] NOT_COMPILED = new long[0];
+
+    private static final Set<Class<?>> COMPILABLE_CLASSES = Set.of(
+            BaseCalendar.class, WeeklyCalendar.class, MonthlyCalendar.class,
+            AnnualCalendar.class, HolidayCalendar.class, DailyCalendar.class);
+
+    private final Calendar chain;
+
+    private final transient Link[] links;
+
+    // the flattened boundaries of the excluded ranges of each year, excluded
+    // from each even index up to, but not including, the next one
+    private final transient AtomicReferenceArray<long[]> years =
+            new AtomicReferenceArray<>(YEAR_COUNT);
+
+    private CompiledCalendar(Calendar chain, Link[] links) {
+        this.chain = chain;
+        this.links = links;
+    }
+
+    /**
+     * <p>
+     * Compile the given calendar, with its chain of base calendars. Return
+     * the calendar itself if it (or one of its base calendars) is not one of
+     * the built-in calendars which can be compiled, if one of them uses a
+     * time zone which is not known to <code>java.time</code>, or if all
+     * times are excluded by it anyway.
+     * </p>
+     *
+     * <p>
+     * Calendars without a time zone of their own are compiled for the
+     * default time zone at the time.
+     * </p>
+     */
+    public static Calendar compile(Calendar calendar) {
+        if (calendar == null || calendar instanceof CompiledCalendar) {
+            return calendar;
+        }
+
+        for (Calendar c = calendar; c != null; c = c.getBaseCalendar()) {
+            if (!COMPILABLE_CLASSES.contains(c.getClass())) {
+                return calendar;
+            }
+        }
+
+        Calendar chain = (Calendar) calendar.clone();
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        List<Link> links = new ArrayList<>();
+        for (Calendar c = chain; c != null; c = c.getBaseCalendar()) {
+            BaseCalendar base = (BaseCalendar) c;
+            if (base.getTimeZone() == null) {
+                base.setTimeZone((TimeZone) defaultTimeZone.clone());
+            }
+            Link link = Link.of(base);
+            if (link == null) {
+                return calendar;
+            }
+            links.add(link);
+        }
+
+        return new CompiledCalendar(chain, links.toArray(new Link[0]));
+    }
+
+    /**
+     * <p>
+     * Compiled calendars cannot be changed.
+     * </p>
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void setBaseCalendar(Calendar baseCalendar) {
+        throw new UnsupportedOperationException("A compiled calendar cannot be changed.");
+    }
+
+    /**
+     * <p>
+     * Always null, the base calendars are compiled into this one.
+     * </p>
+     */
+    public Calendar getBaseCalendar() {
+        return null;
+    }
+
+    public String getDescription() {
+        return chain.getDescription();
+    }
+
+    /**
+     * <p>
+     * Compiled calendars cannot be changed.
+     * </p>
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void setDescription(String description) {
+        throw new UnsupportedOperationException("A compiled calendar cannot be changed.");
+    }
+
+    public boolean isTimeIncluded(long timeStamp) {
+        int year = yearOf(timeStamp);
+        if (year < 0) {
+            return chain.isTimeIncluded(timeStamp);
+        }
+
+        long[] ranges = rangesOf(year);
+        if (ranges == NOT_COMPILED) {
+            return chain.isTimeIncluded(timeStamp);
+        }
+
+        return excludedRangeEnd(ranges, timeStamp) == timeStamp;
+    }
+
+    /**
+     * <p>
+     * Determine the next time (in milliseconds) that is 'included' by the
+     * Calendar after the given time. Return the original value if timeStamp is
+     * included.
+     * </p>
+     */
+    public long getNextIncludedTime(long timeStamp) {
+        long time = getNextIncludedIntervalStart(timeStamp);
+
+        // the compiled ranges are exact, so the start of an interval in them
+        // is included
+        int year = yearOf(time);
+        if (year >= 0 && rangesOf(year) != NOT_COMPILED) {
+            return time;
+        }
+
+        return chain.getNextIncludedTime(time);
+    }
+
+    @Override
+    public long getNextIncludedIntervalStart(long timeStamp) {
+        long time = timeStamp;
+        for (int year = yearOf(time); year >= 0; year++) {
+            long[] ranges = rangesOf(year);
+            if (ranges == NOT_COMPILED) {
+                break;
+            }
+
+            long end = excludedRangeEnd(ranges, time);
+            if (end < YEAR_STARTS[year + 1]) {
+                return end;
+            }
+            // the range goes on into the next year
+            time = end;
+            if (year + 1 == YEAR_COUNT) {
+                break;
+            }
+        }
+
+        return chain.getNextIncludedIntervalStart(time);
+    }
+
+    /**
+     * <p>
+     * Compiled calendars cannot be changed, so they need not be copied.
+     * </p>
+     */
+    @Override
+    public Object clone() {
+        return this;
+    }
+
+    // compiled calendars are serialized as the chain they were compiled from
+    private Object writeReplace() {
+        return chain;
+    }
+
+    private static int yearOf(long time) {
+        if (time <= YEAR_STARTS[0] || time >= YEAR_STARTS[YEAR_COUNT]) {
+            return -1;
+        }
+
+        int index = Arrays.binarySearch(YEAR_STARTS, time);
+        return (index >= 0) ? index : -index - 2;
+    }
+
+    // the end of the excluded range the given time is in, or the time itself
+    private static long excludedRangeEnd(long[] ranges, long time) {
+        int index = Arrays.binarySearch(ranges, time);
+        if (index >= 0) {
+            return (index % 2 == 0) ? ranges[index + 1] : time;
+        }
+
+        int insertion = -index - 1;
+        return (insertion % 2 == 1) ? ranges[insertion] : time;
+    }
+
+    private long[] rangesOf(int year) {
+        long[] ranges = years.get(year);
+        if (ranges == null) {
+            ranges = compileYear(year);
+            years.set(year, ranges);
+        }
+        return ranges;
+    }
+
+    // the calendars of the chain are not safe for concurrent use, which
+    // lookups of the compiled years are
+    private synchronized long[] compileYear(int year) {
+        long[] ranges = years.get(year);
+        if (ranges != null) {
+            return ranges;
+        }
+
+        long from = YEAR_STARTS[year];
+        long to = YEAR_STARTS[year + 1];
+        List<long[]> excluded = new ArrayList<>();
+        for (Link link : links) {
+            if (!link.addExcludedRanges(from, to, excluded)) {
+                return NOT_COMPILED;
+            }
+        }
+
+        excluded.sort(Comparator.comparingLong(range -> range[0]));
+        long[] boundaries = new long[2 * excluded.size()];
+        int count = 0;
+        for (long[] range : excluded) {
+            if (count > 0 && range[0] <= boundaries[count - 1]) {
+                boundaries[count - 1] = Math.max(boundaries[count - 1], range[1]);
+            } else {
+                boundaries[count++] = range[0];
+                boundaries[count++] = range[1];
+            }
+        }
+
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /*
+     * The rules of one calendar of the chain, evaluated a day at a time.
+     */
+    private static final class Link {
+
+        private final BaseCalendar calendar;
+
+        private final ZoneId zone;
+
+        private final java.util.Calendar day;
+
+        // the days (by month and day of month) excluded by an AnnualCalendar
+        private final boolean[][] annualDays;
+
+        private Link(BaseCalendar calendar, ZoneId zone, boolean[][] annualDays) {
+            this.calendar = calendar;
+            this.zone = zone;
+            this.day = calendar.createJavaCalendar();
+            this.annualDays = annualDays;
+        }
+
+        static Link of(BaseCalendar calendar) {
+            TimeZone timeZone = calendar.getTimeZone();
+            ZoneId zone;
+            try {
+                zone = timeZone.toZoneId();
+            } catch (DateTimeException e) {
+                return null;
+            }
+            if (!TimeZone.getTimeZone(zone).hasSameRules(timeZone)) {
+                return null;
+            }
+
+            boolean[][] annualDays = null;
+            if (calendar instanceof WeeklyCalendar) {
+                if (((WeeklyCalendar) calendar).areAllDaysExcluded()) {
+                    return null;
+                }
+            } else if (calendar instanceof MonthlyCalendar) {
+                if (((MonthlyCalendar) calendar).areAllDaysExcluded()) {
+                    return null;
+                }
+            } else if (calendar instanceof AnnualCalendar) {
+                annualDays = new boolean[java.util.Calendar.UNDECIMBER + 1][32];
+                for (java.util.Calendar day : ((AnnualCalendar) calendar).getDaysExcluded()) {
+                    annualDays[day.get(java.util.Calendar.MONTH)][day.get(java.util.Calendar.DAY_OF_MONTH)] = true;
+                }
+            }
+
+            return new Link(calendar, zone, annualDays);
+        }
+
+        /*
+         * Add the ranges excluded by the calendar between the given times,
+         * a day at a time. Return false if the days of the calendar do not
+         * line up with those of the time zone, which is checked on both
+         * sides of every transition: in between, the local time only moves
+         * on.
+         */
+        boolean addExcludedRanges(long from, long to, List<long[]> ranges) {
+            ZoneRules rules = zone.getRules();
+            LocalDate date = Instant.ofEpochMilli(from).atZone(zone).toLocalDate();
+            long dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(dayStart));
+            while (dayStart < to) {
+                LocalDate nextDate = date.plusDays(1);
+                long dayEnd = nextDate.atStartOfDay(zone).toInstant().toEpochMilli();
+                for (; transition != null && transition.toEpochSecond() * 1000L < dayEnd;
+                        transition = rules.nextTransition(transition.getInstant())) {
+                    long time = transition.toEpochSecond() * 1000L;
+                    if (time > dayStart && (!isOn(time - 1, date) || !isOn(time, date))) {
+                        return false;
+                    }
+                }
+                if (dayEnd > dayStart) {
+                    if (!isOn(dayEnd - 1, date) || !isOn(dayStart, date)) {
+                        return false;
+                    }
+                    addExcludedRanges(dayStart, dayEnd,
+                            Math.max(dayStart, from), Math.min(dayEnd, to), ranges);
+                }
+                date = nextDate;
+                dayStart = dayEnd;
+            }
+            return true;
+        }
+
+        // leaves the java calendar at the given time
+        private boolean isOn(long time, LocalDate date) {
+            day.setTimeInMillis(time);
+            return day.get(java.util.Calendar.DAY_OF_MONTH) == date.getDayOfMonth()
+                && day.get(java.util.Calendar.MONTH) == date.getMonthValue() - 1;
+        }
+
+        // the java calendar is on the day
+        private void addExcludedRanges(long dayStart, long dayEnd, long from, long to, List<long[]> ranges) {
+            if (calendar instanceof WeeklyCalendar) {
+                if (((WeeklyCalendar) calendar).isDayExcluded(day.get(java.util.Calendar.DAY_OF_WEEK))) {
+                    addRange(from, to, ranges);
+                }
+            } else if (calendar instanceof MonthlyCalendar) {
+                if (((MonthlyCalendar) calendar).isDayExcluded(day.get(java.util.Calendar.DAY_OF_MONTH))) {
+                    addRange(from, to, ranges);
+                }
+            } else if (calendar instanceof AnnualCalendar) {
+                if (annualDays[day.get(java.util.Calendar.MONTH)][day.get(java.util.Calendar.DAY_OF_MONTH)]) {
+                    addRange(from, to, ranges);
+                }
+            } else if (calendar instanceof HolidayCalendar) {
+                if (((HolidayCalendar) calendar).getExcludedDates().contains(
+                        calendar.getStartOfDayJavaCalendar(dayStart).getTime())) {
+                    addRange(from, to, ranges);
+                }
+            } else if (calendar instanceof DailyCalendar) {
+                DailyCalendar daily = (DailyCalendar) calendar;
+                long rangeStart = daily.getTimeRangeStartingTimeInMillis(dayStart);
+                long rangeEnd = daily.getTimeRangeEndingTimeInMillis(dayStart);
+                if (daily.getInvertTimeRange()) {
+                    addExcludedAround(from, to, ranges, rangeStart, rangeEnd + 1L);
+                } else {
+                    long startOfDay = daily.getStartOfDayJavaCalendar(dayStart).getTimeInMillis();
+                    long endOfDay = daily.getEndOfDayJavaCalendar(dayStart).getTimeInMillis();
+                    if (rangeEnd < startOfDay) {
+                        addExcludedAround(from, to, ranges,
+                                rangeEnd + 1L, endOfDay, startOfDay + 1L, rangeStart);
+                    } else {
+                        addExcludedAround(from, to, ranges,
+                                startOfDay + 1L, rangeStart, rangeEnd + 1L, endOfDay);
+                    }
+                }
+            }
+        }
+
+        // add the ranges between the given times which are outside the
+        // included ones, given as start and end pairs in order of their starts
+        private static void addExcludedAround(long from, long to, List<long[]> ranges, long... included) {
+            long time = from;
+            for (int i = 0; i < included.length; i += 2) {
+                long start = Math.max(included[i], from);
+                long end = Math.min(included[i + 1], to);
+                if (start >= end) {
+                    continue;
+                }
+                addRange(time, start, ranges);
+                time = Math.max(time, end);
+            }
+            addRange(time, to, ranges);
+        }
+
+        private static void addRange(long from, long to, List<long[]> ranges) {
+            if (from < to) {
+                ranges.add(new long[] {from, to});
+            }
+        }
+    }
+}
@@ -26,6 +26,9 @@ import org.quartz.CronExpression;
 public class CronCalendar extends BaseCalendar {
     private static final long serialVersionUID = -8172103999750856831L;
 
+    // how far ahead the end of an excluded range is looked for in one query
+    private static final long MAX_EXCLUDED_RANGE_MILLIS = 31L * 24L * 60L * 60L * 1000L;
+
     CronExpression cronExpression;
 
     /**
@@ -164,6 +167,24 @@ public class CronCalendar extends BaseCalendar {
         return nextIncludedTime;
     }
 
+    /**
+     * Determines the end of the run of seconds satisfying the cron expression
+     * that the specified time is in, looking at most a month ahead.  The end
+     * is only known where the expression's compiled form applies, as testing
+     * every second of the run costs more than it saves.
+     * 
+     * @param timeInMillis the date/time to start from
+     * @return the first time after the excluded seconds, or the specified time
+     *         if it does not satisfy the cron expression or the end is not known
+     * @see CronExpression#getSatisfiedRangeEnd(long, long)
+     */
+    @Override
+    protected long getExcludedRangeEnd(long timeInMillis) {
+        long noLaterThan = (timeInMillis > Long.MAX_VALUE - MAX_EXCLUDED_RANGE_MILLIS)
+                ? Long.MAX_VALUE : timeInMillis + MAX_EXCLUDED_RANGE_MILLIS;
+        return cronExpression.getSatisfiedRangeEnd(timeInMillis, noLaterThan);
+    }
+
     /**
      * Returns a string representing the properties of the 
      * <CODE>CronCalendar</CODE>
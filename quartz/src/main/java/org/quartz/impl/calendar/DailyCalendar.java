@@ -551,6 +551,44 @@ public class DailyCalendar extends BaseCalendar {
         return nextIncludedTime;
     }
 
+    /**
+     * Determines the end of the range of time excluded by the time range of
+     * the <CODE>DailyCalendar</CODE> that the specified time is in.
+     * 
+     * @param timeInMillis the date/time to start from
+     * @return the first time after the excluded range, or the specified time
+     *         if it is not excluded by the time range
+     */
+    @Override
+    protected long getExcludedRangeEnd(long timeInMillis) {
+        long startOfDayInMillis = getStartOfDayJavaCalendar(timeInMillis).getTime().getTime();
+        long endOfDayInMillis = getEndOfDayJavaCalendar(timeInMillis).getTime().getTime();
+        long timeRangeStartingTimeInMillis = 
+            getTimeRangeStartingTimeInMillis(timeInMillis);
+        long timeRangeEndingTimeInMillis = 
+            getTimeRangeEndingTimeInMillis(timeInMillis);
+        if (!invertTimeRange) {
+            if (timeInMillis >= timeRangeStartingTimeInMillis && 
+                    timeInMillis <= timeRangeEndingTimeInMillis) {
+                return timeRangeEndingTimeInMillis + oneMillis;
+            }
+            // the very start and end of the day are not included either
+            if (timeInMillis == startOfDayInMillis || 
+                    timeInMillis == endOfDayInMillis) {
+                return timeInMillis + oneMillis;
+            }
+        } else {
+            if (timeInMillis < timeRangeStartingTimeInMillis) {
+                return timeRangeStartingTimeInMillis;
+            }
+            if (timeInMillis > timeRangeEndingTimeInMillis) {
+                //(move to start of next day)
+                return endOfDayInMillis + oneMillis;
+            }
+        }
+        return timeInMillis;
+    }
+
     /**
      * Returns the start time of the time range (in milliseconds) of the day 
      * specified in <CODE>timeInMillis</CODE>
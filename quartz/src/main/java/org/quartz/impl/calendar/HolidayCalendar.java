@@ -120,6 +120,32 @@ public class HolidayCalendar extends BaseCalendar implements Calendar,
         return day.getTime().getTime();
     }
 
+    /**
+     * <p>
+     * Determine the end of the run of holidays that the given time is on: the
+     * start of the next day which is not a holiday.
+     * </p>
+     */
+    @Override
+    protected long getExcludedRangeEnd(long timeStamp) {
+        java.util.Calendar day = getStartOfDayJavaCalendar(timeStamp);
+        if (!dates.contains(day.getTime())) {
+            return timeStamp;
+        }
+
+        do {
+            day.add(java.util.Calendar.DATE, 1);
+        } while (dates.contains(day.getTime()));
+
+        // a day whose midnight is repeated may start before the time given
+        // for it, which then doesn't end the excluded range
+        long end = day.getTime().getTime();
+        if (end <= timeStamp || !dates.contains(getStartOfDayJavaCalendar(end - 1).getTime())) {
+            return timeStamp;
+        }
+        return end;
+    }
+
     /**
      * <p>
      * Add the given Date to the list of excluded days. Only the month, day and
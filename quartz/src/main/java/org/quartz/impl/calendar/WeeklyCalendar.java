@@ -164,6 +164,37 @@ public class WeeklyCalendar extends BaseCalendar implements Calendar,
         return !(isDayExcluded(wday));
     }
 
+    /**
+     * <p>
+     * Determine the end of the run of excluded week days that the given time
+     * is on: the start of the next day which is not excluded.
+     * </p>
+     */
+    @Override
+    protected long getExcludedRangeEnd(long timeStamp) {
+        if (excludeAll) {
+            return timeStamp;
+        }
+
+        java.util.Calendar cl = getStartOfDayJavaCalendar(timeStamp);
+        if (!isDayExcluded(cl.get(java.util.Calendar.DAY_OF_WEEK))) {
+            return timeStamp;
+        }
+
+        do {
+            cl.add(java.util.Calendar.DATE, 1);
+        } while (isDayExcluded(cl.get(java.util.Calendar.DAY_OF_WEEK)));
+
+        // a day whose midnight is repeated may start before the time given
+        // for it, which then doesn't end the excluded range
+        long end = cl.getTime().getTime();
+        java.util.Calendar last = createJavaCalendar(end - 1);
+        if (end <= timeStamp || !isDayExcluded(last.get(java.util.Calendar.DAY_OF_WEEK))) {
+            return timeStamp;
+        }
+        return end;
+    }
+
     /**
      * <p>
      * Determine the next time (in milliseconds) that is 'included' by the
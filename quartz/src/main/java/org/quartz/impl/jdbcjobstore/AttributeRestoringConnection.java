@@ -0,0 +1,393 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Protects a <code>{@link java.sql.Connection}</code>'s attributes from being permanently modified.
+ * </p>
+ *
+ * <p>
+ * Wraps a provided <code>{@link java.sql.Connection}</code> such that its auto
+ * commit and transaction isolation attributes can be overwritten, but will
+ * automatically be restored to their original values when the connection is
+ * actually closed (and potentially returned to a pool for reuse).  Only the
+ * attributes that were actually changed are restored, and a request to set
+ * an attribute to the value it already has is not passed on to the driver.
+ * </p>
+ *
+ * <p>
+ * Unlike <code>{@link AttributeRestoringConnectionInvocationHandler}</code>,
+ * every other call is passed straight to the wrapped connection rather than
+ * through a reflective <code>Proxy</code>.
+ * </p>
+ *
+ * @see org.quartz.impl.jdbcjobstore.JobStoreSupport#getConnection()
+ * @see org.quartz.impl.jdbcjobstore.JobStoreCMT#getNonManagedTXConnection()
+ */
+public class AttributeRestoringConnection implements Connection {
+    private final Connection conn;
+
+    private boolean overwroteOriginalAutoCommitValue;
+    private boolean overwroteOriginalTxIsolationValue;
+
+    // Set if overwroteOriginalAutoCommitValue is true
+    private boolean originalAutoCommitValue;
+
+    // Set if overwroteOriginalTxIsolationValue is true
+    private int originalTxIsolationValue;
+
+    public AttributeRestoringConnection(Connection conn) {
+        this.conn = conn;
+    }
+
+    protected Logger getLog() {
+        return LoggerFactory.getLogger(getClass());
+    }
+
+    /**
+     * Sets this connection's auto-commit mode to the given state, saving
+     * the original mode.  The connection's original auto commit mode is restored
+     * when the connection is closed.
+     */
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        boolean currentAutoCommitValue = conn.getAutoCommit();
+
+        if (autoCommit != currentAutoCommitValue) {
+            if (!overwroteOriginalAutoCommitValue) {
+                overwroteOriginalAutoCommitValue = true;
+                originalAutoCommitValue = currentAutoCommitValue;
+            }
+
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Attempts to change the transaction isolation level to the given level, saving
+     * the original level.  The connection's original transaction isolation level is
+     * restored when the connection is closed.
+     */
+    public void setTransactionIsolation(int level) throws SQLException {
+        int currentLevel = conn.getTransactionIsolation();
+
+        if (level != currentLevel) {
+            if (!overwroteOriginalTxIsolationValue) {
+                overwroteOriginalTxIsolationValue = true;
+                originalTxIsolationValue = currentLevel;
+            }
+
+            conn.setTransactionIsolation(level);
+        }
+    }
+
+    /**
+     * Gets the underlying connection to which all operations ultimately
+     * defer.  This is provided in case a user ever needs to punch through
+     * the wrapper to access vendor specific methods outside of the
+     * standard <code>java.sql.Connection</code> interface.
+     *
+     * @return The underlying connection to which all operations
+     * ultimately defer.
+     */
+    public Connection getWrappedConnection() {
+        return conn;
+    }
+
+    /**
+     * Attempts to restore the auto commit and transaction isolation connection
+     * attributes of the wrapped connection to their original values (if they
+     * were overwritten).
+     */
+    public void restoreOriginalAttributes() {
+        try {
+            if (overwroteOriginalAutoCommitValue) {
+                overwroteOriginalAutoCommitValue = false;
+                conn.setAutoCommit(originalAutoCommitValue);
+            }
+        } catch (Throwable t) {
+            getLog().warn("Failed restore connection's original auto commit setting.", t);
+        }
+
+        try {
+            if (overwroteOriginalTxIsolationValue) {
+                overwroteOriginalTxIsolationValue = false;
+                conn.setTransactionIsolation(originalTxIsolationValue);
+            }
+        } catch (Throwable t) {
+            getLog().warn("Failed restore connection's original transaction isolation setting.", t);
+        }
+    }
+
+    /**
+     * Attempts to restore the auto commit and transaction isolation connection
+     * attributes of the wrapped connection to their original values (if they
+     * were overwritten), before finally actually closing the wrapped connection.
+     */
+    public void close() throws SQLException {
+        restoreOriginalAttributes();
+
+        conn.close();
+    }
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return conn.unwrap(iface);
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || conn.isWrapperFor(iface);
+    }
+
+    //---------------------------------------------------------------------------
+    // plain delegation
+    //---------------------------------------------------------------------------
+
+    public Statement createStatement() throws SQLException {
+        return conn.createStatement();
+    }
+
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return conn.prepareStatement(sql);
+    }
+
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return conn.prepareCall(sql);
+    }
+
+    public String nativeSQL(String sql) throws SQLException {
+        return conn.nativeSQL(sql);
+    }
+
+    public boolean getAutoCommit() throws SQLException {
+        return conn.getAutoCommit();
+    }
+
+    public void commit() throws SQLException {
+        conn.commit();
+    }
+
+    public void rollback() throws SQLException {
+        conn.rollback();
+    }
+
+    public boolean isClosed() throws SQLException {
+        return conn.isClosed();
+    }
+
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return conn.getMetaData();
+    }
+
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        conn.setReadOnly(readOnly);
+    }
+
+    public boolean isReadOnly() throws SQLException {
+        return conn.isReadOnly();
+    }
+
+    public void setCatalog(String catalog) throws SQLException {
+        conn.setCatalog(catalog);
+    }
+
+    public String getCatalog() throws SQLException {
+        return conn.getCatalog();
+    }
+
+    public int getTransactionIsolation() throws SQLException {
+        return conn.getTransactionIsolation();
+    }
+
+    public SQLWarning getWarnings() throws SQLException {
+        return conn.getWarnings();
+    }
+
+    public void clearWarnings() throws SQLException {
+        conn.clearWarnings();
+    }
+
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        return conn.createStatement(resultSetType, resultSetConcurrency);
+    }
+
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+        throws SQLException {
+        return conn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+    }
+
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency)
+        throws SQLException {
+        return conn.prepareCall(sql, resultSetType, resultSetConcurrency);
+    }
+
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return conn.getTypeMap();
+    }
+
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        conn.setTypeMap(map);
+    }
+
+    public void setHoldability(int holdability) throws SQLException {
+        conn.setHoldability(holdability);
+    }
+
+    public int getHoldability() throws SQLException {
+        return conn.getHoldability();
+    }
+
+    public Savepoint setSavepoint() throws SQLException {
+        return conn.setSavepoint();
+    }
+
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return conn.setSavepoint(name);
+    }
+
+    public void rollback(Savepoint savepoint) throws SQLException {
+        conn.rollback(savepoint);
+    }
+
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        conn.releaseSavepoint(savepoint);
+    }
+
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+        throws SQLException {
+        return conn.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+        int resultSetHoldability) throws SQLException {
+        return conn.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+        int resultSetHoldability) throws SQLException {
+        return conn.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return conn.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        return conn.prepareStatement(sql, columnIndexes);
+    }
+
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        return conn.prepareStatement(sql, columnNames);
+    }
+
+    public Clob createClob() throws SQLException {
+        return conn.createClob();
+    }
+
+    public Blob createBlob() throws SQLException {
+        return conn.createBlob();
+    }
+
+    public NClob createNClob() throws SQLException {
+        return conn.createNClob();
+    }
+
+    public SQLXML createSQLXML() throws SQLException {
+        return conn.createSQLXML();
+    }
+
+    public boolean isValid(int timeout) throws SQLException {
+        return conn.isValid(timeout);
+    }
+
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        conn.setClientInfo(name, value);
+    }
+
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        conn.setClientInfo(properties);
+    }
+
+    public String getClientInfo(String name) throws SQLException {
+        return conn.getClientInfo(name);
+    }
+
+    public Properties getClientInfo() throws SQLException {
+        return conn.getClientInfo();
+    }
+
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        return conn.createArrayOf(typeName, elements);
+    }
+
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        return conn.createStruct(typeName, attributes);
+    }
+
+    public void setSchema(String schema) throws SQLException {
+        conn.setSchema(schema);
+    }
+
+    public String getSchema() throws SQLException {
+        return conn.getSchema();
+    }
+
+    public void abort(Executor executor) throws SQLException {
+        conn.abort(executor);
+    }
+
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        conn.setNetworkTimeout(executor, milliseconds);
+    }
+
+    public int getNetworkTimeout() throws SQLException {
+        return conn.getNetworkTimeout();
+    }
+
+    public void beginRequest() throws SQLException {
+        conn.beginRequest();
+    }
+
+    public void endRequest() throws SQLException {
+        conn.endRequest();
+    }
+}
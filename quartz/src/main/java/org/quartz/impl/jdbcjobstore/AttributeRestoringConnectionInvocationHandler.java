@@ -37,6 +37,13 @@ import org.slf4j.LoggerFactory;
  * is actually closed (and potentially returned to a pool for reuse).
  * </p>
  * 
+ * <p>
+ * <code>JobStoreSupport</code> now uses the non-reflective
+ * <code>{@link AttributeRestoringConnection}</code>; this handler is kept
+ * for subclasses that still wrap connections in a <code>Proxy</code>.
+ * </p>
+ * 
+ * @see AttributeRestoringConnection
  * @see org.quartz.impl.jdbcjobstore.JobStoreSupport#getConnection()
  * @see org.quartz.impl.jdbcjobstore.JobStoreCMT#getNonManagedTXConnection()
  */
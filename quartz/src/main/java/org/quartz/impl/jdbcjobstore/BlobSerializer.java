@@ -0,0 +1,52 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An interface which converts the objects the JDBC job store keeps in BLOB
+ * columns - <code>JobDataMap</code>s, <code>Calendar</code>s and the
+ * <code>Trigger</code>s of types without a
+ * <code>{@link TriggerPersistenceDelegate}</code> - to and from bytes.
+ *
+ * <p>
+ * The implementation to use can be configured with the
+ * <code>blobSerializerClass</code> setting of the driver delegate init
+ * string.  Implementations must be able to read everything that was written
+ * by <code>{@link JavaBlobSerializer}</code>, so that existing rows remain
+ * readable, and need a public no-argument constructor.
+ * </p>
+ *
+ * @see StdJDBCDelegate#initialize(org.slf4j.Logger, String, String, String, org.quartz.spi.ClassLoadHelper, boolean, String)
+ */
+public interface BlobSerializer {
+
+    /**
+     * Write the given (non-null) object to the given stream.
+     */
+    void serialize(Object obj, OutputStream out) throws IOException;
+
+    /**
+     * Read an object written by <code>{@link #serialize(Object, OutputStream)}</code>
+     * (or by <code>{@link JavaBlobSerializer}</code>) from the given stream.
+     */
+    Object deserialize(InputStream in) throws IOException, ClassNotFoundException;
+}
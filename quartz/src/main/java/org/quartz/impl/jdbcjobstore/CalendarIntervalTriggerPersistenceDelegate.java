@@ -16,9 +16,12 @@
  */
 package org.quartz.impl.jdbcjobstore;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.TimeZone;
 
 import org.quartz.CalendarIntervalScheduleBuilder;
+import org.quartz.JobDetail;
 import org.quartz.ScheduleBuilder;
 import org.quartz.DateBuilder.IntervalUnit;
 import org.quartz.impl.triggers.CalendarIntervalTriggerImpl;
@@ -51,6 +54,12 @@ public class CalendarIntervalTriggerPersistenceDelegate extends SimpleProperties
         return props;
     }
 
+    @Override
+    public int updateExtendedTriggerFireState(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) throws SQLException {
+        // only the fire count (INT_PROP_2) changes when the trigger fires
+        return updateIntProp2(conn, trigger.getKey(), ((CalendarIntervalTriggerImpl)trigger).getTimesTriggered());
+    }
+
     @Override
     protected TriggerPropertyBundle getTriggerPropertyBundle(SimplePropertiesTriggerProperties props) {
 
@@ -0,0 +1,763 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.quartz.Calendar;
+import org.quartz.DateBuilder.IntervalUnit;
+import org.quartz.JobDataMap;
+import org.quartz.TimeOfDay;
+import org.quartz.impl.calendar.BaseCalendar;
+import org.quartz.impl.calendar.CronCalendar;
+import org.quartz.impl.calendar.HolidayCalendar;
+import org.quartz.impl.calendar.MonthlyCalendar;
+import org.quartz.impl.calendar.WeeklyCalendar;
+import org.quartz.impl.triggers.AbstractTrigger;
+import org.quartz.impl.triggers.CalendarIntervalTriggerImpl;
+import org.quartz.impl.triggers.CronTriggerImpl;
+import org.quartz.impl.triggers.DailyTimeIntervalTriggerImpl;
+import org.quartz.impl.triggers.SimpleTriggerImpl;
+
+/**
+ * A <code>{@link BlobSerializer}</code> that writes the built-in trigger
+ * types, the built-in <code>BaseCalendar</code>, <code>WeeklyCalendar</code>,
+ * <code>MonthlyCalendar</code>, <code>HolidayCalendar</code> and
+ * <code>CronCalendar</code>, and <code>JobDataMap</code>s holding only
+ * strings, primitive wrappers and nulls in a compact binary format, without
+ * any class descriptors.
+ *
+ * <p>
+ * Every other object (including subclasses of the types above, and objects
+ * referring to one that can't be written) is written with standard Java
+ * serialization, and rows written by <code>{@link JavaBlobSerializer}</code>
+ * are still read, so this serializer can be switched to on an existing
+ * database.  Switching back to <code>JavaBlobSerializer</code> however
+ * requires every row written in the compact format to be re-written first.
+ * </p>
+ *
+ * <p>
+ * To use it, add <code>blobSerializerClass=org.quartz.impl.jdbcjobstore.CompactBlobSerializer</code>
+ * to the <code>driverDelegateInitString</code> of the job store.
+ * </p>
+ */
+public class CompactBlobSerializer implements BlobSerializer {
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constants.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    // Java serialization streams start with 0xACED, so can't be mistaken for these
+    private static final int MAGIC_0 = 'Q';
+    private static final int MAGIC_1 = 'B';
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int TYPE_NONE = 0;
+    private static final int TYPE_JOB_DATA_MAP = 1;
+    private static final int TYPE_BASE_CALENDAR = 16;
+    private static final int TYPE_WEEKLY_CALENDAR = 17;
+    private static final int TYPE_MONTHLY_CALENDAR = 18;
+    private static final int TYPE_HOLIDAY_CALENDAR = 19;
+    private static final int TYPE_CRON_CALENDAR = 20;
+    private static final int TYPE_SIMPLE_TRIGGER = 32;
+    private static final int TYPE_CRON_TRIGGER = 33;
+    private static final int TYPE_CALENDAR_INTERVAL_TRIGGER = 34;
+    private static final int TYPE_DAILY_TIME_INTERVAL_TRIGGER = 35;
+
+    private static final int VALUE_NULL = 0;
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_INTEGER = 2;
+    private static final int VALUE_LONG = 3;
+    private static final int VALUE_BOOLEAN = 4;
+    private static final int VALUE_DOUBLE = 5;
+    private static final int VALUE_FLOAT = 6;
+    private static final int VALUE_SHORT = 7;
+    private static final int VALUE_BYTE = 8;
+    private static final int VALUE_CHARACTER = 9;
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Data members.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private final BlobSerializer fallback = new JavaBlobSerializer();
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Interface.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    public void serialize(Object obj, OutputStream out) throws IOException {
+        int type = getType(obj);
+        if (type == TYPE_NONE) {
+            fallback.serialize(obj, out);
+            return;
+        }
+
+        DataOutputStream dos = new DataOutputStream(out);
+        dos.writeByte(MAGIC_0);
+        dos.writeByte(MAGIC_1);
+        dos.writeByte(FORMAT_VERSION);
+        writeObject(dos, type, obj);
+        dos.flush();
+    }
+
+    public Object deserialize(InputStream in) throws IOException, ClassNotFoundException {
+        if (!in.markSupported()) {
+            in = new BufferedInputStream(in);
+        }
+        in.mark(2);
+        if (in.read() != MAGIC_0 || in.read() != MAGIC_1) {
+            in.reset();
+            return fallback.deserialize(in);
+        }
+
+        DataInputStream dis = new DataInputStream(in);
+        int version = dis.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported compact BLOB format version: " + version);
+        }
+        return readObject(dis);
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Type detection.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * Get the type the given object is written as, or <code>TYPE_NONE</code>
+     * if it has to be written with Java serialization.  Only exact classes
+     * are matched, as subclasses may hold state this format doesn't know of.
+     */
+    private static int getType(Object obj) {
+        Class<?> c = obj.getClass();
+        if (c == JobDataMap.class) {
+            return canWrite((JobDataMap) obj) ? TYPE_JOB_DATA_MAP : TYPE_NONE;
+        }
+        if (obj instanceof Calendar) {
+            return getCalendarType((Calendar) obj);
+        }
+        if (obj instanceof AbstractTrigger && !canWrite(((AbstractTrigger<?>) obj).getJobDataMap())) {
+            return TYPE_NONE;
+        }
+        if (c == SimpleTriggerImpl.class) {
+            return TYPE_SIMPLE_TRIGGER;
+        }
+        if (c == CronTriggerImpl.class) {
+            return canWrite(((CronTriggerImpl) obj).getTimeZone()) ? TYPE_CRON_TRIGGER : TYPE_NONE;
+        }
+        if (c == CalendarIntervalTriggerImpl.class) {
+            return canWrite(((CalendarIntervalTriggerImpl) obj).getTimeZone()) ? TYPE_CALENDAR_INTERVAL_TRIGGER : TYPE_NONE;
+        }
+        if (c == DailyTimeIntervalTriggerImpl.class) {
+            // a trigger without a next fire time may be flagged complete,
+            // which can't be read from the outside
+            return ((DailyTimeIntervalTriggerImpl) obj).getNextFireTime() != null ? TYPE_DAILY_TIME_INTERVAL_TRIGGER : TYPE_NONE;
+        }
+        return TYPE_NONE;
+    }
+
+    private static int getCalendarType(Calendar cal) {
+        Class<?> c = cal.getClass();
+        int type;
+        if (c == BaseCalendar.class) {
+            type = TYPE_BASE_CALENDAR;
+        } else if (c == WeeklyCalendar.class) {
+            type = TYPE_WEEKLY_CALENDAR;
+        } else if (c == MonthlyCalendar.class) {
+            type = TYPE_MONTHLY_CALENDAR;
+        } else if (c == HolidayCalendar.class && isNormalized((HolidayCalendar) cal)) {
+            type = TYPE_HOLIDAY_CALENDAR;
+        } else if (c == CronCalendar.class) {
+            type = TYPE_CRON_CALENDAR;
+        } else {
+            return TYPE_NONE;
+        }
+
+        BaseCalendar base = (BaseCalendar) cal;
+        if (!canWrite(base.getTimeZone())) {
+            return TYPE_NONE;
+        }
+        if (base.getBaseCalendar() != null && getCalendarType(base.getBaseCalendar()) == TYPE_NONE) {
+            return TYPE_NONE;
+        }
+        return type;
+    }
+
+    private static boolean canWrite(JobDataMap map) {
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            Object key = entry.getKey();
+            if (!(key instanceof String) || getValueType(entry.getValue()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Only time zones that are fully described by their id can be written.
+     */
+    private static boolean canWrite(TimeZone timeZone) {
+        return timeZone == null || timeZone.equals(TimeZone.getTimeZone(timeZone.getID()));
+    }
+
+    /**
+     * <code>HolidayCalendar</code> moves every date added to the start of its
+     * day, so its dates can only be re-added unchanged if they all still are
+     * at the start of a day in its current time zone.
+     */
+    private static boolean isNormalized(HolidayCalendar cal) {
+        java.util.Calendar day = (cal.getTimeZone() == null) ?
+                java.util.Calendar.getInstance() :
+                java.util.Calendar.getInstance(cal.getTimeZone());
+        for (Date date : cal.getExcludedDates()) {
+            day.setTime(date);
+            if (day.get(java.util.Calendar.HOUR_OF_DAY) != 0
+                    || day.get(java.util.Calendar.MINUTE) != 0
+                    || day.get(java.util.Calendar.SECOND) != 0
+                    || day.get(java.util.Calendar.MILLISECOND) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getValueType(Object value) {
+        if (value == null) {
+            return VALUE_NULL;
+        }
+        Class<?> c = value.getClass();
+        if (c == String.class) {
+            return VALUE_STRING;
+        } else if (c == Integer.class) {
+            return VALUE_INTEGER;
+        } else if (c == Long.class) {
+            return VALUE_LONG;
+        } else if (c == Boolean.class) {
+            return VALUE_BOOLEAN;
+        } else if (c == Double.class) {
+            return VALUE_DOUBLE;
+        } else if (c == Float.class) {
+            return VALUE_FLOAT;
+        } else if (c == Short.class) {
+            return VALUE_SHORT;
+        } else if (c == Byte.class) {
+            return VALUE_BYTE;
+        } else if (c == Character.class) {
+            return VALUE_CHARACTER;
+        }
+        return -1;
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Writing.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private static void writeObject(DataOutputStream out, int type, Object obj) throws IOException {
+        out.writeByte(type);
+        switch (type) {
+            case TYPE_JOB_DATA_MAP:
+                writeJobDataMap(out, (JobDataMap) obj);
+                break;
+            case TYPE_BASE_CALENDAR:
+            case TYPE_WEEKLY_CALENDAR:
+            case TYPE_MONTHLY_CALENDAR:
+            case TYPE_HOLIDAY_CALENDAR:
+            case TYPE_CRON_CALENDAR:
+                writeCalendar(out, type, (BaseCalendar) obj);
+                break;
+            default:
+                writeTrigger(out, type, (AbstractTrigger<?>) obj);
+        }
+    }
+
+    private static void writeJobDataMap(DataOutputStream out, JobDataMap map) throws IOException {
+        out.writeBoolean(map.isDirty());
+        writeLength(out, map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            Object value = entry.getValue();
+            int valueType = getValueType(value);
+            out.writeByte(valueType);
+            switch (valueType) {
+                case VALUE_STRING:
+                    writeString(out, (String) value);
+                    break;
+                case VALUE_INTEGER:
+                    out.writeInt((Integer) value);
+                    break;
+                case VALUE_LONG:
+                    out.writeLong((Long) value);
+                    break;
+                case VALUE_BOOLEAN:
+                    out.writeBoolean((Boolean) value);
+                    break;
+                case VALUE_DOUBLE:
+                    out.writeDouble((Double) value);
+                    break;
+                case VALUE_FLOAT:
+                    out.writeFloat((Float) value);
+                    break;
+                case VALUE_SHORT:
+                    out.writeShort((Short) value);
+                    break;
+                case VALUE_BYTE:
+                    out.writeByte((Byte) value);
+                    break;
+                case VALUE_CHARACTER:
+                    out.writeChar((Character) value);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static void writeCalendar(DataOutputStream out, int type, BaseCalendar cal) throws IOException {
+        writeString(out, cal.getDescription());
+        writeTimeZone(out, cal.getTimeZone());
+        Calendar baseCalendar = cal.getBaseCalendar();
+        if (baseCalendar == null) {
+            out.writeByte(TYPE_NONE);
+        } else {
+            writeObject(out, getCalendarType(baseCalendar), baseCalendar);
+        }
+
+        switch (type) {
+            case TYPE_WEEKLY_CALENDAR:
+                writeBooleans(out, ((WeeklyCalendar) cal).getDaysExcluded());
+                break;
+            case TYPE_MONTHLY_CALENDAR:
+                writeBooleans(out, ((MonthlyCalendar) cal).getDaysExcluded());
+                break;
+            case TYPE_HOLIDAY_CALENDAR:
+                Set<Date> dates = ((HolidayCalendar) cal).getExcludedDates();
+                writeLength(out, dates.size());
+                for (Date date : dates) {
+                    out.writeLong(date.getTime());
+                }
+                break;
+            case TYPE_CRON_CALENDAR:
+                writeString(out, ((CronCalendar) cal).getCronExpression().getCronExpression());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void writeTrigger(DataOutputStream out, int type, AbstractTrigger<?> trigger) throws IOException {
+        writeString(out, trigger.getName());
+        writeString(out, trigger.getGroup());
+        writeString(out, trigger.getJobName());
+        writeString(out, trigger.getJobGroup());
+        writeString(out, trigger.getDescription());
+        writeString(out, trigger.getCalendarName());
+        writeString(out, trigger.getFireInstanceId());
+        out.writeInt(trigger.getMisfireInstruction());
+        out.writeInt(trigger.getPriority());
+        writeJobDataMap(out, trigger.getJobDataMap());
+        writeDate(out, trigger.getStartTime());
+        writeDate(out, trigger.getEndTime());
+        writeDate(out, trigger.getNextFireTime());
+        writeDate(out, trigger.getPreviousFireTime());
+
+        switch (type) {
+            case TYPE_SIMPLE_TRIGGER: {
+                SimpleTriggerImpl st = (SimpleTriggerImpl) trigger;
+                out.writeInt(st.getRepeatCount());
+                out.writeLong(st.getRepeatInterval());
+                out.writeInt(st.getTimesTriggered());
+                break;
+            }
+            case TYPE_CRON_TRIGGER: {
+                CronTriggerImpl ct = (CronTriggerImpl) trigger;
+                writeString(out, ct.getCronExpression());
+                writeTimeZone(out, ct.getTimeZone());
+                break;
+            }
+            case TYPE_CALENDAR_INTERVAL_TRIGGER: {
+                CalendarIntervalTriggerImpl cit = (CalendarIntervalTriggerImpl) trigger;
+                out.writeInt(cit.getRepeatInterval());
+                writeString(out, cit.getRepeatIntervalUnit().name());
+                writeTimeZone(out, cit.getTimeZone());
+                out.writeBoolean(cit.isPreserveHourOfDayAcrossDaylightSavings());
+                out.writeBoolean(cit.isSkipDayIfHourDoesNotExist());
+                out.writeInt(cit.getTimesTriggered());
+                break;
+            }
+            default: {
+                DailyTimeIntervalTriggerImpl dt = (DailyTimeIntervalTriggerImpl) trigger;
+                out.writeInt(dt.getRepeatCount());
+                out.writeInt(dt.getRepeatInterval());
+                writeString(out, dt.getRepeatIntervalUnit().name());
+                int daysOfWeek = 0;
+                for (Integer day : dt.getDaysOfWeek()) {
+                    daysOfWeek |= 1 << day;
+                }
+                out.writeShort(daysOfWeek);
+                writeTimeOfDay(out, dt.getStartTimeOfDay());
+                writeTimeOfDay(out, dt.getEndTimeOfDay());
+                out.writeInt(dt.getTimesTriggered());
+            }
+        }
+    }
+
+    /**
+     * Lengths are written as variable-length integers, as they are nearly
+     * always small.
+     */
+    private static void writeLength(DataOutputStream out, int length) throws IOException {
+        while ((length & ~0x7F) != 0) {
+            out.writeByte((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            writeLength(out, 0);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeLength(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static void writeDate(DataOutputStream out, Date date) throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            out.writeLong(date.getTime());
+        }
+    }
+
+    private static void writeTimeZone(DataOutputStream out, TimeZone timeZone) throws IOException {
+        writeString(out, (timeZone == null) ? null : timeZone.getID());
+    }
+
+    private static void writeTimeOfDay(DataOutputStream out, TimeOfDay timeOfDay) throws IOException {
+        out.writeBoolean(timeOfDay != null);
+        if (timeOfDay != null) {
+            out.writeByte(timeOfDay.getHour());
+            out.writeByte(timeOfDay.getMinute());
+            out.writeByte(timeOfDay.getSecond());
+        }
+    }
+
+    private static void writeBooleans(DataOutputStream out, boolean[] values) throws IOException {
+        writeLength(out, values.length);
+        for (boolean value : values) {
+            out.writeBoolean(value);
+        }
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Reading.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private static Object readObject(DataInputStream in) throws IOException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+            case TYPE_NONE:
+                return null;
+            case TYPE_JOB_DATA_MAP:
+                return readJobDataMap(in);
+            case TYPE_BASE_CALENDAR:
+            case TYPE_WEEKLY_CALENDAR:
+            case TYPE_MONTHLY_CALENDAR:
+            case TYPE_HOLIDAY_CALENDAR:
+            case TYPE_CRON_CALENDAR:
+                return readCalendar(in, type);
+            case TYPE_SIMPLE_TRIGGER:
+            case TYPE_CRON_TRIGGER:
+            case TYPE_CALENDAR_INTERVAL_TRIGGER:
+            case TYPE_DAILY_TIME_INTERVAL_TRIGGER:
+                return readTrigger(in, type);
+            default:
+                throw new IOException("Unknown compact BLOB type: " + type);
+        }
+    }
+
+    private static JobDataMap readJobDataMap(DataInputStream in) throws IOException {
+        boolean dirty = in.readBoolean();
+        int size = readLength(in);
+        JobDataMap map = new JobDataMap();
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            int valueType = in.readUnsignedByte();
+            Object value;
+            switch (valueType) {
+                case VALUE_NULL:
+                    value = null;
+                    break;
+                case VALUE_STRING:
+                    value = readString(in);
+                    break;
+                case VALUE_INTEGER:
+                    value = in.readInt();
+                    break;
+                case VALUE_LONG:
+                    value = in.readLong();
+                    break;
+                case VALUE_BOOLEAN:
+                    value = in.readBoolean();
+                    break;
+                case VALUE_DOUBLE:
+                    value = in.readDouble();
+                    break;
+                case VALUE_FLOAT:
+                    value = in.readFloat();
+                    break;
+                case VALUE_SHORT:
+                    value = in.readShort();
+                    break;
+                case VALUE_BYTE:
+                    value = in.readByte();
+                    break;
+                case VALUE_CHARACTER:
+                    value = in.readChar();
+                    break;
+                default:
+                    throw new IOException("Unknown compact BLOB value type: " + valueType);
+            }
+            map.put(key, value);
+        }
+        if (!dirty) {
+            map.clearDirtyFlag();
+        }
+        return map;
+    }
+
+    private static Calendar readCalendar(DataInputStream in, int type) throws IOException {
+        String description = readString(in);
+        TimeZone timeZone = readTimeZone(in);
+        Calendar baseCalendar = (Calendar) readObject(in);
+
+        BaseCalendar cal;
+        switch (type) {
+            case TYPE_WEEKLY_CALENDAR: {
+                WeeklyCalendar weekly = new WeeklyCalendar(baseCalendar, timeZone);
+                weekly.setDaysExcluded(readBooleans(in));
+                cal = weekly;
+                break;
+            }
+            case TYPE_MONTHLY_CALENDAR: {
+                MonthlyCalendar monthly = new MonthlyCalendar(baseCalendar, timeZone);
+                monthly.setDaysExcluded(readBooleans(in));
+                cal = monthly;
+                break;
+            }
+            case TYPE_HOLIDAY_CALENDAR: {
+                HolidayCalendar holiday = new HolidayCalendar(baseCalendar, timeZone);
+                int size = readLength(in);
+                for (int i = 0; i < size; i++) {
+                    holiday.addExcludedDate(new Date(in.readLong()));
+                }
+                cal = holiday;
+                break;
+            }
+            case TYPE_CRON_CALENDAR:
+                try {
+                    cal = new CronCalendar(baseCalendar, readString(in), timeZone);
+                } catch (ParseException e) {
+                    throw new IOException("Couldn't parse cron expression of calendar: " + e.getMessage(), e);
+                }
+                break;
+            default:
+                cal = new BaseCalendar(baseCalendar, timeZone);
+        }
+        cal.setDescription(description);
+        return cal;
+    }
+
+    private static AbstractTrigger<?> readTrigger(DataInputStream in, int type) throws IOException {
+        AbstractTrigger<?> trigger;
+        switch (type) {
+            case TYPE_SIMPLE_TRIGGER:
+                trigger = new SimpleTriggerImpl();
+                break;
+            case TYPE_CRON_TRIGGER:
+                trigger = new CronTriggerImpl();
+                break;
+            case TYPE_CALENDAR_INTERVAL_TRIGGER:
+                trigger = new CalendarIntervalTriggerImpl();
+                break;
+            default:
+                trigger = new DailyTimeIntervalTriggerImpl();
+        }
+
+        String name = readString(in);
+        if (name != null) {
+            trigger.setName(name);
+        }
+        trigger.setGroup(readString(in));
+        String jobName = readString(in);
+        if (jobName != null) {
+            trigger.setJobName(jobName);
+        }
+        trigger.setJobGroup(readString(in));
+        trigger.setDescription(readString(in));
+        trigger.setCalendarName(readString(in));
+        trigger.setFireInstanceId(readString(in));
+        trigger.setMisfireInstruction(in.readInt());
+        trigger.setPriority(in.readInt());
+        trigger.setJobDataMap(readJobDataMap(in));
+        Date startTime = readDate(in);
+        if (startTime != null) {
+            trigger.setStartTime(startTime);
+        }
+        trigger.setEndTime(readDate(in));
+        trigger.setNextFireTime(readDate(in));
+        trigger.setPreviousFireTime(readDate(in));
+
+        switch (type) {
+            case TYPE_SIMPLE_TRIGGER: {
+                SimpleTriggerImpl st = (SimpleTriggerImpl) trigger;
+                st.setRepeatCount(in.readInt());
+                st.setRepeatInterval(in.readLong());
+                st.setTimesTriggered(in.readInt());
+                break;
+            }
+            case TYPE_CRON_TRIGGER: {
+                CronTriggerImpl ct = (CronTriggerImpl) trigger;
+                String cronExpression = readString(in);
+                if (cronExpression != null) {
+                    try {
+                        ct.setCronExpression(cronExpression);
+                    } catch (ParseException e) {
+                        throw new IOException("Couldn't parse cron expression of trigger: " + e.getMessage(), e);
+                    }
+                }
+                ct.setTimeZone(readTimeZone(in));
+                break;
+            }
+            case TYPE_CALENDAR_INTERVAL_TRIGGER: {
+                CalendarIntervalTriggerImpl cit = (CalendarIntervalTriggerImpl) trigger;
+                cit.setRepeatInterval(in.readInt());
+                cit.setRepeatIntervalUnit(IntervalUnit.valueOf(readString(in)));
+                cit.setTimeZone(readTimeZone(in));
+                cit.setPreserveHourOfDayAcrossDaylightSavings(in.readBoolean());
+                cit.setSkipDayIfHourDoesNotExist(in.readBoolean());
+                cit.setTimesTriggered(in.readInt());
+                break;
+            }
+            default: {
+                DailyTimeIntervalTriggerImpl dt = (DailyTimeIntervalTriggerImpl) trigger;
+                dt.setRepeatCount(in.readInt());
+                dt.setRepeatInterval(in.readInt());
+                dt.setRepeatIntervalUnit(IntervalUnit.valueOf(readString(in)));
+                int daysOfWeekBits = in.readUnsignedShort();
+                Set<Integer> daysOfWeek = new HashSet<>();
+                for (int day = java.util.Calendar.SUNDAY; day <= java.util.Calendar.SATURDAY; day++) {
+                    if ((daysOfWeekBits & (1 << day)) != 0) {
+                        daysOfWeek.add(day);
+                    }
+                }
+                dt.setDaysOfWeek(daysOfWeek);
+                dt.setStartTimeOfDay(readTimeOfDay(in));
+                TimeOfDay endTimeOfDay = readTimeOfDay(in);
+                if (endTimeOfDay != null) {
+                    dt.setEndTimeOfDay(endTimeOfDay);
+                }
+                dt.setTimesTriggered(in.readInt());
+            }
+        }
+        return trigger;
+    }
+
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return length;
+            }
+        }
+        throw new IOException("Malformed length in compact BLOB.");
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readLength(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new Date(in.readLong()) : null;
+    }
+
+    private static TimeZone readTimeZone(DataInputStream in) throws IOException {
+        String id = readString(in);
+        return (id == null) ? null : TimeZone.getTimeZone(id);
+    }
+
+    private static TimeOfDay readTimeOfDay(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return new TimeOfDay(in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedByte());
+    }
+
+    private static boolean[] readBooleans(DataInputStream in) throws IOException {
+        boolean[] values = new boolean[readLength(in)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readBoolean();
+        }
+        return values;
+    }
+}
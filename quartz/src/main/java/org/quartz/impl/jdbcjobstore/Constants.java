@@ -83,6 +83,9 @@ public interface Constants {
 
     String COL_DESCRIPTION = "DESCRIPTION";
 
+    // TABLE_JOB_DETAILS and TABLE_CALENDARS
+    String COL_DATA_VERSION = "DATA_VERSION";
+
     // TABLE_TRIGGERS columns names
     String COL_TRIGGER_NAME = "TRIGGER_NAME";
 
@@ -104,6 +107,8 @@ public interface Constants {
 
     String COL_MISFIRE_INSTRUCTION = "MISFIRE_INSTR";
 
+    String COL_LOCK_PARTITION = "LOCK_PARTITION";
+
     String ALIAS_COL_NEXT_FIRE_TIME = "ALIAS_NXT_FR_TM";
 
     // TABLE_SIMPLE_TRIGGERS columns names
@@ -148,6 +153,9 @@ public interface Constants {
     // MISC CONSTANTS
     String DEFAULT_TABLE_PREFIX = "QRTZ_";
 
+    /** The lock partition of a trigger that hasn't been assigned one. */
+    int LOCK_PARTITION_UNASSIGNED = -2;
+
     // STATES
     String STATE_WAITING = "WAITING";
 
@@ -21,8 +21,12 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.List;
 import java.util.TimeZone;
 
+import org.quartz.CronExpressionCache;
 import org.quartz.CronScheduleBuilder;
 import org.quartz.CronTrigger;
 import org.quartz.JobDetail;
@@ -63,18 +67,31 @@ public class CronTriggerPersistenceDelegate implements TriggerPersistenceDelegat
         }
     }
 
+    @Override
+    public void deleteExtendedTriggerProperties(Connection conn, Collection<TriggerKey> triggerKeys) throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(Util.rtp(DELETE_CRON_TRIGGER, tablePrefix, schedNameLiteral));
+            for (TriggerKey triggerKey : triggerKeys) {
+                ps.setString(1, triggerKey.getName());
+                ps.setString(2, triggerKey.getGroup());
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
     public int insertExtendedTriggerProperties(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) throws SQLException, IOException {
 
-        CronTrigger cronTrigger = (CronTrigger)trigger;
-        
         PreparedStatement ps = null;
         
         try {
             ps = conn.prepareStatement(Util.rtp(INSERT_CRON_TRIGGER, tablePrefix, schedNameLiteral));
-            ps.setString(1, trigger.getKey().getName());
-            ps.setString(2, trigger.getKey().getGroup());
-            ps.setString(3, cronTrigger.getCronExpression());
-            ps.setString(4, cronTrigger.getTimeZone().getID());
+            setInsertParameters(ps, trigger);
 
             return ps.executeUpdate();
         } finally {
@@ -82,6 +99,33 @@ public class CronTriggerPersistenceDelegate implements TriggerPersistenceDelegat
         }
     }
 
+    @Override
+    public void insertExtendedTriggerProperties(Connection conn, List<OperableTrigger> triggers, List<String> states, List<JobDetail> jobDetails) throws SQLException, IOException {
+
+        PreparedStatement ps = null;
+        
+        try {
+            ps = conn.prepareStatement(Util.rtp(INSERT_CRON_TRIGGER, tablePrefix, schedNameLiteral));
+            for (OperableTrigger trigger : triggers) {
+                setInsertParameters(ps, trigger);
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
+    protected void setInsertParameters(PreparedStatement ps, OperableTrigger trigger) throws SQLException {
+        CronTrigger cronTrigger = (CronTrigger)trigger;
+
+        ps.setString(1, trigger.getKey().getName());
+        ps.setString(2, trigger.getKey().getGroup());
+        ps.setString(3, cronTrigger.getCronExpression());
+        ps.setString(4, cronTrigger.getTimeZone().getID());
+    }
+
     public TriggerPropertyBundle loadExtendedTriggerProperties(Connection conn, TriggerKey triggerKey) throws SQLException {
 
         PreparedStatement ps = null;
@@ -112,10 +156,14 @@ public class CronTriggerPersistenceDelegate implements TriggerPersistenceDelegat
         String cronExpr = rs.getString(COL_CRON_EXPRESSION);
         String timeZoneId = rs.getString(COL_TIME_ZONE_ID);
 
-        CronScheduleBuilder cb = CronScheduleBuilder.cronSchedule(cronExpr);
-
-        if (timeZoneId != null)
-            cb.inTimeZone(TimeZone.getTimeZone(timeZoneId));
+        // most triggers share a few expressions, so share their parsed form
+        CronScheduleBuilder cb;
+        try {
+            cb = CronScheduleBuilder.cronSchedule(CronExpressionCache.get(cronExpr,
+                    timeZoneId != null ? TimeZone.getTimeZone(timeZoneId) : null));
+        } catch (ParseException e) {
+            throw new RuntimeException("CronExpression '" + cronExpr + "' is invalid.", e);
+        }
 
         return new TriggerPropertyBundle(cb, null, null);
     }
@@ -143,4 +191,10 @@ public class CronTriggerPersistenceDelegate implements TriggerPersistenceDelegat
         }
     }
 
+    @Override
+    public int updateExtendedTriggerFireState(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) {
+        // firing a cron trigger changes none of its extended properties
+        return 0;
+    }
+
 }
@@ -17,12 +17,15 @@
  */
 package org.quartz.impl.jdbcjobstore;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 
 import org.quartz.DailyTimeIntervalScheduleBuilder;
 import org.quartz.DailyTimeIntervalTrigger;
+import org.quartz.JobDetail;
 import org.quartz.TimeOfDay;
 import org.quartz.DateBuilder.IntervalUnit;
 import org.quartz.impl.triggers.DailyTimeIntervalTriggerImpl;
@@ -99,6 +102,12 @@ public class DailyTimeIntervalTriggerPersistenceDelegate extends SimplePropertie
         return sb.toString();
     }
 
+    @Override
+    public int updateExtendedTriggerFireState(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) throws SQLException {
+        // only the fire count (INT_PROP_2) changes when the trigger fires
+        return updateIntProp2(conn, trigger.getKey(), ((DailyTimeIntervalTriggerImpl)trigger).getTimesTriggered());
+    }
+
     @Override
     protected TriggerPropertyBundle getTriggerPropertyBundle(SimplePropertiesTriggerProperties props) {
         int repeatCount = (int)props.getLong1();
@@ -21,8 +21,14 @@ package org.quartz.impl.jdbcjobstore;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.quartz.Calendar;
 import org.quartz.Job;
@@ -155,6 +161,34 @@ public interface DriverDelegate {
     int countMisfiredTriggersInState(
         Connection conn, String state1, long ts) throws SQLException;
 
+    /**
+     * <p>
+     * Set the next fire time of those of the given triggers that are still
+     * in the given state, have misfired - according to the given timestamp -
+     * and handle a misfire by firing once, immediately.  This is the case
+     * for cron, calendar interval and daily time interval triggers with the
+     * smart policy or the "fire once now" instruction, and for
+     * non-repeating simple triggers with the smart policy or the "fire now"
+     * instruction.
+     * </p>
+     * 
+     * <p>
+     * By default no trigger is updated, leaving all misfired triggers to be
+     * handled one at a time.
+     * </p>
+     * 
+     * @param conn the DB Connection
+     * @param triggerKeys the misfired triggers, as selected by
+     *          <code>{@link #hasMisfiredTriggersInState(Connection, String, long, int, List)}</code>
+     * @param newFireTime the time to fire the triggers at
+     * @return the number of rows updated for each of the triggers, in the
+     *         form of <code>Statement.executeBatch()</code>
+     */
+    default int[] updateMisfiredTriggersToFireNow(Connection conn,
+        List<TriggerKey> triggerKeys, String state1, long ts, long newFireTime) throws SQLException {
+        return new int[triggerKeys.size()];
+    }
+
     /**
      * <p>
      * Get the names of all of the triggers in the given group and state that
@@ -168,6 +202,54 @@ public interface DriverDelegate {
      */
     List<TriggerKey> selectMisfiredTriggersInGroupInState(Connection conn,
         String groupName, String state, long ts) throws SQLException;
+
+    /**
+     * <p>
+     * Get the keys of all of the triggers in groups matching the given
+     * matcher, that are in one of the given states and have misfired -
+     * according to the given timestamp.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the keys of the misfired triggers
+     */
+    default List<TriggerKey> selectMisfiredTriggersInGroupsInStates(Connection conn,
+        GroupMatcher<TriggerKey> matcher, String state1, String state2, long ts) throws SQLException {
+        List<TriggerKey> misfired = new ArrayList<>();
+        for (String group : selectTriggerGroups(conn, matcher)) {
+            misfired.addAll(selectMisfiredTriggersInGroupInState(conn, group, state1, ts));
+            misfired.addAll(selectMisfiredTriggersInGroupInState(conn, group, state2, ts));
+        }
+        return misfired;
+    }
+
+    /**
+     * <p>
+     * Get the keys of all of the triggers of jobs in groups matching the given
+     * matcher, that are in one of the given states and have misfired -
+     * according to the given timestamp.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the keys of the misfired triggers
+     */
+    default List<TriggerKey> selectMisfiredTriggersOfJobGroupsInStates(Connection conn,
+        GroupMatcher<JobKey> matcher, String state1, String state2, long ts) throws SQLException {
+        List<TriggerKey> misfired = new ArrayList<>();
+        for (JobKey jobKey : selectJobsInGroup(conn, matcher)) {
+            for (TriggerKey triggerKey : selectTriggerKeysForJob(conn, jobKey)) {
+                TriggerStatus status = selectTriggerStatus(conn, triggerKey);
+                if (status != null && status.getNextFireTime() != null
+                        && status.getNextFireTime().getTime() < ts
+                        && (state1.equals(status.getStatus()) || state2.equals(status.getStatus()))) {
+                    misfired.add(triggerKey);
+                }
+            }
+        }
+        return misfired;
+    }
     
 
     /**
@@ -237,6 +319,26 @@ public interface DriverDelegate {
     int insertJobDetail(Connection conn, JobDetail job)
         throws IOException, SQLException;
 
+    /**
+     * <p>
+     * Insert the job detail records of several jobs, preferably as one JDBC
+     * batch.  By default the jobs are inserted one at a time.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param jobs
+     *          the jobs to insert, none of which may exist yet
+     * @throws IOException
+     *           if there were problems serializing a JobDataMap
+     */
+    default void insertJobDetails(Connection conn, List<JobDetail> jobs)
+        throws IOException, SQLException {
+        for (JobDetail job : jobs) {
+            insertJobDetail(conn, job);
+        }
+    }
+
     /**
      * <p>
      * Update the job detail record.
@@ -266,6 +368,25 @@ public interface DriverDelegate {
      */
     List<TriggerKey> selectTriggerKeysForJob(Connection conn, JobKey jobKey) throws SQLException;
 
+    /**
+     * <p>
+     * Get the keys of all of the triggers associated with the given jobs,
+     * preferably with a single query.  By default the triggers of each job
+     * are selected on their own.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the keys of the triggers
+     */
+    default List<TriggerKey> selectTriggerKeysForJobs(Connection conn, Collection<JobKey> jobKeys) throws SQLException {
+        List<TriggerKey> triggerKeys = new ArrayList<>();
+        for (JobKey jobKey : jobKeys) {
+            triggerKeys.addAll(selectTriggerKeysForJob(conn, jobKey));
+        }
+        return triggerKeys;
+    }
+
     /**
      * <p>
      * Delete the job detail record for the given job.
@@ -279,6 +400,49 @@ public interface DriverDelegate {
     int deleteJobDetail(Connection conn, JobKey jobKey)
         throws SQLException;
 
+    /**
+     * <p>
+     * Delete the job detail records of several jobs, preferably as one JDBC
+     * batch.  By default the jobs are deleted one at a time.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     */
+    default void deleteJobDetails(Connection conn, Collection<JobKey> jobKeys)
+        throws SQLException {
+        for (JobKey jobKey : jobKeys) {
+            deleteJobDetail(conn, jobKey);
+        }
+    }
+
+    /**
+     * <p>
+     * Select which of the given jobs are not durable and have no triggers
+     * left, preferably with a single query.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param loadHelper
+     *          the class loader helper, used by the default implementation
+     *          to load the jobs
+     * @return the keys of the orphaned jobs
+     */
+    default Set<JobKey> selectOrphanedJobKeys(Connection conn, Collection<JobKey> jobKeys,
+        ClassLoadHelper loadHelper) throws SQLException, ClassNotFoundException, IOException {
+        Set<JobKey> orphaned = new HashSet<>();
+        for (JobKey jobKey : jobKeys) {
+            if (selectNumTriggersForJob(conn, jobKey) == 0) {
+                JobDetail job = selectJobDetail(conn, jobKey, loadHelper);
+                if (job != null && !job.isDurable()) {
+                    orphaned.add(jobKey);
+                }
+            }
+        }
+        return orphaned;
+    }
+
     /**
      * <p>
      * Check whether or not the given job disallows concurrent execution.
@@ -304,6 +468,29 @@ public interface DriverDelegate {
     boolean jobExists(Connection conn, JobKey jobKey)
         throws SQLException;
 
+    /**
+     * <p>
+     * Select which of the given jobs exist, preferably with a single query.
+     * By default each job is checked on its own.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param jobKeys
+     *          the jobs to check
+     * @return the keys of the jobs that exist
+     */
+    default Set<JobKey> selectExistingJobKeys(Connection conn, Collection<JobKey> jobKeys)
+        throws SQLException {
+        Set<JobKey> existing = new HashSet<>();
+        for (JobKey jobKey : jobKeys) {
+            if (jobExists(conn, jobKey)) {
+                existing.add(jobKey);
+            }
+        }
+        return existing;
+    }
+
     /**
      * <p>
      * Update the job data map for the given job.
@@ -320,6 +507,45 @@ public interface DriverDelegate {
     int updateJobData(Connection conn, JobDetail job)
         throws IOException, SQLException;
 
+    /**
+     * <p>
+     * Select the data version of the given job.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the data version of the job, <code>0</code> if the job has never
+     *         been versioned, <code>{@link VersionedCache#UNVERSIONED}</code>
+     *         if it has no version at all, or <code>null</code> if the job
+     *         does not exist
+     * @throws JobPersistenceException by default, as data versions aren't
+     *         stored unless the delegate supports them
+     */
+    default Long selectJobDetailVersion(Connection conn, JobKey jobKey)
+        throws SQLException, JobPersistenceException {
+        throw new JobPersistenceException("The versioned cache is not supported by " + getClass().getName()
+                + ", set useVersionedCache to false.");
+    }
+
+    /**
+     * <p>
+     * Update the data version of the given job.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param version
+     *          the new data version
+     * @return the number of rows updated
+     * @throws JobPersistenceException by default, as data versions aren't
+     *         stored unless the delegate supports them
+     */
+    default int updateJobDetailVersion(Connection conn, JobKey jobKey, long version)
+        throws SQLException, JobPersistenceException {
+        throw new JobPersistenceException("The versioned cache is not supported by " + getClass().getName()
+                + ", set useVersionedCache to false.");
+    }
+
     /**
      * <p>
      * Select the JobDetail object for a given job name / group name.
@@ -395,6 +621,50 @@ public interface DriverDelegate {
     Set<JobKey> selectJobsInGroup(Connection conn, GroupMatcher<JobKey> matcher)
         throws SQLException;
 
+    /**
+     * <p>
+     * Select a page of the jobs contained in the matching groups, ordered by
+     * group and then name.  By default all of the matching jobs are selected,
+     * and the page taken from them.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param matcher
+     *          the group matcher to evaluate against the known jobs
+     * @param after
+     *          the last key of the previous page, or <code>null</code> for
+     *          the first page
+     * @param limit
+     *          the maximum number of keys to select
+     * @return the page of job keys
+     * @see Key#GROUP_AND_NAME_ORDER
+     */
+    default List<JobKey> selectJobsInGroup(Connection conn, GroupMatcher<JobKey> matcher, JobKey after, int limit)
+        throws SQLException {
+        return Key.page(selectJobsInGroup(conn, matcher), after, limit);
+    }
+
+    /**
+     * <p>
+     * Pass each of the jobs contained in the matching groups to the given
+     * action as it is read from the result set, using the configured fetch
+     * size.  By default all of the matching jobs are selected first.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param matcher
+     *          the group matcher to evaluate against the known jobs
+     * @param action
+     *          the action to perform for each job key
+     * @see #setFetchSize(int)
+     */
+    default void selectJobsInGroup(Connection conn, GroupMatcher<JobKey> matcher, Consumer<? super JobKey> action)
+        throws SQLException {
+        selectJobsInGroup(conn, matcher).forEach(action);
+    }
+
     //---------------------------------------------------------------------------
     // triggers
     //---------------------------------------------------------------------------
@@ -415,6 +685,29 @@ public interface DriverDelegate {
     int insertTrigger(Connection conn, OperableTrigger trigger, String state,
         JobDetail jobDetail) throws SQLException, IOException;
 
+    /**
+     * <p>
+     * Insert the base and extended data of several triggers, preferably as
+     * JDBC batches.  The states and jobs are given in the same order as the
+     * triggers.  By default the triggers are inserted one at a time.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param triggers
+     *          the triggers to insert, none of which may exist yet
+     * @param states
+     *          the state each trigger should be stored in
+     * @param jobDetails
+     *          the job of each trigger
+     */
+    default void insertTriggers(Connection conn, List<OperableTrigger> triggers, List<String> states,
+        List<JobDetail> jobDetails) throws SQLException, IOException {
+        for (int i = 0; i < triggers.size(); i++) {
+            insertTrigger(conn, triggers.get(i), states.get(i), jobDetails.get(i));
+        }
+    }
+
     /**
      * <p>
      * Update the base trigger data.
@@ -431,6 +724,29 @@ public interface DriverDelegate {
     int updateTrigger(Connection conn, OperableTrigger trigger, String state,
         JobDetail jobDetail) throws SQLException, IOException;
 
+    /**
+     * <p>
+     * Update only the data of a trigger that changes when it fires: its next
+     * and previous fire times, its state and any fire counters.  The trigger
+     * must already be stored.  Delegates fall back to a full
+     * <code>{@link #updateTrigger(Connection, OperableTrigger, String, JobDetail)}</code>
+     * where that is not possible, for example when the trigger's
+     * <code>JobDataMap</code> is dirty.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param trigger
+     *          the trigger that fired
+     * @param state
+     *          the state that the trigger should be stored in
+     * @return the number of rows updated
+     */
+    default int updateTriggerFireState(Connection conn, OperableTrigger trigger, String state,
+        JobDetail jobDetail) throws SQLException, IOException {
+        return updateTrigger(conn, trigger, state, jobDetail);
+    }
+
     /**
      * <p>
      * Check whether or not a trigger exists.
@@ -443,6 +759,53 @@ public interface DriverDelegate {
      */
     boolean triggerExists(Connection conn, TriggerKey triggerKey) throws SQLException;
 
+    /**
+     * <p>
+     * Select which of the given triggers exist, preferably with a single
+     * query.  By default each trigger is checked on its own.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param triggerKeys
+     *          the triggers to check
+     * @return the keys of the triggers that exist
+     */
+    default Set<TriggerKey> selectExistingTriggerKeys(Connection conn, Collection<TriggerKey> triggerKeys)
+        throws SQLException {
+        Set<TriggerKey> existing = new HashSet<>();
+        for (TriggerKey triggerKey : triggerKeys) {
+            if (triggerExists(conn, triggerKey)) {
+                existing.add(triggerKey);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * <p>
+     * Select the jobs of those of the given triggers that exist, preferably
+     * with a single query.  By default each trigger is selected on its own.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param triggerKeys
+     *          the triggers to select
+     * @return the key of the job of each trigger that exists
+     */
+    default Map<TriggerKey, JobKey> selectJobKeysForTriggers(Connection conn, Collection<TriggerKey> triggerKeys)
+        throws SQLException {
+        Map<TriggerKey, JobKey> jobKeys = new LinkedHashMap<>();
+        for (TriggerKey triggerKey : triggerKeys) {
+            TriggerStatus status = selectTriggerStatus(conn, triggerKey);
+            if (status != null) {
+                jobKeys.put(triggerKey, status.getJobKey());
+            }
+        }
+        return jobKeys;
+    }
+
     /**
      * <p>
      * Update the state for a given trigger.
@@ -477,6 +840,27 @@ public interface DriverDelegate {
     int updateTriggerStateFromOtherState(Connection conn,
         TriggerKey triggerKey, String newState, String oldState) throws SQLException;
 
+    /**
+     * <p>
+     * Update the given triggers to the given new state, if they are in the
+     * given old state, preferably as one JDBC batch.  By default the triggers
+     * are updated one at a time.
+     * </p>
+     * 
+     * @param conn
+     *          the DB connection
+     * @param newState
+     *          the new state for the triggers
+     * @param oldState
+     *          the old state the triggers must be in
+     */
+    default void updateTriggerStatesFromOtherState(Connection conn,
+        Collection<TriggerKey> triggerKeys, String newState, String oldState) throws SQLException {
+        for (TriggerKey triggerKey : triggerKeys) {
+            updateTriggerStateFromOtherState(conn, triggerKey, newState, oldState);
+        }
+    }
+
     /**
      * <p>
      * Update the given trigger to the given new state, if it is one of the
@@ -527,6 +911,43 @@ public interface DriverDelegate {
         GroupMatcher<TriggerKey> matcher, String newState, String oldState1,
         String oldState2, String oldState3) throws SQLException;
 
+    /**
+     * <p>
+     * Update all of the triggers of jobs in groups matching the given matcher
+     * to the given new state, if they are in one of the given old states.
+     * By default the triggers of each job are updated on their own.
+     * </p>
+     * 
+     * @param conn
+     *          the DB connection
+     * @param matcher
+     *          the group matcher to evaluate against the known jobs
+     * @param newState
+     *          the new state for the triggers
+     * @param oldState1
+     *          one of the old state the trigger must be in
+     * @param oldState2
+     *          one of the old state the trigger must be in
+     * @param oldState3
+     *          one of the old state the trigger must be in
+     * @return int the number of rows updated
+     */
+    default int updateTriggerStatesForJobGroupFromOtherStates(Connection conn,
+        GroupMatcher<JobKey> matcher, String newState, String oldState1,
+        String oldState2, String oldState3) throws SQLException {
+        Set<String> oldStates = new HashSet<>();
+        oldStates.add(oldState1);
+        oldStates.add(oldState2);
+        oldStates.add(oldState3);
+        int count = 0;
+        for (JobKey jobKey : selectJobsInGroup(conn, matcher)) {
+            for (String oldState : oldStates) {
+                count += updateTriggerStatesForJobFromOtherState(conn, jobKey, newState, oldState);
+            }
+        }
+        return count;
+    }
+
     /**
      * <p>
      * Update all of the triggers of the given group to the given new state, if
@@ -548,6 +969,28 @@ public interface DriverDelegate {
         GroupMatcher<TriggerKey> matcher, String newState, String oldState)
         throws SQLException;
 
+    /**
+     * <p>
+     * Assign all triggers associated with the given job to the given lock
+     * partition.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param jobKey
+     *          the key of the job whose triggers are to be updated
+     * @param lockPartition
+     *          the lock partition of the job's triggers
+     * @return the number of rows updated
+     * @throws JobPersistenceException by default, as the lock partition of a
+     *          trigger isn't stored unless the delegate supports it
+     */
+    default int updateTriggerLockPartitionForJob(Connection conn, JobKey jobKey,
+            int lockPartition) throws SQLException, JobPersistenceException {
+        throw new JobPersistenceException("Lock partitions are not supported by " + getClass().getName()
+                + ", set lockPartitionCount to 1.");
+    }
+
     /**
      * <p>
      * Update the states of all triggers associated with the given job.
@@ -582,6 +1025,28 @@ public interface DriverDelegate {
         JobKey jobKey, String state, String oldState)
         throws SQLException;
 
+    /**
+     * <p>
+     * Update the states of any triggers associated with the given jobs, that
+     * are the given current state, preferably as one JDBC batch.  By default
+     * the triggers of each job are updated on their own.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param state
+     *          the new state for the triggers
+     * @param oldState
+     *          the old state of the triggers
+     */
+    default void updateTriggerStatesForJobsFromOtherState(Connection conn,
+        Collection<JobKey> jobKeys, String state, String oldState)
+        throws SQLException {
+        for (JobKey jobKey : jobKeys) {
+            updateTriggerStatesForJobFromOtherState(conn, jobKey, state, oldState);
+        }
+    }
+
     /**
      * <p>
      * Delete the base trigger data for a trigger.
@@ -594,6 +1059,21 @@ public interface DriverDelegate {
      */
     int deleteTrigger(Connection conn, TriggerKey triggerKey) throws SQLException;
 
+    /**
+     * <p>
+     * Delete the base and extended data of several triggers, preferably as
+     * JDBC batches.  By default the triggers are deleted one at a time.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     */
+    default void deleteTriggers(Connection conn, Collection<TriggerKey> triggerKeys) throws SQLException {
+        for (TriggerKey triggerKey : triggerKeys) {
+            deleteTrigger(conn, triggerKey);
+        }
+    }
+
     /**
      * <p>
      * Select the number of triggers associated with a given job.
@@ -661,6 +1141,40 @@ public interface DriverDelegate {
      */
     List<OperableTrigger> selectTriggersForCalendar(Connection conn, String calName)
         throws SQLException, ClassNotFoundException, IOException, JobPersistenceException;
+
+    /**
+     * <p>
+     * Select the triggers of jobs in groups matching the given matcher that
+     * will fire before the given time, and are waiting, acquired or blocked,
+     * in order to forecast their fires.  By default the triggers of each
+     * matching job are selected, and filtered by their state and next fire
+     * time.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param noLaterThan
+     *          the time before which the next fire time of the triggers is
+     *          (exclusive)
+     * @return the triggers, with their schedules
+     */
+    default List<OperableTrigger> selectTriggersToForecast(Connection conn, GroupMatcher<JobKey> matcher, long noLaterThan)
+        throws SQLException, ClassNotFoundException, IOException, JobPersistenceException {
+        List<OperableTrigger> triggers = new ArrayList<>();
+        for (JobKey jobKey : selectJobsInGroup(conn, matcher)) {
+            for (OperableTrigger trigger : selectTriggersForJob(conn, jobKey)) {
+                if (trigger.getNextFireTime() == null || trigger.getNextFireTime().getTime() >= noLaterThan) {
+                    continue;
+                }
+                String state = selectTriggerState(conn, trigger.getKey());
+                if (Constants.STATE_WAITING.equals(state) || Constants.STATE_ACQUIRED.equals(state)
+                        || Constants.STATE_BLOCKED.equals(state)) {
+                    triggers.add(trigger);
+                }
+            }
+        }
+        return triggers;
+    }
     /**
      * <p>
      * Select a trigger.
@@ -773,6 +1287,50 @@ public interface DriverDelegate {
     Set<TriggerKey> selectTriggersInGroup(Connection conn, GroupMatcher<TriggerKey> matcher)
         throws SQLException;
 
+    /**
+     * <p>
+     * Select a page of the triggers contained in the matching groups, ordered
+     * by group and then name.  By default all of the matching triggers are
+     * selected, and the page taken from them.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param matcher
+     *          to evaluate against known triggers
+     * @param after
+     *          the last key of the previous page, or <code>null</code> for
+     *          the first page
+     * @param limit
+     *          the maximum number of keys to select
+     * @return the page of trigger keys
+     * @see Key#GROUP_AND_NAME_ORDER
+     */
+    default List<TriggerKey> selectTriggersInGroup(Connection conn, GroupMatcher<TriggerKey> matcher, TriggerKey after, int limit)
+        throws SQLException {
+        return Key.page(selectTriggersInGroup(conn, matcher), after, limit);
+    }
+
+    /**
+     * <p>
+     * Pass each of the triggers contained in the matching groups to the given
+     * action as it is read from the result set, using the configured fetch
+     * size.  By default all of the matching triggers are selected first.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param matcher
+     *          to evaluate against known triggers
+     * @param action
+     *          the action to perform for each trigger key
+     * @see #setFetchSize(int)
+     */
+    default void selectTriggersInGroup(Connection conn, GroupMatcher<TriggerKey> matcher, Consumer<? super TriggerKey> action)
+        throws SQLException {
+        selectTriggersInGroup(conn, matcher).forEach(action);
+    }
+
     /**
      * <p>
      * Select all of the triggers in a given state.
@@ -881,6 +1439,49 @@ public interface DriverDelegate {
     Calendar selectCalendar(Connection conn, String calendarName)
         throws ClassNotFoundException, IOException, SQLException;
 
+    /**
+     * <p>
+     * Select the data version of a calendar.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param calendarName
+     *          the name of the calendar
+     * @return the data version of the calendar, <code>0</code> if the calendar
+     *         has never been versioned, <code>{@link VersionedCache#UNVERSIONED}</code>
+     *         if it has no version at all, or <code>null</code> if the
+     *         calendar does not exist
+     * @throws JobPersistenceException by default, as data versions aren't
+     *         stored unless the delegate supports them
+     */
+    default Long selectCalendarVersion(Connection conn, String calendarName)
+        throws SQLException, JobPersistenceException {
+        throw new JobPersistenceException("The versioned cache is not supported by " + getClass().getName()
+                + ", set useVersionedCache to false.");
+    }
+
+    /**
+     * <p>
+     * Update the data version of a calendar.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param calendarName
+     *          the name of the calendar
+     * @param version
+     *          the new data version
+     * @return the number of rows updated
+     * @throws JobPersistenceException by default, as data versions aren't
+     *         stored unless the delegate supports them
+     */
+    default int updateCalendarVersion(Connection conn, String calendarName, long version)
+        throws SQLException, JobPersistenceException {
+        throw new JobPersistenceException("The versioned cache is not supported by " + getClass().getName()
+                + ", set useVersionedCache to false.");
+    }
+
     /**
      * <p>
      * Check whether or not a calendar is referenced by any triggers.
@@ -1006,6 +1607,64 @@ public interface DriverDelegate {
     List<TriggerKey> selectTriggerToAcquire(Connection conn, long noLaterThan, long noEarlierThan, int maxCount)
         throws SQLException;
 
+    /**
+     * <p>
+     * Select the next trigger which will fire to fire between the two given timestamps 
+     * in ascending order of fire time, and then descending by priority, considering
+     * only the triggers that belong to the given lock partition.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param noLaterThan
+     *          highest value of <code>getNextFireTime()</code> of the triggers (exclusive)
+     * @param noEarlierThan 
+     *          highest value of <code>getNextFireTime()</code> of the triggers (inclusive)
+     * @param maxCount 
+     *          maximum number of trigger keys allow to acquired in the returning list.
+     * @param lockPartition
+     *          the lock partition the triggers must belong to
+     *          
+     * @return A (never null, possibly empty) list of the identifiers (Key objects) of the next triggers to be fired.
+     * @throws JobPersistenceException by default, as the lock partition of a
+     *          trigger isn't stored unless the delegate supports it
+     * 
+     * @see JobStoreSupport#setLockPartitionCount(int)
+     */
+    default List<TriggerKey> selectTriggerToAcquire(Connection conn, long noLaterThan, long noEarlierThan, int maxCount, int lockPartition)
+        throws SQLException, JobPersistenceException {
+        throw new JobPersistenceException("Lock partitions are not supported by " + getClass().getName()
+                + ", set lockPartitionCount to 1.");
+    }
+
+    /**
+     * <p>
+     * Select the lock partition of the next trigger which will fire between the
+     * two given timestamps, in ascending order of fire time, and then descending
+     * by priority.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param noLaterThan
+     *          highest value of <code>getNextFireTime()</code> of the triggers (exclusive)
+     * @param noEarlierThan 
+     *          highest value of <code>getNextFireTime()</code> of the triggers (inclusive)
+     * @param lockPartitions
+     *          the lock partitions to consider, or null to consider all of them
+     * 
+     * @return the lock partition, -1 if no trigger is ready to be acquired, or
+     *          <code>{@link Constants#LOCK_PARTITION_UNASSIGNED}</code> if the
+     *          next trigger hasn't been assigned a lock partition
+     * @throws JobPersistenceException by default, as the lock partition of a
+     *          trigger isn't stored unless the delegate supports it
+     */
+    default int selectNextLockPartitionToAcquire(Connection conn, long noLaterThan, long noEarlierThan, int[] lockPartitions)
+        throws SQLException, JobPersistenceException {
+        throw new JobPersistenceException("Lock partitions are not supported by " + getClass().getName()
+                + ", set lockPartitionCount to 1.");
+    }
+
     /**
      * <p>
      * Insert a fired trigger.
@@ -1070,6 +1729,25 @@ public interface DriverDelegate {
     List<FiredTriggerRecord> selectInstancesFiredTriggerRecords(Connection conn,
         String instanceName) throws SQLException;
 
+    /**
+     * <p>
+     * Select the states of at most the given number of fired-trigger records
+     * for a given scheduler instance.  By default all of the records are
+     * read, and the rest dropped.
+     * </p>
+     * 
+     * @param maxCount
+     *          the maximum number of records to select, or <code>0</code>
+     *          (or less) to select all of them
+     * @return a List of FiredTriggerRecord objects.
+     */
+    default List<FiredTriggerRecord> selectInstancesFiredTriggerRecords(Connection conn,
+        String instanceName, int maxCount) throws SQLException {
+        List<FiredTriggerRecord> records = selectInstancesFiredTriggerRecords(conn, instanceName);
+        return (maxCount > 0 && records.size() > maxCount)
+                ? new ArrayList<>(records.subList(0, maxCount)) : records;
+    }
+
     
     /**
      * <p>
@@ -1100,6 +1778,46 @@ public interface DriverDelegate {
     int deleteFiredTrigger(Connection conn, String entryId)
         throws SQLException;
 
+    /**
+     * <p>
+     * Delete several fired triggers, preferably as one JDBC batch.  By
+     * default they are deleted one at a time.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param entryIds
+     *          the fired trigger entries to delete
+     */
+    default void deleteFiredTriggers(Connection conn, Collection<String> entryIds)
+        throws SQLException {
+        for (String entryId : entryIds) {
+            deleteFiredTrigger(conn, entryId);
+        }
+    }
+
+    /**
+     * <p>
+     * Select which of the given triggers are complete and have no
+     * fired-trigger records left, preferably with a single query.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the keys of the complete triggers
+     */
+    default List<TriggerKey> selectCompleteTriggerKeysNotFired(Connection conn, Collection<TriggerKey> triggerKeys)
+        throws SQLException {
+        List<TriggerKey> complete = new ArrayList<>();
+        for (TriggerKey triggerKey : triggerKeys) {
+            if (Constants.STATE_COMPLETE.equals(selectTriggerState(conn, triggerKey))
+                    && selectFiredTriggerRecords(conn, triggerKey.getName(), triggerKey.getGroup()).isEmpty()) {
+                complete.add(triggerKey);
+            }
+        }
+        return complete;
+    }
+
     /**
      * <p>
      * Get the number instances of the identified job currently executing.
@@ -1166,6 +1884,28 @@ public interface DriverDelegate {
     List<SchedulerStateRecord> selectSchedulerStateRecords(Connection conn, String instanceId)
         throws SQLException;
 
+    /**
+     * <p>
+     * Select the <code>SchedulerStateRecords</code> of the instances that
+     * last checked in before the given time.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param checkinBefore
+     *          the check-in time the records must be older than
+     */
+    default List<SchedulerStateRecord> selectStaleSchedulerStateRecords(Connection conn, long checkinBefore)
+        throws SQLException {
+        List<SchedulerStateRecord> stale = new ArrayList<>();
+        for (SchedulerStateRecord rec : selectSchedulerStateRecords(conn, null)) {
+            if (rec.getCheckinTimestamp() < checkinBefore) {
+                stale.add(rec);
+            }
+        }
+        return stale;
+    }
+
     /**
      * Clear (delete!) all scheduling data - all {@link Job}s, {@link Trigger}s
      * {@link Calendar}s.
@@ -1191,6 +1931,51 @@ public interface DriverDelegate {
     default void setUseEnhancedStatements(boolean useEnhancedStatements) {
         //no-op
     }
+
+    /**
+     * Returns true if statements for the acquire/fire/complete operations are
+     * re-used for the life of a connection.
+     * @return true if using the statement cache
+     */
+    default boolean isUsingStatementCache() {
+        return false;
+    }
+
+    /**
+     * Set to true to re-use the statements for the acquire/fire/complete
+     * operations for the life of a connection.
+     * @param useStatementCache true to use the statement cache
+     */
+    default void setUseStatementCache(boolean useStatementCache) {
+        //no-op
+    }
+
+    /**
+     * Close any statements cached for the given connection.  Called before
+     * the connection is closed (returned to its pool).
+     * @param conn the connection the statements were prepared on
+     */
+    default void releaseCachedStatements(Connection conn) {
+        //no-op
+    }
+
+    /**
+     * Returns the JDBC fetch size used for queries whose results are
+     * streamed, or <code>0</code> to use the driver's default.
+     * @return the fetch size
+     */
+    default int getFetchSize() {
+        return 0;
+    }
+
+    /**
+     * Set the JDBC fetch size used for queries whose results are streamed.
+     * @param fetchSize the fetch size, or <code>0</code> to use the driver's
+     *          default
+     */
+    default void setFetchSize(int fetchSize) {
+        //no-op
+    }
     
 }
 
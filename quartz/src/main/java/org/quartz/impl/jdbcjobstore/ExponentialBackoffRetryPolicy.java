@@ -0,0 +1,184 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A <code>{@link RetryPolicy}</code> that doubles (by default) the time to
+ * wait after each successive failure, up to a maximum, and takes a random
+ * part of it off so that the threads and scheduler instances that lost the
+ * database at the same moment do not all retry at the same moment.
+ *
+ * <p>
+ * Failures are also counted across all the threads sharing the policy.  Once
+ * <code>{@link #setFailureThreshold(int) failureThreshold}</code> failures
+ * have been seen in a row, without any success in between, the circuit is
+ * open, and every thread waits at least as long as that shared count calls
+ * for.  The first success closes it again.
+ * </p>
+ *
+ * <p>
+ * With a multiplier of 1 and no jitter this is the fixed retry interval the
+ * job store uses when no policy is configured.
+ * </p>
+ *
+ * @see JobStoreSupport#setRetryPolicy(RetryPolicy)
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Data members.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private long initialInterval = 1000L;
+
+    private long maxInterval = 15000L;
+
+    private double multiplier = 2.0;
+
+    private double jitter = 0.5;
+
+    private int failureThreshold = 3;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Interface.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    public long getInitialInterval() {
+        return initialInterval;
+    }
+
+    /**
+     * Set the time (in milliseconds) to wait after the first failure.
+     * The default is 1000.
+     */
+    public void setInitialInterval(long initialInterval) {
+        if (initialInterval < 0) {
+            throw new IllegalArgumentException("initialInterval must not be negative");
+        }
+        this.initialInterval = initialInterval;
+    }
+
+    public long getMaxInterval() {
+        return maxInterval;
+    }
+
+    /**
+     * Set the longest time (in milliseconds) to wait, before any jitter is
+     * taken off.  The default is 15000.
+     */
+    public void setMaxInterval(long maxInterval) {
+        if (maxInterval < 0) {
+            throw new IllegalArgumentException("maxInterval must not be negative");
+        }
+        this.maxInterval = maxInterval;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Set the factor the time to wait grows by with each successive failure.
+     * The default is 2.
+     */
+    public void setMultiplier(double multiplier) {
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier must be at least 1");
+        }
+        this.multiplier = multiplier;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Set the largest fraction of the time to wait that is randomly taken
+     * off it, from 0 (none) to 1.  The default is 0.5.
+     */
+    public void setJitter(double jitter) {
+        if (jitter < 0.0 || jitter > 1.0) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1");
+        }
+        this.jitter = jitter;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Set the number of failures in a row, across all threads, that open the
+     * circuit.  The default is 3.
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+    }
+
+    @Override
+    public long getRetryDelay(int failureCount) {
+        int failures = Math.max(failureCount, 1);
+        if (isCircuitOpen()) {
+            failures = Math.max(failures, consecutiveFailures.get());
+        }
+
+        double delay = initialInterval;
+        for (int i = 1; i < failures && delay < maxInterval && multiplier > 1.0; i++) {
+            delay *= multiplier;
+        }
+        delay = Math.min(delay, maxInterval);
+
+        if (jitter > 0.0) {
+            delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) delay;
+    }
+
+    @Override
+    public void recordFailure() {
+        consecutiveFailures.incrementAndGet();
+    }
+
+    @Override
+    public void recordSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    @Override
+    public boolean isCircuitOpen() {
+        return consecutiveFailures.get() >= failureThreshold;
+    }
+}
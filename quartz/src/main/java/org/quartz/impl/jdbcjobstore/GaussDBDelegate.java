@@ -21,7 +21,6 @@ package org.quartz.impl.jdbcjobstore;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
@@ -68,9 +67,7 @@ public class GaussDBDelegate extends StdJDBCDelegate {
         if(bytes != null && bytes.length != 0) {
             binaryInput = new ByteArrayInputStream(bytes);
 
-            try (ObjectInputStream in = new ObjectInputStream(binaryInput)) {
-                obj = in.readObject();
-            }
+            obj = deserializeObject(binaryInput);
 
         }
         
@@ -179,28 +179,9 @@ public class JobStoreCMT extends JobStoreSupport {
                         + getNonManagedTXDataSource() + "'"); 
         }
 
-        // Protect connection attributes we might change.
-        conn = getAttributeRestoringConnection(conn);
-        
         // Set any connection attributes we are to override.
-        try {
-            if (!isDontSetNonManagedTXConnectionAutoCommitFalse()) {
-                conn.setAutoCommit(false);
-            }
-            
-            if (isTxIsolationLevelReadCommitted()) {
-                conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-            }
-        } catch (SQLException sqle) {
-            getLog().warn("Failed to override connection auto commit/transaction isolation.", sqle);
-        } catch (Throwable e) {
-            try { conn.close(); } catch(Throwable tt) {}
-            
-            throw new JobPersistenceException(
-                "Failure setting up connection.", e);
-        }
-        
-        return conn;
+        return overrideConnectionAttributes(conn, !isDontSetNonManagedTXConnectionAutoCommitFalse(),
+                isTxIsolationLevelReadCommitted() ? Connection.TRANSACTION_READ_COMMITTED : -1);
     }
     
     /**
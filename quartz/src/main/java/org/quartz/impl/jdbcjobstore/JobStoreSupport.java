@@ -19,21 +19,35 @@
 package org.quartz.impl.jdbcjobstore;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import org.quartz.Calendar;
+import org.quartz.FireTimeForecast;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
@@ -49,11 +63,14 @@ import org.quartz.Trigger.CompletedExecutionInstruction;
 import org.quartz.Trigger.TriggerState;
 import org.quartz.TriggerKey;
 import org.quartz.impl.DefaultThreadExecutor;
+import org.quartz.impl.calendar.CompiledCalendar;
 import org.quartz.impl.matchers.GroupMatcher;
 import org.quartz.impl.matchers.StringMatcher;
 import org.quartz.impl.matchers.StringMatcher.StringOperatorName;
 import org.quartz.impl.triggers.SimpleTriggerImpl;
+import org.quartz.simpl.CompactFireInstanceIdGenerator;
 import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.FireInstanceIdGenerator;
 import org.quartz.spi.JobStore;
 import org.quartz.spi.OperableTrigger;
 import org.quartz.spi.SchedulerSignaler;
@@ -87,6 +104,9 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
     protected static final String LOCK_STATE_ACCESS = "STATE_ACCESS";
 
+    // the number of misfired triggers set to fire now with one batch
+    private static final int MISFIRE_UPDATE_BATCH_SIZE = 100;
+
     /*
      * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
      * 
@@ -97,6 +117,8 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
     protected String dsName;
 
+    protected String readOnlyDsName;
+
     protected String tablePrefix = DEFAULT_TABLE_PREFIX;
 
     protected boolean useProperties = false;
@@ -113,6 +135,10 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
     protected final HashMap<String, Calendar> calendarCache = new HashMap<>();
 
+    // the compiled forms of the calendars in the calendarCache, which are
+    // applied to the triggers
+    protected final Map<String, Calendar> compiledCalendarCache = new ConcurrentHashMap<>();
+
     private DriverDelegate delegate;
 
     private long misfireThreshold = 60000L; // one minute
@@ -141,13 +167,59 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
     protected int maxToRecoverAtATime = 20;
 
+    private long misfireHandlingTimeSlice = 0L;
+
+    private boolean useSetBasedMisfireHandling = false;
+
+    private int bulkStoreChunkSize = 500;
+
+    private int bulkStoreCommitInterval = 0;
+
+    private int clusterRecoveryChunkSize = 500;
+
+    private boolean useClusterHeartbeat = false;
+
+    private long lastRecoveryTriggerId = 0L;
+
+    private volatile long lastClusterRecoveryTime = 0L;
+
+    private final AtomicLong clusterRecoveryRecords = new AtomicLong();
+
+    private volatile long misfireBacklog = 0L;
+
+    private final AtomicLong misfiresHandled = new AtomicLong();
+
     private boolean useEnhancedStatements = false;
+
+    private boolean useStatementCache = false;
+
+    private int fetchSize = 0;
     
     private boolean setTxIsolationLevelSequential = false;
     
     private boolean acquireTriggersWithinLock = false;
+
+    private int lockPartitionCount = 1;
+
+    private boolean useTriggerAffinity = false;
+
+    private volatile int[] ownedLockPartitions = null;
+
+    private boolean useVersionedCache = false;
+
+    private int versionedCacheSize = 1000;
+
+    private VersionedCache<JobKey, JobDetail> jobCache = null;
+
+    private VersionedCache<String, Calendar> versionedCalendarCache = null;
     
     private long dbRetryInterval = 15000L; // 15 secs
+
+    private RetryPolicy retryPolicy = null; // set in initialize() method, if not configured...
+
+    private FireInstanceIdGenerator fireInstanceIdGenerator = null; // set in initialize() method, if not configured...
+
+    private final AtomicLong retryCount = new AtomicLong();
     
     private boolean makeThreadsDaemons = false;
 
@@ -191,6 +263,43 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         return dsName;
     }
 
+    /**
+     * <p>
+     * Set the name of an optional <code>DataSource</code>, typically a read
+     * replica of the primary database, on which read-only queries that can
+     * tolerate slightly stale data are run, such as listing job and trigger
+     * keys, counting them, or getting the state of a trigger.
+     * </p>
+     * 
+     * <p>
+     * This keeps heavy read traffic (e.g. from dashboards) from competing
+     * with trigger acquisition and firing for connections of the primary
+     * <code>DataSource</code>.  Queries that are part of a read-then-write
+     * sequence, such as <code>checkExists</code>, <code>retrieveJob</code>
+     * and <code>getTriggersForJob</code>, always run on the primary
+     * <code>DataSource</code>.  With <code>JobStoreCMT</code> this should not
+     * be a container managed <code>DataSource</code>, since its reads never
+     * join the global transaction.
+     * </p>
+     * 
+     * @see #executeWithoutLock(TransactionCallback, boolean)
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setReadOnlyDataSource(String readOnlyDsName) {
+        this.readOnlyDsName = readOnlyDsName;
+    }
+
+    /**
+     * <p>
+     * Get the name of the <code>DataSource</code> that read-only queries
+     * tolerating stale data are run on, or <code>null</code> if they are run
+     * on the primary <code>DataSource</code>.
+     * </p>
+     */
+    public String getReadOnlyDataSource() {
+        return readOnlyDsName;
+    }
+
     /**
      * <p>
      * Set the prefix that should be pre-pended to all table names.
@@ -352,6 +461,137 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         this.maxToRecoverAtATime = maxToRecoverAtATime;
     }
 
+    public long getMisfireHandlingTimeSlice() {
+        return misfireHandlingTimeSlice;
+    }
+
+    /**
+     * <p>
+     * Set the longest time (in milliseconds) the misfire handling thread
+     * spends recovering misfired triggers in one transaction (while holding
+     * the trigger lock) before leaving the rest to its next pass, so that
+     * trigger acquisition can run in between.  The default of 0 means
+     * no limit beyond <code>{@link #setMaxMisfiresToHandleAtATime(int)}</code>.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setMisfireHandlingTimeSlice(long misfireHandlingTimeSlice) {
+        this.misfireHandlingTimeSlice = misfireHandlingTimeSlice;
+    }
+
+    public boolean isUseSetBasedMisfireHandling() {
+        return useSetBasedMisfireHandling;
+    }
+
+    /**
+     * <p>
+     * Set whether misfired triggers that are simply to be fired once, now,
+     * are recovered with a single update statement rather than one at a
+     * time.  This covers cron, calendar interval and daily time interval
+     * triggers with the smart policy or the "fire once now" instruction, and
+     * non-repeating simple triggers with the smart policy or the "fire now"
+     * instruction.  Triggers with
+     * <code>MISFIRE_INSTRUCTION_IGNORE_MISFIRE_POLICY</code> are never
+     * treated as misfired.
+     * </p>
+     * 
+     * <p>
+     * <code>TriggerListener</code>s are not notified of the misfires of
+     * triggers recovered this way.  The default is false.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setUseSetBasedMisfireHandling(boolean useSetBasedMisfireHandling) {
+        this.useSetBasedMisfireHandling = useSetBasedMisfireHandling;
+    }
+
+    public int getBulkStoreChunkSize() {
+        return bulkStoreChunkSize;
+    }
+
+    /**
+     * <p>
+     * Set how many jobs (and triggers) are checked for existence with one
+     * query, and inserted or deleted with one JDBC batch, when jobs are
+     * stored in bulk by <code>{@link #storeJobsAndTriggers(Map, boolean)}</code>
+     * or removed in bulk by <code>{@link #removeJobs(List)}</code> and
+     * <code>{@link #removeTriggers(List)}</code>.  The default is 500.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setBulkStoreChunkSize(int bulkStoreChunkSize) {
+        this.bulkStoreChunkSize = bulkStoreChunkSize;
+    }
+
+    public int getBulkStoreCommitInterval() {
+        return bulkStoreCommitInterval;
+    }
+
+    /**
+     * <p>
+     * Set how many jobs (with their triggers) are stored in one transaction
+     * when jobs are stored in bulk by
+     * <code>{@link #storeJobsAndTriggers(Map, boolean)}</code>, so that very
+     * large loads do not hold the trigger lock for their whole duration.
+     * If a later transaction fails, the jobs stored by the earlier ones stay
+     * stored.  The default of 0 stores all of them in one transaction.
+     * </p>
+     * 
+     * <p>
+     * When the job store takes part in a global (managed) transaction, all
+     * of the transactions are still committed by its owner.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setBulkStoreCommitInterval(int bulkStoreCommitInterval) {
+        this.bulkStoreCommitInterval = bulkStoreCommitInterval;
+    }
+
+    public int getClusterRecoveryChunkSize() {
+        return clusterRecoveryChunkSize;
+    }
+
+    /**
+     * <p>
+     * Set the maximum number of fired-trigger records of failed instances
+     * recovered in one transaction.  The transaction is committed, and the
+     * cluster locks released and re-obtained, between chunks, so that the
+     * recovery of an instance that had a very large number of triggers in
+     * progress does not keep the surviving instances from acquiring
+     * triggers until it is done.  The default is 500; 0 recovers all failed
+     * instances in one transaction.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setClusterRecoveryChunkSize(int clusterRecoveryChunkSize) {
+        this.clusterRecoveryChunkSize = clusterRecoveryChunkSize;
+    }
+
+    public boolean isUseClusterHeartbeat() {
+        return useClusterHeartbeat;
+    }
+
+    /**
+     * <p>
+     * Set whether the regular cluster check-in is a lightweight heartbeat:
+     * this instance's SCHEDULER_STATE row is updated, and failed instances
+     * are looked for with a single query for rows whose check-in time is old
+     * enough for them to have failed, rather than by reading every row.  No
+     * locks are taken unless a failed instance is found, and the first
+     * check-in is always a full one.
+     * </p>
+     * 
+     * <p>
+     * This has no effect when <code>{@link #setUseTriggerAffinity(boolean)}</code>
+     * is enabled, as the lock partitions are dealt out over all the live
+     * instances, which then have to be read at each check-in.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setUseClusterHeartbeat(boolean useClusterHeartbeat) {
+        this.useClusterHeartbeat = useClusterHeartbeat;
+    }
+
     /**
      * @return Returns the dbRetryInterval.
      */
@@ -364,6 +604,42 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public void setDbRetryInterval(long dbRetryInterval) {
         this.dbRetryInterval = dbRetryInterval;
     }
+
+    public FireInstanceIdGenerator getFireInstanceIdGenerator() {
+        return fireInstanceIdGenerator;
+    }
+
+    /**
+     * <p>
+     * Set the generator of the ids of trigger firings, which are the keys of
+     * the FIRED_TRIGGERS table.  It is usually configured with the
+     * <code>org.quartz.jobStore.fireInstanceIdGenerator.class</code> property.
+     * When none is set, a <code>{@link CompactFireInstanceIdGenerator}</code>
+     * is used.
+     * </p>
+     */
+    public void setFireInstanceIdGenerator(FireInstanceIdGenerator fireInstanceIdGenerator) {
+        this.fireInstanceIdGenerator = fireInstanceIdGenerator;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * <p>
+     * Set the policy deciding how long to wait before retrying database work
+     * that failed, shared by the threads acquiring, completing and releasing
+     * triggers, checking in with the cluster and handling misfires.  It is
+     * usually configured with the <code>org.quartz.jobStore.retryPolicy.class</code>
+     * property, for example to an <code>{@link ExponentialBackoffRetryPolicy}</code>.
+     * When none is set, a fixed <code>{@link #setDbRetryInterval(long) dbRetryInterval}</code>
+     * is waited.
+     * </p>
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
     
     /**
      * <p>
@@ -486,6 +762,158 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         this.acquireTriggersWithinLock = acquireTriggersWithinLock;
     }
 
+    /**
+     * Get the number of partitions the "TRIGGER_ACCESS" lock is split into.
+     * 
+     * @see #setLockPartitionCount(int)
+     */
+    public int getLockPartitionCount() {
+        return lockPartitionCount;
+    }
+
+    /**
+     * <p>
+     * Set the number of partitions the "TRIGGER_ACCESS" lock is split into.
+     * The default of 1 keeps the single lock shared by all trigger mutations.
+     * </p>
+     * 
+     * <p>
+     * With more than one partition, every job (together with its triggers) is
+     * hashed into one of the partitions, each guarded by its own row in the
+     * LOCKS table, and the partition is recorded in the LOCK_PARTITION column
+     * of the TRIGGERS table.  Storing a new trigger, acquiring, firing,
+     * releasing and completing triggers then only lock the partition the
+     * trigger belongs to, while all other operations still lock every
+     * partition.  All scheduler instances sharing the tables must use the same
+     * value.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setLockPartitionCount(int lockPartitionCount) {
+        if (lockPartitionCount < 1) {
+            throw new IllegalArgumentException("lockPartitionCount must be at least 1");
+        }
+        this.lockPartitionCount = lockPartitionCount;
+    }
+
+    /**
+     * Whether each clustered instance only acquires the triggers of the lock
+     * partitions it owns.
+     * 
+     * @see #setUseTriggerAffinity(boolean)
+     */
+    public boolean isUseTriggerAffinity() {
+        return useTriggerAffinity;
+    }
+
+    /**
+     * <p>
+     * Set whether each clustered instance only acquires the triggers of the
+     * lock partitions it owns, rather than competing with every other instance
+     * for every trigger.
+     * </p>
+     * 
+     * <p>
+     * The lock partitions (see <code>{@link #setLockPartitionCount(int)}</code>)
+     * are spread evenly over the live instances recorded in the
+     * SCHEDULER_STATE table, and are re-assigned at each cluster check-in
+     * whenever instances join or fail.  This only has an effect on clustered
+     * job stores with more than one lock partition, and the partition count
+     * should be at least the number of instances in the cluster, as instances
+     * beyond it are left without any triggers to acquire.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setUseTriggerAffinity(boolean useTriggerAffinity) {
+        this.useTriggerAffinity = useTriggerAffinity;
+    }
+
+    /**
+     * Whether job details and calendars are served from a local cache while
+     * their version in the database is unchanged.
+     * 
+     * @see #setUseVersionedCache(boolean)
+     */
+    public boolean isUseVersionedCache() {
+        return useVersionedCache;
+    }
+
+    /**
+     * <p>
+     * Set whether job details and calendars are served from a local cache
+     * while their version in the database is unchanged, rather than being
+     * read and deserialized every time a trigger is acquired or fired.
+     * </p>
+     * 
+     * <p>
+     * Every write to a job or calendar stores a new value in its DATA_VERSION
+     * column, and every read first selects that column alone, so the cache
+     * also works for clustered job stores.  All scheduler instances sharing
+     * the tables must therefore enable it, as instances without it would
+     * not update the version.  Jobs whose <code>JobDataMap</code> holds
+     * values other than strings, numbers, booleans and characters are never
+     * cached, as callers could change their state in place.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setUseVersionedCache(boolean useVersionedCache) {
+        this.useVersionedCache = useVersionedCache;
+    }
+
+    /**
+     * Get the maximum number of job details, and separately of calendars,
+     * held in the versioned cache.
+     * 
+     * @see #setUseVersionedCache(boolean)
+     */
+    public int getVersionedCacheSize() {
+        return versionedCacheSize;
+    }
+
+    /**
+     * <p>
+     * Set the maximum number of job details, and separately of calendars,
+     * held in the versioned cache.  The least recently used entries are
+     * evicted beyond it.  Defaults to 1000.
+     * </p>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setVersionedCacheSize(int versionedCacheSize) {
+        if (versionedCacheSize < 1) {
+            throw new IllegalArgumentException("versionedCacheSize must be at least 1");
+        }
+        this.versionedCacheSize = versionedCacheSize;
+    }
+
+    /**
+     * Get the number of misfired triggers last seen waiting to be recovered,
+     * the number recovered so far, the duration of the last recovery of
+     * failed cluster instances and the number of their fired-trigger records
+     * recovered so far, the number of retries of failed database work and
+     * whether the retry policy's circuit is open (1) or not (0), and the hit
+     * and miss counts of the versioned job and calendar caches, if
+     * <code>{@link #setUseVersionedCache(boolean)}</code> is enabled.
+     */
+    @Override
+    public Map<String, Long> getPerformanceMetrics() {
+        Map<String, Long> metrics = new HashMap<>();
+        metrics.put("MisfireBacklog", misfireBacklog);
+        metrics.put("MisfiresHandled", misfiresHandled.get());
+        metrics.put("LastClusterRecoveryMillis", lastClusterRecoveryTime);
+        metrics.put("ClusterRecoveryRecords", clusterRecoveryRecords.get());
+        metrics.put("RetryCount", retryCount.get());
+        metrics.put("RetryCircuitOpen", getRetryPolicy() != null && getRetryPolicy().isCircuitOpen() ? 1L : 0L);
+        if (jobCache != null) {
+            metrics.put("JobCacheHits", jobCache.getHitCount());
+            metrics.put("JobCacheMisses", jobCache.getMissCount());
+            metrics.put("JobCacheHitPercentage", jobCache.getHitPercentage());
+            metrics.put("CalendarCacheHits", versionedCalendarCache.getHitCount());
+            metrics.put("CalendarCacheMisses", versionedCalendarCache.getMissCount());
+            metrics.put("CalendarCacheHitPercentage", versionedCalendarCache.getHitPercentage());
+        }
+        return metrics;
+    }
+
     
     /**
      * <p>
@@ -623,7 +1051,17 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
     @Override
     public long getAcquireRetryDelay(int failureCount) {
-        return dbRetryInterval;
+        return getRetryDelay(failureCount);
+    }
+
+    /**
+     * Get the time to wait before retrying after the given number of
+     * successive failures, as decided by the
+     * <code>{@link #setRetryPolicy(RetryPolicy) retry policy}</code>.
+     */
+    protected long getRetryDelay(int failureCount) {
+        retryCount.incrementAndGet();
+        return getRetryPolicy().getRetryDelay(failureCount);
     }
 
     //---------------------------------------------------------------------------
@@ -682,6 +1120,35 @@ public abstract class JobStoreSupport implements JobStore, Constants {
             }
         }
 
+        if (getLockPartitionCount() > 1) {
+            getLog().info("Partitioning the {} lock into {} partitions.", LOCK_TRIGGER_ACCESS, getLockPartitionCount());
+            setLockHandler(new PartitionedSemaphore(getLockHandler(), LOCK_TRIGGER_ACCESS, getLockPartitionCount()));
+        }
+
+        if (isUseTriggerAffinity() && (!isClustered() || getLockPartitionCount() <= 1)) {
+            getLog().warn("Trigger affinity requires a clustered job store with more than one lock partition - it will not be used.");
+            setUseTriggerAffinity(false);
+        }
+
+        if (getFireInstanceIdGenerator() == null) {
+            setFireInstanceIdGenerator(new CompactFireInstanceIdGenerator());
+        }
+        getFireInstanceIdGenerator().initialize(getInstanceId());
+
+        if (getRetryPolicy() == null) {
+            ExponentialBackoffRetryPolicy fixedInterval = new ExponentialBackoffRetryPolicy();
+            fixedInterval.setInitialInterval(getDbRetryInterval());
+            fixedInterval.setMaxInterval(getDbRetryInterval());
+            fixedInterval.setMultiplier(1.0);
+            fixedInterval.setJitter(0.0);
+            setRetryPolicy(fixedInterval);
+        }
+
+        if (isUseVersionedCache()) {
+            getLog().info("Caching up to {} job details and calendars by data version.", getVersionedCacheSize());
+            jobCache = new VersionedCache<>(getVersionedCacheSize());
+            versionedCalendarCache = new VersionedCache<>(getVersionedCacheSize());
+        }
     }
    
     /**
@@ -689,6 +1156,15 @@ public abstract class JobStoreSupport implements JobStore, Constants {
      */
     public void schedulerStarted() throws SchedulerException {
 
+        if (getLockPartitionCount() > 1) {
+            try {
+                assignLockPartitions();
+            } catch (SchedulerException se) {
+                throw new SchedulerConfigException(
+                        "Failure occurred while assigning trigger lock partitions.", se);
+            }
+        }
+
         if (isClustered()) {
             clusterManagementThread = new ClusterManager();
             if(initializersLoader != null)
@@ -751,6 +1227,14 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         } catch (SQLException sqle) {
             getLog().warn("Database connection shutdown unsuccessful.", sqle);
         }        
+
+        if (getReadOnlyDataSource() != null) {
+            try {
+                DBConnectionManager.getInstance().shutdown(getReadOnlyDataSource());
+            } catch (SQLException sqle) {
+                getLog().warn("Read-only database connection shutdown unsuccessful.", sqle);
+            }
+        }
         
         getLog().debug("JobStore background threads shutdown.");
     }
@@ -767,17 +1251,88 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         throws JobPersistenceException;
 
     /**
-     * Wrap the given <code>Connection</code> in a Proxy such that attributes 
+     * Wrap the given <code>Connection</code> such that attributes 
      * that might be set will be restored before the connection is closed 
      * (and potentially restored to a pool).
      */
     protected Connection getAttributeRestoringConnection(Connection conn) {
-        return (Connection) Proxy.newProxyInstance(
-                Thread.currentThread().getContextClassLoader(),
-                new Class[] { Connection.class },
-                new AttributeRestoringConnectionInvocationHandler(conn));
+        return new AttributeRestoringConnection(conn);
+    }
+
+    /**
+     * Set the auto commit and transaction isolation attributes of the given
+     * <code>Connection</code> that we are to override.
+     * 
+     * <p>
+     * The connection is only wrapped by <code>{@link #getAttributeRestoringConnection(Connection)}</code>
+     * if one of the attributes actually has to change, so a connection that
+     * the pool already hands out in the required state (e.g. a HikariCP data
+     * source configured with <code>autoCommit=false</code>) is used as is,
+     * without any extra calls to the driver.
+     * </p>
+     * 
+     * @param setAutoCommitFalse whether auto commit is to be turned off
+     * @param txIsolationLevel the transaction isolation level to set, or 
+     *        <code>-1</code> to leave it as it is
+     * @return the connection to use, wrapped if any attribute was overridden
+     */
+    protected Connection overrideConnectionAttributes(Connection conn,
+            boolean setAutoCommitFalse, int txIsolationLevel) throws JobPersistenceException {
+        Connection result = conn;
+        try {
+            boolean changeAutoCommit = setAutoCommitFalse && conn.getAutoCommit();
+            boolean changeTxIsolation = txIsolationLevel != -1
+                    && conn.getTransactionIsolation() != txIsolationLevel;
+
+            if (changeAutoCommit || changeTxIsolation) {
+                // Protect connection attributes we are about to change.
+                result = getAttributeRestoringConnection(conn);
+
+                if (changeAutoCommit) {
+                    result.setAutoCommit(false);
+                }
+
+                if (changeTxIsolation) {
+                    result.setTransactionIsolation(txIsolationLevel);
+                }
+            }
+        } catch (SQLException sqle) {
+            getLog().warn("Failed to override connection auto commit/transaction isolation.", sqle);
+        } catch (Throwable e) {
+            try { result.close(); } catch(Throwable ignored) {}
+            
+            throw new JobPersistenceException(
+                "Failure setting up connection.", e);
+        }
+
+        return result;
     }
     
+    /**
+     * Get a connection of the read-only <code>DataSource</code>.
+     * 
+     * @see #setReadOnlyDataSource(String)
+     */
+    protected Connection getReadOnlyConnection() throws JobPersistenceException {
+        Connection conn;
+        try {
+            conn = DBConnectionManager.getInstance().getConnection(
+                    getReadOnlyDataSource());
+        } catch (Throwable e) {
+            throw new JobPersistenceException(
+                    "Failed to obtain DB connection from read-only data source '"
+                    + getReadOnlyDataSource() + "': " + e, e);
+        }
+
+        if (conn == null) { 
+            throw new JobPersistenceException(
+                "Could not get connection from read-only DataSource '"
+                + getReadOnlyDataSource() + "'"); 
+        }
+
+        return overrideConnectionAttributes(conn, !isDontSetAutoCommitFalse(), -1);
+    }
+
     protected Connection getConnection() throws JobPersistenceException {
         Connection conn;
         try {
@@ -795,28 +1350,9 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                 + getDataSource() + "'"); 
         }
 
-        // Protect connection attributes we might change.
-        conn = getAttributeRestoringConnection(conn);
-
         // Set any connection attributes we are to override.
-        try {
-            if (!isDontSetAutoCommitFalse()) {
-                conn.setAutoCommit(false);
-            }
-
-            if(isTxIsolationLevelSerializable()) {
-                conn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
-            }
-        } catch (SQLException sqle) {
-            getLog().warn("Failed to override connection auto commit/transaction isolation.", sqle);
-        } catch (Throwable e) {
-            try { conn.close(); } catch(Throwable ignored) {}
-            
-            throw new JobPersistenceException(
-                "Failure setting up connection.", e);
-        }
-    
-        return conn;
+        return overrideConnectionAttributes(conn, !isDontSetAutoCommitFalse(),
+                isTxIsolationLevelSerializable() ? Connection.TRANSACTION_SERIALIZABLE : -1);
     }
 
     protected void releaseLock(String lockName, boolean doIt) {
@@ -829,6 +1365,111 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         }
     }
 
+    /**
+     * Get the lock partition the given job, and all of its triggers, belong to.
+     * 
+     * @see #setLockPartitionCount(int)
+     */
+    protected int getLockPartition(JobKey jobKey) {
+        return Math.floorMod(jobKey.hashCode(), getLockPartitionCount());
+    }
+
+    /**
+     * Get the name of the lock that guards the trigger access of the given
+     * lock partition.
+     */
+    protected String getTriggerAccessLockName(int lockPartition) {
+        if (getLockPartitionCount() <= 1) {
+            return LOCK_TRIGGER_ACCESS;
+        }
+        return PartitionedSemaphore.getPartitionLockName(LOCK_TRIGGER_ACCESS, lockPartition);
+    }
+
+    /**
+     * Get the name of the lock that guards the trigger access of the given
+     * job, and all of its triggers.
+     */
+    protected String getTriggerAccessLockName(JobKey jobKey) {
+        if (getLockPartitionCount() <= 1) {
+            return LOCK_TRIGGER_ACCESS;
+        }
+        return getTriggerAccessLockName(getLockPartition(jobKey));
+    }
+
+    /**
+     * Get the lock partitions this instance acquires triggers from, or null
+     * if it acquires from all of them.
+     * 
+     * @see #setUseTriggerAffinity(boolean)
+     */
+    protected int[] getOwnedLockPartitions() {
+        return ownedLockPartitions;
+    }
+
+    /**
+     * Re-assign the lock partitions owned by this instance for the given set
+     * of live instances.  Every instance computes the same assignment from the
+     * same SCHEDULER_STATE records, so each partition ends up with one owner.
+     */
+    protected void updateOwnedLockPartitions(Collection<String> liveInstanceIds) {
+        int[] owned = getLockPartitionsOwnedBy(getInstanceId(), liveInstanceIds, getLockPartitionCount());
+        if (!Arrays.equals(owned, ownedLockPartitions)) {
+            getLog().info("Instance {} now owns trigger lock partitions {} of {} live instances.",
+                    getInstanceId(), Arrays.toString(owned), liveInstanceIds.size());
+            if (owned != null && owned.length == 0) {
+                getLog().warn("Instance {} owns no trigger lock partitions, as there are more live instances than partitions.", getInstanceId());
+            }
+            ownedLockPartitions = owned;
+        }
+    }
+
+    /**
+     * Get the lock partitions owned by the given instance, the partitions being
+     * dealt out round-robin over the live instances in instance id order.
+     * 
+     * @return the owned partitions, or null if the instance is not live
+     */
+    static int[] getLockPartitionsOwnedBy(String instanceId, Collection<String> liveInstanceIds, int lockPartitionCount) {
+        List<String> instanceIds = new ArrayList<>(new TreeSet<>(liveInstanceIds));
+        int index = instanceIds.indexOf(instanceId);
+        if (index < 0) {
+            return null;
+        }
+        int[] owned = new int[(lockPartitionCount - index + instanceIds.size() - 1) / instanceIds.size()];
+        for (int i = 0, partition = index; partition < lockPartitionCount; i++, partition += instanceIds.size()) {
+            owned[i] = partition;
+        }
+        return owned;
+    }
+
+    /**
+     * Record the lock partition of every stored trigger, so that triggers
+     * stored before partitioning was enabled (or with a different partition
+     * count) can be acquired from the partition they now belong to.
+     */
+    protected void assignLockPartitions() throws JobPersistenceException {
+        executeInNonManagedTXLock(
+            LOCK_TRIGGER_ACCESS,
+            new VoidTransactionCallback() {
+                public void executeVoid(Connection conn) throws JobPersistenceException {
+                    int count = 0;
+                    for (JobKey jobKey : getJobNames(conn, GroupMatcher.anyJobGroup())) {
+                        count += assignLockPartition(conn, jobKey);
+                    }
+                    logWarnIfNonZero(count, "Assigned " + count + " triggers to a new lock partition.");
+                }
+            }, null);
+    }
+
+    protected int assignLockPartition(Connection conn, JobKey jobKey) throws JobPersistenceException {
+        try {
+            return getDelegate().updateTriggerLockPartitionForJob(conn, jobKey, getLockPartition(jobKey));
+        } catch (SQLException e) {
+            throw new JobPersistenceException(
+                    "Couldn't assign lock partition of triggers for job (" + jobKey + "): " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Recover any failed or misfired jobs and clean up the data store as
      * appropriate.
@@ -951,11 +1592,13 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         
         List<TriggerKey> misfiredTriggers = new LinkedList<>();
         long earliestNewTime = Long.MAX_VALUE;
+        long misfireTime = getMisfireTime();
+
         // We must still look for the MISFIRED state in case triggers were left 
         // in this state when upgrading to this version that does not support it. 
         boolean hasMoreMisfiredTriggers =
             getDelegate().hasMisfiredTriggersInState(
-                conn, STATE_WAITING, getMisfireTime(), 
+                conn, STATE_WAITING, misfireTime, 
                 maxMisfiresToHandleAtATime, misfiredTriggers);
 
         if (hasMoreMisfiredTriggers) {
@@ -968,7 +1611,31 @@ public abstract class JobStoreSupport implements JobStore, Constants {
             return RecoverMisfiredJobsResult.NO_OP; 
         }
 
+        long timeSliceEnd = (recovering || getMisfireHandlingTimeSlice() <= 0) ?
+            Long.MAX_VALUE : System.currentTimeMillis() + getMisfireHandlingTimeSlice();
+
+        int firedNowCount = 0;
+        if (isUseSetBasedMisfireHandling()) {
+            long now = System.currentTimeMillis();
+            firedNowCount = updateMisfiredTriggersToFireNow(conn, misfiredTriggers, misfireTime, now, timeSliceEnd);
+            if (firedNowCount > 0) {
+                getLog().info("Set {} trigger(s) that missed their scheduled fire-time to fire now.", firedNowCount);
+                misfiresHandled.addAndGet(firedNowCount);
+                earliestNewTime = now;
+            }
+        }
+
+        int processedCount = 0;
+
         for (TriggerKey triggerKey: misfiredTriggers) {
+            if (System.currentTimeMillis() >= timeSliceEnd) {
+                getLog().debug("Misfire handling time slice used up, leaving {} trigger(s) for the next pass.",
+                    misfiredTriggers.size() - processedCount);
+                hasMoreMisfiredTriggers = true;
+                break;
+            }
+            processedCount++;
+
             OperableTrigger trig;
 
             try {
@@ -978,7 +1645,9 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                 continue;
             }
 
-            if (trig == null) {
+            if (trig == null
+                    || (trig.getNextFireTime() != null && trig.getNextFireTime().getTime() >= misfireTime)) {
+                // gone, or set to fire now by a batch the driver didn't report on
                 continue;
             }
 
@@ -992,8 +1661,44 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                 earliestNewTime = trig.getNextFireTime().getTime();
         }
 
+        misfiresHandled.addAndGet(processedCount);
+
         return new RecoverMisfiredJobsResult(
-                hasMoreMisfiredTriggers, misfiredTriggers.size(), earliestNewTime);
+                hasMoreMisfiredTriggers, firedNowCount + processedCount, earliestNewTime);
+    }
+
+    /**
+     * Set those of the given misfired triggers that handle a misfire by
+     * firing once, immediately, to fire at the given time, a batch of them
+     * at a time for as long as the time slice lasts, and remove them from
+     * the list.  Triggers whose update the driver doesn't report on are left
+     * in the list, to be handled one at a time.
+     *
+     * @return the number of triggers set to fire
+     */
+    private int updateMisfiredTriggersToFireNow(Connection conn, List<TriggerKey> misfiredTriggers,
+            long misfireTime, long newFireTime, long timeSliceEnd) throws JobPersistenceException, SQLException {
+        Set<TriggerKey> firedNow = new HashSet<>();
+        List<TriggerKey> batch = new ArrayList<>(MISFIRE_UPDATE_BATCH_SIZE);
+        Iterator<TriggerKey> triggerKeys = misfiredTriggers.iterator();
+        while (triggerKeys.hasNext() && System.currentTimeMillis() < timeSliceEnd) {
+            batch.clear();
+            while (triggerKeys.hasNext() && batch.size() < MISFIRE_UPDATE_BATCH_SIZE) {
+                batch.add(triggerKeys.next());
+            }
+            int[] updated = getDelegate().updateMisfiredTriggersToFireNow(
+                conn, batch, STATE_WAITING, misfireTime, newFireTime);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] > 0) {
+                    firedNow.add(batch.get(i));
+                }
+            }
+        }
+
+        if (!firedNow.isEmpty()) {
+            misfiredTriggers.removeAll(firedNow);
+        }
+        return firedNow.size();
     }
 
     protected boolean updateMisfiredTrigger(Connection conn,
@@ -1025,7 +1730,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     private void doUpdateOfMisfiredTrigger(Connection conn, OperableTrigger trig, boolean forceState, String newStateIfNotComplete, boolean recovering) throws JobPersistenceException {
         Calendar cal = null;
         if (trig.getCalendarName() != null) {
-            cal = retrieveCalendar(conn, trig.getCalendarName());
+            cal = retrieveCompiledCalendar(conn, trig.getCalendarName());
         }
 
         schedSignaler.notifyTriggerListenersMisfired(trig);
@@ -1059,7 +1764,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
             final OperableTrigger newTrigger) 
         throws JobPersistenceException {
         executeInLock(
-            (isLockOnInsert()) ? LOCK_TRIGGER_ACCESS : null,
+            (isLockOnInsert()) ? getTriggerAccessLockName(newJob.getKey()) : null,
             new VoidTransactionCallback() {
                 public void executeVoid(Connection conn) throws JobPersistenceException {
                     storeJob(conn, newJob, false);
@@ -1087,7 +1792,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public void storeJob(final JobDetail newJob,
         final boolean replaceExisting) throws JobPersistenceException {
         executeInLock(
-            (isLockOnInsert() || replaceExisting) ? LOCK_TRIGGER_ACCESS : null,
+            (isLockOnInsert() || replaceExisting) ? getTriggerAccessLockName(newJob.getKey()) : null,
             new VoidTransactionCallback() {
                 public void executeVoid(Connection conn) throws JobPersistenceException {
                     storeJob(conn, newJob, replaceExisting);
@@ -1115,6 +1820,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
             else if (getDelegate().insertJobDetail(conn, newJob) < 1) {
                 throw new JobPersistenceException("Couldn't store job. Insert failed.");
             }
+            updateJobVersion(conn, newJob.getKey());
         } catch (IOException | SQLException e) {
             throw new JobPersistenceException("Couldn't store job: "
                     + e.getMessage(), e);
@@ -1153,12 +1859,17 @@ public abstract class JobStoreSupport implements JobStore, Constants {
      */
     public void storeTrigger(final OperableTrigger newTrigger,
         final boolean replaceExisting) throws JobPersistenceException {
+        // replacing may move an existing trigger to the partition of another job
         executeInLock(
-            (isLockOnInsert() || replaceExisting) ? LOCK_TRIGGER_ACCESS : null,
+            replaceExisting ? LOCK_TRIGGER_ACCESS : 
+                isLockOnInsert() ? getTriggerAccessLockName(newTrigger.getJobKey()) : null,
             new VoidTransactionCallback() {
                 public void executeVoid(Connection conn) throws JobPersistenceException {
                     storeTrigger(conn, newTrigger, null, replaceExisting,
                         STATE_WAITING, false, false);
+                    if (replaceExisting && getLockPartitionCount() > 1) {
+                        assignLockPartition(conn, newTrigger.getJobKey());
+                    }
                 }
             });
     }
@@ -1182,24 +1893,8 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         
         try {
 
-            boolean shouldBePaused;
-
             if (!forceState) {
-                shouldBePaused = getDelegate().isTriggerGroupPaused(
-                        conn, newTrigger.getKey().getGroup());
-
-                if(!shouldBePaused) {
-                    shouldBePaused = getDelegate().isTriggerGroupPaused(conn,
-                            ALL_GROUPS_PAUSED);
-
-                    if (shouldBePaused) {
-                        getDelegate().insertPausedTriggerGroup(conn, newTrigger.getKey().getGroup());
-                    }
-                }
-
-                if (shouldBePaused && (state.equals(STATE_WAITING) || state.equals(STATE_ACQUIRED))) {
-                    state = STATE_PAUSED;
-                }
+                state = checkPausedState(conn, newTrigger.getKey(), state);
             }
 
             if(job == null) {
@@ -1211,19 +1906,82 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                         + ") referenced by the trigger does not exist.");
             }
 
-            if (job.isConcurrentExecutionDisallowed() && !recovering) { 
-                state = checkBlockedState(conn, job.getKey(), state);
-            }
-            
-            if (existingTrigger) {
-                getDelegate().updateTrigger(conn, newTrigger, state, job);
-            } else {
-                getDelegate().insertTrigger(conn, newTrigger, state, job);
+            if (job.isConcurrentExecutionDisallowed() && !recovering) { 
+                state = checkBlockedState(conn, job.getKey(), state);
+            }
+            
+            if (existingTrigger) {
+                getDelegate().updateTrigger(conn, newTrigger, state, job);
+            } else {
+                getDelegate().insertTrigger(conn, newTrigger, state, job);
+                if (getLockPartitionCount() > 1) {
+                    getDelegate().updateTriggerLockPartitionForJob(conn, job.getKey(), getLockPartition(job.getKey()));
+                }
+            }
+        } catch (Exception e) {
+            throw new JobPersistenceException("Couldn't store trigger '" + newTrigger.getKey() + "' for '" 
+                    + newTrigger.getJobKey() + "' job:" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * <p>
+     * Store the fire times, state and fire counters of a stored trigger that
+     * has just fired, without rewriting the rest of its data.  The state is
+     * adjusted for paused groups and blocked jobs as by
+     * <code>{@link #storeTrigger(Connection, OperableTrigger, JobDetail, boolean, String, boolean, boolean)}</code>.
+     * </p>
+     */
+    protected void storeTriggerFireState(Connection conn,
+            OperableTrigger trigger, JobDetail job, String state, boolean forceState)
+        throws JobPersistenceException {
+
+        try {
+            if (!forceState) {
+                state = checkPausedState(conn, trigger.getKey(), state);
+            }
+
+            if (job.isConcurrentExecutionDisallowed()) {
+                state = checkBlockedState(conn, job.getKey(), state);
+            }
+
+            if (getDelegate().updateTriggerFireState(conn, trigger, state, job) > 0) {
+                return;
+            }
+        } catch (SQLException | IOException e) {
+            throw new JobPersistenceException("Couldn't store trigger '" + trigger.getKey() + "' for '" 
+                    + trigger.getJobKey() + "' job:" + e.getMessage(), e);
+        }
+
+        // the trigger's row is gone, so store it in full
+        storeTrigger(conn, trigger, job, true, state, forceState, false);
+    }
+
+    /**
+     * <p>
+     * Determines if a trigger that is to be stored in the given state should
+     * be paused instead, because its group (or all groups) is paused.
+     * </p>
+     */
+    private String checkPausedState(Connection conn, TriggerKey triggerKey, String state)
+        throws SQLException, NoSuchDelegateException {
+
+        boolean shouldBePaused = getDelegate().isTriggerGroupPaused(
+                conn, triggerKey.getGroup());
+
+        if(!shouldBePaused) {
+            shouldBePaused = getDelegate().isTriggerGroupPaused(conn,
+                    ALL_GROUPS_PAUSED);
+
+            if (shouldBePaused) {
+                getDelegate().insertPausedTriggerGroup(conn, triggerKey.getGroup());
             }
-        } catch (Exception e) {
-            throw new JobPersistenceException("Couldn't store trigger '" + newTrigger.getKey() + "' for '" 
-                    + newTrigger.getJobKey() + "' job:" + e.getMessage(), e);
         }
+
+        if (shouldBePaused && (state.equals(STATE_WAITING) || state.equals(STATE_ACQUIRED))) {
+            return STATE_PAUSED;
+        }
+        return state;
     }
 
     /**
@@ -1285,21 +2043,44 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
     public boolean removeJobs(final List<JobKey> jobKeys) throws JobPersistenceException {
 
-        return (Boolean) executeInLock(
+        return executeInLock(
                 LOCK_TRIGGER_ACCESS,
-                new TransactionCallback() {
-                    public Object execute(Connection conn) throws JobPersistenceException {
-                        boolean allFound = true;
-
-                        // FUTURE_TODO: make this more efficient with a true bulk operation...
-                        for (JobKey jobKey : jobKeys)
-                            allFound = removeJob(conn, jobKey) && allFound;
+                conn -> {
+                    boolean allFound = true;
 
-                        return allFound ? Boolean.TRUE : Boolean.FALSE;
+                    int chunkSize = Math.max(getBulkStoreChunkSize(), 1);
+                    for (int i = 0; i < jobKeys.size(); i += chunkSize) {
+                        allFound &= removeJobs(conn, jobKeys.subList(i, Math.min(i + chunkSize, jobKeys.size())));
                     }
+
+                    return allFound;
                 });
     }
 
+    /**
+     * <p>
+     * Remove the given jobs and their triggers, with a few set-based
+     * statements rather than a few per job.
+     * </p>
+     * 
+     * @return <code>true</code> if all of the jobs were found and removed.
+     */
+    protected boolean removeJobs(Connection conn, List<JobKey> jobKeys)
+        throws JobPersistenceException {
+
+        try {
+            Set<JobKey> existing = getDelegate().selectExistingJobKeys(conn, jobKeys);
+
+            getDelegate().deleteTriggers(conn, getDelegate().selectTriggerKeysForJobs(conn, existing));
+            deleteJobsAndChildren(conn, existing);
+
+            return existing.size() == jobKeys.size();
+        } catch (SQLException e) {
+            throw new JobPersistenceException("Couldn't remove jobs: "
+                    + e.getMessage(), e);
+        }
+    }
+
     public boolean removeTriggers(final List<TriggerKey> triggerKeys)
             throws JobPersistenceException {
         return executeInLock(
@@ -1307,34 +2088,200 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                 conn -> {
                     boolean allFound = true;
 
-                    // FUTURE_TODO: make this more efficient with a true bulk operation...
-                    for (TriggerKey triggerKey : triggerKeys)
-                        allFound &= removeTrigger(conn, triggerKey);
+                    int chunkSize = Math.max(getBulkStoreChunkSize(), 1);
+                    for (int i = 0; i < triggerKeys.size(); i += chunkSize) {
+                        allFound &= removeTriggers(conn, triggerKeys.subList(i, Math.min(i + chunkSize, triggerKeys.size())));
+                    }
 
                     return allFound;
                 });
     }
+
+    /**
+     * <p>
+     * Remove the given triggers, and those of their jobs that are not
+     * durable and are left without triggers, with a few set-based
+     * statements rather than a few per trigger.
+     * </p>
+     * 
+     * @return <code>true</code> if all of the triggers were found and removed.
+     */
+    protected boolean removeTriggers(Connection conn, List<TriggerKey> triggerKeys)
+        throws JobPersistenceException {
+
+        try {
+            // this must be called before we delete the triggers, obviously
+            Map<TriggerKey, JobKey> jobKeys = getDelegate().selectJobKeysForTriggers(conn, triggerKeys);
+
+            getDelegate().deleteTriggers(conn, jobKeys.keySet());
+            deleteJobsAndChildren(conn, getDelegate().selectOrphanedJobKeys(conn,
+                    new HashSet<>(jobKeys.values()), getClassLoadHelper()));
+
+            return jobKeys.size() == triggerKeys.size();
+        } catch (ClassNotFoundException | SQLException | IOException e) {
+            throw new JobPersistenceException("Couldn't remove triggers: "
+                    + e.getMessage(), e);
+        }
+    }
         
     public void storeJobsAndTriggers(
             final Map<JobDetail, Set<? extends Trigger>> triggersAndJobs, final boolean replace)
             throws JobPersistenceException {
 
-        executeInLock(
-                (isLockOnInsert() || replace) ? LOCK_TRIGGER_ACCESS : null,
-                new VoidTransactionCallback() {
-                    public void executeVoid(Connection conn) throws JobPersistenceException {
-                        
-                        // FUTURE_TODO: make this more efficient with a true bulk operation...
-                        for(JobDetail job: triggersAndJobs.keySet()) {
-                            storeJob(conn, job, replace);
-                            for(Trigger trigger: triggersAndJobs.get(job)) {
-                                storeTrigger(conn, (OperableTrigger) trigger, job, replace,
-                                        Constants.STATE_WAITING, false, false);
+        final List<Map.Entry<JobDetail, Set<? extends Trigger>>> entries = new ArrayList<>(triggersAndJobs.entrySet());
+        int perTransaction = getBulkStoreCommitInterval() > 0 ? getBulkStoreCommitInterval() : Math.max(entries.size(), 1);
+
+        for (int from = 0; from < entries.size(); from += perTransaction) {
+            final List<Map.Entry<JobDetail, Set<? extends Trigger>>> slice =
+                entries.subList(from, Math.min(from + perTransaction, entries.size()));
+            executeInLock(
+                    (isLockOnInsert() || replace) ? LOCK_TRIGGER_ACCESS : null,
+                    new VoidTransactionCallback() {
+                        public void executeVoid(Connection conn) throws JobPersistenceException {
+                            int chunkSize = Math.max(getBulkStoreChunkSize(), 1);
+                            for (int i = 0; i < slice.size(); i += chunkSize) {
+                                storeJobsAndTriggers(conn, slice.subList(i, Math.min(i + chunkSize, slice.size())), replace);
+                            }
+                        }
+                    });
+        }
+    }
+
+    /**
+     * <p>
+     * Store a chunk of jobs and their triggers.  Which of them already exist
+     * is found with one query per kind, and the jobs that are new are
+     * inserted, with their new triggers, as JDBC batches.  Existing jobs and
+     * triggers (which may only be replaced) are stored one at a time.
+     * </p>
+     */
+    protected void storeJobsAndTriggers(Connection conn,
+            List<Map.Entry<JobDetail, Set<? extends Trigger>>> entries, boolean replace)
+        throws JobPersistenceException {
+
+        List<JobKey> jobKeys = new ArrayList<>(entries.size());
+        List<TriggerKey> triggerKeys = new ArrayList<>();
+        for (Map.Entry<JobDetail, Set<? extends Trigger>> entry : entries) {
+            if (entry.getKey() != null) {
+                jobKeys.add(entry.getKey().getKey());
+            }
+            if (entry.getValue() != null) {
+                for (Trigger trigger : entry.getValue()) {
+                    triggerKeys.add(trigger.getKey());
+                }
+            }
+        }
+
+        try {
+            Set<JobKey> existingJobs = getDelegate().selectExistingJobKeys(conn, jobKeys);
+            Set<TriggerKey> existingTriggers = new HashSet<>();
+            int chunkSize = Math.max(getBulkStoreChunkSize(), 1);
+            for (int i = 0; i < triggerKeys.size(); i += chunkSize) {
+                existingTriggers.addAll(getDelegate().selectExistingTriggerKeys(conn,
+                        triggerKeys.subList(i, Math.min(i + chunkSize, triggerKeys.size()))));
+            }
+
+            if (!replace) {
+                for (Map.Entry<JobDetail, Set<? extends Trigger>> entry : entries) {
+                    if (entry.getKey() != null && existingJobs.contains(entry.getKey().getKey())) {
+                        throw new ObjectAlreadyExistsException(entry.getKey());
+                    }
+                    if (entry.getValue() != null) {
+                        for (Trigger trigger : entry.getValue()) {
+                            if (existingTriggers.contains(trigger.getKey())) {
+                                throw new ObjectAlreadyExistsException(trigger);
                             }
                         }
                     }
-                });
-    }    
+                }
+            }
+
+            Set<String> pausedGroups = new HashSet<>(getDelegate().selectPausedTriggerGroups(conn));
+            boolean allGroupsPaused = pausedGroups.contains(ALL_GROUPS_PAUSED);
+
+            List<JobDetail> newJobs = new ArrayList<>();
+            List<OperableTrigger> newTriggers = new ArrayList<>();
+            List<String> newTriggerStates = new ArrayList<>();
+            List<JobDetail> newTriggerJobs = new ArrayList<>();
+            Set<TriggerKey> seenTriggers = new HashSet<>();
+            List<Map.Entry<JobDetail, Set<? extends Trigger>>> remaining = new ArrayList<>();
+
+            for (Map.Entry<JobDetail, Set<? extends Trigger>> entry : entries) {
+                JobDetail job = entry.getKey();
+                if (job == null || existingJobs.contains(job.getKey())) {
+                    remaining.add(entry);
+                    continue;
+                }
+                newJobs.add(job);
+                if (entry.getValue() == null) {
+                    continue;
+                }
+
+                String blockedState = STATE_WAITING;
+                if (job.isConcurrentExecutionDisallowed()) {
+                    blockedState = checkBlockedState(conn, job.getKey(), STATE_WAITING);
+                }
+                Set<Trigger> remainingTriggers = new LinkedHashSet<>();
+                for (Trigger trigger : entry.getValue()) {
+                    if (existingTriggers.contains(trigger.getKey()) || !seenTriggers.add(trigger.getKey())) {
+                        remainingTriggers.add(trigger);
+                        continue;
+                    }
+
+                    String group = trigger.getKey().getGroup();
+                    if (allGroupsPaused && !pausedGroups.contains(group)) {
+                        getDelegate().insertPausedTriggerGroup(conn, group);
+                        pausedGroups.add(group);
+                    }
+                    String state = blockedState;
+                    if (pausedGroups.contains(group)) {
+                        state = STATE_BLOCKED.equals(blockedState) ? STATE_PAUSED_BLOCKED : STATE_PAUSED;
+                    }
+
+                    newTriggers.add((OperableTrigger) trigger);
+                    newTriggerStates.add(state);
+                    newTriggerJobs.add(job);
+                }
+                if (!remainingTriggers.isEmpty()) {
+                    remaining.add(new AbstractMap.SimpleEntry<>(job, remainingTriggers));
+                }
+            }
+
+            for (int i = 0; i < newJobs.size(); i += chunkSize) {
+                getDelegate().insertJobDetails(conn, newJobs.subList(i, Math.min(i + chunkSize, newJobs.size())));
+            }
+            for (int i = 0; i < newTriggers.size(); i += chunkSize) {
+                int to = Math.min(i + chunkSize, newTriggers.size());
+                getDelegate().insertTriggers(conn, newTriggers.subList(i, to),
+                        newTriggerStates.subList(i, to), newTriggerJobs.subList(i, to));
+            }
+            for (JobDetail job : newJobs) {
+                updateJobVersion(conn, job.getKey());
+                if (getLockPartitionCount() > 1) {
+                    assignLockPartition(conn, job.getKey());
+                }
+            }
+
+            for (Map.Entry<JobDetail, Set<? extends Trigger>> entry : remaining) {
+                JobDetail job = entry.getKey();
+                if (job != null && existingJobs.contains(job.getKey())) {
+                    storeJob(conn, job, replace);
+                }
+                if (entry.getValue() != null) {
+                    for (Trigger trigger : entry.getValue()) {
+                        storeTrigger(conn, (OperableTrigger) trigger, job, replace,
+                                Constants.STATE_WAITING, false, false);
+                    }
+                }
+                if (job != null && replace && getLockPartitionCount() > 1) {
+                    assignLockPartition(conn, job.getKey());
+                }
+            }
+        } catch (IOException | SQLException e) {
+            throw new JobPersistenceException("Couldn't store jobs and triggers: "
+                    + e.getMessage(), e);
+        }
+    }
     
     /**
      * Delete a job and its listeners.
@@ -1345,8 +2292,27 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     private boolean deleteJobAndChildren(Connection conn, JobKey key)
         throws NoSuchDelegateException, SQLException {
 
+        if (jobCache != null) {
+            jobCache.remove(key);
+        }
         return (getDelegate().deleteJobDetail(conn, key) > 0);
     }
+
+    /**
+     * Delete several jobs, whose triggers have already been deleted.
+     * 
+     * @see #deleteJobAndChildren(Connection, JobKey)
+     */
+    private void deleteJobsAndChildren(Connection conn, Collection<JobKey> keys)
+        throws NoSuchDelegateException, SQLException {
+
+        if (jobCache != null) {
+            for (JobKey key : keys) {
+                jobCache.remove(key);
+            }
+        }
+        getDelegate().deleteJobDetails(conn, keys);
+    }
     
     /**
      * Delete a trigger, its listeners, and its Simple/Cron/BLOB sub-table entry.
@@ -1360,6 +2326,67 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
         return (getDelegate().deleteTrigger(conn, key) > 0);
     }
+
+    /**
+     * Record a new data version for a job that has been changed, so that no
+     * scheduler instance keeps serving it from its versioned cache.
+     */
+    private void updateJobVersion(Connection conn, JobKey key)
+        throws JobPersistenceException, SQLException {
+
+        if (jobCache != null) {
+            getDelegate().updateJobDetailVersion(conn, key, nextDataVersion());
+            jobCache.remove(key);
+        }
+    }
+
+    /**
+     * Record a new data version for a calendar that has been changed, so that
+     * no scheduler instance keeps serving it from its versioned cache.
+     */
+    private void updateCalendarVersion(Connection conn, String calName)
+        throws JobPersistenceException, SQLException {
+
+        if (versionedCalendarCache != null) {
+            getDelegate().updateCalendarVersion(conn, calName, nextDataVersion());
+            versionedCalendarCache.remove(calName);
+        }
+    }
+
+    /**
+     * Get a new data version.  Versions are random rather than counted, so a
+     * version written by a rolled back transaction is never confused with a
+     * later one, and are kept below 10^12 to fit the NUMERIC(12) columns used
+     * on databases without a 64 bit integer type.
+     */
+    private static long nextDataVersion() {
+        return ThreadLocalRandom.current().nextLong(1L, 1000000000000L);
+    }
+
+    /**
+     * Whether a job may be kept in the versioned cache, which is only the case
+     * if the values of its <code>JobDataMap</code> can not be changed in
+     * place through the copies handed out.
+     */
+    static boolean isCacheable(JobDetail job) {
+        for (Object value : job.getJobDataMap().values()) {
+            if (value != null
+                    && !(value instanceof String)
+                    && !(value instanceof Boolean)
+                    && !(value instanceof Character)
+                    && !(value instanceof Byte)
+                    && !(value instanceof Short)
+                    && !(value instanceof Integer)
+                    && !(value instanceof Long)
+                    && !(value instanceof Float)
+                    && !(value instanceof Double)
+                    && !(value instanceof BigDecimal)
+                    && !(value instanceof BigInteger)) {
+                return false;
+            }
+        }
+        return true;
+    }
     
     /**
      * <p>
@@ -1400,8 +2427,26 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     
     protected JobDetail retrieveJob(Connection conn, JobKey key) throws JobPersistenceException {
         try {
-            return getDelegate().selectJobDetail(conn, key,
+            Long version = null;
+            if (jobCache != null) {
+                // read the version before the row, so that a cached job can
+                // never be paired with a version newer than its content
+                version = getDelegate().selectJobDetailVersion(conn, key);
+                if (version == null) {
+                    return null;
+                }
+                JobDetail cached = jobCache.get(key, version);
+                if (cached != null) {
+                    return (JobDetail) cached.clone();
+                }
+            }
+
+            JobDetail job = getDelegate().selectJobDetail(conn, key,
                     getClassLoadHelper());
+            if (version != null && job != null && isCacheable(job)) {
+                jobCache.put(key, version, (JobDetail) job.clone());
+            }
+            return job;
         } catch (ClassNotFoundException e) {
             throw new JobPersistenceException(
                     "Couldn't retrieve job because a required class was not found: "
@@ -1560,7 +2605,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
      */
     public TriggerState getTriggerState(final TriggerKey triggerKey) throws JobPersistenceException {
         return (TriggerState)executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) conn -> getTriggerState(conn, triggerKey));
+                (TransactionCallback) conn -> getTriggerState(conn, triggerKey), true);
     }
     
     public TriggerState getTriggerState(Connection conn, TriggerKey key)
@@ -1669,6 +2714,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
             String calName, Calendar calendar, boolean replaceExisting, boolean updateTriggers)
         throws JobPersistenceException {
         try {
+            Calendar compiled = CompiledCalendar.compile(calendar);
             boolean existingCal = calendarExists(conn, calName);
             if (existingCal && !replaceExisting) { 
                 throw new ObjectAlreadyExistsException(
@@ -1687,7 +2733,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                     trigs = getDelegate().selectTriggersForCalendar(conn, calName);
 
                     for(OperableTrigger trigger: trigs) {
-                        trigger.updateWithNewCalendar(calendar, getMisfireThreshold());
+                        trigger.updateWithNewCalendar(compiled, getMisfireThreshold());
                         storeTrigger(conn, trigger, null, true, STATE_WAITING, false, false);
                     }
                 }
@@ -1697,9 +2743,11 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                         "Couldn't store calendar.  Insert failed."); 
                 }
             }
+            updateCalendarVersion(conn, calName);
 
             if (!isClustered) {
                 calendarCache.put(calName, calendar); // lazy-cache
+                compiledCalendarCache.put(calName, compiled);
             }
 
         } catch (IOException e) {
@@ -1760,6 +2808,10 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
             if (!isClustered) {
                 calendarCache.remove(calName);
+                compiledCalendarCache.remove(calName);
+            }
+            if (versionedCalendarCache != null) {
+                versionedCalendarCache.remove(calName);
             }
 
             return (getDelegate().deleteCalendar(conn, calName) > 0);
@@ -1796,9 +2848,27 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         }
 
         try {
+            Long version = null;
+            if (versionedCalendarCache != null) {
+                version = getDelegate().selectCalendarVersion(conn, calName);
+                if (version == null) {
+                    return null;
+                }
+                cal = versionedCalendarCache.get(calName, version);
+                if (cal != null) {
+                    return (Calendar) cal.clone();
+                }
+            }
+
             cal = getDelegate().selectCalendar(conn, calName);
+            if (version != null && cal != null) {
+                versionedCalendarCache.put(calName, version, (Calendar) cal.clone());
+            }
             if (!isClustered) {
                 calendarCache.put(calName, cal); // lazy-cache...
+                if (cal != null) {
+                    compiledCalendarCache.put(calName, CompiledCalendar.compile(cal));
+                }
             }
             return cal;
         } catch (ClassNotFoundException e) {
@@ -1815,6 +2885,40 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         }
     }
 
+    /**
+     * <p>
+     * Retrieve the given <code>{@link org.quartz.Calendar}</code> in the form
+     * to apply to triggers: compiled when it is cached, which it is as long
+     * as we aren't running clustered, and otherwise as given by
+     * <code>{@link #retrieveCalendar(Connection, String)}</code>.
+     * </p>
+     */
+    protected Calendar retrieveCompiledCalendar(Connection conn,
+            String calName)
+        throws JobPersistenceException {
+        Calendar cal = (isClustered) ? null : compiledCalendarCache.get(calName);
+        if (cal != null) {
+            return cal;
+        }
+
+        return retrieveCalendar(conn, calName);
+    }
+
+    /**
+     * <p>
+     * Like <code>{@link #retrieveCompiledCalendar(Connection, String)}</code>,
+     * for a <code>{@link org.quartz.Calendar}</code> that has already been
+     * retrieved, which is applied as it is rather than loaded again when no
+     * compiled form of it is cached.
+     * </p>
+     */
+    protected Calendar retrieveCompiledCalendar(Connection conn,
+            String calName, Calendar cal)
+        throws JobPersistenceException {
+        Calendar compiled = (isClustered) ? null : compiledCalendarCache.get(calName);
+        return (compiled != null) ? compiled : cal;
+    }
+
     /**
      * <p>
      * Get the number of <code>{@link org.quartz.Job}</code> s that are
@@ -1824,7 +2928,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public int getNumberOfJobs()
         throws JobPersistenceException {
         return (Integer) executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) this::getNumberOfJobs);
+                (TransactionCallback) this::getNumberOfJobs, true);
     }
     
     protected int getNumberOfJobs(Connection conn)
@@ -1846,7 +2950,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public int getNumberOfTriggers()
         throws JobPersistenceException {
         return (Integer) executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) this::getNumberOfTriggers);
+                (TransactionCallback) this::getNumberOfTriggers, true);
     }
     
     protected int getNumberOfTriggers(Connection conn)
@@ -1868,7 +2972,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public int getNumberOfCalendars()
         throws JobPersistenceException {
         return (Integer) executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) this::getNumberOfCalendars);
+                (TransactionCallback) this::getNumberOfCalendars, true);
     }
     
     protected int getNumberOfCalendars(Connection conn)
@@ -1895,7 +2999,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public Set<JobKey> getJobKeys(final GroupMatcher<JobKey> matcher)
         throws JobPersistenceException {
         return (Set<JobKey>)executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) conn -> getJobNames(conn, matcher));
+                (TransactionCallback) conn -> getJobNames(conn, matcher), true);
     }
     
     protected Set<JobKey> getJobNames(Connection conn,
@@ -1976,6 +3080,10 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     protected void clearAllSchedulingData(Connection conn) throws JobPersistenceException {
         try {
             getDelegate().clearData(conn);
+            if (jobCache != null) {
+                jobCache.clear();
+                versionedCalendarCache.clear();
+            }
         } catch (SQLException e) {
             throw new JobPersistenceException("Error clearing scheduling data: " + e.getMessage(), e);
         }
@@ -1988,30 +3096,161 @@ public abstract class JobStoreSupport implements JobStore, Constants {
      * </p>
      * 
      * <p>
-     * If there are no triggers in the given group name, the result should be a
-     * an empty Set (not <code>null</code>).
+     * If there are no triggers in the given group name, the result should be a
+     * an empty Set (not <code>null</code>).
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    public Set<TriggerKey> getTriggerKeys(final GroupMatcher<TriggerKey> matcher)
+        throws JobPersistenceException {
+        return (Set<TriggerKey>)executeWithoutLock( // no locks necessary for read...
+                (TransactionCallback) conn -> getTriggerNames(conn, matcher), true);
+    }
+    
+    protected Set<TriggerKey> getTriggerNames(Connection conn,
+            GroupMatcher<TriggerKey> matcher) throws JobPersistenceException {
+
+        Set<TriggerKey> trigNames;
+
+        try {
+            trigNames = getDelegate().selectTriggersInGroup(conn, matcher);
+        } catch (SQLException e) {
+            throw new JobPersistenceException("Couldn't obtain trigger names: "
+                    + e.getMessage(), e);
+        }
+
+        return trigNames;
+    }
+
+    /**
+     * <p>
+     * Get a page of the keys of the <code>{@link org.quartz.Job}</code> s
+     * in the matching groups, only loading the keys of that page.
+     * </p>
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobKey> getJobKeys(final GroupMatcher<JobKey> matcher, final JobKey after, final int limit)
+        throws JobPersistenceException {
+        return (List<JobKey>)executeWithoutLock( // no locks necessary for read...
+                (TransactionCallback) conn -> {
+                    try {
+                        return getDelegate().selectJobsInGroup(conn, matcher, after, limit);
+                    } catch (SQLException e) {
+                        throw new JobPersistenceException("Couldn't obtain job names: "
+                                + e.getMessage(), e);
+                    }
+                }, true);
+    }
+
+    /**
+     * <p>
+     * Get a page of the keys of the <code>{@link org.quartz.Trigger}</code> s
+     * in the matching groups, only loading the keys of that page.
+     * </p>
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TriggerKey> getTriggerKeys(final GroupMatcher<TriggerKey> matcher, final TriggerKey after, final int limit)
+        throws JobPersistenceException {
+        return (List<TriggerKey>)executeWithoutLock( // no locks necessary for read...
+                (TransactionCallback) conn -> {
+                    try {
+                        return getDelegate().selectTriggersInGroup(conn, matcher, after, limit);
+                    } catch (SQLException e) {
+                        throw new JobPersistenceException("Couldn't obtain trigger names: "
+                                + e.getMessage(), e);
+                    }
+                }, true);
+    }
+
+    /**
+     * <p>
+     * Pass the key of every <code>{@link org.quartz.Job}</code> in the
+     * matching groups to the given action as it is read, within a single
+     * read transaction.
+     * </p>
+     * 
+     * @see #setFetchSize(int)
+     */
+    @Override
+    public void forEachJobKey(final GroupMatcher<JobKey> matcher, final Consumer<? super JobKey> action)
+        throws JobPersistenceException {
+        executeWithoutLock( // no locks necessary for read...
+                (TransactionCallback<Void>) conn -> {
+                    try {
+                        getDelegate().selectJobsInGroup(conn, matcher, action);
+                        return null;
+                    } catch (SQLException e) {
+                        throw new JobPersistenceException("Couldn't obtain job names: "
+                                + e.getMessage(), e);
+                    }
+                }, true);
+    }
+
+    /**
+     * <p>
+     * Pass the key of every <code>{@link org.quartz.Trigger}</code> in the
+     * matching groups to the given action as it is read, within a single
+     * read transaction.
      * </p>
+     * 
+     * @see #setFetchSize(int)
      */
-    @SuppressWarnings("unchecked")
-    public Set<TriggerKey> getTriggerKeys(final GroupMatcher<TriggerKey> matcher)
+    @Override
+    public void forEachTriggerKey(final GroupMatcher<TriggerKey> matcher, final Consumer<? super TriggerKey> action)
         throws JobPersistenceException {
-        return (Set<TriggerKey>)executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) conn -> getTriggerNames(conn, matcher));
+        executeWithoutLock( // no locks necessary for read...
+                (TransactionCallback<Void>) conn -> {
+                    try {
+                        getDelegate().selectTriggersInGroup(conn, matcher, action);
+                        return null;
+                    } catch (SQLException e) {
+                        throw new JobPersistenceException("Couldn't obtain trigger names: "
+                                + e.getMessage(), e);
+                    }
+                }, true);
     }
-    
-    protected Set<TriggerKey> getTriggerNames(Connection conn,
-            GroupMatcher<TriggerKey> matcher) throws JobPersistenceException {
 
-        Set<TriggerKey> trigNames;
+    /**
+     * <p>
+     * Forecast the fires of the triggers of the matching job groups, only
+     * loading the triggers whose next fire time is within the window (using
+     * the index on the next fire time and state of the triggers), along
+     * with their schedules.
+     * </p>
+     */
+    @Override
+    public FireTimeForecast getFireTimeForecast(final GroupMatcher<JobKey> matcher, final long from,
+            final long bucketMillis, final int bucketCount) throws JobPersistenceException {
+        final FireTimeForecast forecast = new FireTimeForecast(new Date(from), bucketMillis, bucketCount);
+        return executeWithoutLock( // no locks necessary for read...
+                conn -> getFireTimeForecast(conn, matcher, forecast), true);
+    }
 
+    protected FireTimeForecast getFireTimeForecast(Connection conn, GroupMatcher<JobKey> matcher,
+            FireTimeForecast forecast) throws JobPersistenceException {
+        List<OperableTrigger> triggers;
         try {
-            trigNames = getDelegate().selectTriggersInGroup(conn, matcher);
-        } catch (SQLException e) {
-            throw new JobPersistenceException("Couldn't obtain trigger names: "
+            triggers = getDelegate().selectTriggersToForecast(conn, matcher, forecast.getWindowEnd().getTime());
+        } catch (Exception e) {
+            throw new JobPersistenceException("Couldn't obtain triggers to forecast: "
                     + e.getMessage(), e);
         }
 
-        return trigNames;
+        Map<String, Calendar> calendars = new HashMap<>();
+        for (OperableTrigger trigger : triggers) {
+            Calendar calendar = null;
+            if (trigger.getCalendarName() != null) {
+                calendar = calendars.get(trigger.getCalendarName());
+                if (calendar == null) {
+                    calendar = retrieveCompiledCalendar(conn, trigger.getCalendarName());
+                    calendars.put(trigger.getCalendarName(), calendar);
+                }
+            }
+            forecast.addFireTimes(trigger, calendar);
+        }
+        return forecast;
     }
 
 
@@ -2030,7 +3269,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public List<String> getJobGroupNames()
         throws JobPersistenceException {
         return (List<String>)executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) this::getJobGroupNames);
+                (TransactionCallback) this::getJobGroupNames, true);
     }
     
     protected List<String> getJobGroupNames(Connection conn)
@@ -2063,7 +3302,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public List<String> getTriggerGroupNames()
         throws JobPersistenceException {
         return (List<String>)executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) this::getTriggerGroupNames);
+                (TransactionCallback) this::getTriggerGroupNames, true);
     }
     
     protected List<String> getTriggerGroupNames(Connection conn) throws JobPersistenceException {
@@ -2095,7 +3334,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public List<String> getCalendarNames()
         throws JobPersistenceException {
         return (List<String>)executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) this::getCalendarNames);
+                (TransactionCallback) this::getCalendarNames, true);
     }
     
     protected List<String> getCalendarNames(Connection conn)
@@ -2119,6 +3358,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
      */
     @SuppressWarnings("unchecked")
     public List<OperableTrigger> getTriggersForJob(final JobKey jobKey) throws JobPersistenceException {
+        // read from the primary, as the triggers are typically removed next
         return (List<OperableTrigger>)executeWithoutLock( // no locks necessary for read...
                 (TransactionCallback) conn -> getTriggersForJob(conn, jobKey));
     }
@@ -2238,22 +3478,39 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         return (Set<String>) executeInLock(
             LOCK_TRIGGER_ACCESS,
                 (TransactionCallback) conn -> {
-                    Set<String> groupNames = new HashSet<>();
-                    Set<JobKey> jobNames = getJobNames(conn, matcher);
+                    try {
+                        getDelegate().updateTriggerStatesForJobGroupFromOtherStates(
+                                conn, matcher, STATE_PAUSED, STATE_ACQUIRED,
+                                STATE_WAITING, STATE_WAITING);
 
-                    for (JobKey jobKey : jobNames) {
-                        List<OperableTrigger> triggers = getTriggersForJob(conn, jobKey);
-                        for (OperableTrigger trigger : triggers) {
-                            pauseTrigger(conn, trigger.getKey());
-                        }
-                        groupNames.add(jobKey.getGroup());
-                    }
+                        getDelegate().updateTriggerStatesForJobGroupFromOtherStates(
+                                conn, matcher, STATE_PAUSED_BLOCKED, STATE_BLOCKED,
+                                STATE_BLOCKED, STATE_BLOCKED);
 
-                    return groupNames;
+                        return selectJobGroups(conn, matcher);
+                    } catch (SQLException e) {
+                        throw new JobPersistenceException("Couldn't pause jobs '"
+                                + matcher + "': " + e.getMessage(), e);
+                    }
                 }
         );
     }
     
+    /**
+     * Get the groups of the stored jobs that match the given matcher.
+     */
+    private Set<String> selectJobGroups(Connection conn, GroupMatcher<JobKey> matcher)
+        throws SQLException, NoSuchDelegateException {
+
+        Set<String> groupNames = new HashSet<>();
+        for (String group : getDelegate().selectJobGroups(conn)) {
+            if (matcher.getCompareWithOperator().evaluate(group, matcher.getCompareToValue())) {
+                groupNames.add(group);
+            }
+        }
+        return groupNames;
+    }
+
     /**
      * Determines if a Trigger for the given job should be blocked.  
      * State can only transition to STATE_PAUSED_BLOCKED/BLOCKED from 
@@ -2414,17 +3671,28 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         return (Set<String>) executeInLock(
             LOCK_TRIGGER_ACCESS,
                 (TransactionCallback) conn -> {
-                    Set<JobKey> jobKeys = getJobNames(conn, matcher);
-                    Set<String> groupNames = new HashSet<>();
-
-                    for (JobKey jobKey: jobKeys) {
-                        List<OperableTrigger> triggers = getTriggersForJob(conn, jobKey);
-                        for (OperableTrigger trigger: triggers) {
-                            resumeTrigger(conn, trigger.getKey());
+                    try {
+                        // misfired triggers need their misfire instruction applied one by one
+                        if (schedulerRunning) {
+                            for (TriggerKey key : getDelegate().selectMisfiredTriggersOfJobGroupsInStates(conn,
+                                    matcher, STATE_PAUSED, STATE_PAUSED_BLOCKED, getMisfireTime())) {
+                                resumeTrigger(conn, key);
+                            }
                         }
-                        groupNames.add(jobKey.getGroup());
+
+                        getDelegate().updateTriggerStatesForJobGroupFromOtherStates(
+                                conn, matcher, STATE_WAITING, STATE_PAUSED,
+                                STATE_PAUSED, STATE_PAUSED);
+
+                        getDelegate().updateTriggerStatesForJobGroupFromOtherStates(
+                                conn, matcher, STATE_BLOCKED, STATE_PAUSED_BLOCKED,
+                                STATE_PAUSED_BLOCKED, STATE_PAUSED_BLOCKED);
+
+                        return selectJobGroups(conn, matcher);
+                    } catch (SQLException e) {
+                        throw new JobPersistenceException("Couldn't resume jobs '"
+                                + matcher + "': " + e.getMessage(), e);
                     }
-                    return groupNames;
                 });
     }
     
@@ -2472,8 +3740,9 @@ public abstract class JobStoreSupport implements JobStore, Constants {
               groups.add(matcher.getCompareToValue());
             }
 
+            Set<String> pausedGroups = getDelegate().selectPausedTriggerGroups(conn);
             for (String group : groups) {
-                if (!getDelegate().isTriggerGroupPaused(conn, group)) {
+                if (!pausedGroups.contains(group)) {
                     getDelegate().insertPausedTriggerGroup(conn, group);
                 }
             }
@@ -2490,7 +3759,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public Set<String> getPausedTriggerGroups() 
         throws JobPersistenceException {
         return (Set<String>)executeWithoutLock( // no locks necessary for read...
-                (TransactionCallback) this::getPausedTriggerGroups);
+                (TransactionCallback) this::getPausedTriggerGroups, true);
     }    
     
     /**
@@ -2553,50 +3822,24 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         try {
 
             getDelegate().deletePausedTriggerGroup(conn, matcher);
-            HashSet<String> groups = new HashSet<>();
-
-            Set<TriggerKey> keys = getDelegate().selectTriggersInGroup(conn,
-                    matcher);
-
-            for (TriggerKey key: keys) {
-                resumeTrigger(conn, key);
-                groups.add(key.getGroup());
-            }
-
-            return groups;
-
-            // FUTURE_TODO: find an efficient way to resume triggers (better than the
-            // above)... logic below is broken because of
-            // findTriggersToBeBlocked()
-            /*
-             * int res =
-             * getDelegate().updateTriggerGroupStateFromOtherState(conn,
-             * groupName, STATE_WAITING, PAUSED);
-             * 
-             * if(res > 0) {
-             * 
-             * long misfireTime = System.currentTimeMillis();
-             * if(getMisfireThreshold() > 0) misfireTime -=
-             * getMisfireThreshold();
-             * 
-             * Key[] misfires =
-             * getDelegate().selectMisfiredTriggersInGroupInState(conn,
-             * groupName, STATE_WAITING, misfireTime);
-             * 
-             * List blockedTriggers = findTriggersToBeBlocked(conn,
-             * groupName);
-             * 
-             * Iterator itr = blockedTriggers.iterator(); while(itr.hasNext()) {
-             * Key key = (Key)itr.next();
-             * getDelegate().updateTriggerState(conn, key.getName(),
-             * key.getGroup(), BLOCKED); }
-             * 
-             * for(int i=0; i < misfires.length; i++) {               String
-             * newState = STATE_WAITING;
-             * if(blockedTriggers.contains(misfires[i])) newState =
-             * BLOCKED; updateMisfiredTrigger(conn,
-             * misfires[i].getName(), misfires[i].getGroup(), newState, true); } }
-             */
+
+            // misfired triggers need their misfire instruction applied one by one
+            if (schedulerRunning) {
+                for (TriggerKey key : getDelegate().selectMisfiredTriggersInGroupsInStates(conn,
+                        matcher, STATE_PAUSED, STATE_PAUSED_BLOCKED, getMisfireTime())) {
+                    resumeTrigger(conn, key);
+                }
+            }
+
+            // the jobs of paused-blocked triggers are still executing, any
+            // others are not (or their triggers would be paused-blocked)
+            getDelegate().updateTriggerGroupStateFromOtherState(
+                    conn, matcher, STATE_WAITING, STATE_PAUSED);
+
+            getDelegate().updateTriggerGroupStateFromOtherState(
+                    conn, matcher, STATE_BLOCKED, STATE_PAUSED_BLOCKED);
+
+            return new HashSet<>(getDelegate().selectTriggerGroups(conn, matcher));
 
         } catch (SQLException e) {
             throw new JobPersistenceException("Couldn't pause trigger group '"
@@ -2718,10 +3961,8 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         }
     }
 
-    private static long ftrCtr = System.currentTimeMillis();
-
-    protected synchronized String getFiredTriggerRecordId() {
-        return getInstanceId() + ftrCtr++;
+    protected String getFiredTriggerRecordId() {
+        return getFireInstanceIdGenerator().generateFireInstanceId();
     }
 
     /**
@@ -2735,15 +3976,56 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     @SuppressWarnings("unchecked")
     public List<OperableTrigger> acquireNextTriggers(final long noLaterThan, final int maxCount, final long timeWindow)
         throws JobPersistenceException {
-        
+
+        try {
+            List<OperableTrigger> acquired = acquireNextTriggersInLock(noLaterThan, maxCount, timeWindow);
+            getRetryPolicy().recordSuccess();
+            return acquired;
+        } catch (JobPersistenceException e) {
+            getRetryPolicy().recordFailure();
+            throw e;
+        }
+    }
+
+    private List<OperableTrigger> acquireNextTriggersInLock(final long noLaterThan, final int maxCount, final long timeWindow)
+        throws JobPersistenceException {
+
+        final int lockPartition;
+        if (getLockPartitionCount() > 1) {
+            // only acquire from the partition holding the next trigger to fire
+            int nextLockPartition = executeInNonManagedTXLock(null,
+                    conn -> selectNextLockPartitionToAcquire(conn, noLaterThan + timeWindow, getOwnedLockPartitions()), null);
+            if (nextLockPartition == LOCK_PARTITION_UNASSIGNED) {
+                // e.g. stored by an instance not partitioning the lock, so
+                // acquire under all of the partitions, and assign them
+                nextLockPartition = -1;
+            } else if (nextLockPartition < 0) {
+                return new ArrayList<>();
+            }
+            lockPartition = nextLockPartition;
+        } else {
+            lockPartition = -1;
+        }
+
         String lockName;
         if(isAcquireTriggersWithinLock() || maxCount > 1) { 
-            lockName = LOCK_TRIGGER_ACCESS;
+            lockName = (lockPartition < 0) ? LOCK_TRIGGER_ACCESS : getTriggerAccessLockName(lockPartition);
         } else {
             lockName = null;
         }
         return executeInNonManagedTXLock(lockName,
-                conn -> acquireNextTrigger(conn, noLaterThan, maxCount, timeWindow),
+                conn -> {
+                    List<OperableTrigger> acquired = acquireNextTrigger(conn, noLaterThan, maxCount, timeWindow, lockPartition);
+                    if (getLockPartitionCount() > 1 && lockPartition < 0) {
+                        Set<JobKey> assigned = new HashSet<>();
+                        for (OperableTrigger trigger : acquired) {
+                            if (assigned.add(trigger.getJobKey())) {
+                                assignLockPartition(conn, trigger.getJobKey());
+                            }
+                        }
+                    }
+                    return acquired;
+                },
                 (conn, result) -> {
                     try {
                         List<FiredTriggerRecord> acquired = getDelegate().selectInstancesFiredTriggerRecords(conn, getInstanceId());
@@ -2766,6 +4048,30 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     // FUTURE_TODO: this really ought to return something like a FiredTriggerBundle,
     // so that the fireInstanceId doesn't have to be on the trigger...
     protected List<OperableTrigger> acquireNextTrigger(Connection conn, long noLaterThan, int maxCount, long timeWindow)
+        throws JobPersistenceException {
+        return acquireNextTrigger(conn, noLaterThan, maxCount, timeWindow, -1);
+    }
+
+    /**
+     * Select the lock partition of the next trigger to fire out of the given
+     * lock partitions (or all of them if null), or -1 if no trigger is ready
+     * to be acquired.
+     */
+    protected int selectNextLockPartitionToAcquire(Connection conn, long noLaterThan, int[] lockPartitions)
+        throws JobPersistenceException {
+        try {
+            return getDelegate().selectNextLockPartitionToAcquire(conn, noLaterThan, getMisfireTime(), lockPartitions);
+        } catch (SQLException e) {
+            throw new JobPersistenceException(
+                    "Couldn't select lock partition to acquire: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Acquire the next triggers to fire, considering only the triggers of the
+     * given lock partition, or all triggers if the lock partition is negative.
+     */
+    protected List<OperableTrigger> acquireNextTrigger(Connection conn, long noLaterThan, int maxCount, long timeWindow, int lockPartition)
         throws JobPersistenceException {
         if (timeWindow < 0) {
           throw new IllegalArgumentException();
@@ -2778,7 +4084,9 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         do {
             currentLoopCount ++;
             try {
-                List<TriggerKey> keys = getDelegate().selectTriggerToAcquire(conn, noLaterThan + timeWindow, getMisfireTime(), maxCount);
+                List<TriggerKey> keys = (lockPartition < 0)
+                        ? getDelegate().selectTriggerToAcquire(conn, noLaterThan + timeWindow, getMisfireTime(), maxCount)
+                        : getDelegate().selectTriggerToAcquire(conn, noLaterThan + timeWindow, getMisfireTime(), maxCount, lockPartition);
                 
                 // No trigger is ready to fire yet.
                 if (keys == null || keys.isEmpty())
@@ -2875,7 +4183,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
      */
     public void releaseAcquiredTrigger(final OperableTrigger trigger) {
         retryExecuteInNonManagedTXLock(
-            LOCK_TRIGGER_ACCESS,
+            getTriggerAccessLockName(trigger.getJobKey()),
             new VoidTransactionCallback() {
                 public void executeVoid(Connection conn) throws JobPersistenceException {
                     releaseAcquiredTrigger(conn, trigger);
@@ -2911,7 +4219,18 @@ public abstract class JobStoreSupport implements JobStore, Constants {
      */
     @SuppressWarnings("unchecked")
     public List<TriggerFiredResult> triggersFired(final List<OperableTrigger> triggers) throws JobPersistenceException {
-        return executeInNonManagedTXLock(LOCK_TRIGGER_ACCESS,
+        // acquired batches never span lock partitions, so the first trigger's partition covers all of them
+        String lockName = LOCK_TRIGGER_ACCESS;
+        if (getLockPartitionCount() > 1 && !triggers.isEmpty()) {
+            lockName = getTriggerAccessLockName(triggers.get(0).getJobKey());
+            for (OperableTrigger trigger : triggers) {
+                if (!lockName.equals(getTriggerAccessLockName(trigger.getJobKey()))) {
+                    lockName = LOCK_TRIGGER_ACCESS;
+                    break;
+                }
+            }
+        }
+        return executeInNonManagedTXLock(lockName,
                 conn -> {
                     List<TriggerFiredResult> results = new ArrayList<>();
 
@@ -2981,9 +4300,11 @@ public abstract class JobStoreSupport implements JobStore, Constants {
             throw jpe;
         }
 
+        Calendar compiledCal = null;
         if (trigger.getCalendarName() != null) {
             cal = retrieveCalendar(conn, trigger.getCalendarName());
             if (cal == null) { return null; }
+            compiledCal = retrieveCompiledCalendar(conn, trigger.getCalendarName(), cal);
         }
 
         try {
@@ -2996,7 +4317,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         Date prevFireTime = trigger.getPreviousFireTime();
 
         // call triggered - to update the trigger's next-fire-time state...
-        trigger.triggered(cal);
+        trigger.triggered(compiledCal);
 
         String state = STATE_WAITING;
         boolean force = true;
@@ -3023,7 +4344,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
             force = true;
         }
 
-        storeTrigger(conn, trigger, job, true, state, force, false);
+        storeTriggerFireState(conn, trigger, job, state, force);
 
         job.getJobDataMap().clearDirtyFlag();
 
@@ -3044,7 +4365,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     public void triggeredJobComplete(final OperableTrigger trigger,
             final JobDetail jobDetail, final CompletedExecutionInstruction triggerInstCode) {
         retryExecuteInNonManagedTXLock(
-            LOCK_TRIGGER_ACCESS,
+            getTriggerAccessLockName(jobDetail.getKey()),
             new VoidTransactionCallback() {
                 public void executeVoid(Connection conn) throws JobPersistenceException {
                     triggeredJobComplete(conn, trigger, jobDetail,triggerInstCode);
@@ -3104,6 +4425,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                 try {
                     if (jobDetail.getJobDataMap().isDirty()) {
                         getDelegate().updateJobData(conn, jobDetail);
+                        updateJobVersion(conn, jobDetail.getKey());
                     }
                 } catch (IOException e) {
                     throw new JobPersistenceException(
@@ -3143,6 +4465,8 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
                     delegate.initialize(getLog(), tablePrefix, instanceName, instanceId, getClassLoadHelper(), canUseProperties(), getDriverDelegateInitString());
                     delegate.setUseEnhancedStatements(this.useEnhancedStatements);
+                    delegate.setUseStatementCache(this.useStatementCache);
+                    delegate.setFetchSize(this.fetchSize);
                 } catch (InstantiationException | IllegalAccessException | NoSuchMethodException |
                          InvocationTargetException e) {
                     throw new NoSuchDelegateException("Couldn't create delegate: "
@@ -3192,6 +4516,12 @@ public abstract class JobStoreSupport implements JobStore, Constants {
             }
             
             commitConnection(conn);
+
+            if (!result.hasMoreMisfiredTriggers()) {
+                misfireBacklog = 0;
+            } else if (misfireCount != Integer.MAX_VALUE) {
+                misfireBacklog = Math.max(0, misfireCount - result.getProcessedMisfiredTriggerCount());
+            }
             return result;
         } catch (JobPersistenceException e) {
             rollbackConnection(conn);
@@ -3254,7 +4584,8 @@ public abstract class JobStoreSupport implements JobStore, Constants {
             // transaction to prevent a deadlock under recovery conditions.
             List<SchedulerStateRecord> failedRecords = null;
             if (!firstCheckIn) {
-                failedRecords = clusterCheckIn(conn);
+                failedRecords = (isUseClusterHeartbeat() && !isUseTriggerAffinity())
+                        ? clusterHeartbeat(conn) : clusterCheckIn(conn);
                 commitConnection(conn);
             }
             
@@ -3268,8 +4599,30 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                 if (!failedRecords.isEmpty()) {
                     transOwner = getLockHandler().obtainLock(conn, LOCK_TRIGGER_ACCESS);
                     //getLockHandler().obtainLock(conn, LOCK_JOB_ACCESS);
-    
-                    clusterRecover(conn, failedRecords);
+
+                    long recoveryStart = System.currentTimeMillis();
+                    logWarnIfNonZero(failedRecords.size(),
+                            "ClusterManager: detected " + failedRecords.size()
+                                    + " failed or restarted instances.");
+
+                    // recover in chunks, letting the other instances have the
+                    // locks in between
+                    failedRecords = new LinkedList<>(failedRecords);
+                    while (!clusterRecover(conn, failedRecords, getClusterRecoveryChunkSize())) {
+                        commitConnection(conn);
+                        releaseLock(LOCK_TRIGGER_ACCESS, transOwner);
+                        transOwner = false;
+                        releaseLock(LOCK_STATE_ACCESS, transStateOwner);
+                        transStateOwner = false;
+
+                        transStateOwner = getLockHandler().obtainLock(conn, LOCK_STATE_ACCESS);
+                        transOwner = getLockHandler().obtainLock(conn, LOCK_TRIGGER_ACCESS);
+
+                        // an instance may have checked back in while we
+                        // didn't hold the locks, its records are live again
+                        retainFailedInstances(conn, failedRecords);
+                    }
+                    lastClusterRecoveryTime = System.currentTimeMillis() - recoveryStart;
                     recovered = true;
                 }
             }
@@ -3303,6 +4656,8 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         throws JobPersistenceException {
         try {
             List<SchedulerStateRecord> failedInstances = new LinkedList<>();
+            Set<String> liveInstanceIds = new HashSet<>();
+            liveInstanceIds.add(getInstanceId());
             boolean foundThisScheduler = false;
             long timeNow = System.currentTimeMillis();
             
@@ -3320,6 +4675,8 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                     // find failed instances...
                     if (calcFailedIfAfter(rec) < timeNow) {
                         failedInstances.add(rec);
+                    } else {
+                        liveInstanceIds.add(rec.getSchedulerInstanceId());
                     }
                 }
             }
@@ -3335,6 +4692,10 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                 // FUTURE_TODO: revisit when handle self-failed-out impl'ed (see FUTURE_TODO in clusterCheckIn() below)
                 getLog().warn("This scheduler instance ({}) is still active but was recovered by another instance in the cluster.  This may cause inconsistent behavior.", getInstanceId());
             }
+
+            if (isUseTriggerAffinity()) {
+                updateOwnedLockPartitions(liveInstanceIds);
+            }
             
             return failedInstances;
         } catch (Exception e) {
@@ -3344,6 +4705,26 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         }
     }
     
+    /**
+     * Remove the instances that are no longer failed from the given list, as
+     * they are found by <code>{@link #findFailedInstances(Connection)}</code>.
+     */
+    protected void retainFailedInstances(Connection conn, List<SchedulerStateRecord> failedInstances)
+        throws JobPersistenceException {
+        Set<String> failedInstanceIds = new HashSet<>();
+        for (SchedulerStateRecord rec : findFailedInstances(conn)) {
+            failedInstanceIds.add(rec.getSchedulerInstanceId());
+        }
+
+        for (Iterator<SchedulerStateRecord> iter = failedInstances.iterator(); iter.hasNext(); ) {
+            SchedulerStateRecord rec = iter.next();
+            if (!failedInstanceIds.contains(rec.getSchedulerInstanceId())) {
+                getLog().info("ClusterManager: instance \"{}\" checked in again, no longer recovering it.", rec.getSchedulerInstanceId());
+                iter.remove();
+            }
+        }
+    }
+
     /**
      * Create dummy <code>SchedulerStateRecord</code> objects for fired triggers
      * that have no scheduler state record.  Checkin timestamp and interval are
@@ -3408,150 +4789,265 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         return failedInstances;
     }
 
-    @SuppressWarnings("ConstantConditions")
-    protected void clusterRecover(Connection conn, List<SchedulerStateRecord> failedInstances)
+    /**
+     * Check in without reading every SCHEDULER_STATE row: only the rows that
+     * checked in long enough ago to possibly have failed are selected, and
+     * then weighed as by <code>{@link #findFailedInstances(Connection)}</code>.
+     * 
+     * @return the instances that have failed
+     */
+    protected List<SchedulerStateRecord> clusterHeartbeat(Connection conn)
         throws JobPersistenceException {
 
-        if (!failedInstances.isEmpty()) {
+        List<SchedulerStateRecord> failedInstances = new LinkedList<>();
+        try {
+            long timeNow = System.currentTimeMillis();
+
+            // an instance has failed only if it last checked in over 7.5s
+            // before we did (see calcFailedIfAfter())
+            for (SchedulerStateRecord rec : getDelegate().selectStaleSchedulerStateRecords(conn, lastCheckin - 7500L)) {
+                if (!rec.getSchedulerInstanceId().equals(getInstanceId()) && calcFailedIfAfter(rec) < timeNow) {
+                    failedInstances.add(rec);
+                }
+            }
+        } catch (Exception e) {
+            lastCheckin = System.currentTimeMillis();
+            throw new JobPersistenceException("Failure identifying failed instances when checking-in: "
+                    + e.getMessage(), e);
+        }
+
+        try {
+            lastCheckin = System.currentTimeMillis();
+            if(getDelegate().updateSchedulerState(conn, getInstanceId(), lastCheckin) == 0) {
+                // Someone must have done recovery for us.
+                getLog().warn("This scheduler instance ({}) is still active but was recovered by another instance in the cluster.  This may cause inconsistent behavior.", getInstanceId());
+                getDelegate().insertSchedulerState(conn, getInstanceId(),
+                        lastCheckin, getClusterCheckinInterval());
+            }
+        } catch (Exception e) {
+            throw new JobPersistenceException("Failure updating scheduler state when checking-in: "
+                    + e.getMessage(), e);
+        }
+
+        return failedInstances;
+    }
 
-            long recoverIds = System.currentTimeMillis();
+    protected void clusterRecover(Connection conn, List<SchedulerStateRecord> failedInstances)
+        throws JobPersistenceException {
 
+        if (!failedInstances.isEmpty()) {
             logWarnIfNonZero(failedInstances.size(),
                     "ClusterManager: detected " + failedInstances.size()
                             + " failed or restarted instances.");
-            try {
-                for (SchedulerStateRecord rec : failedInstances) {
-                    getLog().info("ClusterManager: Scanning for instance \"{}\"'s failed in-progress jobs.", rec.getSchedulerInstanceId());
 
-                    List<FiredTriggerRecord> firedTriggerRecs = getDelegate()
-                            .selectInstancesFiredTriggerRecords(conn,
-                                    rec.getSchedulerInstanceId());
+            clusterRecover(conn, new LinkedList<>(failedInstances), 0);
+        }
+    }
 
-                    int acquiredCount = 0;
-                    int recoveredCount = 0;
-                    int otherCount = 0;
+    /**
+     * <p>
+     * Recover the in-progress work of failed instances, up to the given
+     * number of their fired-trigger records.  The fired-trigger records of
+     * each instance are released, rescheduled for recovery and deleted with a
+     * few set-based statements, and instances that have been recovered
+     * completely are removed from the given list.
+     * </p>
+     *
+     * @param failedInstances
+     *          the instances still to recover, which is modified
+     * @param maxRecords
+     *          the maximum number of fired-trigger records to recover, or
+     *          <code>0</code> to recover all of them
+     * @return <code>true</code> if all of the failed instances have been
+     *         recovered, <code>false</code> if another chunk is needed.
+     */
+    protected boolean clusterRecover(Connection conn, List<SchedulerStateRecord> failedInstances, int maxRecords)
+        throws JobPersistenceException {
 
-                    Set<TriggerKey> triggerKeys = new HashSet<>();
+        int budget = maxRecords;
 
-                    for (FiredTriggerRecord ftRec : firedTriggerRecs) {
+        try {
+            for (Iterator<SchedulerStateRecord> iter = failedInstances.iterator(); iter.hasNext(); ) {
+                SchedulerStateRecord rec = iter.next();
+                getLog().info("ClusterManager: Scanning for instance \"{}\"'s failed in-progress jobs.", rec.getSchedulerInstanceId());
 
-                        TriggerKey tKey = ftRec.getTriggerKey();
-                        JobKey jKey = ftRec.getJobKey();
+                List<FiredTriggerRecord> firedTriggerRecs = getDelegate()
+                        .selectInstancesFiredTriggerRecords(conn,
+                                rec.getSchedulerInstanceId(), maxRecords > 0 ? budget : 0);
+                boolean complete = maxRecords <= 0 || firedTriggerRecs.size() < budget;
 
-                        triggerKeys.add(tKey);
+                recoverFiredTriggers(conn, rec, firedTriggerRecs, complete);
+                clusterRecoveryRecords.addAndGet(firedTriggerRecs.size());
 
-                        // release blocked triggers..
-                        if (ftRec.getFireInstanceState().equals(STATE_BLOCKED)) {
-                            getDelegate()
-                                    .updateTriggerStatesForJobFromOtherState(
-                                            conn, jKey,
-                                            STATE_WAITING, STATE_BLOCKED);
-                        } else if (ftRec.getFireInstanceState().equals(STATE_PAUSED_BLOCKED)) {
-                            getDelegate()
-                                    .updateTriggerStatesForJobFromOtherState(
-                                            conn, jKey,
-                                            STATE_PAUSED, STATE_PAUSED_BLOCKED);
-                        }
+                if (!complete) {
+                    return false;
+                }
+                budget -= firedTriggerRecs.size();
 
-                        // release acquired triggers..
-                        if (ftRec.getFireInstanceState().equals(STATE_ACQUIRED)) {
-                            getDelegate().updateTriggerStateFromOtherState(
-                                    conn, tKey, STATE_WAITING,
-                                    STATE_ACQUIRED);
-                            acquiredCount++;
-                        } else if (ftRec.isJobRequestsRecovery()) {
-                            // handle jobs marked for recovery that were not fully
-                            // executed..
-                            if (jobExists(conn, jKey)) {
-                                @SuppressWarnings("deprecation")
-                                SimpleTriggerImpl rcvryTrig = new SimpleTriggerImpl(
-                                        "recover_"
-                                                + rec.getSchedulerInstanceId()
-                                                + "_"
-                                                + recoverIds++,
-                                        Scheduler.DEFAULT_RECOVERY_GROUP,
-                                        new Date(ftRec.getScheduleTimestamp()));
-                                rcvryTrig.setJobName(jKey.getName());
-                                rcvryTrig.setJobGroup(jKey.getGroup());
-                                rcvryTrig.setMisfireInstruction(SimpleTrigger.MISFIRE_INSTRUCTION_IGNORE_MISFIRE_POLICY);
-                                rcvryTrig.setPriority(ftRec.getPriority());
-                                JobDataMap jd = getDelegate().selectTriggerJobDataMap(conn, tKey.getName(), tKey.getGroup());
-                                jd.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_NAME, tKey.getName());
-                                jd.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_GROUP, tKey.getGroup());
-                                jd.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_FIRETIME_IN_MILLISECONDS, String.valueOf(ftRec.getFireTimestamp()));
-                                jd.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_SCHEDULED_FIRETIME_IN_MILLISECONDS, String.valueOf(ftRec.getScheduleTimestamp()));
-                                rcvryTrig.setJobDataMap(jd);
-
-                                rcvryTrig.computeFirstFireTime(null);
-                                storeTrigger(conn, rcvryTrig, null, false,
-                                        STATE_WAITING, false, true);
-                                recoveredCount++;
-                            } else {
-                                getLog()
-                                        .warn("ClusterManager: failed job '{}' no longer exists, cannot schedule recovery.", jKey);
-                                otherCount++;
-                            }
-                        } else {
-                            otherCount++;
-                        }
+                if (!rec.getSchedulerInstanceId().equals(getInstanceId())) {
+                    getDelegate().deleteSchedulerState(conn,
+                            rec.getSchedulerInstanceId());
+                }
+                iter.remove();
 
-                        // free up stateful job's triggers
-                        if (ftRec.isJobDisallowsConcurrentExecution()) {
-                            getDelegate()
-                                    .updateTriggerStatesForJobFromOtherState(
-                                            conn, jKey,
-                                            STATE_WAITING, STATE_BLOCKED);
-                            getDelegate()
-                                    .updateTriggerStatesForJobFromOtherState(
-                                            conn, jKey,
-                                            STATE_PAUSED, STATE_PAUSED_BLOCKED);
-                        }
-                    }
+                if (maxRecords > 0 && budget <= 0 && iter.hasNext()) {
+                    return false;
+                }
+            }
+        } catch (JobPersistenceException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new JobPersistenceException("Failure recovering jobs: "
+                    + e.getMessage(), e);
+        }
 
-                    getDelegate().deleteFiredTriggers(conn,
-                            rec.getSchedulerInstanceId());
+        return true;
+    }
 
-                    // Check if any of the fired triggers we just deleted were the last fired trigger
-                    // records of a COMPLETE trigger.
-                    int completeCount = 0;
-                    for (TriggerKey triggerKey : triggerKeys) {
+    /**
+     * Release, reschedule for recovery and delete the given fired-trigger
+     * records of a failed instance.
+     *
+     * @param allRecords
+     *          whether these are all of the instance's remaining records
+     */
+    @SuppressWarnings("ConstantConditions")
+    private void recoverFiredTriggers(Connection conn, SchedulerStateRecord rec,
+            List<FiredTriggerRecord> firedTriggerRecs, boolean allRecords)
+        throws JobPersistenceException, SQLException, IOException, ClassNotFoundException {
+
+        int acquiredCount = 0;
+        int recoveredCount = 0;
+        int otherCount = 0;
+
+        Set<TriggerKey> triggerKeys = new LinkedHashSet<>();
+        List<String> entryIds = new ArrayList<>(firedTriggerRecs.size());
+        Set<JobKey> blockedJobs = new HashSet<>();
+        Set<JobKey> pausedBlockedJobs = new HashSet<>();
+        List<TriggerKey> acquiredTriggers = new ArrayList<>();
+        List<FiredTriggerRecord> recoveryRecs = new ArrayList<>();
+
+        for (FiredTriggerRecord ftRec : firedTriggerRecs) {
+            triggerKeys.add(ftRec.getTriggerKey());
+            entryIds.add(ftRec.getFireInstanceId());
+
+            // release blocked triggers, and free up stateful job's triggers
+            if (ftRec.getFireInstanceState().equals(STATE_BLOCKED)
+                    || ftRec.isJobDisallowsConcurrentExecution()) {
+                blockedJobs.add(ftRec.getJobKey());
+            }
+            if (ftRec.getFireInstanceState().equals(STATE_PAUSED_BLOCKED)
+                    || ftRec.isJobDisallowsConcurrentExecution()) {
+                pausedBlockedJobs.add(ftRec.getJobKey());
+            }
 
-                        if (getDelegate().selectTriggerState(conn, triggerKey).
-                                equals(STATE_COMPLETE)) {
-                            List<FiredTriggerRecord> firedTriggers =
-                                    getDelegate().selectFiredTriggerRecords(conn, triggerKey.getName(), triggerKey.getGroup());
-                            if (firedTriggers.isEmpty()) {
+            // release acquired triggers..
+            if (ftRec.getFireInstanceState().equals(STATE_ACQUIRED)) {
+                acquiredTriggers.add(ftRec.getTriggerKey());
+                acquiredCount++;
+            } else if (ftRec.isJobRequestsRecovery()) {
+                recoveryRecs.add(ftRec);
+            } else {
+                otherCount++;
+            }
+        }
 
-                                if (removeTrigger(conn, triggerKey)) {
-                                    completeCount++;
-                                }
-                            }
-                        }
-                    }
+        getDelegate().updateTriggerStatesForJobsFromOtherState(conn, blockedJobs,
+                STATE_WAITING, STATE_BLOCKED);
+        getDelegate().updateTriggerStatesForJobsFromOtherState(conn, pausedBlockedJobs,
+                STATE_PAUSED, STATE_PAUSED_BLOCKED);
+        getDelegate().updateTriggerStatesFromOtherState(conn, acquiredTriggers,
+                STATE_WAITING, STATE_ACQUIRED);
+
+        // handle jobs marked for recovery that were not fully executed..
+        if (!recoveryRecs.isEmpty()) {
+            Set<JobKey> recoveryJobs = new HashSet<>();
+            for (FiredTriggerRecord ftRec : recoveryRecs) {
+                recoveryJobs.add(ftRec.getJobKey());
+            }
+            Set<JobKey> existingJobs = getDelegate().selectExistingJobKeys(conn, recoveryJobs);
+
+            List<OperableTrigger> recoveryTriggers = new ArrayList<>(recoveryRecs.size());
+            for (FiredTriggerRecord ftRec : recoveryRecs) {
+                TriggerKey tKey = ftRec.getTriggerKey();
+                JobKey jKey = ftRec.getJobKey();
+                if (!existingJobs.contains(jKey)) {
+                    getLog()
+                            .warn("ClusterManager: failed job '{}' no longer exists, cannot schedule recovery.", jKey);
+                    otherCount++;
+                    continue;
+                }
 
-                    logWarnIfNonZero(acquiredCount,
-                            "ClusterManager: ......Freed " + acquiredCount
-                                    + " acquired trigger(s).");
-                    logWarnIfNonZero(completeCount,
-                            "ClusterManager: ......Deleted " + completeCount
-                                    + " complete triggers(s).");
-                    logWarnIfNonZero(recoveredCount,
-                            "ClusterManager: ......Scheduled " + recoveredCount
-                                    + " recoverable job(s) for recovery.");
-                    logWarnIfNonZero(otherCount,
-                            "ClusterManager: ......Cleaned-up " + otherCount
-                                    + " other failed job(s).");
-
-                    if (!rec.getSchedulerInstanceId().equals(getInstanceId())) {
-                        getDelegate().deleteSchedulerState(conn,
-                                rec.getSchedulerInstanceId());
+                lastRecoveryTriggerId = Math.max(System.currentTimeMillis(), lastRecoveryTriggerId + 1);
+                @SuppressWarnings("deprecation")
+                SimpleTriggerImpl rcvryTrig = new SimpleTriggerImpl(
+                        "recover_"
+                                + rec.getSchedulerInstanceId()
+                                + "_"
+                                + lastRecoveryTriggerId,
+                        Scheduler.DEFAULT_RECOVERY_GROUP,
+                        new Date(ftRec.getScheduleTimestamp()));
+                rcvryTrig.setJobName(jKey.getName());
+                rcvryTrig.setJobGroup(jKey.getGroup());
+                rcvryTrig.setMisfireInstruction(SimpleTrigger.MISFIRE_INSTRUCTION_IGNORE_MISFIRE_POLICY);
+                rcvryTrig.setPriority(ftRec.getPriority());
+                JobDataMap jd = getDelegate().selectTriggerJobDataMap(conn, tKey.getName(), tKey.getGroup());
+                jd.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_NAME, tKey.getName());
+                jd.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_GROUP, tKey.getGroup());
+                jd.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_FIRETIME_IN_MILLISECONDS, String.valueOf(ftRec.getFireTimestamp()));
+                jd.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_SCHEDULED_FIRETIME_IN_MILLISECONDS, String.valueOf(ftRec.getScheduleTimestamp()));
+                rcvryTrig.setJobDataMap(jd);
+
+                rcvryTrig.computeFirstFireTime(null);
+                recoveryTriggers.add(rcvryTrig);
+            }
+
+            if (!recoveryTriggers.isEmpty()) {
+                // all recovery triggers are in the same group, so are paused alike
+                String state = checkPausedState(conn, recoveryTriggers.get(0).getKey(), STATE_WAITING);
+                getDelegate().insertTriggers(conn, recoveryTriggers,
+                        Collections.nCopies(recoveryTriggers.size(), state),
+                        Collections.nCopies(recoveryTriggers.size(), (JobDetail) null));
+                if (getLockPartitionCount() > 1) {
+                    Set<JobKey> partitioned = new HashSet<>();
+                    for (OperableTrigger trigger : recoveryTriggers) {
+                        if (partitioned.add(trigger.getJobKey())) {
+                            getDelegate().updateTriggerLockPartitionForJob(conn, trigger.getJobKey(),
+                                    getLockPartition(trigger.getJobKey()));
+                        }
                     }
                 }
-            } catch (Throwable e) {
-                throw new JobPersistenceException("Failure recovering jobs: "
-                        + e.getMessage(), e);
+                recoveredCount = recoveryTriggers.size();
             }
         }
+
+        if (allRecords) {
+            getDelegate().deleteFiredTriggers(conn,
+                    rec.getSchedulerInstanceId());
+        } else {
+            getDelegate().deleteFiredTriggers(conn, entryIds);
+        }
+
+        // Check if any of the fired triggers we just deleted were the last fired trigger
+        // records of a COMPLETE trigger.
+        List<TriggerKey> completeTriggers = getDelegate().selectCompleteTriggerKeysNotFired(conn, triggerKeys);
+        if (!completeTriggers.isEmpty()) {
+            removeTriggers(conn, completeTriggers);
+        }
+        int completeCount = completeTriggers.size();
+
+        logWarnIfNonZero(acquiredCount,
+                "ClusterManager: ......Freed " + acquiredCount
+                        + " acquired trigger(s).");
+        logWarnIfNonZero(completeCount,
+                "ClusterManager: ......Deleted " + completeCount
+                        + " complete triggers(s).");
+        logWarnIfNonZero(recoveredCount,
+                "ClusterManager: ......Scheduled " + recoveredCount
+                        + " recoverable job(s) for recovery.");
+        logWarnIfNonZero(otherCount,
+                "ClusterManager: ......Cleaned-up " + otherCount
+                        + " other failed job(s).");
     }
 
     protected void logWarnIfNonZero(int val, String warning) {
@@ -3580,6 +5076,19 @@ public abstract class JobStoreSupport implements JobStore, Constants {
      */
     protected void cleanupConnection(Connection conn) {
         if (conn != null) {
+            DriverDelegate driverDelegate = delegate;
+            if (driverDelegate != null) {
+                driverDelegate.releaseCachedStatements(conn);
+            }
+
+            if (conn instanceof AttributeRestoringConnection) {
+                AttributeRestoringConnection restoringConn = (AttributeRestoringConnection)conn;
+
+                restoringConn.restoreOriginalAttributes();
+                closeConnection(restoringConn.getWrappedConnection());
+                return;
+            }
+
             if (conn instanceof Proxy) {
                 Proxy connProxy = (Proxy)conn;
                 
@@ -3595,7 +5104,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                 }
             }
             
-            // Wasn't a Proxy, or was a Proxy, but wasn't ours.
+            // Wasn't one of our wrappers.
             closeConnection(conn);
         }
     }
@@ -3686,6 +5195,59 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         }
     }
 
+    /**
+     * Returns true if the statements used to acquire, fire and complete
+     * triggers are re-used for the life of a connection.
+     *
+     * @return true if using the statement cache
+     */
+    public boolean isUsingStatementCache() {
+        return this.useStatementCache;
+    }
+
+    /**
+     * <p>
+     * Set to true to have the statements used to acquire, fire and complete
+     * triggers prepared once per connection and re-used for every trigger
+     * handled in the same transaction, rather than prepared anew each time.
+     * Cached statements are closed before the connection is.
+     * </p>
+     *
+     * @param useStatementCache true to use the statement cache
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setUseStatementCache(boolean useStatementCache) {
+        this.useStatementCache = useStatementCache;
+        if (delegate != null) {
+            delegate.setUseStatementCache(useStatementCache);
+        }
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * <p>
+     * Set the JDBC fetch size used when streaming keys with
+     * <code>{@link #forEachJobKey(GroupMatcher, Consumer)}</code> and
+     * <code>{@link #forEachTriggerKey(GroupMatcher, Consumer)}</code> (and
+     * when loading all keys of a group), so that the driver does not buffer
+     * the whole result.  The default of <code>0</code> leaves the driver's
+     * own default in place.  Some drivers need a special value to stream
+     * (e.g. <code>Integer.MIN_VALUE</code> for MySQL Connector/J).
+     * </p>
+     *
+     * @param fetchSize the fetch size to use, or <code>0</code>
+     */
+    @SuppressWarnings("UnusedDeclaration") /* called reflectively */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        if (delegate != null) {
+            delegate.setFetchSize(fetchSize);
+        }
+    }
+
     /**
      * Implement this interface to provide the code to execute within
      * the a transaction template.  If no return value is required, execute
@@ -3734,6 +5296,42 @@ public abstract class JobStoreSupport implements JobStore, Constants {
         return executeInLock(null, txCallback);
     }
 
+    /**
+     * Execute the given read-only callback without acquiring a lock.  If the
+     * callback tolerates stale data and a read-only <code>DataSource</code>
+     * is configured, it is run in a transaction of its own on that
+     * <code>DataSource</code>, otherwise this is the same as
+     * <code>{@link #executeWithoutLock(TransactionCallback)}</code>.
+     * 
+     * @param staleReadTolerated whether the callback may see data that lags
+     * behind the primary <code>DataSource</code>
+     * @see #setReadOnlyDataSource(String)
+     */
+    public <T> T executeWithoutLock(
+        TransactionCallback<T> txCallback, boolean staleReadTolerated) throws JobPersistenceException {
+        if (!staleReadTolerated || getReadOnlyDataSource() == null) {
+            return executeWithoutLock(txCallback);
+        }
+
+        Connection conn = null;
+        try {
+            conn = getReadOnlyConnection();
+
+            T result = txCallback.execute(conn);
+            commitConnection(conn);
+            return result;
+        } catch (JobPersistenceException e) {
+            rollbackConnection(conn);
+            throw e;
+        } catch (RuntimeException e) {
+            rollbackConnection(conn);
+            throw new JobPersistenceException("Unexpected runtime exception: "
+                    + e.getMessage(), e);
+        } finally {
+            cleanupConnection(conn);
+        }
+    }
+
     /**
      * Execute the given callback having acquired the given lock.
      * Depending on the JobStore, the surrounding transaction may be 
@@ -3750,16 +5348,20 @@ public abstract class JobStoreSupport implements JobStore, Constants {
     protected <T> T retryExecuteInNonManagedTXLock(String lockName, TransactionCallback<T> txCallback) {
         for (int retry = 1; !shutdown; retry++) {
             try {
-                return executeInNonManagedTXLock(lockName, txCallback, null);
+                T result = executeInNonManagedTXLock(lockName, txCallback, null);
+                getRetryPolicy().recordSuccess();
+                return result;
             } catch (JobPersistenceException jpe) {
+                getRetryPolicy().recordFailure();
                 if(retry % 4 == 0) {
                     schedSignaler.notifySchedulerListenersError("An error occurred while " + txCallback, jpe);
                 }
             } catch (RuntimeException e) {
+                getRetryPolicy().recordFailure();
                 getLog().error("retryExecuteInNonManagedTXLock: RuntimeException {}", e.getMessage(), e);
             }
             try {
-                Thread.sleep(getDbRetryInterval()); // retry every N seconds (the db connection must be failed)
+                Thread.sleep(getRetryDelay(retry)); // the db connection must be failed
             } catch (InterruptedException e) {
                 throw new IllegalStateException("Received interrupted exception", e);
             }
@@ -3864,12 +5466,14 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                 res = doCheckin();
 
                 numFails = 0;
+                getRetryPolicy().recordSuccess();
                 getLog().debug("ClusterManager: Check-in complete.");
             } catch (Exception e) {
                 if(numFails % 4 == 0) {
                     getLog().error("ClusterManager: Error managing cluster: {}", e.getMessage(), e);
                 }
                 numFails++;
+                getRetryPolicy().recordFailure();
             }
             return res;
         }
@@ -3887,7 +5491,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                     }
 
                     if(numFails > 0) {
-                        timeToSleep = Math.max(getDbRetryInterval(), timeToSleep);
+                        timeToSleep = Math.max(getRetryDelay(numFails), timeToSleep);
                     }
                     
                     try {
@@ -3938,12 +5542,14 @@ public abstract class JobStoreSupport implements JobStore, Constants {
 
                 RecoverMisfiredJobsResult res = doRecoverMisfires();
                 numFails = 0;
+                getRetryPolicy().recordSuccess();
                 return res;
             } catch (Exception e) {
                 if(numFails % 4 == 0) {
                     getLog().error("MisfireHandler: Error handling misfires: {}", e.getMessage(), e);
                 }
                 numFails++;
+                getRetryPolicy().recordFailure();
             }
             return RecoverMisfiredJobsResult.NO_OP;
         }
@@ -3970,7 +5576,7 @@ public abstract class JobStoreSupport implements JobStore, Constants {
                         }
 
                         if(numFails > 0) {
-                            timeToSleep = Math.max(getDbRetryInterval(), timeToSleep);
+                            timeToSleep = Math.max(getRetryDelay(numFails), timeToSleep);
                         }
                     }
                     
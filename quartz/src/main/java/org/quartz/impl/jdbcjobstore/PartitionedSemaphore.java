@@ -0,0 +1,137 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import java.sql.Connection;
+
+/**
+ * A <code>{@link Semaphore}</code> that splits one lock into a fixed number of
+ * partition locks, named <code>&lt;lockName&gt;_0</code> to
+ * <code>&lt;lockName&gt;_(n-1)</code>.
+ *
+ * <p>
+ * Requesting one of the partition locks is passed straight through to the
+ * wrapped <code>Semaphore</code>.  Requesting the partitioned lock itself
+ * obtains every partition lock, always in ascending order so that threads
+ * holding a single partition can never dead-lock with threads holding all of
+ * them.  Any other lock name is passed through untouched.
+ * </p>
+ *
+ * @see JobStoreSupport#setLockPartitionCount(int)
+ */
+public class PartitionedSemaphore implements Semaphore {
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Data members.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private final Semaphore delegate;
+
+    private final String partitionedLockName;
+
+    private final String[] partitionLockNames;
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    public PartitionedSemaphore(Semaphore delegate, String partitionedLockName, int partitionCount) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be at least 1.");
+        }
+        this.delegate = delegate;
+        this.partitionedLockName = partitionedLockName;
+        this.partitionLockNames = new String[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitionLockNames[i] = getPartitionLockName(partitionedLockName, i);
+        }
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Interface.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * Get the name of the lock guarding the given partition of the given lock.
+     */
+    public static String getPartitionLockName(String lockName, int partition) {
+        return lockName + "_" + partition;
+    }
+
+    public Semaphore getDelegate() {
+        return delegate;
+    }
+
+    public int getPartitionCount() {
+        return partitionLockNames.length;
+    }
+
+    /**
+     * Grants a lock on the identified resource to the calling thread (blocking
+     * until it is available).  If the partitioned lock is requested, every
+     * partition lock is obtained.
+     *
+     * @return true if the lock was obtained.
+     */
+    public boolean obtainLock(Connection conn, String lockName) throws LockException {
+        if (!partitionedLockName.equals(lockName)) {
+            return delegate.obtainLock(conn, lockName);
+        }
+
+        for (String partitionLockName : partitionLockNames) {
+            delegate.obtainLock(conn, partitionLockName);
+        }
+        return true;
+    }
+
+    /**
+     * Release the lock on the identified resource if it is held by the calling
+     * thread.  If the partitioned lock is released, every partition lock is
+     * released.
+     */
+    public void releaseLock(String lockName) throws LockException {
+        if (!partitionedLockName.equals(lockName)) {
+            delegate.releaseLock(lockName);
+            return;
+        }
+
+        for (int i = partitionLockNames.length - 1; i >= 0; i--) {
+            delegate.releaseLock(partitionLockNames[i]);
+        }
+    }
+
+    /**
+     * Whether this Semaphore implementation requires a database connection for
+     * its lock management operations.
+     */
+    public boolean requiresConnection() {
+        return delegate.requiresConnection();
+    }
+}
@@ -22,7 +22,6 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -46,6 +45,15 @@ public class PointbaseDelegate extends StdJDBCDelegate {
     // jobs
     //---------------------------------------------------------------------------
 
+    /**
+     * Jobs and triggers are inserted with their own binding of the data
+     * columns, so they are never inserted in batches.
+     */
+    @Override
+    protected boolean supportsBatchInserts() {
+        return false;
+    }
+
     /**
      * <p>
      * Insert the job detail record.
@@ -410,9 +418,7 @@ public class PointbaseDelegate extends StdJDBCDelegate {
         InputStream binaryInput = new ByteArrayInputStream(binaryData);
 
         if (binaryInput.available() != 0) {
-            try (ObjectInputStream in = new ObjectInputStream(binaryInput)) {
-                obj = in.readObject();
-            }
+            obj = deserializeObject(binaryInput);
         }
 
         return obj;
@@ -0,0 +1,70 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.quartz.impl.jdbcjobstore;
+
+/**
+ * Decides how long the threads of a <code>{@link JobStoreSupport}</code> wait
+ * before retrying database work that failed, such as acquiring triggers,
+ * completing fired triggers, checking in with the cluster and handling
+ * misfires.
+ *
+ * <p>
+ * A single instance is shared by all of those threads, which report each
+ * failure and success to it, so that it can keep circuit-breaker state: once
+ * the database has been failing for all of them, every thread can be made to
+ * back off, rather than only those that have failed themselves the most
+ * times.
+ * </p>
+ *
+ * <p>
+ * A custom implementation can be configured with the
+ * <code>org.quartz.jobStore.retryPolicy.class</code> property, and set up
+ * with <code>org.quartz.jobStore.retryPolicy.*</code> properties.
+ * Implementations must be thread-safe.
+ * </p>
+ *
+ * @see JobStoreSupport#setRetryPolicy(RetryPolicy)
+ * @see ExponentialBackoffRetryPolicy
+ */
+public interface RetryPolicy {
+
+    /**
+     * Get the time to wait before the next attempt.
+     *
+     * @param failureCount the number of successive failures seen so far by
+     *                     the calling thread, at least 1
+     * @return the time to wait, in milliseconds
+     */
+    long getRetryDelay(int failureCount);
+
+    /**
+     * Record that an attempt to access the database failed.
+     */
+    void recordFailure();
+
+    /**
+     * Record that an attempt to access the database succeeded.
+     */
+    void recordSuccess();
+
+    /**
+     * Whether the database is considered down, so that all threads are
+     * backing off.
+     */
+    boolean isCircuitOpen();
+}
@@ -0,0 +1,632 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inspects a live job store's tables and reports how well their indexes suit
+ * the statements the <code>{@link StdJDBCDelegate}</code> runs most often:
+ * acquiring triggers, handling misfires, recovering failed cluster instances,
+ * paging through job groups and looking up the triggers of jobs, groups and
+ * calendars and the fired triggers of jobs.
+ *
+ * <p>
+ * For each of these access paths the advisor checks whether an index has the
+ * path's equality columns as its leading columns, followed by its range
+ * column (if any), and recommends <code>CREATE INDEX</code> statements for
+ * those that are not fully served.  Indexes that serve none of the paths are
+ * listed as not covered by the advisor, rather than as unused: the paths are
+ * the job store's most frequent statements, not all of them, and these
+ * indexes may serve the others or queries of the application's own.  Row counts, the distribution of trigger states
+ * and, for Derby, H2, PostgreSQL and MySQL/MariaDB, the query plan of each
+ * path are gathered alongside, and the recommended DDL can optionally include
+ * a covering index for trigger acquisition and the hash partitioning of the
+ * FIRED_TRIGGERS table.
+ * </p>
+ *
+ * <p>
+ * The advisor only reads, apart from toggling Derby's runtime statistics.
+ * It can be run from the command line:
+ * </p>
+ *
+ * <pre>
+ * java org.quartz.impl.jdbcjobstore.SchemaAdvisor [-prefix QRTZ_] [-sched name]
+ *      [-covering] [-partitions n] jdbcUrl [user [password]]
+ * </pre>
+ */
+public class SchemaAdvisor implements StdJDBCConstants {
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Data members.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /** How well an access path is served by the indexes of its table. */
+    public enum Coverage {
+        /** An index leads with the equality columns followed by the range column. */
+        FULL,
+        /** An index leads with the equality columns only. */
+        PARTIAL,
+        /** No index leads with the equality columns. */
+        NONE
+    }
+
+    private static final String[] TABLES = {TABLE_JOB_DETAILS, TABLE_TRIGGERS,
+            TABLE_SIMPLE_TRIGGERS, TABLE_CRON_TRIGGERS,
+            SimplePropertiesTriggerPersistenceDelegateSupport.TABLE_SIMPLE_PROPERTIES_TRIGGERS, TABLE_BLOB_TRIGGERS, TABLE_FIRED_TRIGGERS, TABLE_CALENDARS, TABLE_PAUSED_TRIGGERS,
+            TABLE_LOCKS, TABLE_SCHEDULER_STATE};
+
+    static final List<AccessPath> ACCESS_PATHS = Collections.unmodifiableList(Arrays.asList(
+            new AccessPath("SELECT_NEXT_TRIGGER_TO_ACQUIRE", SELECT_NEXT_TRIGGER_TO_ACQUIRE, TABLE_TRIGGERS,
+                    "T_NFT_ST", cols(COL_SCHEDULER_NAME, COL_TRIGGER_STATE), COL_NEXT_FIRE_TIME,
+                    STATE_WAITING, Param.NOW, Param.MISFIRE_TIME),
+            new AccessPath("SELECT_NEXT_TRIGGER_TO_ACQUIRE_IN_PARTITION", SELECT_NEXT_TRIGGER_TO_ACQUIRE_IN_PARTITION, TABLE_TRIGGERS,
+                    "T_LP_NFT_ST", cols(COL_SCHEDULER_NAME, COL_LOCK_PARTITION, COL_TRIGGER_STATE), COL_NEXT_FIRE_TIME,
+                    0, STATE_WAITING, Param.NOW, Param.MISFIRE_TIME),
+            new AccessPath("SELECT_NEXT_LOCK_PARTITION_TO_ACQUIRE",
+                    SELECT_NEXT_LOCK_PARTITION_TO_ACQUIRE + SELECT_NEXT_LOCK_PARTITION_TO_ACQUIRE_ORDER_BY, TABLE_TRIGGERS,
+                    "T_NFT_ST", cols(COL_SCHEDULER_NAME, COL_TRIGGER_STATE), COL_NEXT_FIRE_TIME,
+                    STATE_WAITING, Param.NOW, Param.MISFIRE_TIME),
+            new AccessPath("SELECT_NEXT_FIRE_TIME", SELECT_NEXT_FIRE_TIME, TABLE_TRIGGERS,
+                    "T_NFT_ST", cols(COL_SCHEDULER_NAME, COL_TRIGGER_STATE), COL_NEXT_FIRE_TIME,
+                    STATE_WAITING),
+            new AccessPath("SELECT_MISFIRED_TRIGGERS_IN_STATE", SELECT_MISFIRED_TRIGGERS_IN_STATE, TABLE_TRIGGERS,
+                    "T_NFT_ST", cols(COL_SCHEDULER_NAME, COL_TRIGGER_STATE), COL_NEXT_FIRE_TIME,
+                    Param.MISFIRE_TIME, STATE_WAITING),
+            new AccessPath("SELECT_MISFIRED_TRIGGERS_IN_GROUP_IN_STATE", SELECT_MISFIRED_TRIGGERS_IN_GROUP_IN_STATE, TABLE_TRIGGERS,
+                    "T_G_ST_NFT", cols(COL_SCHEDULER_NAME, COL_TRIGGER_GROUP, COL_TRIGGER_STATE), COL_NEXT_FIRE_TIME,
+                    Param.MISFIRE_TIME, "DEFAULT", STATE_WAITING),
+            new AccessPath("SELECT_TRIGGERS_IN_STATE", SELECT_TRIGGERS_IN_STATE, TABLE_TRIGGERS,
+                    "T_STATE", cols(COL_SCHEDULER_NAME, COL_TRIGGER_STATE), null,
+                    STATE_COMPLETE),
+            new AccessPath("SELECT_TRIGGERS_IN_GROUP", SELECT_TRIGGERS_IN_GROUP, TABLE_TRIGGERS,
+                    "T_G", cols(COL_SCHEDULER_NAME, COL_TRIGGER_GROUP), null,
+                    "DEFAULT"),
+            new AccessPath("SELECT_TRIGGERS_FOR_JOB", SELECT_TRIGGERS_FOR_JOB, TABLE_TRIGGERS,
+                    "T_J", cols(COL_SCHEDULER_NAME, COL_JOB_NAME, COL_JOB_GROUP), null,
+                    "job", "DEFAULT"),
+            new AccessPath("SELECT_TRIGGERS_FOR_CALENDAR", SELECT_TRIGGERS_FOR_CALENDAR, TABLE_TRIGGERS,
+                    "T_C", cols(COL_SCHEDULER_NAME, COL_CALENDAR_NAME), null,
+                    "calendar"),
+            new AccessPath("SELECT_JOBS_IN_GROUP_PAGE_AFTER", SELECT_JOBS_IN_GROUP_PAGE_AFTER, TABLE_JOB_DETAILS,
+                    "J_GRP", cols(COL_SCHEDULER_NAME, COL_JOB_GROUP), null,
+                    "DEFAULT", "DEFAULT", "DEFAULT", "job"),
+            new AccessPath("SELECT_INSTANCES_FIRED_TRIGGERS", SELECT_INSTANCES_FIRED_TRIGGERS, TABLE_FIRED_TRIGGERS,
+                    "FT_TRIG_INST_NAME", cols(COL_SCHEDULER_NAME, COL_INSTANCE_NAME), null,
+                    "instance"),
+            new AccessPath("SELECT_INSTANCES_RECOVERABLE_FIRED_TRIGGERS", SELECT_INSTANCES_RECOVERABLE_FIRED_TRIGGERS,
+                    TABLE_FIRED_TRIGGERS, "FT_INST_JOB_REQ_RCVRY",
+                    cols(COL_SCHEDULER_NAME, COL_INSTANCE_NAME, COL_REQUESTS_RECOVERY), null,
+                    "instance", Boolean.TRUE),
+            new AccessPath("SELECT_FIRED_TRIGGER", SELECT_FIRED_TRIGGER, TABLE_FIRED_TRIGGERS,
+                    "FT_T_G", cols(COL_SCHEDULER_NAME, COL_TRIGGER_NAME, COL_TRIGGER_GROUP), null,
+                    "trigger", "DEFAULT"),
+            new AccessPath("SELECT_FIRED_TRIGGERS_OF_JOB", SELECT_FIRED_TRIGGERS_OF_JOB, TABLE_FIRED_TRIGGERS,
+                    "FT_J_G", cols(COL_SCHEDULER_NAME, COL_JOB_NAME, COL_JOB_GROUP), null,
+                    "job", "DEFAULT"),
+            new AccessPath("SELECT_STALE_SCHEDULER_STATES", SELECT_STALE_SCHEDULER_STATES, TABLE_SCHEDULER_STATE,
+                    "SS_CHECKIN", cols(COL_SCHEDULER_NAME), COL_LAST_CHECKIN_TIME,
+                    Param.MISFIRE_TIME)));
+
+    private final String tablePrefix;
+
+    private final String schedName;
+
+    private boolean collectPlans = true;
+
+    private boolean coveringAcquisitionIndex = false;
+
+    private int firedTriggersPartitions = 0;
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * @param tablePrefix the prefix of the job store's tables, such as "QRTZ_"
+     * @param schedName the scheduler name whose rows the statements select
+     */
+    public SchemaAdvisor(String tablePrefix, String schedName) {
+        this.tablePrefix = tablePrefix;
+        this.schedName = schedName;
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Interface.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * Set whether the query plan of each access path is gathered, on the
+     * databases it can be for.  The default is true.
+     */
+    public void setCollectPlans(boolean collectPlans) {
+        this.collectPlans = collectPlans;
+    }
+
+    /**
+     * Set whether to recommend an index covering every column trigger
+     * acquisition reads, so that it never visits the TRIGGERS rows.  This
+     * speeds up acquisition from large tables at the cost of slower trigger
+     * updates.  The default is false.
+     */
+    public void setCoveringAcquisitionIndex(boolean coveringAcquisitionIndex) {
+        this.coveringAcquisitionIndex = coveringAcquisitionIndex;
+    }
+
+    /**
+     * Set the number of hash partitions to recommend splitting the
+     * FIRED_TRIGGERS table into, on PostgreSQL and MySQL/MariaDB, which
+     * spreads the inserts and deletes of busy clusters.  The default of 0
+     * recommends no partitioning.
+     */
+    public void setFiredTriggersPartitions(int firedTriggersPartitions) {
+        this.firedTriggersPartitions = firedTriggersPartitions;
+    }
+
+    /**
+     * Inspect the job store's tables through the given connection.
+     */
+    public Report analyze(Connection conn) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        Report report = new Report(metaData.getDatabaseProductName());
+
+        for (String table : TABLES) {
+            report.rowCounts.put(table, countRows(conn, table));
+            report.indexes.put(table, selectIndexes(metaData, table, report.uniqueIndexes));
+        }
+        report.triggerStates.putAll(countTriggerStates(conn));
+
+        Set<String> servingIndexes = new HashSet<>();
+        for (AccessPath path : ACCESS_PATHS) {
+            Coverage best = Coverage.NONE;
+            for (Map.Entry<String, List<String>> index : report.indexes.get(path.table).entrySet()) {
+                Coverage coverage = coverage(index.getValue(), path);
+                if (coverage != Coverage.NONE) {
+                    servingIndexes.add(index.getKey());
+                }
+                if (coverage.compareTo(best) < 0) {
+                    best = coverage;
+                }
+            }
+            report.coverage.put(path.name, best);
+            if (best != Coverage.FULL) {
+                report.addRecommendation(createIndex(path.indexSuffix, path.table, path.indexColumns()));
+            }
+            if (collectPlans) {
+                report.plans.put(path.name, explain(conn, report.databaseProduct, path));
+            }
+        }
+
+        for (Map.Entry<String, Map<String, List<String>>> table : report.indexes.entrySet()) {
+            for (String index : table.getValue().keySet()) {
+                if (!servingIndexes.contains(index) && !report.uniqueIndexes.contains(index)) {
+                    report.uncoveredIndexes.add(index + " ON " + tablePrefix + table.getKey()
+                            + " (" + join(table.getValue().get(index)) + ")");
+                }
+            }
+        }
+
+        if (coveringAcquisitionIndex) {
+            report.addRecommendation(createIndex("T_NFT_ST_COVER", TABLE_TRIGGERS,
+                    cols(COL_SCHEDULER_NAME, COL_TRIGGER_STATE, COL_NEXT_FIRE_TIME, COL_PRIORITY,
+                            COL_MISFIRE_INSTRUCTION, COL_TRIGGER_NAME, COL_TRIGGER_GROUP)));
+        }
+        if (firedTriggersPartitions > 1) {
+            report.recommendations.addAll(partitionFiredTriggers(report.databaseProduct));
+        }
+
+        return report;
+    }
+
+    /**
+     * Get how well an index with the given (upper case) columns serves the
+     * given access path: the equality columns have to lead the index, in any
+     * order, and be followed by the range column to serve it fully.
+     */
+    static Coverage coverage(List<String> indexColumns, AccessPath path) {
+        if (indexColumns.size() < path.equalityColumns.size()) {
+            return Coverage.NONE;
+        }
+        Set<String> leading = new HashSet<>(indexColumns.subList(0, path.equalityColumns.size()));
+        if (!leading.equals(new HashSet<>(path.equalityColumns))) {
+            return Coverage.NONE;
+        }
+        if (path.rangeColumn == null) {
+            return Coverage.FULL;
+        }
+        if (indexColumns.size() > path.equalityColumns.size()
+                && indexColumns.get(path.equalityColumns.size()).equals(path.rangeColumn)) {
+            return Coverage.FULL;
+        }
+        return Coverage.PARTIAL;
+    }
+
+    private long countRows(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + tablePrefix + table)) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    private Map<String, Long> countTriggerStates(Connection conn) throws SQLException {
+        Map<String, Long> states = new TreeMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(rtp("SELECT " + COL_TRIGGER_STATE + ", COUNT(*) FROM "
+                + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+                + " GROUP BY " + COL_TRIGGER_STATE));
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                states.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Get the indexes of the given table, by name, with their (upper case)
+     * columns in order, adding the names of its unique indexes to the given set.
+     */
+    private Map<String, List<String>> selectIndexes(DatabaseMetaData metaData, String table,
+            Set<String> uniqueIndexes) throws SQLException {
+        String tableName = tablePrefix + table;
+        if (metaData.storesLowerCaseIdentifiers()) {
+            tableName = tableName.toLowerCase(Locale.ENGLISH);
+        } else if (metaData.storesUpperCaseIdentifiers()) {
+            tableName = tableName.toUpperCase(Locale.ENGLISH);
+        }
+
+        Map<String, TreeMap<Short, String>> columns = new LinkedHashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, tableName, false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String columnName = rs.getString("COLUMN_NAME");
+                if (indexName == null || columnName == null) {
+                    continue; // table statistics
+                }
+                indexName = indexName.toUpperCase(Locale.ENGLISH);
+                columns.computeIfAbsent(indexName, n -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), columnName.toUpperCase(Locale.ENGLISH));
+                if (!rs.getBoolean("NON_UNIQUE")) {
+                    uniqueIndexes.add(indexName);
+                }
+            }
+        }
+
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        for (Map.Entry<String, TreeMap<Short, String>> index : columns.entrySet()) {
+            indexes.put(index.getKey(), new ArrayList<>(index.getValue().values()));
+        }
+        return indexes;
+    }
+
+    /**
+     * Get the query plan of the given access path, or a note saying why
+     * there is none.
+     */
+    private String explain(Connection conn, String databaseProduct, AccessPath path) {
+        String product = databaseProduct.toLowerCase(Locale.ENGLISH);
+        try {
+            if (product.contains("derby")) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CALL SYSCS_UTIL.SYSCS_SET_RUNTIMESTATISTICS(1)");
+                    try {
+                        try (PreparedStatement ps = prepare(conn, rtp(path.sql), path);
+                             ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                // the statistics are only complete once all rows are read
+                            }
+                        }
+                        return toText(stmt.executeQuery("VALUES SYSCS_UTIL.SYSCS_GET_RUNTIMESTATISTICS()"));
+                    } finally {
+                        stmt.execute("CALL SYSCS_UTIL.SYSCS_SET_RUNTIMESTATISTICS(0)");
+                    }
+                }
+            } else if (product.contains("h2") || product.contains("postgres")
+                    || product.contains("mysql") || product.contains("mariadb")) {
+                try (PreparedStatement ps = prepare(conn, "EXPLAIN " + rtp(path.sql), path)) {
+                    return toText(ps.executeQuery());
+                }
+            }
+            return "(query plans are not gathered for " + databaseProduct + ")";
+        } catch (SQLException e) {
+            return "(query plan unavailable: " + e.getMessage() + ")";
+        }
+    }
+
+    private PreparedStatement prepare(Connection conn, String sql, AccessPath path) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < path.params.length; i++) {
+            Object param = path.params[i];
+            if (param == Param.NOW) {
+                ps.setLong(i + 1, now);
+            } else if (param == Param.MISFIRE_TIME) {
+                ps.setLong(i + 1, now - 60000L);
+            } else if (param instanceof Integer) {
+                ps.setInt(i + 1, (Integer) param);
+            } else if (param instanceof Boolean) {
+                ps.setBoolean(i + 1, (Boolean) param);
+            } else {
+                ps.setString(i + 1, (String) param);
+            }
+        }
+        return ps;
+    }
+
+    private static String toText(ResultSet rs) throws SQLException {
+        try {
+            StringBuilder plan = new StringBuilder();
+            ResultSetMetaData metaData = rs.getMetaData();
+            while (rs.next()) {
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    if (i > 1) {
+                        plan.append(" | ");
+                    }
+                    plan.append(rs.getString(i));
+                }
+                plan.append('\n');
+            }
+            return plan.toString().trim();
+        } finally {
+            rs.close();
+        }
+    }
+
+    private List<String> partitionFiredTriggers(String databaseProduct) {
+        String product = databaseProduct.toLowerCase(Locale.ENGLISH);
+        String table = tablePrefix + TABLE_FIRED_TRIGGERS;
+        List<String> ddl = new ArrayList<>();
+        if (product.contains("postgres")) {
+            // a table can't be partitioned in place, so a partitioned copy is
+            // created, to be filled and swapped in while the schedulers are down
+            String partitioned = table + "_PART";
+            ddl.add("CREATE TABLE " + partitioned + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING INDEXES)"
+                    + " PARTITION BY HASH (" + COL_ENTRY_ID + ");");
+            for (int i = 0; i < firedTriggersPartitions; i++) {
+                ddl.add("CREATE TABLE " + partitioned + "_" + i + " PARTITION OF " + partitioned
+                        + " FOR VALUES WITH (MODULUS " + firedTriggersPartitions + ", REMAINDER " + i + ");");
+            }
+        } else if (product.contains("mysql") || product.contains("mariadb")) {
+            ddl.add("ALTER TABLE " + table + " PARTITION BY KEY (" + COL_SCHEDULER_NAME + ", " + COL_ENTRY_ID
+                    + ") PARTITIONS " + firedTriggersPartitions + ";");
+        } else {
+            ddl.add("-- partitioning " + table + " is not generated for " + databaseProduct);
+        }
+        return ddl;
+    }
+
+    private String createIndex(String suffix, String table, List<String> columns) {
+        return "CREATE INDEX IDX_" + tablePrefix + suffix + " ON " + tablePrefix + table
+                + " (" + join(columns) + ");";
+    }
+
+    private String rtp(String query) {
+        return Util.rtp(query, tablePrefix, "'" + schedName + "'");
+    }
+
+    private static String join(List<String> columns) {
+        return String.join(", ", columns);
+    }
+
+    private static List<String> cols(String... columns) {
+        return Arrays.asList(columns);
+    }
+
+    /**
+     * Run the advisor from the command line, printing its report.
+     */
+    public static void main(String[] args) throws Exception {
+        String prefix = "QRTZ_";
+        String sched = "TestScheduler";
+        boolean covering = false;
+        int partitions = 0;
+        List<String> rest = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("-prefix".equals(args[i]) && i + 1 < args.length) {
+                prefix = args[++i];
+            } else if ("-sched".equals(args[i]) && i + 1 < args.length) {
+                sched = args[++i];
+            } else if ("-covering".equals(args[i])) {
+                covering = true;
+            } else if ("-partitions".equals(args[i]) && i + 1 < args.length) {
+                partitions = Integer.parseInt(args[++i]);
+            } else {
+                rest.add(args[i]);
+            }
+        }
+        if (rest.isEmpty()) {
+            System.err.println("Usage: SchemaAdvisor [-prefix QRTZ_] [-sched name] [-covering] [-partitions n]"
+                    + " jdbcUrl [user [password]]");
+            System.exit(1);
+        }
+
+        SchemaAdvisor advisor = new SchemaAdvisor(prefix, sched);
+        advisor.setCoveringAcquisitionIndex(covering);
+        advisor.setFiredTriggersPartitions(partitions);
+        try (Connection conn = DriverManager.getConnection(rest.get(0),
+                rest.size() > 1 ? rest.get(1) : null, rest.size() > 2 ? rest.get(2) : null)) {
+            System.out.println(advisor.analyze(conn));
+        }
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Helper classes.
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /** Placeholders for the time parameters of the access paths. */
+    private enum Param { NOW, MISFIRE_TIME }
+
+    /**
+     * A statement of the <code>{@link StdJDBCDelegate}</code>, with the
+     * columns an index needs to serve it.
+     */
+    static final class AccessPath {
+        final String name;
+        final String sql;
+        final String table;
+        final String indexSuffix;
+        final List<String> equalityColumns;
+        final String rangeColumn;
+        final Object[] params;
+
+        AccessPath(String name, String sql, String table, String indexSuffix,
+                List<String> equalityColumns, String rangeColumn, Object... params) {
+            this.name = name;
+            this.sql = sql;
+            this.table = table;
+            this.indexSuffix = indexSuffix;
+            this.equalityColumns = equalityColumns;
+            this.rangeColumn = rangeColumn;
+            this.params = params;
+        }
+
+        List<String> indexColumns() {
+            List<String> columns = new ArrayList<>(equalityColumns);
+            if (rangeColumn != null) {
+                columns.add(rangeColumn);
+            }
+            return columns;
+        }
+    }
+
+    /**
+     * The findings of an <code>{@link SchemaAdvisor}</code>.
+     */
+    public final class Report {
+        private final String databaseProduct;
+        private final Map<String, Long> rowCounts = new LinkedHashMap<>();
+        private final Map<String, Long> triggerStates = new TreeMap<>();
+        private final Map<String, Map<String, List<String>>> indexes = new LinkedHashMap<>();
+        private final Set<String> uniqueIndexes = new HashSet<>();
+        private final Map<String, Coverage> coverage = new LinkedHashMap<>();
+        private final Map<String, String> plans = new LinkedHashMap<>();
+        private final List<String> uncoveredIndexes = new ArrayList<>();
+        private final List<String> recommendations = new ArrayList<>();
+
+        private Report(String databaseProduct) {
+            this.databaseProduct = databaseProduct;
+        }
+
+        private void addRecommendation(String ddl) {
+            if (!recommendations.contains(ddl)) {
+                recommendations.add(ddl);
+            }
+        }
+
+        public String getDatabaseProduct() {
+            return databaseProduct;
+        }
+
+        /** Get the number of rows of each table, keyed by unprefixed table name. */
+        public Map<String, Long> getRowCounts() {
+            return rowCounts;
+        }
+
+        /** Get the number of the scheduler's triggers in each state. */
+        public Map<String, Long> getTriggerStates() {
+            return triggerStates;
+        }
+
+        /** Get how well each access path is served, keyed by statement name. */
+        public Map<String, Coverage> getCoverage() {
+            return coverage;
+        }
+
+        /** Get the query plan of each access path, keyed by statement name. */
+        public Map<String, String> getPlans() {
+            return plans;
+        }
+
+        /**
+         * Get the non-unique indexes that serve none of the access paths.
+         * These are not necessarily unused: they may serve statements the
+         * advisor doesn't cover, or the application's own queries.
+         */
+        public List<String> getUncoveredIndexes() {
+            return uncoveredIndexes;
+        }
+
+        /** Get the recommended DDL statements. */
+        public List<String> getRecommendedDdl() {
+            return recommendations;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Job store tables on ").append(databaseProduct).append('\n');
+            sb.append("\nRow counts:\n");
+            for (Map.Entry<String, Long> count : rowCounts.entrySet()) {
+                sb.append("  ").append(tablePrefix).append(count.getKey()).append(": ").append(count.getValue()).append('\n');
+            }
+            sb.append("\nTrigger states of ").append(schedName).append(":\n");
+            for (Map.Entry<String, Long> count : triggerStates.entrySet()) {
+                sb.append("  ").append(count.getKey()).append(": ").append(count.getValue()).append('\n');
+            }
+            sb.append("\nAccess paths:\n");
+            for (Map.Entry<String, Coverage> path : coverage.entrySet()) {
+                sb.append("  ").append(path.getKey()).append(": ").append(path.getValue()).append('\n');
+                String plan = plans.get(path.getKey());
+                if (plan != null) {
+                    sb.append("    ").append(plan.replace("\n", "\n    ")).append('\n');
+                }
+            }
+            sb.append("\nIndexes not covered by the advisor (they may serve other statements):\n");
+            for (String index : uncoveredIndexes) {
+                sb.append("  ").append(index).append('\n');
+            }
+            sb.append("\nRecommended DDL:\n");
+            for (String ddl : recommendations) {
+                sb.append(ddl).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+}
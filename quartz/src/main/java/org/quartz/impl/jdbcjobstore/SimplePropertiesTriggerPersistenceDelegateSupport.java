@@ -21,6 +21,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 
 import org.quartz.JobDetail;
 import org.quartz.ScheduleBuilder;
@@ -85,6 +87,12 @@ public abstract class SimplePropertiesTriggerPersistenceDelegateSupport implemen
         + " = ? WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
         + " AND " + COL_TRIGGER_NAME
         + " = ? AND " + COL_TRIGGER_GROUP + " = ?";
+
+    protected static final String UPDATE_SIMPLE_PROPS_TRIGGER_INT_PROP_2 = "UPDATE "
+        + TABLE_PREFIX_SUBST + TABLE_SIMPLE_PROPERTIES_TRIGGERS + " SET "
+        + COL_INT_PROP_2 + " = ? WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+        + " AND " + COL_TRIGGER_NAME
+        + " = ? AND " + COL_TRIGGER_GROUP + " = ?";
     
     protected String tablePrefix;
 
@@ -113,27 +121,31 @@ public abstract class SimplePropertiesTriggerPersistenceDelegateSupport implemen
         }
     }
 
+    @Override
+    public void deleteExtendedTriggerProperties(Connection conn, Collection<TriggerKey> triggerKeys) throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(Util.rtp(DELETE_SIMPLE_PROPS_TRIGGER, tablePrefix, schedNameLiteral));
+            for (TriggerKey triggerKey : triggerKeys) {
+                ps.setString(1, triggerKey.getName());
+                ps.setString(2, triggerKey.getGroup());
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
     public int insertExtendedTriggerProperties(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) throws SQLException, IOException {
 
-        SimplePropertiesTriggerProperties properties = getTriggerProperties(trigger);
-        
         PreparedStatement ps = null;
         
         try {
             ps = conn.prepareStatement(Util.rtp(INSERT_SIMPLE_PROPS_TRIGGER, tablePrefix, schedNameLiteral));
-            ps.setString(1, trigger.getKey().getName());
-            ps.setString(2, trigger.getKey().getGroup());
-            ps.setString(3, properties.getString1());
-            ps.setString(4, properties.getString2());
-            ps.setString(5, properties.getString3());
-            ps.setInt(6, properties.getInt1());
-            ps.setInt(7, properties.getInt2());
-            ps.setLong(8, properties.getLong1());
-            ps.setLong(9, properties.getLong2());
-            ps.setBigDecimal(10, properties.getDecimal1());
-            ps.setBigDecimal(11, properties.getDecimal2());
-            ps.setBoolean(12, properties.isBoolean1());
-            ps.setBoolean(13, properties.isBoolean2());
+            setInsertParameters(ps, trigger);
 
             return ps.executeUpdate();
         } finally {
@@ -141,6 +153,42 @@ public abstract class SimplePropertiesTriggerPersistenceDelegateSupport implemen
         }
     }
 
+    @Override
+    public void insertExtendedTriggerProperties(Connection conn, List<OperableTrigger> triggers, List<String> states, List<JobDetail> jobDetails) throws SQLException, IOException {
+
+        PreparedStatement ps = null;
+        
+        try {
+            ps = conn.prepareStatement(Util.rtp(INSERT_SIMPLE_PROPS_TRIGGER, tablePrefix, schedNameLiteral));
+            for (OperableTrigger trigger : triggers) {
+                setInsertParameters(ps, trigger);
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
+    protected void setInsertParameters(PreparedStatement ps, OperableTrigger trigger) throws SQLException {
+        SimplePropertiesTriggerProperties properties = getTriggerProperties(trigger);
+
+        ps.setString(1, trigger.getKey().getName());
+        ps.setString(2, trigger.getKey().getGroup());
+        ps.setString(3, properties.getString1());
+        ps.setString(4, properties.getString2());
+        ps.setString(5, properties.getString3());
+        ps.setInt(6, properties.getInt1());
+        ps.setInt(7, properties.getInt2());
+        ps.setLong(8, properties.getLong1());
+        ps.setLong(9, properties.getLong2());
+        ps.setBigDecimal(10, properties.getDecimal1());
+        ps.setBigDecimal(11, properties.getDecimal2());
+        ps.setBoolean(12, properties.isBoolean1());
+        ps.setBoolean(13, properties.isBoolean2());
+    }
+
     public TriggerPropertyBundle loadExtendedTriggerProperties(Connection conn, TriggerKey triggerKey) throws SQLException {
 
         PreparedStatement ps = null;
@@ -220,4 +268,23 @@ public abstract class SimplePropertiesTriggerPersistenceDelegateSupport implemen
         }
     }
 
+    /**
+     * Update only the <code>INT_PROP_2</code> column of the trigger's row,
+     * for subclasses that keep the trigger's fire count there.
+     */
+    protected int updateIntProp2(Connection conn, TriggerKey triggerKey, int value) throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(Util.rtp(UPDATE_SIMPLE_PROPS_TRIGGER_INT_PROP_2, tablePrefix, schedNameLiteral));
+            ps.setInt(1, value);
+            ps.setString(2, triggerKey.getName());
+            ps.setString(3, triggerKey.getGroup());
+
+            return ps.executeUpdate();
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
 }
@@ -22,6 +22,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 
 import org.quartz.JobDetail;
 import org.quartz.SimpleScheduleBuilder;
@@ -62,19 +64,31 @@ public class SimpleTriggerPersistenceDelegate implements TriggerPersistenceDeleg
         }
     }
 
+    @Override
+    public void deleteExtendedTriggerProperties(Connection conn, Collection<TriggerKey> triggerKeys) throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(Util.rtp(DELETE_SIMPLE_TRIGGER, tablePrefix, schedNameLiteral));
+            for (TriggerKey triggerKey : triggerKeys) {
+                ps.setString(1, triggerKey.getName());
+                ps.setString(2, triggerKey.getGroup());
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
     public int insertExtendedTriggerProperties(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) throws SQLException, IOException {
 
-        SimpleTrigger simpleTrigger = (SimpleTrigger)trigger;
-        
         PreparedStatement ps = null;
         
         try {
             ps = conn.prepareStatement(Util.rtp(INSERT_SIMPLE_TRIGGER, tablePrefix, schedNameLiteral));
-            ps.setString(1, trigger.getKey().getName());
-            ps.setString(2, trigger.getKey().getGroup());
-            ps.setInt(3, simpleTrigger.getRepeatCount());
-            ps.setBigDecimal(4, new BigDecimal(String.valueOf(simpleTrigger.getRepeatInterval())));
-            ps.setInt(5, simpleTrigger.getTimesTriggered());
+            setInsertParameters(ps, trigger);
 
             return ps.executeUpdate();
         } finally {
@@ -82,6 +96,34 @@ public class SimpleTriggerPersistenceDelegate implements TriggerPersistenceDeleg
         }
     }
 
+    @Override
+    public void insertExtendedTriggerProperties(Connection conn, List<OperableTrigger> triggers, List<String> states, List<JobDetail> jobDetails) throws SQLException, IOException {
+
+        PreparedStatement ps = null;
+        
+        try {
+            ps = conn.prepareStatement(Util.rtp(INSERT_SIMPLE_TRIGGER, tablePrefix, schedNameLiteral));
+            for (OperableTrigger trigger : triggers) {
+                setInsertParameters(ps, trigger);
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
+    protected void setInsertParameters(PreparedStatement ps, OperableTrigger trigger) throws SQLException {
+        SimpleTrigger simpleTrigger = (SimpleTrigger)trigger;
+
+        ps.setString(1, trigger.getKey().getName());
+        ps.setString(2, trigger.getKey().getGroup());
+        ps.setInt(3, simpleTrigger.getRepeatCount());
+        ps.setBigDecimal(4, new BigDecimal(String.valueOf(simpleTrigger.getRepeatInterval())));
+        ps.setInt(5, simpleTrigger.getTimesTriggered());
+    }
+
     public TriggerPropertyBundle loadExtendedTriggerProperties(Connection conn, TriggerKey triggerKey) throws SQLException {
 
         PreparedStatement ps = null;
@@ -146,4 +188,24 @@ public class SimpleTriggerPersistenceDelegate implements TriggerPersistenceDeleg
         }
     }
 
+    @Override
+    public int updateExtendedTriggerFireState(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) throws SQLException, IOException {
+
+        SimpleTrigger simpleTrigger = (SimpleTrigger)trigger;
+        
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(Util.rtp(UPDATE_SIMPLE_TRIGGER_TIMES_TRIGGERED, tablePrefix, schedNameLiteral));
+
+            ps.setInt(1, simpleTrigger.getTimesTriggered());
+            ps.setString(2, simpleTrigger.getKey().getName());
+            ps.setString(3, simpleTrigger.getKey().getGroup());
+
+            return ps.executeUpdate();
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
 }
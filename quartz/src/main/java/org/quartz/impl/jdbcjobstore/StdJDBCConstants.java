@@ -30,6 +30,7 @@ import static org.quartz.impl.jdbcjobstore.SimplePropertiesTriggerPersistenceDel
 import static org.quartz.impl.jdbcjobstore.SimplePropertiesTriggerPersistenceDelegateSupport.COL_STR_PROP_2;
 import static org.quartz.impl.jdbcjobstore.SimplePropertiesTriggerPersistenceDelegateSupport.COL_STR_PROP_3;
 
+import org.quartz.SimpleTrigger;
 import org.quartz.Trigger;
 
 /**
@@ -112,6 +113,25 @@ public interface StdJDBCConstants extends Constants {
         + "AND " + COL_TRIGGER_STATE + " = ? "
         + "ORDER BY " + COL_NEXT_FIRE_TIME + " ASC, " + COL_PRIORITY + " DESC";
 
+    // the built-in trigger types all use 1 for their "fire once now" misfire
+    // instruction, which is what the smart policy resolves to for all of them
+    // except simple triggers that repeat
+    String UPDATE_MISFIRED_TRIGGER_TO_FIRE_NOW = "UPDATE "
+        + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " SET "
+        + COL_NEXT_FIRE_TIME + " = ? WHERE "
+        + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST + " AND "
+        + COL_TRIGGER_NAME + " = ? AND " + COL_TRIGGER_GROUP + " = ? AND "
+        + COL_NEXT_FIRE_TIME + " < ? AND " + COL_TRIGGER_STATE + " = ? AND "
+        + COL_MISFIRE_INSTRUCTION + " IN (" + Trigger.MISFIRE_INSTRUCTION_SMART_POLICY + ", "
+        + SimpleTrigger.MISFIRE_INSTRUCTION_FIRE_NOW + ") AND ("
+        + COL_TRIGGER_TYPE + " IN (?, ?, ?) OR ("
+        + COL_TRIGGER_TYPE + " = ? AND EXISTS (SELECT " + COL_TRIGGER_NAME + " FROM "
+        + TABLE_PREFIX_SUBST + TABLE_SIMPLE_TRIGGERS + " S WHERE S."
+        + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST + " AND S."
+        + COL_TRIGGER_NAME + " = " + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + "." + COL_TRIGGER_NAME + " AND S."
+        + COL_TRIGGER_GROUP + " = " + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + "." + COL_TRIGGER_GROUP + " AND S."
+        + COL_REPEAT_COUNT + " = 0)))";
+
     String SELECT_MISFIRED_TRIGGERS_IN_GROUP_IN_STATE = "SELECT "
         + COL_TRIGGER_NAME
         + " FROM "
@@ -126,6 +146,31 @@ public interface StdJDBCConstants extends Constants {
         + " = ? AND " + COL_TRIGGER_STATE + " = ? "
         + "ORDER BY " + COL_NEXT_FIRE_TIME + " ASC, " + COL_PRIORITY + " DESC";
 
+    String SELECT_MISFIRED_TRIGGERS_IN_GROUPS_IN_STATES = "SELECT "
+        + COL_TRIGGER_NAME + ", " + COL_TRIGGER_GROUP
+        + " FROM "
+        + TABLE_PREFIX_SUBST
+        + TABLE_TRIGGERS
+        + " WHERE "
+        + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST + " AND NOT ("
+        + COL_MISFIRE_INSTRUCTION + " = " + Trigger.MISFIRE_INSTRUCTION_IGNORE_MISFIRE_POLICY + ") AND " 
+        + COL_NEXT_FIRE_TIME
+        + " < ? AND "
+        + COL_TRIGGER_GROUP
+        + " LIKE ? AND (" + COL_TRIGGER_STATE + " = ? OR " + COL_TRIGGER_STATE + " = ?)";
+
+    String SELECT_MISFIRED_TRIGGERS_OF_JOB_GROUPS_IN_STATES = "SELECT "
+        + COL_TRIGGER_NAME + ", " + COL_TRIGGER_GROUP
+        + " FROM "
+        + TABLE_PREFIX_SUBST
+        + TABLE_TRIGGERS
+        + " WHERE "
+        + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST + " AND NOT ("
+        + COL_MISFIRE_INSTRUCTION + " = " + Trigger.MISFIRE_INSTRUCTION_IGNORE_MISFIRE_POLICY + ") AND " 
+        + COL_NEXT_FIRE_TIME
+        + " < ? AND "
+        + COL_JOB_GROUP
+        + " LIKE ? AND (" + COL_TRIGGER_STATE + " = ? OR " + COL_TRIGGER_STATE + " = ?)";
 
     String DELETE_FIRED_TRIGGERS = "DELETE FROM "
             + TABLE_PREFIX_SUBST + TABLE_FIRED_TRIGGERS
@@ -159,6 +204,33 @@ public interface StdJDBCConstants extends Constants {
             + " AND " + COL_JOB_NAME
             + " = ? AND " + COL_JOB_GROUP + " = ?";
 
+    // followed by one "(job name = ? AND job group = ?)" term per job, joined with OR
+    String SELECT_TRIGGERS_FOR_JOBS = "SELECT "
+            + COL_TRIGGER_NAME + ", " + COL_TRIGGER_GROUP + " FROM "
+            + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " WHERE " 
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST 
+            + " AND (";
+
+    // followed by one "(name = ? AND group = ?)" term per trigger, joined with OR
+    String SELECT_JOBS_FOR_TRIGGERS = "SELECT "
+            + COL_TRIGGER_NAME + ", " + COL_TRIGGER_GROUP + ", "
+            + COL_JOB_NAME + ", " + COL_JOB_GROUP + " FROM "
+            + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " WHERE " 
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST 
+            + " AND (";
+
+    // followed by one "(J.name = ? AND J.group = ?)" term per job, joined with OR
+    String SELECT_ORPHANED_JOBS = "SELECT J."
+            + COL_JOB_NAME + ", J." + COL_JOB_GROUP + " FROM "
+            + TABLE_PREFIX_SUBST + TABLE_JOB_DETAILS + " J WHERE J." 
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST 
+            + " AND J." + COL_IS_DURABLE + " = ? AND NOT EXISTS (SELECT T."
+            + COL_TRIGGER_NAME + " FROM " + TABLE_PREFIX_SUBST + TABLE_TRIGGERS
+            + " T WHERE T." + COL_SCHEDULER_NAME + " = J." + COL_SCHEDULER_NAME
+            + " AND T." + COL_JOB_NAME + " = J." + COL_JOB_NAME
+            + " AND T." + COL_JOB_GROUP + " = J." + COL_JOB_GROUP
+            + ") AND (";
+
     String SELECT_TRIGGERS_FOR_CALENDAR = "SELECT "
         + COL_TRIGGER_NAME + ", " + COL_TRIGGER_GROUP + " FROM "
         + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " WHERE " 
@@ -198,6 +270,18 @@ public interface StdJDBCConstants extends Constants {
         + " AND T." + COL_TRIGGER_GROUP + " {JOB_GROUP_LIKE} ?"
         + " AND T." + COL_TRIGGER_NAME + " {TRIGGER_NAME_LIKE} ?";
 
+    String SELECT_TRIGGERS_TO_FORECAST = "SELECT "
+        + COL_TRIGGER_NAME + ", " + COL_TRIGGER_GROUP + " FROM "
+        + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " WHERE "
+        + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+        + " AND " + COL_NEXT_FIRE_TIME + " < ? AND " + COL_JOB_GROUP + " LIKE ?"
+        + " AND " + COL_TRIGGER_STATE + " IN (?, ?, ?)";
+
+    String SELECT_TRIGGERS_TO_FORECAST_V2 = SELECT_BULK_TRIGGERS_BASE
+        + "WHERE T." + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+        + " AND T." + COL_NEXT_FIRE_TIME + " < ? AND T." + COL_JOB_GROUP + " LIKE ?"
+        + " AND T." + COL_TRIGGER_STATE + " IN (?, ?, ?)";
+
     String DELETE_JOB_DETAIL = "DELETE FROM "
             + TABLE_PREFIX_SUBST + TABLE_JOB_DETAILS + " WHERE " 
             + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST 
@@ -217,6 +301,12 @@ public interface StdJDBCConstants extends Constants {
             + " AND " + COL_JOB_NAME
             + " = ? AND " + COL_JOB_GROUP + " = ?";
 
+    // followed by one "(name = ? AND group = ?)" term per job, joined with OR
+    String SELECT_JOBS_EXISTENCE = "SELECT " + COL_JOB_NAME + ", " + COL_JOB_GROUP
+            + " FROM " + TABLE_PREFIX_SUBST + TABLE_JOB_DETAILS + " WHERE "
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST 
+            + " AND (";
+
     String UPDATE_JOB_DATA = "UPDATE " + TABLE_PREFIX_SUBST
             + TABLE_JOB_DETAILS + " SET " + COL_JOB_DATAMAP + " = ? "
             + " WHERE " 
@@ -230,6 +320,19 @@ public interface StdJDBCConstants extends Constants {
             + " AND " + COL_JOB_NAME
             + " = ? AND " + COL_JOB_GROUP + " = ?";
 
+    String SELECT_JOB_DETAIL_VERSION = "SELECT " + COL_DATA_VERSION
+            + " FROM " + TABLE_PREFIX_SUBST + TABLE_JOB_DETAILS + " WHERE "
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND " + COL_JOB_NAME
+            + " = ? AND " + COL_JOB_GROUP + " = ?";
+
+    String UPDATE_JOB_DETAIL_VERSION = "UPDATE " + TABLE_PREFIX_SUBST
+            + TABLE_JOB_DETAILS + " SET " + COL_DATA_VERSION + " = ? "
+            + " WHERE "
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND " + COL_JOB_NAME
+            + " = ? AND " + COL_JOB_GROUP + " = ?";
+
     String SELECT_JOB_DETAILS_LIKE = "SELECT *" + " FROM " +
         TABLE_PREFIX_SUBST + TABLE_JOB_DETAILS + " WHERE "
         + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
@@ -259,6 +362,20 @@ public interface StdJDBCConstants extends Constants {
             + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
             + " AND " + COL_JOB_GROUP + " = ?";
 
+    String SELECT_JOBS_IN_GROUP_LIKE_PAGE = SELECT_JOBS_IN_GROUP_LIKE
+            + " ORDER BY " + COL_JOB_GROUP + ", " + COL_JOB_NAME;
+
+    String SELECT_JOBS_IN_GROUP_PAGE = SELECT_JOBS_IN_GROUP
+            + " ORDER BY " + COL_JOB_GROUP + ", " + COL_JOB_NAME;
+
+    String SELECT_JOBS_IN_GROUP_LIKE_PAGE_AFTER = SELECT_JOBS_IN_GROUP_LIKE
+            + " AND (" + COL_JOB_GROUP + " > ? OR (" + COL_JOB_GROUP + " = ? AND " + COL_JOB_NAME + " > ?))"
+            + " ORDER BY " + COL_JOB_GROUP + ", " + COL_JOB_NAME;
+
+    String SELECT_JOBS_IN_GROUP_PAGE_AFTER = SELECT_JOBS_IN_GROUP
+            + " AND (" + COL_JOB_GROUP + " > ? OR (" + COL_JOB_GROUP + " = ? AND " + COL_JOB_NAME + " > ?))"
+            + " ORDER BY " + COL_JOB_GROUP + ", " + COL_JOB_NAME;
+
     String INSERT_TRIGGER = "INSERT INTO "
             + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " (" + COL_SCHEDULER_NAME + ", " + COL_TRIGGER_NAME
             + ", " + COL_TRIGGER_GROUP + ", " + COL_JOB_NAME + ", "
@@ -314,6 +431,12 @@ public interface StdJDBCConstants extends Constants {
         + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
         + " AND " + COL_TRIGGER_NAME + " = ? AND " + COL_TRIGGER_GROUP + " = ?";
     
+    String UPDATE_TRIGGER_FIRE_STATE = "UPDATE " + TABLE_PREFIX_SUBST
+        + TABLE_TRIGGERS + " SET " + COL_NEXT_FIRE_TIME + " = ?, "
+        + COL_PREV_FIRE_TIME + " = ?, " + COL_TRIGGER_STATE + " = ? WHERE "
+        + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+        + " AND " + COL_TRIGGER_NAME + " = ? AND " + COL_TRIGGER_GROUP + " = ?";
+
     String UPDATE_SIMPLE_TRIGGER = "UPDATE "
             + TABLE_PREFIX_SUBST + TABLE_SIMPLE_TRIGGERS + " SET "
             + COL_REPEAT_COUNT + " = ?, " + COL_REPEAT_INTERVAL + " = ?, "
@@ -322,6 +445,13 @@ public interface StdJDBCConstants extends Constants {
             + " AND " + COL_TRIGGER_NAME
             + " = ? AND " + COL_TRIGGER_GROUP + " = ?";
 
+    String UPDATE_SIMPLE_TRIGGER_TIMES_TRIGGERED = "UPDATE "
+            + TABLE_PREFIX_SUBST + TABLE_SIMPLE_TRIGGERS + " SET "
+            + COL_TIMES_TRIGGERED + " = ? WHERE " 
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND " + COL_TRIGGER_NAME
+            + " = ? AND " + COL_TRIGGER_GROUP + " = ?";
+
     String UPDATE_CRON_TRIGGER = "UPDATE "
             + TABLE_PREFIX_SUBST + TABLE_CRON_TRIGGERS + " SET "
             + COL_CRON_EXPRESSION + " = ?, " + COL_TIME_ZONE_ID  
@@ -343,6 +473,12 @@ public interface StdJDBCConstants extends Constants {
             + " AND " + COL_TRIGGER_NAME + " = ? AND " + COL_TRIGGER_GROUP
             + " = ?";
 
+    // followed by one "(name = ? AND group = ?)" term per trigger, joined with OR
+    String SELECT_TRIGGERS_EXISTENCE = "SELECT "
+            + COL_TRIGGER_NAME + ", " + COL_TRIGGER_GROUP + " FROM " + TABLE_PREFIX_SUBST + TABLE_TRIGGERS
+            + " WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND (";
+
     String UPDATE_TRIGGER_STATE = "UPDATE "
             + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " SET " + COL_TRIGGER_STATE
             + " = ?" + " WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
@@ -396,6 +532,21 @@ public interface StdJDBCConstants extends Constants {
             + " AND " + COL_JOB_NAME + " = ? AND " + COL_JOB_GROUP
             + " = ?";
 
+    String UPDATE_JOB_GROUP_TRIGGER_STATES_FROM_STATES = "UPDATE "
+            + TABLE_PREFIX_SUBST
+            + TABLE_TRIGGERS
+            + " SET "
+            + COL_TRIGGER_STATE
+            + " = ? WHERE "
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND " + COL_JOB_GROUP
+            + " LIKE ? AND ("
+            + COL_TRIGGER_STATE
+            + " = ? OR "
+            + COL_TRIGGER_STATE
+            + " = ? OR "
+            + COL_TRIGGER_STATE + " = ?)";
+
     String UPDATE_JOB_TRIGGER_STATES_FROM_OTHER_STATE = "UPDATE "
             + TABLE_PREFIX_SUBST
             + TABLE_TRIGGERS
@@ -511,6 +662,20 @@ public interface StdJDBCConstants extends Constants {
             + " WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
             + " AND " + COL_TRIGGER_GROUP + " = ?";
 
+    String SELECT_TRIGGERS_IN_GROUP_LIKE_PAGE = SELECT_TRIGGERS_IN_GROUP_LIKE
+            + " ORDER BY " + COL_TRIGGER_GROUP + ", " + COL_TRIGGER_NAME;
+
+    String SELECT_TRIGGERS_IN_GROUP_PAGE = SELECT_TRIGGERS_IN_GROUP
+            + " ORDER BY " + COL_TRIGGER_GROUP + ", " + COL_TRIGGER_NAME;
+
+    String SELECT_TRIGGERS_IN_GROUP_LIKE_PAGE_AFTER = SELECT_TRIGGERS_IN_GROUP_LIKE
+            + " AND (" + COL_TRIGGER_GROUP + " > ? OR (" + COL_TRIGGER_GROUP + " = ? AND " + COL_TRIGGER_NAME + " > ?))"
+            + " ORDER BY " + COL_TRIGGER_GROUP + ", " + COL_TRIGGER_NAME;
+
+    String SELECT_TRIGGERS_IN_GROUP_PAGE_AFTER = SELECT_TRIGGERS_IN_GROUP
+            + " AND (" + COL_TRIGGER_GROUP + " > ? OR (" + COL_TRIGGER_GROUP + " = ? AND " + COL_TRIGGER_NAME + " > ?))"
+            + " ORDER BY " + COL_TRIGGER_GROUP + ", " + COL_TRIGGER_NAME;
+
     String INSERT_CALENDAR = "INSERT INTO "
             + TABLE_PREFIX_SUBST + TABLE_CALENDARS + " (" + COL_SCHEDULER_NAME + ", " + COL_CALENDAR_NAME
             + ", " + COL_CALENDAR + ") " + " VALUES(" + SCHED_NAME_SUBST + ", ?, ?)";
@@ -530,6 +695,16 @@ public interface StdJDBCConstants extends Constants {
             + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
             + " AND " + COL_CALENDAR_NAME + " = ?";
 
+    String SELECT_CALENDAR_VERSION = "SELECT " + COL_DATA_VERSION
+            + " FROM " + TABLE_PREFIX_SUBST + TABLE_CALENDARS + " WHERE "
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND " + COL_CALENDAR_NAME + " = ?";
+
+    String UPDATE_CALENDAR_VERSION = "UPDATE " + TABLE_PREFIX_SUBST
+            + TABLE_CALENDARS + " SET " + COL_DATA_VERSION + " = ? "
+            + " WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND " + COL_CALENDAR_NAME + " = ?";
+
     String SELECT_REFERENCED_CALENDAR = "SELECT "
             + COL_CALENDAR_NAME + " FROM " + TABLE_PREFIX_SUBST
             + TABLE_TRIGGERS + " WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
@@ -568,6 +743,33 @@ public interface StdJDBCConstants extends Constants {
         + " AND " + COL_TRIGGER_STATE + " = ? AND " + COL_NEXT_FIRE_TIME + " <= ? " 
         + "AND (" + COL_MISFIRE_INSTRUCTION + " = -1 OR (" +COL_MISFIRE_INSTRUCTION+ " <> -1 AND "+ COL_NEXT_FIRE_TIME + " >= ?)) "
         + "ORDER BY "+ COL_NEXT_FIRE_TIME + " ASC, " + COL_PRIORITY + " DESC";
+
+    String SELECT_NEXT_TRIGGER_TO_ACQUIRE_IN_PARTITION = "SELECT "
+        + COL_TRIGGER_NAME + ", " + COL_TRIGGER_GROUP + ", "
+        + COL_NEXT_FIRE_TIME + ", " + COL_PRIORITY + " FROM "
+        + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " WHERE "
+        + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+        + " AND " + COL_LOCK_PARTITION + " = ?"
+        + " AND " + COL_TRIGGER_STATE + " = ? AND " + COL_NEXT_FIRE_TIME + " <= ? " 
+        + "AND (" + COL_MISFIRE_INSTRUCTION + " = -1 OR (" +COL_MISFIRE_INSTRUCTION+ " <> -1 AND "+ COL_NEXT_FIRE_TIME + " >= ?)) "
+        + "ORDER BY "+ COL_NEXT_FIRE_TIME + " ASC, " + COL_PRIORITY + " DESC";
+
+    String SELECT_NEXT_LOCK_PARTITION_TO_ACQUIRE = "SELECT "
+        + COL_LOCK_PARTITION + ", "
+        + COL_NEXT_FIRE_TIME + ", " + COL_PRIORITY + " FROM "
+        + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " WHERE "
+        + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+        + " AND " + COL_TRIGGER_STATE + " = ? AND " + COL_NEXT_FIRE_TIME + " <= ? " 
+        + "AND (" + COL_MISFIRE_INSTRUCTION + " = -1 OR (" +COL_MISFIRE_INSTRUCTION+ " <> -1 AND "+ COL_NEXT_FIRE_TIME + " >= ?)) ";
+
+    String SELECT_NEXT_LOCK_PARTITION_TO_ACQUIRE_ORDER_BY = "ORDER BY "
+        + COL_NEXT_FIRE_TIME + " ASC, " + COL_PRIORITY + " DESC";
+
+    String UPDATE_JOB_TRIGGERS_LOCK_PARTITION = "UPDATE "
+            + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " SET " + COL_LOCK_PARTITION
+            + " = ? WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND " + COL_JOB_NAME + " = ? AND " + COL_JOB_GROUP
+            + " = ? AND (" + COL_LOCK_PARTITION + " IS NULL OR " + COL_LOCK_PARTITION + " <> ?)";
     
     
     String INSERT_FIRED_TRIGGER = "INSERT INTO "
@@ -633,6 +835,18 @@ public interface StdJDBCConstants extends Constants {
             + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
             + " AND " + COL_JOB_GROUP + " = ?";
 
+    // followed by one "(T.name = ? AND T.group = ?)" term per trigger, joined with OR
+    String SELECT_COMPLETE_TRIGGERS_NOT_FIRED = "SELECT T."
+            + COL_TRIGGER_NAME + ", T." + COL_TRIGGER_GROUP + " FROM "
+            + TABLE_PREFIX_SUBST + TABLE_TRIGGERS + " T WHERE T."
+            + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND T." + COL_TRIGGER_STATE + " = ? AND NOT EXISTS (SELECT F."
+            + COL_ENTRY_ID + " FROM " + TABLE_PREFIX_SUBST + TABLE_FIRED_TRIGGERS
+            + " F WHERE F." + COL_SCHEDULER_NAME + " = T." + COL_SCHEDULER_NAME
+            + " AND F." + COL_TRIGGER_NAME + " = T." + COL_TRIGGER_NAME
+            + " AND F." + COL_TRIGGER_GROUP + " = T." + COL_TRIGGER_GROUP
+            + ") AND (";
+
     String DELETE_FIRED_TRIGGER = "DELETE FROM "
             + TABLE_PREFIX_SUBST + TABLE_FIRED_TRIGGERS + " WHERE "
             + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
@@ -680,6 +894,11 @@ public interface StdJDBCConstants extends Constants {
             + TABLE_PREFIX_SUBST + TABLE_SCHEDULER_STATE
             + " WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST;
 
+    String SELECT_STALE_SCHEDULER_STATES = "SELECT * FROM "
+            + TABLE_PREFIX_SUBST + TABLE_SCHEDULER_STATE
+            + " WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND " + COL_LAST_CHECKIN_TIME + " < ?";
+
     String DELETE_SCHEDULER_STATE = "DELETE FROM "
         + TABLE_PREFIX_SUBST + TABLE_SCHEDULER_STATE + " WHERE "
         + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
@@ -28,8 +28,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.NotSerializableException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.sql.Blob;
 import java.sql.Connection;
@@ -37,14 +37,21 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.quartz.Calendar;
 import org.quartz.Job;
@@ -64,6 +71,7 @@ import org.quartz.impl.matchers.StringMatcher;
 import org.quartz.impl.triggers.SimpleTriggerImpl;
 import org.quartz.spi.ClassLoadHelper;
 import org.quartz.spi.OperableTrigger;
+import org.quartz.utils.Key;
 import org.slf4j.Logger;
 
 /**
@@ -102,6 +110,24 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
     protected final List<TriggerPersistenceDelegate> triggerPersistenceDelegates = new LinkedList<>();
 
     protected boolean useEnhancedStatements = false;
+
+    protected BlobSerializer blobSerializer = new JavaBlobSerializer();
+
+    protected boolean useStatementCache = false;
+
+    protected int fetchSize = 0;
+
+    /**
+     * Upper bound on the number of distinct expanded queries that are
+     * remembered, so that dynamically built statements can not grow the
+     * cache without limit.
+     */
+    private static final int MAX_EXPANDED_QUERIES = 1024;
+
+    private final Map<String, String> expandedQueries = new ConcurrentHashMap<>();
+
+    private final Map<Connection, Map<String, PreparedStatement>> cachedStatements =
+        Collections.synchronizedMap(new IdentityHashMap<>());
     
     /*
      * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -139,6 +165,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         this.instanceId = instanceId;
         this.useProperties = useProperties;
         this.classLoadHelper = classLoadHelper;
+        expandQueries();
         addDefaultTriggerPersistenceDelegates();
 
         if(initString == null) {
@@ -165,11 +192,43 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
                     } 
                 }
             }
+            else if(name.equals("blobSerializerClass")) {
+                try {
+                    Class<?> serializerClass = classLoadHelper.loadClass(parts[1]);
+                    setBlobSerializer((BlobSerializer) serializerClass.getDeclaredConstructor().newInstance());
+                } catch (Exception e) {
+                    throw new NoSuchDelegateException("Error instantiating BlobSerializer of type: " + parts[1], e);
+                }
+            }
             else
                 throw new NoSuchDelegateException("Unknown setting: '" + name + "'");
         }
     }
 
+    /**
+     * <p>
+     * Expand the table prefix and scheduler name of every SQL constant visible
+     * to this delegate up front, so that <code>{@link #rtp(String)}</code>
+     * does not have to re-format them on every statement.
+     * </p>
+     */
+    protected void expandQueries() {
+        expandedQueries.clear();
+        for (Field field : getClass().getFields()) {
+            if (field.getType() != String.class || !Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            try {
+                String query = (String) field.get(null);
+                if (query != null && query.contains("{0}")) {
+                    expandedQueries.put(query, Util.rtp(query, tablePrefix, getSchedulerNameLiteral()));
+                }
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                logger.debug("Not pre-expanding SQL constant {}: {}", field.getName(), e.getMessage());
+            }
+        }
+    }
+
     protected void addDefaultTriggerPersistenceDelegates() {
         addTriggerPersistenceDelegate(new SimpleTriggerPersistenceDelegate());
         addTriggerPersistenceDelegate(new CronTriggerPersistenceDelegate());
@@ -187,6 +246,15 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         this.triggerPersistenceDelegates.add(delegate);
     }
     
+    public void setBlobSerializer(BlobSerializer blobSerializer) {
+        logger.debug("Using BlobSerializer of type: {}", blobSerializer.getClass().getCanonicalName());
+        this.blobSerializer = blobSerializer;
+    }
+
+    public BlobSerializer getBlobSerializer() {
+        return blobSerializer;
+    }
+    
     public TriggerPersistenceDelegate findTriggerPersistenceDelegate(OperableTrigger trigger)  {
         for(TriggerPersistenceDelegate delegate: triggerPersistenceDelegates) {
             if(delegate.canHandleTriggerType(trigger))
@@ -353,6 +421,11 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
 
         try {
             ps = conn.prepareStatement(rtp(SELECT_HAS_MISFIRED_TRIGGERS_IN_STATE));
+            if (count > 0) {
+                // one more than asked for, to tell whether more remain
+                ps.setMaxRows(count + 1);
+                ps.setFetchSize(count + 1);
+            }
             ps.setBigDecimal(1, new BigDecimal(String.valueOf(ts)));
             ps.setString(2, state1);
             rs = ps.executeQuery();
@@ -405,6 +478,46 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Set the next fire time of those of the given triggers that are still
+     * in the given state, have misfired - according to the given timestamp -
+     * and handle a misfire by firing once, immediately.  The triggers are
+     * updated by key, in one batch.
+     * </p>
+     * 
+     * @param conn the DB Connection
+     * @return the number of rows updated for each of the triggers
+     */
+    public int[] updateMisfiredTriggersToFireNow(Connection conn,
+            List<TriggerKey> triggerKeys, String state1, long ts, long newFireTime) throws SQLException {
+        if (triggerKeys.isEmpty()) {
+            return new int[0];
+        }
+
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(UPDATE_MISFIRED_TRIGGER_TO_FIRE_NOW));
+            for (TriggerKey triggerKey : triggerKeys) {
+                ps.setBigDecimal(1, new BigDecimal(String.valueOf(newFireTime)));
+                ps.setString(2, triggerKey.getName());
+                ps.setString(3, triggerKey.getGroup());
+                ps.setBigDecimal(4, new BigDecimal(String.valueOf(ts)));
+                ps.setString(5, state1);
+                ps.setString(6, TTYPE_CRON);
+                ps.setString(7, TTYPE_CAL_INT);
+                ps.setString(8, TTYPE_DAILY_TIME_INT);
+                ps.setString(9, TTYPE_SIMPLE);
+                ps.addBatch();
+            }
+
+            return ps.executeBatch();
+        } finally {
+            closeStatement(ps);
+        }
+    }
+
     /**
      * <p>
      * Get the names of all of the triggers in the given group and state that
@@ -441,6 +554,66 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Get the keys of all of the triggers in groups matching the given
+     * matcher, that are in one of the given states and have misfired -
+     * according to the given timestamp.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the keys of the misfired triggers
+     */
+    @Override
+    public List<TriggerKey> selectMisfiredTriggersInGroupsInStates(Connection conn,
+            GroupMatcher<TriggerKey> matcher, String state1, String state2, long ts) throws SQLException {
+        return selectMisfiredTriggersInStates(conn, SELECT_MISFIRED_TRIGGERS_IN_GROUPS_IN_STATES,
+                toSqlLikeClause(matcher), state1, state2, ts);
+    }
+
+    /**
+     * <p>
+     * Get the keys of all of the triggers of jobs in groups matching the given
+     * matcher, that are in one of the given states and have misfired -
+     * according to the given timestamp.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the keys of the misfired triggers
+     */
+    @Override
+    public List<TriggerKey> selectMisfiredTriggersOfJobGroupsInStates(Connection conn,
+            GroupMatcher<JobKey> matcher, String state1, String state2, long ts) throws SQLException {
+        return selectMisfiredTriggersInStates(conn, SELECT_MISFIRED_TRIGGERS_OF_JOB_GROUPS_IN_STATES,
+                toSqlLikeClause(matcher), state1, state2, ts);
+    }
+
+    private List<TriggerKey> selectMisfiredTriggersInStates(Connection conn, String query,
+            String groupLikeClause, String state1, String state2, long ts) throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(query));
+            ps.setBigDecimal(1, new BigDecimal(String.valueOf(ts)));
+            ps.setString(2, groupLikeClause);
+            ps.setString(3, state1);
+            ps.setString(4, state2);
+            rs = ps.executeQuery();
+
+            List<TriggerKey> list = new ArrayList<>();
+            while (rs.next()) {
+                list.add(triggerKey(rs.getString(1), rs.getString(2)));
+            }
+            return list;
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+    }
+
     /**
      * <p>
      * Select all of the triggers for jobs that are requesting recovery. The
@@ -605,23 +778,13 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
      */
     public int insertJobDetail(Connection conn, JobDetail job)
         throws IOException, SQLException {
-        ByteArrayOutputStream baos = serializeJobData(job.getJobDataMap());
-
         PreparedStatement ps = null;
 
         int insertResult;
 
         try {
             ps = conn.prepareStatement(rtp(INSERT_JOB_DETAIL));
-            ps.setString(1, job.getKey().getName());
-            ps.setString(2, job.getKey().getGroup());
-            ps.setString(3, job.getDescription());
-            ps.setString(4, job.getJobClass().getName());
-            setBoolean(ps, 5, job.isDurable());
-            setBoolean(ps, 6, job.isConcurrentExecutionDisallowed());
-            setBoolean(ps, 7, job.isPersistJobDataAfterExecution());
-            setBoolean(ps, 8, job.requestsRecovery());
-            setBytes(ps, 9, baos);
+            setInsertJobDetailParameters(ps, job);
 
             insertResult = ps.executeUpdate();
         } finally {
@@ -631,6 +794,76 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         return insertResult;
     }
 
+    /**
+     * <p>
+     * Insert the job detail records of several jobs as one JDBC batch, unless
+     * this delegate does not <code>{@link #supportsBatchInserts() support}</code>
+     * batch inserts.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param jobs
+     *          the jobs to insert, none of which may exist yet
+     * @throws IOException
+     *           if there were problems serializing a JobDataMap
+     */
+    @Override
+    public void insertJobDetails(Connection conn, List<JobDetail> jobs)
+        throws IOException, SQLException {
+        if (!supportsBatchInserts()) {
+            for (JobDetail job : jobs) {
+                insertJobDetail(conn, job);
+            }
+            return;
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(INSERT_JOB_DETAIL));
+            for (JobDetail job : jobs) {
+                setInsertJobDetailParameters(ps, job);
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            closeStatement(ps);
+        }
+    }
+
+    protected void setInsertJobDetailParameters(PreparedStatement ps, JobDetail job)
+        throws IOException, SQLException {
+        ByteArrayOutputStream baos = serializeJobData(job.getJobDataMap());
+
+        ps.setString(1, job.getKey().getName());
+        ps.setString(2, job.getKey().getGroup());
+        ps.setString(3, job.getDescription());
+        ps.setString(4, job.getJobClass().getName());
+        setBoolean(ps, 5, job.isDurable());
+        setBoolean(ps, 6, job.isConcurrentExecutionDisallowed());
+        setBoolean(ps, 7, job.isPersistJobDataAfterExecution());
+        setBoolean(ps, 8, job.requestsRecovery());
+        setBytes(ps, 9, baos);
+    }
+
+    /**
+     * <p>
+     * Whether <code>{@link #insertJobDetails(Connection, List)}</code> and
+     * <code>{@link #insertTriggers(Connection, List, List, List)}</code> may
+     * use JDBC batches.  Delegates that insert jobs or triggers with more
+     * than a single statement return <code>false</code>, so that the rows
+     * are inserted one at a time with their own logic.
+     * </p>
+     */
+    protected boolean supportsBatchInserts() {
+        return true;
+    }
+
     /**
      * <p>
      * Update the job detail record.
@@ -704,6 +937,41 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Get the keys of all of the triggers associated with the given jobs,
+     * with a single query.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the keys of the triggers
+     */
+    @Override
+    public List<TriggerKey> selectTriggerKeysForJobs(Connection conn, Collection<JobKey> jobKeys) throws SQLException {
+        List<TriggerKey> triggerKeys = new ArrayList<>();
+        if (jobKeys.isEmpty()) {
+            return triggerKeys;
+        }
+
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(SELECT_TRIGGERS_FOR_JOBS)
+                    + keyTerms(COL_JOB_NAME, COL_JOB_GROUP, jobKeys.size()));
+            setKeyTerms(ps, 1, jobKeys);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                triggerKeys.add(triggerKey(rs.getString(1), rs.getString(2)));
+            }
+            return triggerKeys;
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+    }
+
     /**
      * <p>
      * Delete the job detail record for the given job.
@@ -730,6 +998,60 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Delete the job detail records of several jobs as one JDBC batch.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     */
+    @Override
+    public void deleteJobDetails(Connection conn, Collection<JobKey> jobKeys)
+        throws SQLException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Deleting jobs: {}", jobKeys);
+        }
+        executeKeyBatch(conn, DELETE_JOB_DETAIL, jobKeys);
+    }
+
+    /**
+     * <p>
+     * Select which of the given jobs are not durable and have no triggers
+     * left, with a single query.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the keys of the orphaned jobs
+     */
+    @Override
+    public Set<JobKey> selectOrphanedJobKeys(Connection conn, Collection<JobKey> jobKeys,
+            ClassLoadHelper loadHelper) throws SQLException {
+        Set<JobKey> orphaned = new HashSet<>();
+        if (jobKeys.isEmpty()) {
+            return orphaned;
+        }
+
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(SELECT_ORPHANED_JOBS)
+                    + keyTerms("J." + COL_JOB_NAME, "J." + COL_JOB_GROUP, jobKeys.size()));
+            setBoolean(ps, 1, false);
+            setKeyTerms(ps, 2, jobKeys);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                orphaned.add(jobKey(rs.getString(1), rs.getString(2)));
+            }
+            return orphaned;
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+    }
+
     /**
      * <p>
      * Check whether or not the given job is stateful.
@@ -783,6 +1105,70 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
 
     }
 
+    /**
+     * <p>
+     * Select which of the given jobs exist, with a single query.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param jobKeys
+     *          the jobs to check
+     * @return the keys of the jobs that exist
+     */
+    @Override
+    public Set<JobKey> selectExistingJobKeys(Connection conn, Collection<JobKey> jobKeys)
+        throws SQLException {
+        Set<JobKey> existing = new HashSet<>();
+        if (jobKeys.isEmpty()) {
+            return existing;
+        }
+
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(SELECT_JOBS_EXISTENCE)
+                    + keyTerms(COL_JOB_NAME, COL_JOB_GROUP, jobKeys.size()));
+            setKeyTerms(ps, 1, jobKeys);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                existing.add(jobKey(rs.getString(1), rs.getString(2)));
+            }
+            return existing;
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+    }
+
+    /**
+     * Build <code>count</code> "name = ? AND group = ?" terms joined with OR,
+     * closing the parenthesis opened by the existence queries.
+     */
+    private static String keyTerms(String nameColumn, String groupColumn, int count) {
+        StringBuilder sb = new StringBuilder(count * (nameColumn.length() + groupColumn.length() + 24));
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(" OR ");
+            }
+            sb.append('(').append(nameColumn).append(" = ? AND ").append(groupColumn).append(" = ?)");
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * Bind the name and group of each of the given keys, starting at the
+     * given parameter index, for the terms built by
+     * <code>{@link #keyTerms(String, String, int)}</code>.
+     */
+    private static void setKeyTerms(PreparedStatement ps, int index, Collection<? extends Key<?>> keys) throws SQLException {
+        for (Key<?> key : keys) {
+            ps.setString(index++, key.getName());
+            ps.setString(index++, key.getGroup());
+        }
+    }
+
     /**
      * <p>
      * Update the job data map for the given job.
@@ -812,6 +1198,67 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Select the data version of the given job.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the data version of the job, <code>0</code> if the job has never
+     *         been versioned, <code>{@link VersionedCache#UNVERSIONED}</code>
+     *         if it has no version at all, or <code>null</code> if the job
+     *         does not exist
+     */
+    public Long selectJobDetailVersion(Connection conn, JobKey jobKey)
+        throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = prepareCachedStatement(conn, SELECT_JOB_DETAIL_VERSION);
+            ps.setString(1, jobKey.getName());
+            ps.setString(2, jobKey.getGroup());
+            rs = ps.executeQuery();
+
+            if (rs.next()) {
+                long version = rs.getLong(COL_DATA_VERSION);
+                return rs.wasNull() ? VersionedCache.UNVERSIONED : version;
+            }
+            return null;
+        } finally {
+            closeResultSet(rs);
+            releaseStatement(ps);
+        }
+    }
+
+    /**
+     * <p>
+     * Update the data version of the given job.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param version
+     *          the new data version
+     * @return the number of rows updated
+     */
+    public int updateJobDetailVersion(Connection conn, JobKey jobKey, long version)
+        throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(UPDATE_JOB_DETAIL_VERSION));
+            ps.setLong(1, version);
+            ps.setString(2, jobKey.getName());
+            ps.setString(3, jobKey.getGroup());
+
+            return ps.executeUpdate();
+        } finally {
+            closeStatement(ps);
+        }
+    }
+
     /**
      * <p>
      * Select the JobDetail object for a given job name / group name.
@@ -976,6 +1423,13 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
      * @return an array of <code>String</code> job names
      */
     public Set<JobKey> selectJobsInGroup(Connection conn, GroupMatcher<JobKey> matcher)
+        throws SQLException {
+        Set<JobKey> keys = new HashSet<>();
+        selectJobsInGroup(conn, matcher, keys::add);
+        return keys;
+    }
+
+    public void selectJobsInGroup(Connection conn, GroupMatcher<JobKey> matcher, Consumer<? super JobKey> action)
         throws SQLException {
         PreparedStatement ps = null;
         ResultSet rs = null;
@@ -989,20 +1443,77 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
                 ps = conn.prepareStatement(rtp(SELECT_JOBS_IN_GROUP_LIKE));
                 ps.setString(1, toSqlLikeClause(matcher));
             }
+            if (fetchSize != 0) {
+                ps.setFetchSize(fetchSize);
+            }
             rs = ps.executeQuery();
 
-            LinkedList<JobKey> list = new LinkedList<>();
             while (rs.next()) {
-                list.add(jobKey(rs.getString(1), rs.getString(2)));
+                action.accept(jobKey(rs.getString(1), rs.getString(2)));
             }
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+    }
 
-            return new HashSet<>(list);
+    public List<JobKey> selectJobsInGroup(Connection conn, GroupMatcher<JobKey> matcher, JobKey after, int limit)
+        throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = prepareKeyPageStatement(conn, matcher, after, limit,
+                    SELECT_JOBS_IN_GROUP_PAGE, SELECT_JOBS_IN_GROUP_LIKE_PAGE,
+                    SELECT_JOBS_IN_GROUP_PAGE_AFTER, SELECT_JOBS_IN_GROUP_LIKE_PAGE_AFTER);
+            rs = ps.executeQuery();
+
+            List<JobKey> keys = new ArrayList<>();
+            while (keys.size() < limit && rs.next()) {
+                keys.add(jobKey(rs.getString(1), rs.getString(2)));
+            }
+            return keys;
         } finally {
             closeResultSet(rs);
             closeStatement(ps);
         }
     }
 
+    /**
+     * Prepare the query for a page of keys in the matching groups, choosing
+     * the equals or like variant for the matcher and the first page or
+     * following page variant for the key to start after.  The query must take
+     * the group as its first parameter and the group, group and name of the
+     * key to start after as the following ones.
+     */
+    protected PreparedStatement prepareKeyPageStatement(Connection conn, GroupMatcher<?> matcher,
+            Key<?> after, int limit, String equalsQuery, String likeQuery,
+            String equalsAfterQuery, String likeAfterQuery) throws SQLException {
+        boolean equals = isMatcherEquals(matcher);
+        String query;
+        if (after == null) {
+            query = equals ? equalsQuery : likeQuery;
+        } else {
+            query = equals ? equalsAfterQuery : likeAfterQuery;
+        }
+
+        PreparedStatement ps = conn.prepareStatement(rtp(query));
+        try {
+            ps.setString(1, equals ? toSqlEqualsClause(matcher) : toSqlLikeClause(matcher));
+            if (after != null) {
+                ps.setString(2, after.getGroup());
+                ps.setString(3, after.getGroup());
+                ps.setString(4, after.getName());
+            }
+            ps.setMaxRows(limit);
+            ps.setFetchSize(limit);
+            return ps;
+        } catch (SQLException e) {
+            closeStatement(ps);
+            throw e;
+        }
+    }
+
     protected boolean isMatcherEquals(final GroupMatcher<?> matcher) {
         return matcher.getCompareWithOperator().equals(StringMatcher.StringOperatorName.EQUALS);
     }
@@ -1055,52 +1566,15 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
     public int insertTrigger(Connection conn, OperableTrigger trigger, String state,
             JobDetail jobDetail) throws SQLException, IOException {
 
-        ByteArrayOutputStream baos = null;
-        if(!trigger.getJobDataMap().isEmpty()) {
-            baos = serializeJobData(trigger.getJobDataMap());
-        }
-        
         PreparedStatement ps = null;
 
         int insertResult;
 
         try {
             ps = conn.prepareStatement(rtp(INSERT_TRIGGER));
-            ps.setString(1, trigger.getKey().getName());
-            ps.setString(2, trigger.getKey().getGroup());
-            ps.setString(3, trigger.getJobKey().getName());
-            ps.setString(4, trigger.getJobKey().getGroup());
-            ps.setString(5, trigger.getDescription());
-            if(trigger.getNextFireTime() != null)
-                ps.setBigDecimal(6, new BigDecimal(String.valueOf(trigger
-                        .getNextFireTime().getTime())));
-            else
-                ps.setBigDecimal(6, null);
-            long prevFireTime = -1;
-            if (trigger.getPreviousFireTime() != null) {
-                prevFireTime = trigger.getPreviousFireTime().getTime();
-            }
-            ps.setBigDecimal(7, new BigDecimal(String.valueOf(prevFireTime)));
-            ps.setString(8, state);
             
             TriggerPersistenceDelegate tDel = findTriggerPersistenceDelegate(trigger);
-            
-            String type = TTYPE_BLOB;
-            if(tDel != null)
-                type = tDel.getHandledTriggerTypeDiscriminator();
-            ps.setString(9, type);
-            
-            ps.setBigDecimal(10, new BigDecimal(String.valueOf(trigger
-                    .getStartTime().getTime())));
-            long endTime = 0;
-            if (trigger.getEndTime() != null) {
-                endTime = trigger.getEndTime().getTime();
-            }
-            ps.setBigDecimal(11, new BigDecimal(String.valueOf(endTime)));
-            ps.setString(12, trigger.getCalendarName());
-            ps.setInt(13, trigger.getMisfireInstruction());
-            setBytes(ps, 14, baos);
-            ps.setInt(15, trigger.getPriority());
+            setInsertTriggerParameters(ps, trigger, state, tDel);
             
             insertResult = ps.executeUpdate();
             
@@ -1113,7 +1587,123 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
             closeStatement(ps);
         }
 
-        return insertResult;
+        return insertResult;
+    }
+
+    /**
+     * <p>
+     * Insert the base and extended data of several triggers as JDBC batches,
+     * unless this delegate does not
+     * <code>{@link #supportsBatchInserts() support}</code> batch inserts.  The
+     * base rows are inserted first, then the extended rows of each trigger
+     * type.
+     * </p>
+     *
+     * @param conn
+     *          the DB Connection
+     * @param triggers
+     *          the triggers to insert, none of which may exist yet
+     * @param states
+     *          the state each trigger should be stored in
+     * @param jobDetails
+     *          the job of each trigger
+     */
+    @Override
+    public void insertTriggers(Connection conn, List<OperableTrigger> triggers, List<String> states,
+            List<JobDetail> jobDetails) throws SQLException, IOException {
+        if (!supportsBatchInserts()) {
+            for (int i = 0; i < triggers.size(); i++) {
+                insertTrigger(conn, triggers.get(i), states.get(i), jobDetails.get(i));
+            }
+            return;
+        }
+        if (triggers.isEmpty()) {
+            return;
+        }
+
+        Map<TriggerPersistenceDelegate, List<Integer>> byDelegate = new LinkedHashMap<>();
+        List<OperableTrigger> blobTriggers = new ArrayList<>();
+
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(INSERT_TRIGGER));
+            for (int i = 0; i < triggers.size(); i++) {
+                OperableTrigger trigger = triggers.get(i);
+                TriggerPersistenceDelegate tDel = findTriggerPersistenceDelegate(trigger);
+                setInsertTriggerParameters(ps, trigger, states.get(i), tDel);
+                ps.addBatch();
+
+                if (tDel == null) {
+                    blobTriggers.add(trigger);
+                } else {
+                    byDelegate.computeIfAbsent(tDel, d -> new ArrayList<>()).add(i);
+                }
+            }
+
+            ps.executeBatch();
+        } finally {
+            closeStatement(ps);
+        }
+
+        for (OperableTrigger trigger : blobTriggers) {
+            insertBlobTrigger(conn, trigger);
+        }
+        for (Map.Entry<TriggerPersistenceDelegate, List<Integer>> entry : byDelegate.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            List<OperableTrigger> delegateTriggers = new ArrayList<>(indexes.size());
+            List<String> delegateStates = new ArrayList<>(indexes.size());
+            List<JobDetail> delegateJobs = new ArrayList<>(indexes.size());
+            for (int i : indexes) {
+                delegateTriggers.add(triggers.get(i));
+                delegateStates.add(states.get(i));
+                delegateJobs.add(jobDetails.get(i));
+            }
+            entry.getKey().insertExtendedTriggerProperties(conn, delegateTriggers, delegateStates, delegateJobs);
+        }
+    }
+
+    protected void setInsertTriggerParameters(PreparedStatement ps, OperableTrigger trigger, String state,
+            TriggerPersistenceDelegate tDel) throws SQLException, IOException {
+
+        ByteArrayOutputStream baos = null;
+        if(!trigger.getJobDataMap().isEmpty()) {
+            baos = serializeJobData(trigger.getJobDataMap());
+        }
+
+        ps.setString(1, trigger.getKey().getName());
+        ps.setString(2, trigger.getKey().getGroup());
+        ps.setString(3, trigger.getJobKey().getName());
+        ps.setString(4, trigger.getJobKey().getGroup());
+        ps.setString(5, trigger.getDescription());
+        if(trigger.getNextFireTime() != null)
+            ps.setBigDecimal(6, new BigDecimal(String.valueOf(trigger
+                    .getNextFireTime().getTime())));
+        else
+            ps.setBigDecimal(6, null);
+        long prevFireTime = -1;
+        if (trigger.getPreviousFireTime() != null) {
+            prevFireTime = trigger.getPreviousFireTime().getTime();
+        }
+        ps.setBigDecimal(7, new BigDecimal(String.valueOf(prevFireTime)));
+        ps.setString(8, state);
+
+        String type = TTYPE_BLOB;
+        if(tDel != null)
+            type = tDel.getHandledTriggerTypeDiscriminator();
+        ps.setString(9, type);
+
+        ps.setBigDecimal(10, new BigDecimal(String.valueOf(trigger
+                .getStartTime().getTime())));
+        long endTime = 0;
+        if (trigger.getEndTime() != null) {
+            endTime = trigger.getEndTime().getTime();
+        }
+        ps.setBigDecimal(11, new BigDecimal(String.valueOf(endTime)));
+        ps.setString(12, trigger.getCalendarName());
+        ps.setInt(13, trigger.getMisfireInstruction());
+        setBytes(ps, 14, baos);
+        ps.setInt(15, trigger.getPriority());
     }
 
     /**
@@ -1130,16 +1720,10 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
     public int insertBlobTrigger(Connection conn, OperableTrigger trigger)
         throws SQLException, IOException {
         PreparedStatement ps = null;
-        ByteArrayOutputStream os;
 
         try {
             // update the blob
-            os = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(os);
-            oos.writeObject(trigger);
-            oos.close();
-
-            byte[] buf = os.toByteArray();
+            byte[] buf = serializeObject(trigger).toByteArray();
             ByteArrayInputStream is = new ByteArrayInputStream(buf);
 
             ps = conn.prepareStatement(rtp(INSERT_BLOB_TRIGGER));
@@ -1251,6 +1835,62 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         return insertResult;
     }
 
+    /**
+     * <p>
+     * Update the fire times, state and fire counters of the given trigger,
+     * leaving its job data, schedule and other columns untouched.  Triggers
+     * stored as BLOBs, and triggers with a dirty <code>JobDataMap</code>, are
+     * updated in full.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param trigger
+     *          the trigger that fired
+     * @param state
+     *          the state that the trigger should be stored in
+     * @return the number of rows updated
+     */
+    @Override
+    public int updateTriggerFireState(Connection conn, OperableTrigger trigger, String state,
+            JobDetail jobDetail) throws SQLException, IOException {
+
+        TriggerPersistenceDelegate tDel = findTriggerPersistenceDelegate(trigger);
+        if (tDel == null || trigger.getJobDataMap().isDirty()) {
+            return updateTrigger(conn, trigger, state, jobDetail);
+        }
+
+        PreparedStatement ps = null;
+        int updateResult;
+
+        try {
+            ps = prepareCachedStatement(conn, UPDATE_TRIGGER_FIRE_STATE);
+            long nextFireTime = -1;
+            if (trigger.getNextFireTime() != null) {
+                nextFireTime = trigger.getNextFireTime().getTime();
+            }
+            ps.setBigDecimal(1, new BigDecimal(String.valueOf(nextFireTime)));
+            long prevFireTime = -1;
+            if (trigger.getPreviousFireTime() != null) {
+                prevFireTime = trigger.getPreviousFireTime().getTime();
+            }
+            ps.setBigDecimal(2, new BigDecimal(String.valueOf(prevFireTime)));
+            ps.setString(3, state);
+            ps.setString(4, trigger.getKey().getName());
+            ps.setString(5, trigger.getKey().getGroup());
+
+            updateResult = ps.executeUpdate();
+        } finally {
+            releaseStatement(ps);
+        }
+
+        if (updateResult > 0) {
+            tDel.updateExtendedTriggerFireState(conn, trigger, state, jobDetail);
+        }
+
+        return updateResult;
+    }
+
     /**
      * <p>
      * Update the blob trigger data.
@@ -1266,13 +1906,9 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         throws SQLException, IOException {
         PreparedStatement ps = null;
 
-        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+        try {
             // update the blob
-            ObjectOutputStream oos = new ObjectOutputStream(os);
-            oos.writeObject(trigger);
-            oos.close();
-
-            byte[] buf = os.toByteArray();
+            byte[] buf = serializeObject(trigger).toByteArray();
             ByteArrayInputStream is = new ByteArrayInputStream(buf);
 
             ps = conn.prepareStatement(rtp(UPDATE_BLOB_TRIGGER));
@@ -1312,6 +1948,82 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Select which of the given triggers exist, with a single query.
+     * </p>
+     *
+     * @param conn
+     *          the DB Connection
+     * @param triggerKeys
+     *          the triggers to check
+     * @return the keys of the triggers that exist
+     */
+    @Override
+    public Set<TriggerKey> selectExistingTriggerKeys(Connection conn, Collection<TriggerKey> triggerKeys)
+        throws SQLException {
+        Set<TriggerKey> existing = new HashSet<>();
+        if (triggerKeys.isEmpty()) {
+            return existing;
+        }
+
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(SELECT_TRIGGERS_EXISTENCE)
+                    + keyTerms(COL_TRIGGER_NAME, COL_TRIGGER_GROUP, triggerKeys.size()));
+            setKeyTerms(ps, 1, triggerKeys);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                existing.add(triggerKey(rs.getString(1), rs.getString(2)));
+            }
+            return existing;
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+    }
+
+    /**
+     * <p>
+     * Select the jobs of those of the given triggers that exist, with a
+     * single query.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param triggerKeys
+     *          the triggers to select
+     * @return the key of the job of each trigger that exists
+     */
+    @Override
+    public Map<TriggerKey, JobKey> selectJobKeysForTriggers(Connection conn, Collection<TriggerKey> triggerKeys)
+        throws SQLException {
+        Map<TriggerKey, JobKey> jobKeys = new LinkedHashMap<>();
+        if (triggerKeys.isEmpty()) {
+            return jobKeys;
+        }
+
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(SELECT_JOBS_FOR_TRIGGERS)
+                    + keyTerms(COL_TRIGGER_NAME, COL_TRIGGER_GROUP, triggerKeys.size()));
+            setKeyTerms(ps, 1, triggerKeys);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                jobKeys.put(triggerKey(rs.getString(1), rs.getString(2)),
+                        jobKey(rs.getString(3), rs.getString(4)));
+            }
+            return jobKeys;
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+    }
+
     /**
      * <p>
      * Update the state for a given trigger.
@@ -1328,13 +2040,13 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         PreparedStatement ps = null;
 
         try {
-            ps = conn.prepareStatement(rtp(UPDATE_TRIGGER_STATE));
+            ps = prepareCachedStatement(conn, UPDATE_TRIGGER_STATE);
             ps.setString(1, state);
             ps.setString(2, triggerKey.getName());
             ps.setString(3, triggerKey.getGroup());
             return ps.executeUpdate();
         } finally {
-            closeStatement(ps);
+            releaseStatement(ps);
         }
     }
 
@@ -1419,6 +2131,47 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Update all of the triggers of jobs in groups matching the given matcher
+     * to the given new state, if they are in one of the given old states.
+     * </p>
+     * 
+     * @param conn
+     *          the DB connection
+     * @param matcher
+     *          the group matcher to evaluate against the known jobs
+     * @param newState
+     *          the new state for the triggers
+     * @param oldState1
+     *          one of the old state the trigger must be in
+     * @param oldState2
+     *          one of the old state the trigger must be in
+     * @param oldState3
+     *          one of the old state the trigger must be in
+     * @return int the number of rows updated
+     */
+    @Override
+    public int updateTriggerStatesForJobGroupFromOtherStates(Connection conn,
+            GroupMatcher<JobKey> matcher, String newState, String oldState1,
+            String oldState2, String oldState3) throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn
+                    .prepareStatement(rtp(UPDATE_JOB_GROUP_TRIGGER_STATES_FROM_STATES));
+            ps.setString(1, newState);
+            ps.setString(2, toSqlLikeClause(matcher));
+            ps.setString(3, oldState1);
+            ps.setString(4, oldState2);
+            ps.setString(5, oldState3);
+
+            return ps.executeUpdate();
+        } finally {
+            closeStatement(ps);
+        }
+    }
+
     /**
      * <p>
      * Update the given trigger to the given new state, if it is in the given
@@ -1439,7 +2192,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         PreparedStatement ps = null;
 
         try {
-            ps = conn.prepareStatement(rtp(UPDATE_TRIGGER_STATE_FROM_STATE));
+            ps = prepareCachedStatement(conn, UPDATE_TRIGGER_STATE_FROM_STATE);
             ps.setString(1, newState);
             ps.setString(2, triggerKey.getName());
             ps.setString(3, triggerKey.getGroup());
@@ -1447,10 +2200,29 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
 
             return ps.executeUpdate();
         } finally {
-            closeStatement(ps);
+            releaseStatement(ps);
         }
     }
 
+    /**
+     * <p>
+     * Update the given triggers to the given new state, if they are in the
+     * given old state, as one JDBC batch.
+     * </p>
+     * 
+     * @param conn
+     *          the DB connection
+     * @param newState
+     *          the new state for the triggers
+     * @param oldState
+     *          the old state the triggers must be in
+     */
+    @Override
+    public void updateTriggerStatesFromOtherState(Connection conn,
+            Collection<TriggerKey> triggerKeys, String newState, String oldState) throws SQLException {
+        executeKeyStateBatch(conn, UPDATE_TRIGGER_STATE_FROM_STATE, triggerKeys, newState, oldState);
+    }
+
     /**
      * <p>
      * Update all of the triggers of the given group to the given new state, if
@@ -1513,6 +2285,35 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Assign all triggers associated with the given job to the given lock
+     * partition.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param lockPartition
+     *          the lock partition of the job's triggers
+     * @return the number of rows updated
+     */
+    public int updateTriggerLockPartitionForJob(Connection conn, JobKey jobKey,
+            int lockPartition) throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(UPDATE_JOB_TRIGGERS_LOCK_PARTITION));
+            ps.setInt(1, lockPartition);
+            ps.setString(2, jobKey.getName());
+            ps.setString(3, jobKey.getGroup());
+            ps.setInt(4, lockPartition);
+
+            return ps.executeUpdate();
+        } finally {
+            closeStatement(ps);
+        }
+    }
+
     public int updateTriggerStatesForJobFromOtherState(Connection conn,
             JobKey jobKey, String state, String oldState)
         throws SQLException {
@@ -1532,6 +2333,26 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Update the states of any triggers associated with the given jobs, that
+     * are the given current state, as one JDBC batch.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param state
+     *          the new state for the triggers
+     * @param oldState
+     *          the old state of the triggers
+     */
+    @Override
+    public void updateTriggerStatesForJobsFromOtherState(Connection conn,
+            Collection<JobKey> jobKeys, String state, String oldState)
+        throws SQLException {
+        executeKeyStateBatch(conn, UPDATE_JOB_TRIGGER_STATES_FROM_OTHER_STATE, jobKeys, state, oldState);
+    }
+
     /**
      * <p>
      * Delete the cron trigger data for a trigger.
@@ -1591,6 +2412,83 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         deleteBlobTrigger(conn, triggerKey); 
     }
 
+    /**
+     * <p>
+     * Delete the base and extended data of several triggers as JDBC batches:
+     * one per trigger type, one for the blob triggers and one for the base
+     * rows.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     */
+    @Override
+    public void deleteTriggers(Connection conn, Collection<TriggerKey> triggerKeys) throws SQLException {
+        if (triggerKeys.isEmpty()) {
+            return;
+        }
+
+        for(TriggerPersistenceDelegate tDel: triggerPersistenceDelegates) {
+            tDel.deleteExtendedTriggerProperties(conn, triggerKeys);
+        }
+        executeKeyBatch(conn, DELETE_BLOB_TRIGGER, triggerKeys);
+        executeKeyBatch(conn, DELETE_TRIGGER, triggerKeys);
+    }
+
+    /**
+     * Execute the given (unexpanded) statement, whose parameters are a name
+     * and a group, once for each of the given keys as one JDBC batch.
+     */
+    private void executeKeyBatch(Connection conn, String query, Collection<? extends Key<?>> keys) throws SQLException {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(query));
+            for (Key<?> key : keys) {
+                ps.setString(1, key.getName());
+                ps.setString(2, key.getGroup());
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            closeStatement(ps);
+        }
+    }
+
+    /**
+     * Execute the given (unexpanded) statement, whose parameters are a new
+     * state, a name, a group and an old state, once for each of the given
+     * keys as one JDBC batch.
+     */
+    private void executeKeyStateBatch(Connection conn, String query, Collection<? extends Key<?>> keys,
+            String newState, String oldState) throws SQLException {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(query));
+            for (Key<?> key : keys) {
+                ps.setString(1, newState);
+                ps.setString(2, key.getName());
+                ps.setString(3, key.getGroup());
+                ps.setString(4, oldState);
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            closeStatement(ps);
+        }
+    }
+
     /**
      * <p>
      * Select the number of triggers associated with a given job.
@@ -1825,6 +2723,48 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         return trigList;
     }
 
+    public List<OperableTrigger> selectTriggersToForecast(Connection conn, GroupMatcher<JobKey> matcher, long noLaterThan)
+        throws SQLException, ClassNotFoundException, IOException, JobPersistenceException {
+        List<OperableTrigger> trigList = new ArrayList<>();
+        List<TriggerKey> keys = new ArrayList<>();
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(useEnhancedStatements ? SELECT_TRIGGERS_TO_FORECAST_V2 : SELECT_TRIGGERS_TO_FORECAST));
+            ps.setBigDecimal(1, new BigDecimal(String.valueOf(noLaterThan)));
+            ps.setString(2, toSqlLikeClause(matcher));
+            ps.setString(3, STATE_WAITING);
+            ps.setString(4, STATE_ACQUIRED);
+            ps.setString(5, STATE_BLOCKED);
+            if (fetchSize != 0) {
+                ps.setFetchSize(fetchSize);
+            }
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                TriggerKey key = triggerKey(rs.getString(COL_TRIGGER_NAME), rs.getString(COL_TRIGGER_GROUP));
+                if (useEnhancedStatements) {
+                    trigList.add(handleTriggerV2(rs, conn, key));
+                } else {
+                    keys.add(key);
+                }
+            }
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+
+        for (TriggerKey key : keys) {
+            OperableTrigger trigger = selectTrigger(conn, key);
+            // deleted since
+            if (trigger != null) {
+                trigList.add(trigger);
+            }
+        }
+        return trigList;
+    }
+
     public List<OperableTrigger> getTriggersByJobAndTriggerGroup(Connection conn, GroupMatcher<JobKey> jobMatcher, GroupMatcher<TriggerKey> triggerMatcher) throws SQLException, ClassNotFoundException,
         IOException, JobPersistenceException {
 
@@ -2191,7 +3131,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         try {
             String state;
 
-            ps = conn.prepareStatement(rtp(SELECT_TRIGGER_STATE));
+            ps = prepareCachedStatement(conn, SELECT_TRIGGER_STATE);
             ps.setString(1, triggerKey.getName());
             ps.setString(2, triggerKey.getGroup());
             rs = ps.executeQuery();
@@ -2205,7 +3145,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
             return state.intern();
         } finally {
             closeResultSet(rs);
-            closeStatement(ps);
+            releaseStatement(ps);
         }
 
     }
@@ -2227,7 +3167,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         try {
             TriggerStatus status = null;
 
-            ps = conn.prepareStatement(rtp(SELECT_TRIGGER_STATUS));
+            ps = prepareCachedStatement(conn, SELECT_TRIGGER_STATUS);
             ps.setString(1, triggerKey.getName());
             ps.setString(2, triggerKey.getGroup());
             rs = ps.executeQuery();
@@ -2251,7 +3191,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
             return status;
         } finally {
             closeResultSet(rs);
-            closeStatement(ps);
+            releaseStatement(ps);
         }
 
     }
@@ -2347,6 +3287,13 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
      * @return a Set of <code>TriggerKey</code>s
      */
     public Set<TriggerKey> selectTriggersInGroup(Connection conn, GroupMatcher<TriggerKey> matcher)
+        throws SQLException {
+        Set<TriggerKey> keys = new HashSet<>();
+        selectTriggersInGroup(conn, matcher, keys::add);
+        return keys;
+    }
+
+    public void selectTriggersInGroup(Connection conn, GroupMatcher<TriggerKey> matcher, Consumer<? super TriggerKey> action)
         throws SQLException {
         PreparedStatement ps = null;
         ResultSet rs = null;
@@ -2360,13 +3307,35 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
                 ps = conn.prepareStatement(rtp(SELECT_TRIGGERS_IN_GROUP_LIKE));
                 ps.setString(1, toSqlLikeClause(matcher));
             }
+            if (fetchSize != 0) {
+                ps.setFetchSize(fetchSize);
+            }
             rs = ps.executeQuery();
 
-            Set<TriggerKey> keys = new HashSet<>();
             while (rs.next()) {
-                keys.add(triggerKey(rs.getString(1), rs.getString(2)));
+                action.accept(triggerKey(rs.getString(1), rs.getString(2)));
             }
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+    }
 
+    public List<TriggerKey> selectTriggersInGroup(Connection conn, GroupMatcher<TriggerKey> matcher, TriggerKey after, int limit)
+        throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = prepareKeyPageStatement(conn, matcher, after, limit,
+                    SELECT_TRIGGERS_IN_GROUP_PAGE, SELECT_TRIGGERS_IN_GROUP_LIKE_PAGE,
+                    SELECT_TRIGGERS_IN_GROUP_PAGE_AFTER, SELECT_TRIGGERS_IN_GROUP_LIKE_PAGE_AFTER);
+            rs = ps.executeQuery();
+
+            List<TriggerKey> keys = new ArrayList<>();
+            while (keys.size() < limit && rs.next()) {
+                keys.add(triggerKey(rs.getString(1), rs.getString(2)));
+            }
             return keys;
         } finally {
             closeResultSet(rs);
@@ -2603,6 +3572,69 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         }
     }
 
+    /**
+     * <p>
+     * Select the data version of a calendar.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param calendarName
+     *          the name of the calendar
+     * @return the data version of the calendar, <code>0</code> if the calendar
+     *         has never been versioned, <code>{@link VersionedCache#UNVERSIONED}</code>
+     *         if it has no version at all, or <code>null</code> if the
+     *         calendar does not exist
+     */
+    public Long selectCalendarVersion(Connection conn, String calendarName)
+        throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = prepareCachedStatement(conn, SELECT_CALENDAR_VERSION);
+            ps.setString(1, calendarName);
+            rs = ps.executeQuery();
+
+            if (rs.next()) {
+                long version = rs.getLong(COL_DATA_VERSION);
+                return rs.wasNull() ? VersionedCache.UNVERSIONED : version;
+            }
+            return null;
+        } finally {
+            closeResultSet(rs);
+            releaseStatement(ps);
+        }
+    }
+
+    /**
+     * <p>
+     * Update the data version of a calendar.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param calendarName
+     *          the name of the calendar
+     * @param version
+     *          the new data version
+     * @return the number of rows updated
+     */
+    public int updateCalendarVersion(Connection conn, String calendarName, long version)
+        throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(UPDATE_CALENDAR_VERSION));
+            ps.setLong(1, version);
+            ps.setString(2, calendarName);
+
+            return ps.executeUpdate();
+        } finally {
+            closeStatement(ps);
+        }
+    }
+
     /**
      * <p>
      * Check whether or not a calendar is referenced by any triggers.
@@ -2833,7 +3865,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         ResultSet rs = null;
         List<TriggerKey> nextTriggers = new LinkedList<>();
         try {
-            ps = conn.prepareStatement(rtp(SELECT_NEXT_TRIGGER_TO_ACQUIRE));
+            ps = prepareCachedStatement(conn, SELECT_NEXT_TRIGGER_TO_ACQUIRE);
             
             // Set max rows to retrieve
             if (maxCount < 1)
@@ -2856,6 +3888,82 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
             }
             
             return nextTriggers;
+        } finally {
+            closeResultSet(rs);
+            releaseStatement(ps);
+        }      
+    }
+
+    public List<TriggerKey> selectTriggerToAcquire(Connection conn, long noLaterThan, long noEarlierThan, int maxCount, int lockPartition)
+        throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        List<TriggerKey> nextTriggers = new LinkedList<>();
+        try {
+            ps = prepareCachedStatement(conn, SELECT_NEXT_TRIGGER_TO_ACQUIRE_IN_PARTITION);
+            
+            if (maxCount < 1)
+                maxCount = 1; // we want at least one trigger back.
+            ps.setMaxRows(maxCount);
+            ps.setFetchSize(maxCount);
+            
+            ps.setInt(1, lockPartition);
+            ps.setString(2, STATE_WAITING);
+            ps.setBigDecimal(3, new BigDecimal(String.valueOf(noLaterThan)));
+            ps.setBigDecimal(4, new BigDecimal(String.valueOf(noEarlierThan)));
+            rs = ps.executeQuery();
+            
+            while (rs.next() && nextTriggers.size() < maxCount) {
+                nextTriggers.add(triggerKey(
+                        rs.getString(COL_TRIGGER_NAME),
+                        rs.getString(COL_TRIGGER_GROUP)));
+            }
+            
+            return nextTriggers;
+        } finally {
+            closeResultSet(rs);
+            releaseStatement(ps);
+        }      
+    }
+
+    public int selectNextLockPartitionToAcquire(Connection conn, long noLaterThan, long noEarlierThan, int[] lockPartitions)
+        throws SQLException {
+        String statement = SELECT_NEXT_LOCK_PARTITION_TO_ACQUIRE;
+        if (lockPartitions != null) {
+            if (lockPartitions.length == 0) {
+                return -1;
+            }
+            // triggers without a lock partition are acquired by anyone
+            StringBuilder inClause = new StringBuilder("AND (").append(COL_LOCK_PARTITION).append(" IN (");
+            for (int i = 0; i < lockPartitions.length; i++) {
+                inClause.append(i == 0 ? "?" : ", ?");
+            }
+            statement += inClause.append(") OR ").append(COL_LOCK_PARTITION).append(" IS NULL) ");
+        }
+        statement += SELECT_NEXT_LOCK_PARTITION_TO_ACQUIRE_ORDER_BY;
+
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = conn.prepareStatement(rtp(statement));
+            ps.setMaxRows(1);
+            ps.setFetchSize(1);
+            
+            ps.setString(1, STATE_WAITING);
+            ps.setBigDecimal(2, new BigDecimal(String.valueOf(noLaterThan)));
+            ps.setBigDecimal(3, new BigDecimal(String.valueOf(noEarlierThan)));
+            if (lockPartitions != null) {
+                for (int i = 0; i < lockPartitions.length; i++) {
+                    ps.setInt(4 + i, lockPartitions[i]);
+                }
+            }
+            rs = ps.executeQuery();
+            
+            if (rs.next()) {
+                int lockPartition = rs.getInt(COL_LOCK_PARTITION);
+                return rs.wasNull() ? LOCK_PARTITION_UNASSIGNED : lockPartition;
+            }
+            return -1;
         } finally {
             closeResultSet(rs);
             closeStatement(ps);
@@ -2879,7 +3987,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
             String state, JobDetail job) throws SQLException {
         PreparedStatement ps = null;
         try {
-            ps = conn.prepareStatement(rtp(INSERT_FIRED_TRIGGER));
+            ps = prepareCachedStatement(conn, INSERT_FIRED_TRIGGER);
             ps.setString(1, trigger.getFireInstanceId());
             ps.setString(2, trigger.getKey().getName());
             ps.setString(3, trigger.getKey().getGroup());
@@ -2902,7 +4010,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
 
             return ps.executeUpdate();
         } finally {
-            closeStatement(ps);
+            releaseStatement(ps);
         }
     }
 
@@ -2923,7 +4031,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
             String state, JobDetail job) throws SQLException {
         PreparedStatement ps = null;
         try {
-            ps = conn.prepareStatement(rtp(UPDATE_FIRED_TRIGGER));
+            ps = prepareCachedStatement(conn, UPDATE_FIRED_TRIGGER);
             
             ps.setString(1, instanceId);
 
@@ -2948,7 +4056,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
 
             return ps.executeUpdate();
         } finally {
-            closeStatement(ps);
+            releaseStatement(ps);
         }
     }
     
@@ -3060,6 +4168,22 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
 
     public List<FiredTriggerRecord> selectInstancesFiredTriggerRecords(Connection conn,
             String instanceName) throws SQLException {
+        return selectInstancesFiredTriggerRecords(conn, instanceName, 0);
+    }
+
+    /**
+     * <p>
+     * Select the states of at most the given number of fired-trigger records
+     * for a given scheduler instance.
+     * </p>
+     * 
+     * @param maxCount
+     *          the maximum number of records, or <code>0</code> for all of them
+     * @return a List of FiredTriggerRecord objects.
+     */
+    @Override
+    public List<FiredTriggerRecord> selectInstancesFiredTriggerRecords(Connection conn,
+            String instanceName, int maxCount) throws SQLException {
         PreparedStatement ps = null;
         ResultSet rs = null;
         try {
@@ -3067,6 +4191,9 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
 
             ps = conn.prepareStatement(rtp(SELECT_INSTANCES_FIRED_TRIGGERS));
             ps.setString(1, instanceName);
+            if (maxCount > 0) {
+                ps.setMaxRows(maxCount);
+            }
             rs = ps.executeQuery();
 
             while (rs.next()) {
@@ -3145,11 +4272,79 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         throws SQLException {
         PreparedStatement ps = null;
         try {
-            ps = conn.prepareStatement(rtp(DELETE_FIRED_TRIGGER));
+            ps = prepareCachedStatement(conn, DELETE_FIRED_TRIGGER);
             ps.setString(1, entryId);
 
             return ps.executeUpdate();
         } finally {
+            releaseStatement(ps);
+        }
+    }
+
+    /**
+     * <p>
+     * Delete several fired triggers as one JDBC batch.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @param entryIds
+     *          the fired trigger entries to delete
+     */
+    @Override
+    public void deleteFiredTriggers(Connection conn, Collection<String> entryIds)
+        throws SQLException {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+
+        PreparedStatement ps = null;
+        try {
+            ps = conn.prepareStatement(rtp(DELETE_FIRED_TRIGGER));
+            for (String entryId : entryIds) {
+                ps.setString(1, entryId);
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        } finally {
+            closeStatement(ps);
+        }
+    }
+
+    /**
+     * <p>
+     * Select which of the given triggers are complete and have no
+     * fired-trigger records left, with a single query.
+     * </p>
+     * 
+     * @param conn
+     *          the DB Connection
+     * @return the keys of the complete triggers
+     */
+    @Override
+    public List<TriggerKey> selectCompleteTriggerKeysNotFired(Connection conn, Collection<TriggerKey> triggerKeys)
+        throws SQLException {
+        List<TriggerKey> complete = new ArrayList<>();
+        if (triggerKeys.isEmpty()) {
+            return complete;
+        }
+
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(SELECT_COMPLETE_TRIGGERS_NOT_FIRED)
+                    + keyTerms("T." + COL_TRIGGER_NAME, "T." + COL_TRIGGER_GROUP, triggerKeys.size()));
+            ps.setString(1, STATE_COMPLETE);
+            setKeyTerms(ps, 2, triggerKeys);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                complete.add(triggerKey(rs.getString(1), rs.getString(2)));
+            }
+            return complete;
+        } finally {
+            closeResultSet(rs);
             closeStatement(ps);
         }
     }
@@ -3231,13 +4426,38 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
             rs = ps.executeQuery();
 
             while (rs.next()) {
-                SchedulerStateRecord rec = new SchedulerStateRecord();
+                lst.add(readSchedulerStateRecord(rs));
+            }
 
-                rec.setSchedulerInstanceId(rs.getString(COL_INSTANCE_NAME));
-                rec.setCheckinTimestamp(rs.getLong(COL_LAST_CHECKIN_TIME));
-                rec.setCheckinInterval(rs.getLong(COL_CHECKIN_INTERVAL));
+            return lst;
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
 
-                lst.add(rec);
+    }
+
+    /**
+     * <p>
+     * Select the <code>SchedulerStateRecords</code> of the instances that
+     * last checked in before the given time, using the index on the
+     * check-in time where there is one.
+     * </p>
+     */
+    @Override
+    public List<SchedulerStateRecord> selectStaleSchedulerStateRecords(Connection conn, long checkinBefore)
+        throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            List<SchedulerStateRecord> lst = new LinkedList<>();
+
+            ps = conn.prepareStatement(rtp(SELECT_STALE_SCHEDULER_STATES));
+            ps.setLong(1, checkinBefore);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                lst.add(readSchedulerStateRecord(rs));
             }
 
             return lst;
@@ -3245,7 +4465,16 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
             closeResultSet(rs);
             closeStatement(ps);
         }
+    }
 
+    private SchedulerStateRecord readSchedulerStateRecord(ResultSet rs) throws SQLException {
+        SchedulerStateRecord rec = new SchedulerStateRecord();
+
+        rec.setSchedulerInstanceId(rs.getString(COL_INSTANCE_NAME));
+        rec.setCheckinTimestamp(rs.getLong(COL_LAST_CHECKIN_TIME));
+        rec.setCheckinInterval(rs.getLong(COL_CHECKIN_INTERVAL));
+
+        return rec;
     }
 
     //---------------------------------------------------------------------------
@@ -3263,7 +4492,77 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
      * @return the query, with proper table prefix substituted
      */
     protected final String rtp(String query) {
-        return Util.rtp(query, tablePrefix, getSchedulerNameLiteral());
+        String expanded = expandedQueries.get(query);
+        if (expanded == null) {
+            expanded = Util.rtp(query, tablePrefix, getSchedulerNameLiteral());
+            if (expandedQueries.size() < MAX_EXPANDED_QUERIES) {
+                expandedQueries.put(query, expanded);
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * <p>
+     * Prepare the given (unexpanded) query on the given connection, re-using
+     * the statement prepared for it earlier on the same connection if the
+     * statement cache is enabled.
+     * </p>
+     * 
+     * <p>
+     * Statements obtained here must be released with
+     * <code>{@link #releaseStatement(PreparedStatement)}</code> rather than
+     * closed, and must not be used by callers that may execute the same query
+     * again while still reading its results.
+     * </p>
+     * 
+     * @see #setUseStatementCache(boolean)
+     * @see #releaseCachedStatements(Connection)
+     */
+    protected PreparedStatement prepareCachedStatement(Connection conn, String query) throws SQLException {
+        if (!useStatementCache) {
+            return conn.prepareStatement(rtp(query));
+        }
+
+        Map<String, PreparedStatement> statements = cachedStatements.get(conn);
+        if (statements == null) {
+            statements = new HashMap<>();
+            cachedStatements.put(conn, statements);
+        }
+        PreparedStatement ps = statements.get(query);
+        if (ps == null) {
+            ps = conn.prepareStatement(rtp(query));
+            statements.put(query, ps);
+        }
+        return ps;
+    }
+
+    /**
+     * <p>
+     * Release a statement obtained from
+     * <code>{@link #prepareCachedStatement(Connection, String)}</code>,
+     * closing it unless it is held by the statement cache.
+     * </p>
+     */
+    protected void releaseStatement(PreparedStatement ps) {
+        if (!useStatementCache) {
+            closeStatement(ps);
+        }
+    }
+
+    /**
+     * <p>
+     * Close every statement cached for the given connection.
+     * </p>
+     */
+    @Override
+    public void releaseCachedStatements(Connection conn) {
+        Map<String, PreparedStatement> statements = cachedStatements.remove(conn);
+        if (statements != null) {
+            for (PreparedStatement ps : statements.values()) {
+                closeStatement(ps);
+            }
+        }
     }
 
     private String schedNameLiteral = null;
@@ -3289,13 +4588,31 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
         throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         if (null != obj) {
-            ObjectOutputStream out = new ObjectOutputStream(baos);
-            out.writeObject(obj);
-            out.flush();
+            blobSerializer.serialize(obj, baos);
         }
         return baos;
     }
 
+    /**
+     * <p>
+     * Read an Object from the serialized form held by a BLOB.
+     * </p>
+     * 
+     * @param binaryInput
+     *          the stream of the BLOB's bytes, which is closed once read
+     * @return the deserialized Object
+     * @throws ClassNotFoundException
+     *           if a class found during deserialization cannot be found
+     * @throws IOException
+     *           if deserialization causes an error
+     */
+    protected Object deserializeObject(InputStream binaryInput)
+        throws ClassNotFoundException, IOException {
+        try (InputStream in = binaryInput) {
+            return blobSerializer.deserialize(in);
+        }
+    }
+
     /**
      * <p>
      * Remove the transient data from and then create a serialized <code>java.util.ByteArrayOutputStream</code>
@@ -3426,9 +4743,7 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
                     && ((ByteArrayInputStream) binaryInput).available() == 0 ) {
                     //do nothing
                 } else {
-                    try (ObjectInputStream in = new ObjectInputStream(binaryInput)) {
-                        obj = in.readObject();
-                    }
+                    obj = deserializeObject(binaryInput);
                 }
             }
 
@@ -3570,6 +4885,27 @@ public class StdJDBCDelegate implements DriverDelegate, StdJDBCConstants {
     public void setUseEnhancedStatements(boolean useEnhancedStatements) {
         this.useEnhancedStatements = useEnhancedStatements;
     }
+
+    @Override
+    public boolean isUsingStatementCache() {
+        return this.useStatementCache;
+    }
+
+    @Override
+    public void setUseStatementCache(boolean useStatementCache) {
+        this.useStatementCache = useStatementCache;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    @Override
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
     @FunctionalInterface
     protected interface PreparedStatementConsumer {
         void accept(PreparedStatement ps) throws SQLException;
@@ -20,6 +20,8 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 
 import org.quartz.JobDetail;
 import org.quartz.ScheduleBuilder;
@@ -42,10 +44,42 @@ public interface TriggerPersistenceDelegate {
     
     int insertExtendedTriggerProperties(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) throws SQLException, IOException;
 
+    /**
+     * Insert the extended properties of several triggers of the handled type,
+     * preferably as one JDBC batch.  The states and jobs are given in the same
+     * order as the triggers.  By default the triggers are inserted one at a
+     * time.
+     */
+    default void insertExtendedTriggerProperties(Connection conn, List<OperableTrigger> triggers, List<String> states, List<JobDetail> jobDetails) throws SQLException, IOException {
+        for (int i = 0; i < triggers.size(); i++) {
+            insertExtendedTriggerProperties(conn, triggers.get(i), states.get(i), jobDetails.get(i));
+        }
+    }
+
     int updateExtendedTriggerProperties(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) throws SQLException, IOException;
+
+    /**
+     * Update only those extended properties that change when the trigger
+     * fires (such as its fire count).  By default all extended properties
+     * are updated.
+     */
+    default int updateExtendedTriggerFireState(Connection conn, OperableTrigger trigger, String state, JobDetail jobDetail) throws SQLException, IOException {
+        return updateExtendedTriggerProperties(conn, trigger, state, jobDetail);
+    }
     
     int deleteExtendedTriggerProperties(Connection conn, TriggerKey triggerKey) throws SQLException;
 
+    /**
+     * Delete the extended properties of several triggers, preferably as one
+     * JDBC batch.  The triggers need not be of the handled type.  By default
+     * the triggers are deleted one at a time.
+     */
+    default void deleteExtendedTriggerProperties(Connection conn, Collection<TriggerKey> triggerKeys) throws SQLException {
+        for (TriggerKey triggerKey : triggerKeys) {
+            deleteExtendedTriggerProperties(conn, triggerKey);
+        }
+    }
+
     TriggerPropertyBundle loadExtendedTriggerProperties(Connection conn, TriggerKey triggerKey) throws SQLException;
 
     default TriggerPropertyBundle loadExtendedTriggerPropertiesFromResultSet(ResultSet resultSet, TriggerKey triggerKey) throws SQLException {
@@ -21,7 +21,6 @@ package org.quartz.impl.jdbcjobstore.oracle;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.math.BigDecimal;
 import java.sql.Blob;
 import java.sql.Connection;
@@ -135,14 +134,21 @@ public class OracleDelegate extends StdJDBCDelegate {
         Object obj = null;
         InputStream binaryInput = rs.getBinaryStream(colName);
         if (binaryInput != null) {
-            try (ObjectInputStream in = new ObjectInputStream(binaryInput)) {
-                obj = in.readObject();
-            }
+            obj = deserializeObject(binaryInput);
         }
 
         return obj;
     }
 
+    /**
+     * Jobs and triggers are inserted with more than one statement, so they are
+     * never inserted in batches.
+     */
+    @Override
+    protected boolean supportsBatchInserts() {
+        return false;
+    }
+
     @Override
     public int insertJobDetail(Connection conn, JobDetail job)
         throws IOException, SQLException {
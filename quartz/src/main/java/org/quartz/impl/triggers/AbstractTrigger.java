@@ -19,6 +19,8 @@
 
 package org.quartz.impl.triggers;
 
+import java.util.Date;
+
 import org.quartz.Calendar;
 import org.quartz.CronTrigger;
 import org.quartz.JobDataMap;
@@ -694,6 +696,40 @@ public abstract class AbstractTrigger<T extends Trigger> implements OperableTrig
         return copy;
     }
     
+    /**
+     * <p>
+     * Returns the next time at which the <code>Trigger</code> will fire after
+     * the given fire time, which the given <code>Calendar</code> excludes.
+     * When the <code>Calendar</code> can tell where the range of time it
+     * excludes ends, the fire times within that range are skipped in one
+     * step, rather than tried one by one.
+     * </p>
+     * 
+     * @see Calendar#getNextIncludedIntervalStart(long)
+     */
+    protected Date getFireTimeAfterExcluded(Calendar calendar, Date excludedFireTime) {
+        long includedTime = calendar.getNextIncludedIntervalStart(excludedFireTime.getTime());
+        if (includedTime > excludedFireTime.getTime()) {
+            Date fireTime = getFireTimeAtOrAfter(includedTime);
+            // never step back, whatever the trigger makes of the time
+            if (fireTime == null || fireTime.after(excludedFireTime)) {
+                return fireTime;
+            }
+        }
+        return getFireTimeAfter(excludedFireTime);
+    }
+
+    /**
+     * <p>
+     * Returns the first time at which the <code>Trigger</code> will fire at
+     * or after the given time, if <code>getFireTimeAfter()</code> returns the
+     * first one strictly after the time it is given.
+     * </p>
+     */
+    protected Date getFireTimeAtOrAfter(long time) {
+        return getFireTimeAfter(new Date(time - 1L));
+    }
+
     public TriggerBuilder<T> getTriggerBuilder() {
         return TriggerBuilder.newTrigger()
             .forJob(getJobKey())
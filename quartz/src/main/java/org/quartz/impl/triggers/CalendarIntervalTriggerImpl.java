@@ -19,8 +19,11 @@
 
 package org.quartz.impl.triggers;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.PrimitiveIterator;
 import java.util.TimeZone;
 
 import org.quartz.CalendarIntervalScheduleBuilder;
@@ -80,6 +83,11 @@ public class CalendarIntervalTriggerImpl extends AbstractTrigger<CalendarInterva
     
     private static final int YEAR_TO_GIVEUP_SCHEDULING_AT = java.util.Calendar.getInstance().get(java.util.Calendar.YEAR) + 100;
 
+    // the Calendar steps switch to the Julian calendar in 1582
+    private static final int MIN_COMPUTED_YEAR = 1600;
+
+    private static final long UNSUPPORTED = Long.MIN_VALUE;
+
     /*
      * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
      * 
@@ -106,6 +114,8 @@ public class CalendarIntervalTriggerImpl extends AbstractTrigger<CalendarInterva
 
     private boolean skipDayIfHourDoesNotExist = false;
 
+    private transient ZoneOffsetWindow zoneWindow;
+
     private int timesTriggered = 0;
 
     private final boolean complete = false;
@@ -483,7 +493,7 @@ public class CalendarIntervalTriggerImpl extends AbstractTrigger<CalendarInterva
             Date newFireTime = getFireTimeAfter(new Date());
             while (newFireTime != null && cal != null
                     && !cal.isTimeIncluded(newFireTime.getTime())) {
-                newFireTime = getFireTimeAfter(newFireTime);
+                newFireTime = getFireTimeAfterExcluded(cal, newFireTime);
             }
             setNextFireTime(newFireTime);
         } else if (instr == MISFIRE_INSTRUCTION_FIRE_ONCE_NOW) { 
@@ -515,7 +525,7 @@ public class CalendarIntervalTriggerImpl extends AbstractTrigger<CalendarInterva
         while (nextFireTime != null && calendar != null
                 && !calendar.isTimeIncluded(nextFireTime.getTime())) {
             
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
 
             if(nextFireTime == null)
                 break;
@@ -546,7 +556,7 @@ public class CalendarIntervalTriggerImpl extends AbstractTrigger<CalendarInterva
         Date now = new Date();
         while (nextFireTime != null && !calendar.isTimeIncluded(nextFireTime.getTime())) {
 
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
 
             if(nextFireTime == null)
                 break;
@@ -590,7 +600,7 @@ public class CalendarIntervalTriggerImpl extends AbstractTrigger<CalendarInterva
         while (nextFireTime != null && calendar != null
                 && !calendar.isTimeIncluded(nextFireTime.getTime())) {
             
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
             
             if(nextFireTime == null)
                 break;
@@ -606,6 +616,49 @@ public class CalendarIntervalTriggerImpl extends AbstractTrigger<CalendarInterva
         return nextFireTime;
     }
 
+    /**
+     * <p>
+     * Projects the fire times of the <code>CalendarIntervalTrigger</code> on
+     * epoch milliseconds, without cloning it or creating an object for each
+     * of them. Subclasses are projected the default way.
+     * </p>
+     * 
+     * @see org.quartz.spi.OperableTrigger#projectFireTimes(org.quartz.Calendar, long)
+     */
+    @Override
+    public PrimitiveIterator.OfLong projectFireTimes(org.quartz.Calendar calendar, long endTime) {
+        if (getClass() != CalendarIntervalTriggerImpl.class) {
+            return super.projectFireTimes(calendar, endTime);
+        }
+
+        TimeZone tz = (timeZone != null) ? timeZone : TimeZone.getDefault();
+        FireTimeProjection.FireTimes fireTimes = (afterTime, timesTriggered) -> getFireTimeAfter(tz, afterTime, false);
+        if (nextFireTime != null) {
+            return FireTimeProjection.fromNextFireTime(fireTimes, calendar, endTime,
+                    YEAR_TO_GIVEUP_SCHEDULING_AT, timesTriggered, nextFireTime.getTime());
+        }
+        long startMillis = (getStartTime() == null) ? FireTimeProjection.NO_FIRE_TIME : getStartTime().getTime();
+        return FireTimeProjection.fromFirstFireTime(fireTimes, calendar, endTime,
+                YEAR_TO_GIVEUP_SCHEDULING_AT, timesTriggered, startMillis);
+    }
+
+    /**
+     * <p>
+     * Projects the fire times of the <code>CalendarIntervalTrigger</code> from the given
+     * start time, moving on to it in one step. Subclasses are projected the
+     * default way.
+     * </p>
+     * 
+     * @see org.quartz.spi.OperableTrigger#projectFireTimes(org.quartz.Calendar, long, long)
+     */
+    @Override
+    public PrimitiveIterator.OfLong projectFireTimes(org.quartz.Calendar calendar, long startTime, long endTime) {
+        if (getClass() != CalendarIntervalTriggerImpl.class) {
+            return super.projectFireTimes(calendar, startTime, endTime);
+        }
+        return ((FireTimeProjection) projectFireTimes(calendar, endTime)).startingAt(startTime);
+    }
+
     /**
      * <p>
      * Returns the next time at which the <code>Trigger</code> is scheduled to fire. If
@@ -675,6 +728,301 @@ public class CalendarIntervalTriggerImpl extends AbstractTrigger<CalendarInterva
     }
     
     protected Date getFireTimeAfter(Date afterTime, boolean ignoreEndTime) {
+        if (afterTime == null) {
+            afterTime = new Date();
+        }
+
+        TimeZone tz = (timeZone != null) ? timeZone : TimeZone.getDefault();
+        long time = getFireTimeAfter(tz, afterTime.getTime(), ignoreEndTime);
+        return (time == FireTimeProjection.NO_FIRE_TIME) ? null : new Date(time);
+    }
+
+    /**
+     * The epoch milliseconds form of <code>{@link #getFireTimeAfter(Date, boolean)}</code>,
+     * in the given time zone of the trigger, giving <code>NO_FIRE_TIME</code>
+     * if there is none.
+     */
+    private long getFireTimeAfter(TimeZone tz, long afterMillis, boolean ignoreEndTime) {
+        if (complete) {
+            return FireTimeProjection.NO_FIRE_TIME;
+        }
+
+        long startMillis = getStartTime().getTime();
+        long endMillis = (getEndTime() == null) ? Long.MAX_VALUE : getEndTime().getTime();
+
+        if (!ignoreEndTime && (endMillis <= afterMillis)) {
+            return FireTimeProjection.NO_FIRE_TIME;
+        }
+
+        if (afterMillis < startMillis) {
+            return startMillis;
+        }
+
+        IntervalUnit unit = getRepeatIntervalUnit();
+        long time;
+        if (unit == IntervalUnit.SECOND || unit == IntervalUnit.MINUTE || unit == IntervalUnit.HOUR) {
+            // Calendar.add() moves these fields by a fixed number of
+            // milliseconds, with an int amount of the unit
+            long unitSeconds = (unit == IntervalUnit.SECOND) ? 1L : (unit == IntervalUnit.MINUTE) ? 60L : 60L * 60L;
+            long secondsAfterStart = 1 + (afterMillis - startMillis) / 1000L;
+            long intervalSeconds = getRepeatInterval() * unitSeconds;
+            long jumpCount = secondsAfterStart / intervalSeconds;
+            if (secondsAfterStart % intervalSeconds != 0)
+                jumpCount++;
+            time = startMillis + (getRepeatInterval() * (int) jumpCount) * unitSeconds * 1000L;
+        } else {
+            time = computeFireTimeAfter(tz, startMillis, afterMillis);
+            if (time == UNSUPPORTED) {
+                Date fireTime = getFireTimeAfterUsingCalendar(new Date(afterMillis), ignoreEndTime);
+                return (fireTime == null) ? FireTimeProjection.NO_FIRE_TIME : fireTime.getTime();
+            }
+        }
+
+        if (!ignoreEndTime && (endMillis <= time)) {
+            return FireTimeProjection.NO_FIRE_TIME;
+        }
+        return time;
+    }
+
+    /**
+     * Computes the fire time after the given time for intervals of a day or
+     * greater, taking the same steps as
+     * <code>{@link #getFireTimeAfterUsingCalendar(Date, boolean)}</code>, but
+     * on epoch milliseconds: between two transitions of the time zone the
+     * steps are pure arithmetic, and all the steps up to the wanted one are
+     * taken at once.  Only the steps that land near a transition are taken
+     * one by one, the way <code>java.util.Calendar</code> takes them.
+     *
+     * @return the fire time, or <code>UNSUPPORTED</code> if it has to be
+     *         computed with a <code>Calendar</code>
+     */
+    private long computeFireTimeAfter(TimeZone tz, long startMillis, long afterMillis) {
+        long repeatLong = getRepeatInterval();
+        if (repeatLong <= 0 || !ZoneOffsetWindow.usesGregorianCalendar() || yearOf(tz, startMillis) < MIN_COMPUTED_YEAR) {
+            return UNSUPPORTED;
+        }
+
+        IntervalUnit unit = getRepeatIntervalUnit();
+        int initialHourOfDay = hourOf(tz, startMillis);
+        long time = startMillis;
+        int field;
+        Calendar sTime = null;
+
+        if (unit == IntervalUnit.DAY || unit == IntervalUnit.WEEK) {
+            field = (unit == IntervalUnit.DAY) ? Calendar.DAY_OF_YEAR : Calendar.WEEK_OF_YEAR;
+            long daysPerUnit = (unit == IntervalUnit.DAY) ? 1L : 7L;
+
+            // the same leap as the Calendar based computation, which decides
+            // where the steps start from
+            long secondsAfterStart = 1 + (afterMillis - startMillis) / 1000L;
+            long jumpCount = secondsAfterStart / (repeatLong * daysPerUnit * 24L * 60L * 60L);
+            if (jumpCount > 20) {
+                if (jumpCount < 50)
+                    jumpCount = (long) (jumpCount * 0.80);
+                else if (jumpCount < 500)
+                    jumpCount = (long) (jumpCount * 0.90);
+                else
+                    jumpCount = (long) (jumpCount * 0.95);
+                time = addDays(tz, time, (int) (getRepeatInterval() * jumpCount) * daysPerUnit);
+                if (yearOf(tz, time) < MIN_COMPUTED_YEAR) {
+                    return UNSUPPORTED;
+                }
+            }
+
+            long days = repeatLong * daysPerUnit;
+            while (time <= afterMillis && yearOf(tz, time) < YEAR_TO_GIVEUP_SCHEDULING_AT) {
+                time = advanceDays(tz, time, days, afterMillis);
+            }
+        } else {
+            field = (unit == IntervalUnit.MONTH) ? Calendar.MONTH : Calendar.YEAR;
+            long months = (unit == IntervalUnit.MONTH) ? repeatLong : repeatLong * 12L;
+            if (months >= 12 && !zoneWindow(tz, time).isLast()) {
+                // steps of a year or more cross the transitions of a zone
+                // that still has any at about every step, and gain nothing
+                return UNSUPPORTED;
+            }
+
+            while (time <= afterMillis && yearOf(tz, time) < YEAR_TO_GIVEUP_SCHEDULING_AT) {
+                long next = advanceMonths(tz, time, months, afterMillis);
+                if (next == time) {
+                    // near a transition, where the Calendar resolves local
+                    // times in its own way
+                    if (sTime == null) {
+                        sTime = Calendar.getInstance(tz);
+                        sTime.setLenient(true);
+                    }
+                    sTime.setTimeInMillis(time);
+                    sTime.add(field, getRepeatInterval());
+                    next = sTime.getTimeInMillis();
+                    // no step in an irregular window can be computed, so
+                    // don't look for one at every step
+                    ZoneOffsetWindow window = zoneWindow(tz, time);
+                    while (next <= afterMillis && window.isIrregularAt(next)
+                            && sTime.get(Calendar.YEAR) < YEAR_TO_GIVEUP_SCHEDULING_AT) {
+                        sTime.add(field, getRepeatInterval());
+                        next = sTime.getTimeInMillis();
+                    }
+                }
+                time = next;
+            }
+        }
+
+        if (isPreserveHourOfDayAcrossDaylightSavings() && hourOf(tz, time) != initialHourOfDay) {
+            if (sTime == null) {
+                sTime = Calendar.getInstance(tz);
+                sTime.setLenient(true);
+            }
+            sTime.setTimeInMillis(time);
+            Date afterTime = new Date(afterMillis);
+            while (daylightSavingHourShiftOccurredAndAdvanceNeeded(sTime, initialHourOfDay, afterTime) &&
+                    (sTime.get(java.util.Calendar.YEAR) < YEAR_TO_GIVEUP_SCHEDULING_AT)) {
+                sTime.add(field, getRepeatInterval());
+            }
+            time = sTime.getTimeInMillis();
+        }
+
+        return time;
+    }
+
+    /**
+     * Takes as many steps of the given number of days as the zone window
+     * around the given time allows, stopping at the first step after
+     * <code>afterMillis</code> or in the year scheduling is given up at.
+     */
+    private long advanceDays(TimeZone tz, long time, long days, long afterMillis) {
+        ZoneOffsetWindow window = zoneWindow(tz, time);
+        long step = days * ZoneOffsetWindow.MILLIS_PER_DAY;
+        if (!window.contains(time + step, ZoneOffsetWindow.TRANSITION_MARGIN_MILLIS)) {
+            return addDays(tz, time, days);
+        }
+
+        // within the window, every step adds the same number of milliseconds
+        long date = Math.floorDiv(time + window.offset, ZoneOffsetWindow.MILLIS_PER_DAY);
+        long span = afterMillis - time;
+        long steps = Math.min((span < 0) ? Long.MAX_VALUE : span / step + 1, // an overflow is as far as it gets
+                ceilDiv(LocalDate.of(YEAR_TO_GIVEUP_SCHEDULING_AT, 1, 1).toEpochDay() - date, days));
+        long latest = window.latest(ZoneOffsetWindow.TRANSITION_MARGIN_MILLIS);
+        if (latest != Long.MAX_VALUE && latest - time < steps * step) {
+            steps = (latest - time) / step;
+        }
+        return time + steps * step;
+    }
+
+    /**
+     * Takes as many steps of the given number of months as the zone window
+     * around the given time allows, stopping at the first step after
+     * <code>afterMillis</code> or in the year scheduling is given up at.
+     *
+     * @return the time after the steps, or the given time if not even one
+     *         step can be taken
+     */
+    private long advanceMonths(TimeZone tz, long time, long months, long afterMillis) {
+        ZoneOffsetWindow window = zoneWindow(tz, time);
+        long local = time + tz.getOffset(time);
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(local, ZoneOffsetWindow.MILLIS_PER_DAY));
+        long timeOfDay = Math.floorMod(local, ZoneOffsetWindow.MILLIS_PER_DAY) - window.offset;
+        long next = monthsLater(date, months, 1) + timeOfDay;
+        if (!window.contains(next, ZoneOffsetWindow.TRANSITION_MARGIN_MILLIS)) {
+            // the next step may be in another window, far from its transitions
+            ZoneOffsetWindow nextWindow = zoneWindow(tz, next);
+            next += window.offset - nextWindow.offset;
+            return nextWindow.contains(next, ZoneOffsetWindow.TRANSITION_MARGIN_MILLIS) ? next : time;
+        }
+
+        // within the window, the steps are local dates at the same time of day
+        long month = date.getYear() * 12L + date.getMonthValue() - 1;
+        long steps = Math.min(stepsUntil(date, months, timeOfDay, afterMillis) + 1,
+                ceilDiv(YEAR_TO_GIVEUP_SCHEDULING_AT * 12L - month, months));
+        long latest = window.latest(ZoneOffsetWindow.TRANSITION_MARGIN_MILLIS);
+        if (latest != Long.MAX_VALUE) {
+            steps = Math.min(steps, stepsUntil(date, months, timeOfDay, latest));
+        }
+        return monthsLater(date, months, steps) + timeOfDay;
+    }
+
+    /**
+     * The number of steps of the given number of months, from the given date,
+     * that end at or before the given time.
+     */
+    private static long stepsUntil(LocalDate date, long months, long timeOfDay, long time) {
+        LocalDate until = LocalDate.ofEpochDay(Math.floorDiv(time - timeOfDay, ZoneOffsetWindow.MILLIS_PER_DAY));
+        long steps = Math.floorDiv(until.getYear() * 12L + until.getMonthValue()
+                - date.getYear() * 12L - date.getMonthValue(), months);
+        if (steps > 0 && monthsLater(date, months, steps) + timeOfDay > time) {
+            steps--;
+        }
+        return Math.max(steps, 0);
+    }
+
+    /**
+     * The local midnight, in epoch milliseconds, of the date the given number
+     * of steps of <code>Calendar.add(Calendar.MONTH, months)</code> lead to:
+     * each step pins the day of the month to the length of the month it
+     * lands in, so the day only ever goes down.
+     */
+    private static long monthsLater(LocalDate date, long months, long steps) {
+        long month = date.getYear() * 12L + date.getMonthValue() - 1;
+        int day = date.getDayOfMonth();
+        for (long i = 1; i <= steps && day > 28; i++) {
+            long m = month + i * months;
+            day = Math.min(day, YearMonth.of((int) Math.floorDiv(m, 12L), (int) Math.floorMod(m, 12L) + 1).lengthOfMonth());
+            if (i >= 12 && day > 29) {
+                // every month of the year that is ever reached has been
+                break;
+            }
+        }
+        long m = month + steps * months;
+        return LocalDate.of((int) Math.floorDiv(m, 12L), (int) Math.floorMod(m, 12L) + 1, day).toEpochDay()
+                * ZoneOffsetWindow.MILLIS_PER_DAY;
+    }
+
+    /**
+     * <code>Calendar.add(Calendar.DAY_OF_YEAR, days)</code> on epoch
+     * milliseconds: the same time of day, the given number of days later,
+     * adjusted when the offset of the time zone changed on the way.
+     */
+    private static long addDays(TimeZone tz, long time, long days) {
+        int offset = tz.getOffset(time);
+        long local = time + offset;
+        long date = Math.floorDiv(local, ZoneOffsetWindow.MILLIS_PER_DAY) + days;
+        long result = date * ZoneOffsetWindow.MILLIS_PER_DAY
+                + Math.floorMod(local, ZoneOffsetWindow.MILLIS_PER_DAY) - offset;
+        int newOffset = tz.getOffset(result);
+        if (newOffset != offset) {
+            long adjusted = result + offset - newOffset;
+            // unless the adjustment changes the date
+            if (Math.floorDiv(adjusted + tz.getOffset(adjusted), ZoneOffsetWindow.MILLIS_PER_DAY) == date) {
+                result = adjusted;
+            }
+        }
+        return result;
+    }
+
+    private ZoneOffsetWindow zoneWindow(TimeZone tz, long time) {
+        ZoneOffsetWindow window = ZoneOffsetWindow.around(zoneWindow, tz, time);
+        zoneWindow = window;
+        return window;
+    }
+
+    private static int yearOf(TimeZone tz, long time) {
+        return LocalDate.ofEpochDay(Math.floorDiv(time + tz.getOffset(time), ZoneOffsetWindow.MILLIS_PER_DAY)).getYear();
+    }
+
+    private static int hourOf(TimeZone tz, long time) {
+        return (int) (Math.floorMod(time + tz.getOffset(time), ZoneOffsetWindow.MILLIS_PER_DAY) / 3600000L);
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    /**
+     * <p>
+     * Returns the next time at which the trigger will fire after the given
+     * time, stepping a <code>java.util.Calendar</code> from the start time.
+     * </p>
+     */
+    Date getFireTimeAfterUsingCalendar(Date afterTime, boolean ignoreEndTime) {
         if (complete) {
             return null;
         }
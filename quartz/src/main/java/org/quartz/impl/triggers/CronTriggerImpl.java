@@ -21,9 +21,11 @@ package org.quartz.impl.triggers;
 import java.text.ParseException;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.PrimitiveIterator;
 import java.util.TimeZone;
 
 import org.quartz.CronExpression;
+import org.quartz.CronExpressionCache;
 import org.quartz.CronScheduleBuilder;
 import org.quartz.CronTrigger;
 import org.quartz.JobExecutionContext;
@@ -127,9 +129,7 @@ public class CronTriggerImpl extends AbstractTrigger<CronTrigger> implements Cro
     }
 
     public void setCronExpression(String cronExpression) throws ParseException {
-        TimeZone origTz = getTimeZone();
-        this.cronEx = new CronExpression(cronExpression);
-        this.cronEx.setTimeZone(origTz);
+        this.cronEx = CronExpressionCache.get(cronExpression, getTimeZone());
     }
 
     /* (non-Javadoc)
@@ -328,6 +328,31 @@ public class CronTriggerImpl extends AbstractTrigger<CronTrigger> implements Cro
         return pot;
     }
 
+    /**
+     * The epoch milliseconds form of <code>{@link #getFireTimeAfter(Date)}</code>,
+     * giving <code>NO_FIRE_TIME</code> if there is none.
+     */
+    private long getFireTimeAfter(long afterMillis) {
+        long startMillis = getStartTime().getTime();
+        if (startMillis > afterMillis) {
+            afterMillis = startMillis - 1000L;
+        }
+
+        if (getEndTime() != null && afterMillis >= getEndTime().getTime()) {
+            return FireTimeProjection.NO_FIRE_TIME;
+        }
+
+        if (cronEx == null) {
+            return FireTimeProjection.NO_FIRE_TIME;
+        }
+        long pot = cronEx.getNextValidTimeAfter(afterMillis);
+        if (getEndTime() != null && pot != FireTimeProjection.NO_FIRE_TIME && pot > getEndTime().getTime()) {
+            return FireTimeProjection.NO_FIRE_TIME;
+        }
+
+        return pot;
+    }
+
     /**
      * <p>
      * NOT YET IMPLEMENTED: Returns the final time at which the 
@@ -400,7 +425,7 @@ public class CronTriggerImpl extends AbstractTrigger<CronTrigger> implements Cro
             Date newFireTime = getFireTimeAfter(new Date());
             while (newFireTime != null && cal != null
                     && !cal.isTimeIncluded(newFireTime.getTime())) {
-                newFireTime = getFireTimeAfter(newFireTime);
+                newFireTime = getFireTimeAfterExcluded(cal, newFireTime);
             }
             setNextFireTime(newFireTime);
         } else if (instr == MISFIRE_INSTRUCTION_FIRE_ONCE_NOW) {
@@ -499,7 +524,7 @@ public class CronTriggerImpl extends AbstractTrigger<CronTrigger> implements Cro
 
         while (nextFireTime != null && calendar != null
                 && !calendar.isTimeIncluded(nextFireTime.getTime())) {
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
         }
     }
 
@@ -519,7 +544,7 @@ public class CronTriggerImpl extends AbstractTrigger<CronTrigger> implements Cro
         Date now = new Date();
         while (nextFireTime != null && !calendar.isTimeIncluded(nextFireTime.getTime())) {
 
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
 
             if(nextFireTime == null)
                 break;
@@ -563,12 +588,55 @@ public class CronTriggerImpl extends AbstractTrigger<CronTrigger> implements Cro
 
         while (nextFireTime != null && calendar != null
                 && !calendar.isTimeIncluded(nextFireTime.getTime())) {
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
         }
 
         return nextFireTime;
     }
 
+    /**
+     * <p>
+     * Projects the fire times of the <code>CronTrigger</code> on epoch
+     * milliseconds, without cloning it or creating an object for each of
+     * them. Subclasses are projected the default way.
+     * </p>
+     * 
+     * @see org.quartz.spi.OperableTrigger#projectFireTimes(org.quartz.Calendar, long)
+     */
+    @Override
+    public PrimitiveIterator.OfLong projectFireTimes(org.quartz.Calendar calendar, long endTime) {
+        if (getClass() != CronTriggerImpl.class) {
+            return super.projectFireTimes(calendar, endTime);
+        }
+
+        FireTimeProjection.FireTimes fireTimes = (afterTime, timesTriggered) -> getFireTimeAfter(afterTime);
+        if (nextFireTime != null) {
+            return FireTimeProjection.fromNextFireTime(fireTimes, calendar, endTime,
+                    0, 0, nextFireTime.getTime());
+        }
+        long firstFireTime = (getStartTime() == null) ? FireTimeProjection.NO_FIRE_TIME
+                : getFireTimeAfter(getStartTime().getTime() - 1000L);
+        return FireTimeProjection.fromFirstFireTime(fireTimes, calendar, endTime,
+                0, 0, firstFireTime);
+    }
+
+    /**
+     * <p>
+     * Projects the fire times of the <code>CronTrigger</code> from the given
+     * start time, moving on to it in one step. Subclasses are projected the
+     * default way.
+     * </p>
+     * 
+     * @see org.quartz.spi.OperableTrigger#projectFireTimes(org.quartz.Calendar, long, long)
+     */
+    @Override
+    public PrimitiveIterator.OfLong projectFireTimes(org.quartz.Calendar calendar, long startTime, long endTime) {
+        if (getClass() != CronTriggerImpl.class) {
+            return super.projectFireTimes(calendar, startTime, endTime);
+        }
+        return ((FireTimeProjection) projectFireTimes(calendar, endTime)).startingAt(startTime);
+    }
+
     /* (non-Javadoc)
      * @see org.quartz.CronTriggerI#getExpressionSummary()
      */
@@ -17,9 +17,12 @@
  */
 package org.quartz.impl.triggers;
 
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.PrimitiveIterator;
 import java.util.Set;
+import java.util.TimeZone;
 
 import org.quartz.DailyTimeIntervalScheduleBuilder;
 import org.quartz.DailyTimeIntervalTrigger;
@@ -85,6 +88,16 @@ public class DailyTimeIntervalTriggerImpl extends AbstractTrigger<DailyTimeInter
      */
     private static final int YEAR_TO_GIVEUP_SCHEDULING_AT = java.util.Calendar.getInstance().get(java.util.Calendar.YEAR) + 100;
 
+    // the Calendar steps switch to the Julian calendar in 1582, and far
+    // enough from the end of time for the intervals to be added
+    private static final long MIN_COMPUTED_TIME = LocalDate.of(1600, 1, 1).toEpochDay() * ZoneOffsetWindow.MILLIS_PER_DAY;
+
+    private static final long MAX_COMPUTED_TIME = LocalDate.of(100000, 1, 1).toEpochDay() * ZoneOffsetWindow.MILLIS_PER_DAY;
+
+    private static final long UNSUPPORTED = Long.MIN_VALUE;
+
+    private static final long NO_FIRE_TIME = FireTimeProjection.NO_FIRE_TIME;
+
     /*
      * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
      * 
@@ -117,6 +130,8 @@ public class DailyTimeIntervalTriggerImpl extends AbstractTrigger<DailyTimeInter
 
     private boolean complete = false;
 
+    private transient ZoneOffsetWindow zoneWindow;
+
     /*
      * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
      * 
@@ -450,7 +465,7 @@ public class DailyTimeIntervalTriggerImpl extends AbstractTrigger<DailyTimeInter
             Date newFireTime = getFireTimeAfter(new Date());
             while (newFireTime != null && cal != null
                     && !cal.isTimeIncluded(newFireTime.getTime())) {
-                newFireTime = getFireTimeAfter(newFireTime);
+                newFireTime = getFireTimeAfterExcluded(cal, newFireTime);
             }
             setNextFireTime(newFireTime);
         } else if (instr == MISFIRE_INSTRUCTION_FIRE_ONCE_NOW) { 
@@ -482,7 +497,7 @@ public class DailyTimeIntervalTriggerImpl extends AbstractTrigger<DailyTimeInter
         while (nextFireTime != null && calendar != null
                 && !calendar.isTimeIncluded(nextFireTime.getTime())) {
             
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
 
             if(nextFireTime == null)
                 break;
@@ -516,7 +531,7 @@ public class DailyTimeIntervalTriggerImpl extends AbstractTrigger<DailyTimeInter
         Date now = new Date();
         while (nextFireTime != null && !calendar.isTimeIncluded(nextFireTime.getTime())) {
 
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
 
             if(nextFireTime == null)
                 break;
@@ -562,7 +577,7 @@ public class DailyTimeIntervalTriggerImpl extends AbstractTrigger<DailyTimeInter
       while (nextFireTime != null && calendar != null
               && !calendar.isTimeIncluded(nextFireTime.getTime())) {
           
-          nextFireTime = getFireTimeAfter(nextFireTime);
+          nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
           
           if(nextFireTime == null)
               break;
@@ -577,6 +592,61 @@ public class DailyTimeIntervalTriggerImpl extends AbstractTrigger<DailyTimeInter
       
       return nextFireTime;
     }
+
+    /**
+     * <p>
+     * Projects the fire times of the <code>DailyTimeIntervalTrigger</code> on
+     * epoch milliseconds, without cloning it or creating an object for each
+     * of them. Subclasses are projected the default way.
+     * </p>
+     * 
+     * @see org.quartz.spi.OperableTrigger#projectFireTimes(org.quartz.Calendar, long)
+     */
+    @Override
+    public PrimitiveIterator.OfLong projectFireTimes(org.quartz.Calendar calendar, long endTime) {
+        if (getClass() != DailyTimeIntervalTriggerImpl.class) {
+            return super.projectFireTimes(calendar, endTime);
+        }
+
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        FireTimeProjection.FireTimes fireTimes = new FireTimeProjection.FireTimes() {
+            public long getFireTimeAfter(long afterTime, int timesTriggered) {
+                return DailyTimeIntervalTriggerImpl.this.getFireTimeAfter(defaultTimeZone, afterTime, timesTriggered);
+            }
+
+            // see getFireTimeAtOrAfter(long)
+            public long getFireTimeAtOrAfter(long time, int timesTriggered) {
+                long second = -Math.floorDiv(-time, 1000L) * 1000L;
+                return getFireTimeAfter(second - 1000L, timesTriggered);
+            }
+        };
+        if (nextFireTime != null) {
+            return FireTimeProjection.fromNextFireTime(fireTimes, calendar, endTime,
+                    YEAR_TO_GIVEUP_SCHEDULING_AT, timesTriggered, nextFireTime.getTime());
+        }
+        long firstFireTime = (getStartTime() == null) ? NO_FIRE_TIME
+                : fireTimes.getFireTimeAfter(getStartTime().getTime() - 1000L, timesTriggered);
+        return FireTimeProjection.fromFirstFireTime(fireTimes, calendar, endTime,
+                YEAR_TO_GIVEUP_SCHEDULING_AT, timesTriggered, firstFireTime);
+    }
+
+    /**
+     * <p>
+     * Projects the fire times of the <code>DailyTimeIntervalTrigger</code> from the given
+     * start time, moving on to it in one step, unless its fire times are
+     * limited by a repeat count (as the ones it skips would have to be
+     * counted). Subclasses are projected the default way.
+     * </p>
+     * 
+     * @see org.quartz.spi.OperableTrigger#projectFireTimes(org.quartz.Calendar, long, long)
+     */
+    @Override
+    public PrimitiveIterator.OfLong projectFireTimes(org.quartz.Calendar calendar, long startTime, long endTime) {
+        if (getClass() != DailyTimeIntervalTriggerImpl.class || getRepeatCount() != REPEAT_INDEFINITELY) {
+            return super.projectFireTimes(calendar, startTime, endTime);
+        }
+        return ((FireTimeProjection) projectFireTimes(calendar, endTime)).startingAt(startTime);
+    }
     
     private Calendar createCalendarTime(Date dateTime) {
         Calendar cal = Calendar.getInstance();
@@ -649,6 +719,42 @@ public class DailyTimeIntervalTriggerImpl extends AbstractTrigger<DailyTimeInter
      */
     @Override
     public Date getFireTimeAfter(Date afterTime) {
+        long afterMillis = (afterTime == null) ? System.currentTimeMillis() : afterTime.getTime();
+        long fireTime = getFireTimeAfter(TimeZone.getDefault(), afterMillis, timesTriggered);
+        return (fireTime == NO_FIRE_TIME) ? null : new Date(fireTime);
+    }
+
+    /**
+     * The epoch milliseconds form of <code>{@link #getFireTimeAfter(Date)}</code>,
+     * in the given default time zone, for the trigger having fired the given
+     * number of times.
+     */
+    private long getFireTimeAfter(TimeZone defaultTimeZone, long afterMillis, int timesTriggered) {
+        // Check if trigger has completed or not.
+        if (complete) {
+            return NO_FIRE_TIME;
+        }
+
+        // Check repeatCount limit
+        if (repeatCount != REPEAT_INDEFINITELY && timesTriggered > repeatCount) {
+            return NO_FIRE_TIME;
+        }
+
+        long fireTime = computeFireTimeAfter(defaultTimeZone, afterMillis);
+        if (fireTime != UNSUPPORTED) {
+            return fireTime;
+        }
+        Date time = getFireTimeAfterUsingCalendar(new Date(afterMillis));
+        return (time == null) ? NO_FIRE_TIME : time.getTime();
+    }
+
+    /**
+     * <p>
+     * Returns the next time at which the trigger will fire after the given
+     * time, stepping a <code>java.util.Calendar</code> through the days.
+     * </p>
+     */
+    Date getFireTimeAfterUsingCalendar(Date afterTime) {
         // Check if trigger has completed or not.
         if (complete) {
             return null;
@@ -734,6 +840,153 @@ public class DailyTimeIntervalTriggerImpl extends AbstractTrigger<DailyTimeInter
         return fireTime;
     }
 
+    /**
+     * Computes the same fire time as {@link #getFireTimeAfterUsingCalendar(Date)}
+     * with plain epoch arithmetic, while all the days involved are well within
+     * one offset of the default time zone.
+     * 
+     * @return the fire time, <code>NO_FIRE_TIME</code> if there is none, or
+     * <code>UNSUPPORTED</code> if it has to be computed with a Calendar.
+     */
+    private long computeFireTimeAfter(TimeZone defaultTimeZone, long afterMillis) {
+        if (startTime == null || getRepeatInterval() <= 0 || !ZoneOffsetWindow.usesGregorianCalendar()) {
+            return UNSUPPORTED;
+        }
+        if (afterMillis < MIN_COMPUTED_TIME || afterMillis > MAX_COMPUTED_TIME) {
+            return UNSUPPORTED;
+        }
+
+        // a. step past the given time, and to at least the start time
+        long time = Math.max(afterMillis + 1000L, startTime.getTime());
+        if (time > MAX_COMPUTED_TIME) {
+            return UNSUPPORTED;
+        }
+        ZoneOffsetWindow window = ZoneOffsetWindow.around(zoneWindow, defaultTimeZone, time);
+        zoneWindow = window;
+        // the days of the given time and of the next week, each resolved
+        // at any time of day
+        if (!containsDaysAround(window, time)) {
+            return UNSUPPORTED;
+        }
+        int offset = window.offset;
+        long startOfDayMillis = millisOf(getStartTimeOfDay());
+        long endOfDayMillis = (endTimeOfDay == null) ? millisOf(23, 59, 59) : millisOf(endTimeOfDay);
+
+        // b. and c. move to the next valid day of week if needed
+        boolean pastEndTimeOfDay = endTimeOfDay != null && time > onDayOf(time, endOfDayMillis, offset);
+        long fireTime = advanceToNextDayOfWeekIfNecessary(time, pastEndTimeOfDay, startOfDayMillis, offset);
+        if (fireTime == NO_FIRE_TIME) {
+            return NO_FIRE_TIME;
+        }
+
+        // d. and e. the fire time window of that day
+        long fireTimeEndDate = onDayOf(fireTime, endOfDayMillis, offset);
+        long fireTimeStartDate = onDayOf(fireTime, startOfDayMillis, offset);
+        if (fireTime < fireTimeStartDate) {
+            return fireTimeStartDate;
+        }
+
+        // f. whole intervals from the start time of day, as Calendar.add()
+        // jumps with an int amount of the unit
+        long unitSeconds;
+        IntervalUnit repeatUnit = getRepeatIntervalUnit();
+        if (repeatUnit.equals(IntervalUnit.SECOND)) {
+            unitSeconds = 1L;
+        } else if (repeatUnit.equals(IntervalUnit.MINUTE)) {
+            unitSeconds = 60L;
+        } else if (repeatUnit.equals(IntervalUnit.HOUR)) {
+            unitSeconds = 60L * 60L;
+        } else {
+            unitSeconds = 0L;
+        }
+        if (unitSeconds != 0L) {
+            long secondsAfterStart = (fireTime - fireTimeStartDate) / 1000L;
+            long intervalSeconds = getRepeatInterval() * unitSeconds;
+            long jumpCount = secondsAfterStart / intervalSeconds;
+            if (secondsAfterStart % intervalSeconds != 0)
+                jumpCount++;
+            fireTime = fireTimeStartDate + (getRepeatInterval() * (int) jumpCount) * unitSeconds * 1000L;
+        }
+
+        // g. past the end time of day, on to the next valid day
+        if (fireTime > fireTimeEndDate) {
+            if (fireTime > MAX_COMPUTED_TIME || !containsDaysAround(window, fireTime)) {
+                return UNSUPPORTED;
+            }
+            boolean sameDay = dayOf(fireTime, offset) == dayOf(fireTimeEndDate, offset);
+            fireTime = advanceToNextDayOfWeekIfNecessary(fireTime, sameDay, startOfDayMillis, offset);
+            if (fireTime == NO_FIRE_TIME) {
+                return NO_FIRE_TIME;
+            }
+            fireTime = onDayOf(fireTime, startOfDayMillis, offset);
+        }
+
+        return fireTime;
+    }
+
+    /**
+     * The epoch arithmetic form of {@link #advanceToNextDayOfWeekIfNecessary(Date, boolean)}.
+     */
+    private long advanceToNextDayOfWeekIfNecessary(long fireTime, boolean forceToAdvanceNextDay,
+            long startOfDayMillis, int offset) {
+        long day = dayOf(fireTime, offset);
+        Set<Integer> daysOfWeekToFire = getDaysOfWeek();
+        if (forceToAdvanceNextDay || !daysOfWeekToFire.contains(dayOfWeek(day))) {
+            for (int i = 1; i <= 7; i++) {
+                if (daysOfWeekToFire.contains(dayOfWeek(day + i))) {
+                    fireTime = onDayOf(fireTime, startOfDayMillis, offset) + i * ZoneOffsetWindow.MILLIS_PER_DAY;
+                    break;
+                }
+            }
+        }
+
+        Date eTime = getEndTime();
+        if (eTime != null && fireTime > eTime.getTime()) {
+            return NO_FIRE_TIME;
+        }
+        return fireTime;
+    }
+
+    private static boolean containsDaysAround(ZoneOffsetWindow window, long time) {
+        return window.contains(time - ZoneOffsetWindow.MILLIS_PER_DAY, ZoneOffsetWindow.TRANSITION_MARGIN_MILLIS)
+                && window.contains(time + 9L * ZoneOffsetWindow.MILLIS_PER_DAY, ZoneOffsetWindow.TRANSITION_MARGIN_MILLIS);
+    }
+
+    private static long dayOf(long time, int offset) {
+        return Math.floorDiv(time + offset, ZoneOffsetWindow.MILLIS_PER_DAY);
+    }
+
+    // Calendar.SUNDAY is 1, and the epoch day 0 was a Thursday
+    private static int dayOfWeek(long day) {
+        return (int) Math.floorMod(day + 4L, 7L) + 1;
+    }
+
+    // the time at the given time of day on the day of the given time
+    private static long onDayOf(long time, long millisOfDay, int offset) {
+        return dayOf(time, offset) * ZoneOffsetWindow.MILLIS_PER_DAY + millisOfDay - offset;
+    }
+
+    private static long millisOf(TimeOfDay timeOfDay) {
+        return millisOf(timeOfDay.getHour(), timeOfDay.getMinute(), timeOfDay.getSecond());
+    }
+
+    private static long millisOf(int hour, int minute, int second) {
+        return ((hour * 60L + minute) * 60L + second) * 1000L;
+    }
+
+    /**
+     * <p>
+     * Returns the first time at which the trigger will fire at or after the
+     * given time, as <code>getFireTimeAfter()</code> looks for fire times
+     * from the whole second a second after the time it is given.
+     * </p>
+     */
+    @Override
+    protected Date getFireTimeAtOrAfter(long time) {
+        long second = -Math.floorDiv(-time, 1000L) * 1000L;
+        return getFireTimeAfter(new Date(second - 1000L));
+    }
+
     private boolean isSameDay(Date d1, Date d2) {
     
       Calendar c1 = createCalendarTime(d1);
@@ -0,0 +1,188 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.quartz.impl.triggers;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import org.quartz.Calendar;
+
+/**
+ * The fire times of one of the built-in triggers, in epoch milliseconds, as
+ * successive calls to its <code>triggered()</code> method would compute
+ * them, but without changing the trigger or creating a <code>Date</code>
+ * for each of them.
+ *
+ * <p>
+ * The trigger is only read (apart from the time zone windows it caches), so
+ * a trigger may be projected by several threads at once, as long as it is not
+ * changed meanwhile, and the calendar (if any) is safe for concurrent use.
+ * </p>
+ */
+final class FireTimeProjection implements PrimitiveIterator.OfLong {
+
+    /**
+     * The fire time that <code>{@link FireTimes}</code> give when there is
+     * none.
+     */
+    static final long NO_FIRE_TIME = Long.MAX_VALUE;
+
+    /**
+     * The fire times of a trigger, for it having fired a given number of
+     * times, as its <code>getFireTimeAfter()</code> would give them.
+     */
+    interface FireTimes {
+
+        long getFireTimeAfter(long afterTime, int timesTriggered);
+
+        /**
+         * The first fire time at or after the given time, as
+         * <code>{@link AbstractTrigger#getFireTimeAtOrAfter(long)}</code>
+         * would give it.
+         */
+        default long getFireTimeAtOrAfter(long time, int timesTriggered) {
+            return getFireTimeAfter(time - 1L, timesTriggered);
+        }
+    }
+
+    private final FireTimes fireTimes;
+
+    private final Calendar calendar;
+
+    private final long endTime;
+
+    // excluded fire times are given up on from this time on
+    private final long giveUpTime;
+
+    private int timesTriggered;
+
+    private long nextFireTime;
+
+    // whether the next fire time is still to be computed after the last one
+    private boolean pending;
+
+    private FireTimeProjection(FireTimes fireTimes, Calendar calendar, long endTime,
+            long giveUpTime, int timesTriggered, long nextFireTime) {
+        this.fireTimes = fireTimes;
+        this.calendar = calendar;
+        this.endTime = endTime;
+        this.giveUpTime = giveUpTime;
+        this.timesTriggered = timesTriggered;
+        this.nextFireTime = nextFireTime;
+    }
+
+    /**
+     * Projects the fire times from the given next fire time of a trigger
+     * which has been scheduled already, as it is.
+     *
+     * @param giveUpYear the year after which the trigger gives up finding a
+     *                   fire time that the calendar does not exclude, or
+     *                   <code>0</code> if it never does
+     */
+    static FireTimeProjection fromNextFireTime(FireTimes fireTimes, Calendar calendar,
+            long endTime, int giveUpYear, int timesTriggered, long nextFireTime) {
+        return new FireTimeProjection(fireTimes, calendar, endTime,
+                giveUpTimeOf(giveUpYear), timesTriggered, nextFireTime);
+    }
+
+    /**
+     * Projects the fire times from the first fire time of a trigger which
+     * has not been scheduled yet, which its <code>computeFirstFireTime()</code>
+     * would move on from the given time to the first the calendar includes.
+     *
+     * @param giveUpYear the year after which the trigger gives up finding a
+     *                   fire time that the calendar does not exclude, or
+     *                   <code>0</code> if it never does
+     */
+    static FireTimeProjection fromFirstFireTime(FireTimes fireTimes, Calendar calendar,
+            long endTime, int giveUpYear, int timesTriggered, long firstFireTime) {
+        FireTimeProjection projection = new FireTimeProjection(fireTimes, calendar, endTime,
+                giveUpTimeOf(giveUpYear), timesTriggered, NO_FIRE_TIME);
+        projection.nextFireTime = projection.skipExcluded(firstFireTime);
+        return projection;
+    }
+
+    // the start of the year after the given one, in the default time zone
+    private static long giveUpTimeOf(int giveUpYear) {
+        if (giveUpYear == 0) {
+            return NO_FIRE_TIME;
+        }
+        java.util.Calendar c = java.util.Calendar.getInstance();
+        c.clear();
+        c.set(giveUpYear + 1, java.util.Calendar.JANUARY, 1);
+        return c.getTimeInMillis();
+    }
+
+    /**
+     * Moves on to the first fire time at or after the given time in one step,
+     * rather than through each of the fire times before it.  This gives the
+     * same fire times as stepping through them only if the trigger's fire
+     * times don't depend on the number of times it has fired.
+     */
+    FireTimeProjection startingAt(long startTime) {
+        if (hasNext() && nextFireTime < startTime) {
+            nextFireTime = skipExcluded(fireTimes.getFireTimeAtOrAfter(startTime, timesTriggered));
+        }
+        return this;
+    }
+
+    public boolean hasNext() {
+        if (pending) {
+            timesTriggered++;
+            nextFireTime = skipExcluded(fireTimes.getFireTimeAfter(nextFireTime, timesTriggered));
+            pending = false;
+        }
+        return nextFireTime != NO_FIRE_TIME && nextFireTime <= endTime;
+    }
+
+    public long nextLong() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        pending = true;
+        return nextFireTime;
+    }
+
+    private long skipExcluded(long fireTime) {
+        while (fireTime != NO_FIRE_TIME && calendar != null
+                && !calendar.isTimeIncluded(fireTime)) {
+            fireTime = getFireTimeAfterExcluded(fireTime);
+            if (fireTime != NO_FIRE_TIME && fireTime >= giveUpTime) {
+                fireTime = NO_FIRE_TIME;
+            }
+        }
+        return fireTime;
+    }
+
+    /**
+     * The primitive form of
+     * <code>{@link AbstractTrigger#getFireTimeAfterExcluded(Calendar, java.util.Date)}</code>.
+     */
+    private long getFireTimeAfterExcluded(long excludedFireTime) {
+        long includedTime = calendar.getNextIncludedIntervalStart(excludedFireTime);
+        if (includedTime > excludedFireTime) {
+            long fireTime = fireTimes.getFireTimeAtOrAfter(includedTime, timesTriggered);
+            // never step back, whatever the trigger makes of the time
+            if (fireTime > excludedFireTime) {
+                return fireTime;
+            }
+        }
+        return fireTimes.getFireTimeAfter(excludedFireTime, timesTriggered);
+    }
+}
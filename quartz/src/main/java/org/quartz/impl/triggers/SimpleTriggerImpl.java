@@ -20,6 +20,7 @@
 package org.quartz.impl.triggers;
 
 import java.util.Date;
+import java.util.PrimitiveIterator;
 
 import org.quartz.Calendar;
 import org.quartz.CronTrigger;
@@ -485,7 +486,7 @@ public class SimpleTriggerImpl extends AbstractTrigger<SimpleTrigger> implements
             Date newFireTime = getFireTimeAfter(new Date());
             while (newFireTime != null && cal != null
                     && !cal.isTimeIncluded(newFireTime.getTime())) {
-                newFireTime = getFireTimeAfter(newFireTime);
+                newFireTime = getFireTimeAfterExcluded(cal, newFireTime);
 
                 if(newFireTime == null)
                     break;
@@ -502,7 +503,7 @@ public class SimpleTriggerImpl extends AbstractTrigger<SimpleTrigger> implements
             Date newFireTime = getFireTimeAfter(new Date());
             while (newFireTime != null && cal != null
                     && !cal.isTimeIncluded(newFireTime.getTime())) {
-                newFireTime = getFireTimeAfter(newFireTime);
+                newFireTime = getFireTimeAfterExcluded(cal, newFireTime);
 
                 if(newFireTime == null)
                     break;
@@ -579,7 +580,7 @@ public class SimpleTriggerImpl extends AbstractTrigger<SimpleTrigger> implements
         while (nextFireTime != null && calendar != null
                 && !calendar.isTimeIncluded(nextFireTime.getTime())) {
             
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
 
             if(nextFireTime == null)
                 break;
@@ -608,7 +609,7 @@ public class SimpleTriggerImpl extends AbstractTrigger<SimpleTrigger> implements
         Date now = new Date();
         while (nextFireTime != null && !calendar.isTimeIncluded(nextFireTime.getTime())) {
 
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
 
             if(nextFireTime == null)
                 break;
@@ -651,7 +652,7 @@ public class SimpleTriggerImpl extends AbstractTrigger<SimpleTrigger> implements
 
         while (nextFireTime != null && calendar != null
                 && !calendar.isTimeIncluded(nextFireTime.getTime())) {
-            nextFireTime = getFireTimeAfter(nextFireTime);
+            nextFireTime = getFireTimeAfterExcluded(calendar, nextFireTime);
             
             if(nextFireTime == null)
                 break;
@@ -667,6 +668,49 @@ public class SimpleTriggerImpl extends AbstractTrigger<SimpleTrigger> implements
         return nextFireTime;
     }
 
+    /**
+     * <p>
+     * Projects the fire times of the <code>SimpleTrigger</code> on epoch
+     * milliseconds, without cloning it or creating an object for each of
+     * them. Subclasses are projected the default way.
+     * </p>
+     * 
+     * @see org.quartz.spi.OperableTrigger#projectFireTimes(Calendar, long)
+     */
+    @Override
+    public PrimitiveIterator.OfLong projectFireTimes(Calendar calendar, long endTime) {
+        if (getClass() != SimpleTriggerImpl.class) {
+            return super.projectFireTimes(calendar, endTime);
+        }
+
+        FireTimeProjection.FireTimes fireTimes = this::getFireTimeAfter;
+        if (nextFireTime != null) {
+            return FireTimeProjection.fromNextFireTime(fireTimes, calendar, endTime,
+                    YEAR_TO_GIVEUP_SCHEDULING_AT, timesTriggered, nextFireTime.getTime());
+        }
+        long startMillis = (getStartTime() == null) ? FireTimeProjection.NO_FIRE_TIME : getStartTime().getTime();
+        return FireTimeProjection.fromFirstFireTime(fireTimes, calendar, endTime,
+                YEAR_TO_GIVEUP_SCHEDULING_AT, timesTriggered, startMillis);
+    }
+
+    /**
+     * <p>
+     * Projects the fire times of the <code>SimpleTrigger</code> from the given
+     * start time, moving on to it in one step, unless its fire times are
+     * limited by a repeat count (as the ones it skips would have to be
+     * counted). Subclasses are projected the default way.
+     * </p>
+     * 
+     * @see org.quartz.spi.OperableTrigger#projectFireTimes(Calendar, long, long)
+     */
+    @Override
+    public PrimitiveIterator.OfLong projectFireTimes(Calendar calendar, long startTime, long endTime) {
+        if (getClass() != SimpleTriggerImpl.class || getRepeatCount() != REPEAT_INDEFINITELY) {
+            return super.projectFireTimes(calendar, startTime, endTime);
+        }
+        return ((FireTimeProjection) projectFireTimes(calendar, endTime)).startingAt(startTime);
+    }
+
     /**
      * <p>
      * Returns the next time at which the <code>Trigger</code> is scheduled to fire. If
@@ -734,47 +778,53 @@ public class SimpleTriggerImpl extends AbstractTrigger<SimpleTrigger> implements
      */
     @Override
     public Date getFireTimeAfter(Date afterTime) {
+        long afterMillis = (afterTime == null) ? System.currentTimeMillis() : afterTime.getTime();
+        long time = getFireTimeAfter(afterMillis, timesTriggered);
+        return (time == FireTimeProjection.NO_FIRE_TIME) ? null : new Date(time);
+    }
+
+    /**
+     * The fire time after the given time, for the trigger having fired the
+     * given number of times, or <code>NO_FIRE_TIME</code> if there is none.
+     */
+    private long getFireTimeAfter(long afterMillis, int timesTriggered) {
         if (complete) {
-            return null;
+            return FireTimeProjection.NO_FIRE_TIME;
         }
 
         if ((timesTriggered > repeatCount)
                 && (repeatCount != REPEAT_INDEFINITELY)) {
-            return null;
+            return FireTimeProjection.NO_FIRE_TIME;
         }
 
-        if (afterTime == null) {
-            afterTime = new Date();
-        }
+        long startMillis = getStartTime().getTime();
 
-        if (repeatCount == 0 && afterTime.compareTo(getStartTime()) >= 0) {
-            return null;
+        if (repeatCount == 0 && afterMillis >= startMillis) {
+            return FireTimeProjection.NO_FIRE_TIME;
         }
 
-        long startMillis = getStartTime().getTime();
-        long afterMillis = afterTime.getTime();
         long endMillis = (getEndTime() == null) ? Long.MAX_VALUE : getEndTime()
                 .getTime();
 
         if (endMillis <= afterMillis) {
-            return null;
+            return FireTimeProjection.NO_FIRE_TIME;
         }
 
         if (afterMillis < startMillis) {
-            return new Date(startMillis);
+            return startMillis;
         }
 
         long numberOfTimesExecuted = ((afterMillis - startMillis) / repeatInterval) + 1;
 
         if ((numberOfTimesExecuted > repeatCount) && 
             (repeatCount != REPEAT_INDEFINITELY)) {
-            return null;
+            return FireTimeProjection.NO_FIRE_TIME;
         }
 
-        Date time = new Date(startMillis + (numberOfTimesExecuted * repeatInterval));
+        long time = startMillis + (numberOfTimesExecuted * repeatInterval);
 
-        if (endMillis <= time.getTime()) {
-            return null;
+        if (endMillis <= time) {
+            return FireTimeProjection.NO_FIRE_TIME;
         }
 
         return time;
@@ -0,0 +1,218 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.quartz.impl.triggers;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * A stretch of time over which a <code>TimeZone</code> has a single offset,
+ * between two of its transitions, so that times within it can be computed
+ * with plain epoch arithmetic instead of by stepping a
+ * <code>java.util.Calendar</code>.
+ *
+ * <p>
+ * The transitions are looked up in the <code>java.time</code> rules of the
+ * zone.  A window is <i>irregular</i> (never contains any time) when those
+ * rules are not known, or may disagree with the <code>TimeZone</code>.
+ * </p>
+ */
+final class ZoneOffsetWindow {
+
+    static final long MILLIS_PER_DAY = 86400000L;
+
+    // how far from a time zone transition a lenient Calendar may resolve a
+    // local time differently from plain local time arithmetic
+    static final long TRANSITION_MARGIN_MILLIS = 3L * MILLIS_PER_DAY;
+
+    // java.util.TimeZone only keeps the transitions of a zone up to the end
+    // of 2037, and follows a repeating rule after that
+    private static final long TIME_ZONE_TRANSITIONS_END = LocalDate.of(2038, 1, 1).toEpochDay() * MILLIS_PER_DAY;
+
+    final TimeZone timeZone;
+    final int offset;
+    private final ZoneRules rules;
+    private final long from;
+    private final long to;
+    private final int nextOffset;
+    private final boolean regular;
+    // the time of the last transition the rules list, if any
+    private final long lastTransition;
+
+    private static volatile Locale gregorianLocale;
+
+    private ZoneOffsetWindow(TimeZone timeZone, ZoneRules rules, long lastTransition, long from, long to,
+            int offset, int nextOffset, boolean regular) {
+        this.timeZone = timeZone;
+        this.rules = rules;
+        this.lastTransition = lastTransition;
+        this.from = from;
+        this.to = to;
+        this.offset = offset;
+        this.nextOffset = nextOffset;
+        this.regular = regular;
+    }
+
+    /**
+     * Get the window of the given time zone around the given time, reusing
+     * the given window when it still covers the time, or moving on from it
+     * to the next one.
+     *
+     * @param window a previously returned window, or null
+     */
+    static ZoneOffsetWindow around(ZoneOffsetWindow window, TimeZone timeZone, long time) {
+        boolean sameZone = window != null
+                && (window.timeZone == timeZone || window.timeZone.equals(timeZone));
+        if (sameZone && window.covers(time)) {
+            return window;
+        }
+
+        ZoneRules rules;
+        long lastTransition;
+        if (sameZone) {
+            rules = window.rules;
+            lastTransition = window.lastTransition;
+        } else {
+            rules = rulesOf(timeZone);
+            lastTransition = Long.MIN_VALUE;
+            if (rules != null) {
+                // this copies all the transitions, so it's done once per zone
+                List<ZoneOffsetTransition> transitions = rules.getTransitions();
+                if (!transitions.isEmpty()) {
+                    lastTransition = transitions.get(transitions.size() - 1).getInstant().toEpochMilli();
+                }
+            }
+        }
+        if (rules == null) {
+            return new ZoneOffsetWindow(timeZone, null, lastTransition, Long.MIN_VALUE, Long.MAX_VALUE, 0, 0, false);
+        }
+        if (time >= TIME_ZONE_TRANSITIONS_END && lastTransition >= TIME_ZONE_TRANSITIONS_END) {
+            // irregular transitions after 2037, that the time zone doesn't know of
+            return new ZoneOffsetWindow(timeZone, rules, lastTransition, TIME_ZONE_TRANSITIONS_END, Long.MAX_VALUE,
+                    0, 0, false);
+        }
+
+        long from = Long.MIN_VALUE;
+        int offset;
+        ZoneOffsetTransition next;
+        if (sameZone && window.to != Long.MAX_VALUE && time >= window.to
+                && ((next = rules.nextTransition(Instant.ofEpochMilli(window.to))) == null
+                        || next.getInstant().toEpochMilli() > time)) {
+            // the window after the given one
+            from = window.to;
+            offset = window.nextOffset;
+        } else {
+            Instant instant = Instant.ofEpochMilli(time);
+            offset = rules.getOffset(instant).getTotalSeconds() * 1000;
+            // a transition at the given time is a previous one
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1L));
+            if (previous != null) {
+                from = previous.getInstant().toEpochMilli();
+            }
+            next = rules.nextTransition(instant);
+        }
+
+        long to = Long.MAX_VALUE;
+        int nextOffset = offset;
+        if (next != null) {
+            to = next.getInstant().toEpochMilli();
+            nextOffset = next.getOffsetAfter().getTotalSeconds() * 1000;
+        }
+        if (to > TIME_ZONE_TRANSITIONS_END && lastTransition >= TIME_ZONE_TRANSITIONS_END) {
+            to = TIME_ZONE_TRANSITIONS_END;
+        }
+        // the time zone may disagree with its own rules
+        boolean regular = timeZone.getOffset(time) == offset;
+        return new ZoneOffsetWindow(timeZone, rules, lastTransition, from, to, offset, nextOffset, regular);
+    }
+
+    private static ZoneRules rulesOf(TimeZone timeZone) {
+        try {
+            ZoneId zoneId = timeZone.toZoneId();
+            // a custom SimpleTimeZone may carry the ID of a different zone
+            if (!timeZone.hasSameRules(TimeZone.getTimeZone(zoneId))) {
+                return null;
+            }
+            return zoneId.getRules();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private boolean covers(long time) {
+        return time >= from && time < to;
+    }
+
+    /**
+     * Whether the window is irregular and covers the given time, so that
+     * every time up to its end has to be computed with a Calendar.
+     */
+    boolean isIrregularAt(long time) {
+        return !regular && covers(time);
+    }
+
+    /**
+     * Whether the time zone has no transition after the window.
+     */
+    boolean isLast() {
+        return regular && to == Long.MAX_VALUE;
+    }
+
+    /**
+     * The latest time in the window that is at least the given margin away
+     * from its end.
+     */
+    long latest(long margin) {
+        return (to == Long.MAX_VALUE) ? Long.MAX_VALUE : to - margin - 1;
+    }
+
+    /**
+     * Whether the given time is in the window, at least the given margin
+     * away from both of its ends.
+     */
+    boolean contains(long time, long margin) {
+        return regular
+                && (from == Long.MIN_VALUE || time >= from && time - from >= margin)
+                && (to == Long.MAX_VALUE || time < to && to - time > margin);
+    }
+
+    /**
+     * Whether <code>Calendar.getInstance()</code> gives a
+     * <code>GregorianCalendar</code>, whose steps are the ones computed.
+     */
+    static boolean usesGregorianCalendar() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (locale.equals(gregorianLocale)) {
+            return true;
+        }
+        if (Calendar.getInstance(locale).getClass() != GregorianCalendar.class) {
+            return false;
+        }
+        gregorianLocale = locale;
+        return true;
+    }
+}
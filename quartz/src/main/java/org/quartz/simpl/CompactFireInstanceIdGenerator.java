@@ -0,0 +1,47 @@
+/* 
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not 
+ * use this file except in compliance with the License. You may obtain a copy 
+ * of the License at 
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0 
+ *   
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT 
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the 
+ * License for the specific language governing permissions and limitations 
+ * under the License.
+ * 
+ */
+package org.quartz.simpl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.quartz.spi.FireInstanceIdGenerator;
+
+/**
+ * The default FireInstanceIdGenerator used by Quartz.  Fire instance ids are
+ * of the form INSTANCE_ID + "-" + COUNTER (or just COUNTER if the job store is
+ * not shared), the counter starting from the current time in milliseconds
+ * and being written in base 36, so that an id is only some 9 characters
+ * longer than the instance id.  Ids are generated with a single atomic increment.
+ * 
+ * @see FireInstanceIdGenerator
+ */
+public class CompactFireInstanceIdGenerator implements FireInstanceIdGenerator {
+
+    private final AtomicLong counter = new AtomicLong(System.currentTimeMillis());
+
+    private String prefix = "";
+
+    public void initialize(String instanceId) {
+        // the counter never holds a '-', so ids of different instances can't clash
+        prefix = (instanceId == null) ? "" : instanceId + "-";
+    }
+
+    public String generateFireInstanceId() {
+        return prefix.concat(Long.toString(counter.incrementAndGet(), Character.MAX_RADIX));
+    }
+}
@@ -31,9 +31,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.Map.Entry;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.quartz.Calendar;
+import org.quartz.FireTimeForecast;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
@@ -45,9 +45,11 @@ import org.quartz.TriggerKey;
 import org.quartz.Trigger.CompletedExecutionInstruction;
 import org.quartz.Trigger.TriggerState;
 import org.quartz.Trigger.TriggerTimeComparator;
+import org.quartz.impl.calendar.CompiledCalendar;
 import org.quartz.impl.matchers.GroupMatcher;
 import org.quartz.impl.matchers.StringMatcher;
 import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.FireInstanceIdGenerator;
 import org.quartz.spi.JobStore;
 import org.quartz.spi.OperableTrigger;
 import org.quartz.spi.SchedulerSignaler;
@@ -95,6 +97,10 @@ public class RAMJobStore implements JobStore {
 
     protected final HashMap<String, Calendar> calendarsByName = new HashMap<>(25);
 
+    // the compiled forms of the stored calendars that can be compiled, which
+    // are applied to the triggers
+    protected final HashMap<String, Calendar> compiledCalendarsByName = new HashMap<>(25);
+
     protected final Map<JobKey, List<TriggerWrapper>> triggersByJob = new HashMap<>(1000);
 
     protected final Object lock = new Object();
@@ -104,11 +110,17 @@ public class RAMJobStore implements JobStore {
     protected final HashSet<String> pausedJobGroups = new HashSet<>();
 
     protected final HashSet<JobKey> blockedJobs = new HashSet<>();
+
+    // the triggers acquired by the scheduler, which are not in timeTriggers
+    // until they are fired or released
+    protected final HashMap<TriggerKey, TriggerWrapper> acquiredTriggers = new HashMap<>();
     
     protected long misfireThreshold = 5000L;
 
     protected SchedulerSignaler signaler;
 
+    private FireInstanceIdGenerator fireInstanceIdGenerator = new CompactFireInstanceIdGenerator();
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     /*
@@ -148,6 +160,7 @@ public class RAMJobStore implements JobStore {
     public void initialize(ClassLoadHelper loadHelper, SchedulerSignaler schedSignaler) {
 
         this.signaler = schedSignaler;
+        fireInstanceIdGenerator.initialize(null);
 
         getLog().info("RAMJobStore initialized.");
     }
@@ -183,6 +196,21 @@ public class RAMJobStore implements JobStore {
         this.misfireThreshold = misfireThreshold;
     }
 
+    public FireInstanceIdGenerator getFireInstanceIdGenerator() {
+        return fireInstanceIdGenerator;
+    }
+
+    /**
+     * Set the generator of the ids of trigger firings, usually configured
+     * with the <code>org.quartz.jobStore.fireInstanceIdGenerator.class</code>
+     * property.  The default is a <code>{@link CompactFireInstanceIdGenerator}</code>.
+     * 
+     * @param fireInstanceIdGenerator the new fire instance id generator
+     */
+    public void setFireInstanceIdGenerator(FireInstanceIdGenerator fireInstanceIdGenerator) {
+        this.fireInstanceIdGenerator = fireInstanceIdGenerator;
+    }
+
     /**
      * <p>
      * Called by the QuartzScheduler to inform the <code>JobStore</code> that
@@ -481,6 +509,7 @@ public class RAMJobStore implements JobStore {
                 }
                
                 timeTriggers.remove(tw);
+                acquiredTriggers.remove(key);
 
                 if (removeOrphanedJob) {
                     JobWrapper jw = jobsByKey.get(tw.jobKey);
@@ -789,6 +818,7 @@ public class RAMJobStore implements JobStore {
         throws ObjectAlreadyExistsException {
 
         calendar = (Calendar) calendar.clone();
+        Calendar compiled = CompiledCalendar.compile(calendar);
         
         synchronized (lock) {
     
@@ -802,13 +832,18 @@ public class RAMJobStore implements JobStore {
             }
     
             calendarsByName.put(name, calendar);
+            if (compiled instanceof CompiledCalendar) {
+                compiledCalendarsByName.put(name, compiled);
+            } else {
+                compiledCalendarsByName.remove(name);
+            }
     
             if(obj != null && updateTriggers) {
                 for (TriggerWrapper tw : getTriggerWrappersForCalendar(name)) {
                     OperableTrigger trig = tw.getTrigger();
                     boolean removed = timeTriggers.remove(tw);
 
-                    trig.updateWithNewCalendar(calendar, getMisfireThreshold());
+                    trig.updateWithNewCalendar(compiled, getMisfireThreshold());
 
                     if (removed) {
                         timeTriggers.add(tw);
@@ -852,6 +887,7 @@ public class RAMJobStore implements JobStore {
                     "Calender cannot be removed if it referenced by a Trigger!");
         }
 
+        compiledCalendarsByName.remove(calName);
         return (calendarsByName.remove(calName) != null);
     }
 
@@ -874,6 +910,37 @@ public class RAMJobStore implements JobStore {
         }
     }
 
+    /**
+     * <p>
+     * Retrieve the given <code>{@link org.quartz.Calendar}</code> in the form
+     * to apply to triggers: compiled when it can be, and otherwise a copy of
+     * it as given by <code>{@link #retrieveCalendar(String)}</code>.
+     * </p>
+     */
+    protected Calendar retrieveCompiledCalendar(String calName) {
+        synchronized (lock) {
+            Calendar cal = compiledCalendarsByName.get(calName);
+            if(cal != null)
+                return cal;
+            return retrieveCalendar(calName);
+        }
+    }
+
+    /**
+     * <p>
+     * Like <code>{@link #retrieveCompiledCalendar(String)}</code>, for a
+     * <code>{@link org.quartz.Calendar}</code> that has already been
+     * retrieved, which is applied as it is rather than copied again when it
+     * cannot be compiled.
+     * </p>
+     */
+    protected Calendar retrieveCompiledCalendar(String calName, Calendar cal) {
+        synchronized (lock) {
+            Calendar compiled = compiledCalendarsByName.get(calName);
+            return (compiled != null) ? compiled : cal;
+        }
+    }
+
     /**
      * <p>
      * Get the number of <code>{@link org.quartz.JobDetail}</code> s that are
@@ -1021,6 +1088,64 @@ public class RAMJobStore implements JobStore {
         return outList == null ? Collections.emptySet() : outList;
     }
 
+    /**
+     * <p>
+     * Forecast the fires of the triggers of the matching job groups, only
+     * looking at the triggers that are due within the window: the first of
+     * the time-ordered waiting triggers, and the acquired and blocked ones.
+     * They are copied under the lock, and projected outside of it.
+     * </p>
+     */
+    @Override
+    public FireTimeForecast getFireTimeForecast(GroupMatcher<JobKey> matcher, long from, long bucketMillis, int bucketCount) {
+        FireTimeForecast forecast = new FireTimeForecast(new Date(from), bucketMillis, bucketCount);
+        long windowEnd = forecast.getWindowEnd().getTime();
+        List<OperableTrigger> triggers = new ArrayList<>();
+        List<Calendar> calendars = new ArrayList<>();
+
+        synchronized (lock) {
+            Map<String, Calendar> calendarsToApply = new HashMap<>();
+            List<TriggerWrapper> due = new ArrayList<>();
+            for (TriggerWrapper tw : timeTriggers) {
+                Date nextFireTime = tw.trigger.getNextFireTime();
+                // the rest are due after the window
+                if (nextFireTime == null || nextFireTime.getTime() >= windowEnd) {
+                    break;
+                }
+                due.add(tw);
+            }
+            for (TriggerWrapper tw : acquiredTriggers.values()) {
+                if (tw.state == TriggerWrapper.STATE_ACQUIRED && triggersByKey.get(tw.key) == tw) {
+                    due.add(tw);
+                }
+            }
+            for (JobKey jobKey : blockedJobs) {
+                for (TriggerWrapper tw : getTriggerWrappersForJob(jobKey)) {
+                    if (tw.state == TriggerWrapper.STATE_BLOCKED) {
+                        due.add(tw);
+                    }
+                }
+            }
+
+            for (TriggerWrapper tw : due) {
+                Date nextFireTime = tw.trigger.getNextFireTime();
+                if (nextFireTime == null || nextFireTime.getTime() >= windowEnd
+                        || !matcher.isMatch(tw.jobKey)) {
+                    continue;
+                }
+                String calName = tw.trigger.getCalendarName();
+                triggers.add((OperableTrigger) tw.trigger.clone());
+                calendars.add(calName == null
+                        ? null : calendarsToApply.computeIfAbsent(calName, this::retrieveCompiledCalendar));
+            }
+        }
+
+        for (int i = 0; i < triggers.size(); i++) {
+            forecast.addFireTimes(triggers.get(i), calendars.get(i));
+        }
+        return forecast;
+    }
+
     /**
      * <p>
      * Get the names of all of the <code>{@link org.quartz.Job}</code>
@@ -1467,7 +1592,7 @@ public class RAMJobStore implements JobStore {
 
         Calendar cal = null;
         if (tw.trigger.getCalendarName() != null) {
-            cal = retrieveCalendar(tw.trigger.getCalendarName());
+            cal = retrieveCompiledCalendar(tw.trigger.getCalendarName());
         }
 
         signaler.notifyTriggerListenersMisfired((OperableTrigger)tw.trigger.clone());
@@ -1485,10 +1610,8 @@ public class RAMJobStore implements JobStore {
         return true;
     }
 
-    private static final AtomicLong ftrCtr = new AtomicLong(System.currentTimeMillis());
-
     protected String getFiredTriggerRecordId() {
-        return String.valueOf(ftrCtr.incrementAndGet());
+        return fireInstanceIdGenerator.generateFireInstanceId();
     }
 
     /**
@@ -1552,6 +1675,7 @@ public class RAMJobStore implements JobStore {
                 }
 
                 tw.state = TriggerWrapper.STATE_ACQUIRED;
+                acquiredTriggers.put(tw.key, tw);
                 tw.trigger.setFireInstanceId(getFiredTriggerRecordId());
                 OperableTrigger trig = (OperableTrigger) tw.trigger.clone();
                 if (result.isEmpty()) {
@@ -1578,6 +1702,7 @@ public class RAMJobStore implements JobStore {
      */
     public void releaseAcquiredTrigger(OperableTrigger trigger) {
         synchronized (lock) {
+            acquiredTriggers.remove(trigger.getKey());
             TriggerWrapper tw = triggersByKey.get(trigger.getKey());
             if (tw != null && tw.state == TriggerWrapper.STATE_ACQUIRED) {
                 tw.state = TriggerWrapper.STATE_WAITING;
@@ -1599,6 +1724,7 @@ public class RAMJobStore implements JobStore {
             List<TriggerFiredResult> results = new ArrayList<>();
 
             for (OperableTrigger trigger : firedTriggers) {
+                acquiredTriggers.remove(trigger.getKey());
                 TriggerWrapper tw = triggersByKey.get(trigger.getKey());
                 // was the trigger deleted since being acquired?
                 if (tw == null) {
@@ -1610,17 +1736,19 @@ public class RAMJobStore implements JobStore {
                 }
 
                 Calendar cal = null;
+                Calendar compiledCal = null;
                 if (tw.trigger.getCalendarName() != null) {
                     cal = retrieveCalendar(tw.trigger.getCalendarName());
                     if(cal == null)
                         continue;
+                    compiledCal = retrieveCompiledCalendar(tw.trigger.getCalendarName(), cal);
                 }
                 Date prevFireTime = trigger.getPreviousFireTime();
                 // in case trigger was replaced between acquiring and firing
                 timeTriggers.remove(tw);
                 // call triggered on our copy, and the scheduler's copy
-                tw.trigger.triggered(cal);
-                trigger.triggered(cal);
+                tw.trigger.triggered(compiledCal);
+                trigger.triggered(compiledCal);
                 //tw.state = TriggerWrapper.STATE_EXECUTING;
                 tw.state = TriggerWrapper.STATE_WAITING;
 
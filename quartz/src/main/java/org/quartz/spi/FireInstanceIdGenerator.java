@@ -0,0 +1,53 @@
+/* 
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not 
+ * use this file except in compliance with the License. You may obtain a copy 
+ * of the License at 
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0 
+ *   
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT 
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the 
+ * License for the specific language governing permissions and limitations 
+ * under the License.
+ * 
+ */
+package org.quartz.spi;
+
+/**
+ * <p>
+ * A FireInstanceIdGenerator is responsible for generating the ids a
+ * <code>{@link JobStore}</code> gives each acquired trigger (see
+ * <code>{@link OperableTrigger#setFireInstanceId(String)}</code>), which
+ * identify the firing in <code>{@link org.quartz.JobExecutionContext#getFireInstanceId()}</code>
+ * and, in a JDBC job store, the row of the FIRED_TRIGGERS table.
+ * </p>
+ * 
+ * <p>
+ * The ids need to be unique among the firings of all scheduler instances
+ * sharing the job store, for as long as they are recorded, and are generated
+ * by every thread acquiring triggers - implementations must be thread-safe,
+ * and should not need to lock.  Short ids keep the ENTRY_ID index of the
+ * FIRED_TRIGGERS table small.
+ * </p>
+ * 
+ * @see org.quartz.simpl.CompactFireInstanceIdGenerator
+ */
+public interface FireInstanceIdGenerator {
+
+    /**
+     * Called by the <code>JobStore</code> before any id is generated.
+     * 
+     * @param instanceId the clusterwide unique id of the scheduler instance,
+     *                   or <code>null</code> if the job store is not shared
+     */
+    void initialize(String instanceId);
+
+    /**
+     * Generate the id of a trigger firing.
+     */
+    String generateFireInstanceId();
+}
@@ -19,11 +19,16 @@
 package org.quartz.spi;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.quartz.Calendar;
+import org.quartz.FireTimeForecast;
 import org.quartz.Job;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
@@ -36,6 +41,7 @@ import org.quartz.TriggerKey;
 import org.quartz.Trigger.CompletedExecutionInstruction;
 import org.quartz.Trigger.TriggerState;
 import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.utils.Key;
 
 /**
  * <p>
@@ -388,6 +394,112 @@ public interface JobStore {
     Set<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher)
         throws JobPersistenceException;
 
+    /**
+     * Get a page of the keys of the <code>{@link org.quartz.Job}</code> s
+     * in the matching groups, ordered by group and then name.
+     *
+     * <p>
+     * Unlike <code>{@link #getJobKeys(GroupMatcher)}</code>, implementations
+     * are expected to only load the requested page, so that a large number
+     * of jobs can be paged through with constant memory.  This default
+     * implementation pages through the full set of keys.
+     * </p>
+     *
+     * @param after the last key of the previous page, or <code>null</code>
+     * for the first page
+     * @param limit the maximum number of keys to return
+     * @see org.quartz.utils.Key#GROUP_AND_NAME_ORDER
+     */
+    default List<JobKey> getJobKeys(GroupMatcher<JobKey> matcher, JobKey after, int limit)
+        throws JobPersistenceException {
+        return Key.page(getJobKeys(matcher), after, limit);
+    }
+
+    /**
+     * Get a page of the keys of the <code>{@link org.quartz.Trigger}</code> s
+     * in the matching groups, ordered by group and then name.
+     *
+     * @param after the last key of the previous page, or <code>null</code>
+     * for the first page
+     * @param limit the maximum number of keys to return
+     * @see #getJobKeys(GroupMatcher, JobKey, int)
+     */
+    default List<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher, TriggerKey after, int limit)
+        throws JobPersistenceException {
+        return Key.page(getTriggerKeys(matcher), after, limit);
+    }
+
+    /**
+     * Pass the key of every <code>{@link org.quartz.Job}</code> in the
+     * matching groups to the given action, without first collecting them.
+     *
+     * <p>
+     * The action may be called while resources of the <code>JobStore</code>
+     * (such as a database cursor) are held, so it should be quick and must
+     * not call back into the <code>JobStore</code>.
+     * </p>
+     */
+    default void forEachJobKey(GroupMatcher<JobKey> matcher, Consumer<? super JobKey> action)
+        throws JobPersistenceException {
+        getJobKeys(matcher).forEach(action);
+    }
+
+    /**
+     * Pass the key of every <code>{@link org.quartz.Trigger}</code> in the
+     * matching groups to the given action, without first collecting them.
+     *
+     * @see #forEachJobKey(GroupMatcher, Consumer)
+     */
+    default void forEachTriggerKey(GroupMatcher<TriggerKey> matcher, Consumer<? super TriggerKey> action)
+        throws JobPersistenceException {
+        getTriggerKeys(matcher).forEach(action);
+    }
+
+    /**
+     * Forecast how many times the triggers of the jobs in the matching groups
+     * are expected to fire, per job group and per bucket of the given window.
+     *
+     * <p>
+     * Triggers that are paused are not counted, while triggers that are
+     * acquired or blocked are.  Implementations are expected to only project
+     * the triggers whose next fire time is before the end of the window.
+     * This default implementation looks at every trigger.
+     * </p>
+     *
+     * @param from the start of the window, in milliseconds
+     * @param bucketMillis the length of each bucket, in milliseconds
+     * @param bucketCount the number of buckets in the window
+     * @see org.quartz.Scheduler#getFireTimeForecast(GroupMatcher, java.util.Date, long, int)
+     */
+    default FireTimeForecast getFireTimeForecast(GroupMatcher<JobKey> matcher, long from, long bucketMillis, int bucketCount)
+        throws JobPersistenceException {
+        FireTimeForecast forecast = new FireTimeForecast(new Date(from), bucketMillis, bucketCount);
+        long windowEnd = forecast.getWindowEnd().getTime();
+        Map<String, Calendar> calendars = new HashMap<>();
+        for (TriggerKey triggerKey : getTriggerKeys(GroupMatcher.anyTriggerGroup())) {
+            OperableTrigger trigger = retrieveTrigger(triggerKey);
+            if (trigger == null || trigger.getNextFireTime() == null
+                    || trigger.getNextFireTime().getTime() >= windowEnd
+                    || !matcher.isMatch(trigger.getJobKey())) {
+                continue;
+            }
+            TriggerState state = getTriggerState(triggerKey);
+            if (state != TriggerState.NORMAL && state != TriggerState.BLOCKED) {
+                continue;
+            }
+            Calendar calendar = null;
+            if (trigger.getCalendarName() != null) {
+                calendar = calendars.get(trigger.getCalendarName());
+                if (calendar == null) {
+                    calendar = retrieveCalendar(trigger.getCalendarName());
+                    calendars.put(trigger.getCalendarName(), calendar);
+                }
+            }
+            forecast.addFireTimes(trigger, calendar);
+        }
+        return forecast;
+    }
+
     /**
      * Get the names of all of the <code>{@link org.quartz.Job}</code>
      * groups.
@@ -731,4 +843,14 @@ public interface JobStore {
      */
     long getAcquireRetryDelay(int failureCount);
 
+    /**
+     * Get implementation specific performance metrics of the
+     * <code>JobStore</code>, such as cache hit counts, keyed by metric name.
+     *
+     * @return the metrics - may be empty, never <code>null</code>
+     */
+    default Map<String, Long> getPerformanceMetrics() {
+        return Collections.emptyMap();
+    }
+
 }
@@ -1,6 +1,8 @@
 package org.quartz.spi;
 
 import java.util.Date;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
 import org.quartz.Calendar;
 import org.quartz.JobExecutionContext;
@@ -48,6 +50,99 @@ public interface OperableTrigger extends MutableTrigger {
      */
     Date computeFirstFireTime(Calendar calendar);
 
+    /**
+     * <p>
+     * Projects the times (in milliseconds) at which the <code>Trigger</code>
+     * will fire, up to and including the given end time, as successive calls
+     * to <code>{@link #triggered(Calendar)}</code> would compute them with
+     * the given calendar. The projection starts at the trigger's next fire
+     * time, or at the one <code>{@link #computeFirstFireTime(Calendar)}</code>
+     * would compute, if it has none yet. The <code>Trigger</code> itself is
+     * not changed.
+     * </p>
+     * 
+     * <p>
+     * The default implementation fires a clone of the <code>Trigger</code>.
+     * The built-in triggers compute their fire times without a clone, and
+     * without creating an object for each of them.
+     * </p>
+     * 
+     * @see org.quartz.TriggerUtils#projectFireTimes(OperableTrigger, Calendar, long)
+     */
+    default PrimitiveIterator.OfLong projectFireTimes(Calendar calendar, long endTime) {
+        OperableTrigger t = (OperableTrigger) clone();
+        if (t.getNextFireTime() == null) {
+            t.computeFirstFireTime(calendar);
+        }
+
+        return new PrimitiveIterator.OfLong() {
+            public boolean hasNext() {
+                Date d = t.getNextFireTime();
+                return d != null && d.getTime() <= endTime;
+            }
+
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long time = t.getNextFireTime().getTime();
+                t.triggered(calendar);
+                return time;
+            }
+        };
+    }
+
+    /**
+     * <p>
+     * Projects the times (in milliseconds) at which the <code>Trigger</code>
+     * will fire from the given start time, up to and including the given end
+     * time, as <code>{@link #projectFireTimes(Calendar, long)}</code> does,
+     * leaving out the ones before the start time.
+     * </p>
+     * 
+     * <p>
+     * The default implementation steps through the fire times before the
+     * start time.  The built-in triggers move on to the start time in one
+     * step, unless the number of times they fire is limited by a repeat count.
+     * </p>
+     * 
+     * @see #projectFireTimes(Calendar, long)
+     */
+    default PrimitiveIterator.OfLong projectFireTimes(Calendar calendar, long startTime, long endTime) {
+        PrimitiveIterator.OfLong fireTimes = projectFireTimes(calendar, endTime);
+
+        return new PrimitiveIterator.OfLong() {
+            private boolean started;
+
+            // the first fire time at or after the start time, until returned
+            private boolean hasFirst;
+
+            private long first;
+
+            public boolean hasNext() {
+                if (!started) {
+                    started = true;
+                    while (!hasFirst && fireTimes.hasNext()) {
+                        first = fireTimes.nextLong();
+                        hasFirst = first >= startTime;
+                    }
+                }
+                return hasFirst || fireTimes.hasNext();
+            }
+
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (hasFirst) {
+                    hasFirst = false;
+                    return first;
+                }
+                return fireTimes.nextLong();
+            }
+        };
+    }
+
     /**
      * <p>
      * This method should not be used by the Quartz client.
@@ -19,6 +19,10 @@
 package org.quartz.utils;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 
 
@@ -149,6 +153,41 @@ public class Key<T>  implements Serializable, Comparable<Key<T>> {
         return name.compareTo(o.getName());
     }
     
+    /**
+     * Orders keys by group and then by name, as plain strings.  This is the
+     * order in which keys are paged through by
+     * <code>{@link org.quartz.Scheduler#getJobKeys(org.quartz.impl.matchers.GroupMatcher, org.quartz.JobKey, int)}</code>
+     * and
+     * <code>{@link org.quartz.Scheduler#getTriggerKeys(org.quartz.impl.matchers.GroupMatcher, org.quartz.TriggerKey, int)}</code>
+     * (unlike <code>{@link #compareTo(Key)}</code>, the default group is not
+     * put first, so that it matches the order of an <code>ORDER BY</code>).
+     */
+    public static final Comparator<Key<?>> GROUP_AND_NAME_ORDER =
+            Comparator.<Key<?>, String>comparing(Key::getGroup).thenComparing(Key::getName);
+
+    /**
+     * Get the page of the given keys that follows the given key in
+     * <code>{@link #GROUP_AND_NAME_ORDER}</code>.
+     * 
+     * @param after the last key of the previous page, or <code>null</code>
+     * for the first page
+     * @param limit the maximum number of keys to return
+     */
+    public static <K extends Key<?>> List<K> page(Collection<K> keys, K after, int limit) {
+        List<K> page = new ArrayList<>();
+        for (K key : keys) {
+            if (after == null || GROUP_AND_NAME_ORDER.compare(key, after) > 0) {
+                page.add(key);
+            }
+        }
+        page.sort(GROUP_AND_NAME_ORDER);
+        
+        if (page.size() > limit) {
+            return new ArrayList<>(page.subList(0, limit));
+        }
+        return page;
+    }
+
     public static String createUniqueName(String group) {
         if(group == null)
             group = DEFAULT_GROUP;
@@ -14,6 +14,7 @@ create table qrtz_job_details (
 	job_group varchar(200) not null,
 	description varchar(250) ,
 	job_class_name varchar(250) not null,
+	data_version longint,
 	is_durable varchar(5) not null,
     is_nonconcurrent varchar(5) not null,
     is_update_data varchar(5) not null,
@@ -38,6 +39,7 @@ create table qrtz_triggers(
 	end_time longint,
 	calendar_name varchar(200),
 	misfire_instr smallint,
+	lock_partition smallint,
 	job_data long varbinary,
 primary key (sched_name,trigger_name,trigger_group),
 foreign key (sched_name,job_name,job_group) references qrtz_job_details(sched_name,job_name,job_group)
@@ -97,6 +99,7 @@ foreign key (sched_name,trigger_name,trigger_group) references qrtz_triggers(sch
 create table qrtz_calendars(
     sched_name varchar(120) not null,
 	calendar_name varchar(200) not null,
+	data_version longint,
 	calendar long varbinary not null,
 primary key (sched_name,calendar_name)
 ); 
@@ -36,6 +36,7 @@ create table qrtz_job_details (
   job_group varchar(80) not null,
   description varchar(120),
   job_class_name varchar(128) not null,
+  data_version bigint,
   is_durable varchar(1) not null,
   is_nonconcurrent varchar(1) not null,
   is_update_data varchar(1) not null,
@@ -60,6 +61,7 @@ create table qrtz_triggers(
   end_time bigint,
   calendar_name varchar(80),
   misfire_instr smallint,
+  lock_partition smallint,
   job_data blob(2000),
     primary key (sched_name,trigger_name,trigger_group),
     foreign key (sched_name,job_name,job_group) references qrtz_job_details(sched_name,job_name,job_group)
@@ -119,6 +121,7 @@ create table qrtz_blob_triggers(
 create table qrtz_calendars(
   sched_name varchar(120) not null,
   calendar_name varchar(80) not null,
+  data_version bigint,
   calendar blob(2000) not null,
     primary key (sched_name,calendar_name)
 );
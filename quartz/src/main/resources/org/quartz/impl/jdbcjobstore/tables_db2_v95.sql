@@ -16,6 +16,7 @@ job_name varchar(80) not null,
 job_group varchar(80) not null,
 description varchar(120),
 job_class_name varchar(128) not null,
+data_version bigint,
 is_durable integer not null,
 is_nonconcurrent integer not null,
 is_update_data integer not null,
@@ -40,6 +41,7 @@ start_time bigint not null,
 end_time bigint,
 calendar_name varchar(80),
 misfire_instr smallint,
+lock_partition smallint,
 job_data blob(2000),
 primary key (sched_name,trigger_name,trigger_group),
 foreign key (sched_name,job_name,job_group) references qrtz_job_details(sched_name,job_name,job_group)
@@ -99,6 +101,7 @@ foreign key (sched_name,trigger_name,trigger_group) references qrtz_triggers(sch
 create table qrtz_calendars(
 sched_name varchar(120) not null,
 calendar_name varchar(80) not null,
+data_version bigint,
 calendar blob(2000) not null,
 primary key (calendar_name)
 );
@@ -45,6 +45,7 @@ job_name varchar(200) not null,
 job_group varchar(200) not null,
 description varchar(250) ,
 job_class_name varchar(250) not null,
+data_version bigint,
 is_durable varchar(5) not null,
 is_nonconcurrent varchar(5) not null,
 is_update_data varchar(5) not null,
@@ -69,6 +70,7 @@ start_time bigint not null,
 end_time bigint,
 calendar_name varchar(200),
 misfire_instr smallint,
+lock_partition smallint,
 job_data blob,
 primary key (sched_name,trigger_name,trigger_group),
 foreign key (sched_name,job_name,job_group) references qrtz_job_details(sched_name,job_name,job_group)
@@ -128,6 +130,7 @@ foreign key (sched_name,trigger_name,trigger_group) references qrtz_triggers(sch
 create table qrtz_calendars(
 sched_name varchar(120) not null,
 calendar_name varchar(200) not null,
+data_version bigint,
 calendar blob not null,
 primary key (sched_name,calendar_name)
 );
@@ -23,6 +23,7 @@ CREATE TABLE QRTZ_JOB_DETAILS (
     JOB_GROUP VARCHAR(60) NOT NULL,
     DESCRIPTION VARCHAR(120),
     JOB_CLASS_NAME   VARCHAR(128) NOT NULL, 
+    DATA_VERSION BIGINT,
     IS_DURABLE VARCHAR(1) NOT NULL,
     IS_NONCONCURRENT VARCHAR(1) NOT NULL,
     IS_UPDATE_DATA VARCHAR(1) NOT NULL,
@@ -47,6 +48,7 @@ CREATE TABLE QRTZ_TRIGGERS (
     END_TIME BIGINT,
     CALENDAR_NAME VARCHAR(60),
     MISFIRE_INSTR SMALLINT,
+    LOCK_PARTITION SMALLINT,
     JOB_DATA BLOB,
     CONSTRAINT PK_QRTZ_TRIGGERS PRIMARY KEY (SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP),
     CONSTRAINT FK_QRTZ_TRIGGERS_1 FOREIGN KEY (SCHED_NAME,JOB_NAME,JOB_GROUP) 
@@ -110,6 +112,7 @@ CREATE TABLE QRTZ_BLOB_TRIGGERS (
 CREATE TABLE QRTZ_CALENDARS (
     SCHED_NAME VARCHAR(120) NOT NULL,
     CALENDAR_NAME  VARCHAR(60) NOT NULL, 
+    DATA_VERSION BIGINT,
     CALENDAR BLOB NOT NULL,
     CONSTRAINT PK_QRTZ_CALENDARS PRIMARY KEY (SCHED_NAME,CALENDAR_NAME)
 );
@@ -23,6 +23,7 @@ CREATE TABLE QRTZ_JOB_DETAILS
   JOB_GROUP         VARCHAR(200) NOT NULL,
   DESCRIPTION       VARCHAR(250) NULL,
   JOB_CLASS_NAME    VARCHAR(250) NOT NULL,
+  DATA_VERSION BIGINT       NULL,
   IS_DURABLE        BOOL         NOT NULL,
   IS_NONCONCURRENT  BOOL         NOT NULL,
   IS_UPDATE_DATA    BOOL         NOT NULL,
@@ -48,6 +49,7 @@ CREATE TABLE QRTZ_TRIGGERS
   END_TIME       BIGINT       NULL,
   CALENDAR_NAME  VARCHAR(200) NULL,
   MISFIRE_INSTR  SMALLINT     NULL,
+  LOCK_PARTITION SMALLINT     NULL,
   JOB_DATA       BYTEA        NULL,
   PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
   FOREIGN KEY (SCHED_NAME, JOB_NAME, JOB_GROUP)
@@ -115,6 +117,7 @@ CREATE TABLE QRTZ_CALENDARS
 (
   SCHED_NAME    VARCHAR(120) NOT NULL,
   CALENDAR_NAME VARCHAR(200) NOT NULL,
+  DATA_VERSION BIGINT       NULL,
   CALENDAR      BYTEA        NOT NULL,
   PRIMARY KEY (SCHED_NAME, CALENDAR_NAME)
 );
@@ -184,6 +187,8 @@ CREATE INDEX IDX_QRTZ_T_NEXT_FIRE_TIME
   ON QRTZ_TRIGGERS (SCHED_NAME, NEXT_FIRE_TIME);
 CREATE INDEX IDX_QRTZ_T_NFT_ST
   ON QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_STATE, NEXT_FIRE_TIME);
+CREATE INDEX IDX_QRTZ_T_LP_NFT_ST
+  ON QRTZ_TRIGGERS (SCHED_NAME, LOCK_PARTITION, TRIGGER_STATE, NEXT_FIRE_TIME);
 CREATE INDEX IDX_QRTZ_T_NFT_MISFIRE
   ON QRTZ_TRIGGERS (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME);
 CREATE INDEX IDX_QRTZ_T_NFT_ST_MISFIRE
@@ -204,5 +209,8 @@ CREATE INDEX IDX_QRTZ_FT_T_G
 CREATE INDEX IDX_QRTZ_FT_TG
   ON QRTZ_FIRED_TRIGGERS (SCHED_NAME, TRIGGER_GROUP);
 
+CREATE INDEX IDX_QRTZ_SS_CHECKIN
+  ON QRTZ_SCHEDULER_STATE (SCHED_NAME, LAST_CHECKIN_TIME);
+
 
 COMMIT;
@@ -21,6 +21,7 @@ CREATE TABLE QRTZ_JOB_DETAILS
     JOB_GROUP         VARCHAR(200) NOT NULL,
     DESCRIPTION       VARCHAR(250) NULL,
     JOB_CLASS_NAME    VARCHAR(250) NOT NULL,
+    DATA_VERSION NUMERIC(12)  NULL,
     IS_DURABLE        BOOL   NOT NULL,
     IS_NONCONCURRENT  BOOL   NOT NULL,
     IS_UPDATE_DATA    BOOL   NOT NULL,
@@ -46,6 +47,7 @@ CREATE TABLE QRTZ_TRIGGERS
     END_TIME       BIGINT  NULL,
     CALENDAR_NAME  VARCHAR(200) NULL,
     MISFIRE_INSTR  SMALLINT     NULL,
+    LOCK_PARTITION SMALLINT     NULL,
     JOB_DATA       BLOB         NULL,
     PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
     FOREIGN KEY (SCHED_NAME, JOB_NAME, JOB_GROUP)
@@ -113,6 +115,7 @@ CREATE TABLE QRTZ_CALENDARS
 (
     SCHED_NAME    VARCHAR(120) NOT NULL,
     CALENDAR_NAME VARCHAR(200) NOT NULL,
+    DATA_VERSION NUMERIC(12)  NULL,
     CALENDAR      BLOB         NOT NULL,
     PRIMARY KEY (SCHED_NAME, CALENDAR_NAME)
 );
@@ -170,6 +173,7 @@ CREATE INDEX IDX_QRTZ_T_N_STATE ON QRTZ_TRIGGERS(SCHED_NAME, TRIGGER_NAME, TRIGG
 CREATE INDEX IDX_QRTZ_T_N_G_STATE ON QRTZ_TRIGGERS(SCHED_NAME, TRIGGER_GROUP, TRIGGER_STATE);
 CREATE INDEX IDX_QRTZ_T_NEXT_FIRE_TIME ON QRTZ_TRIGGERS(SCHED_NAME, NEXT_FIRE_TIME);
 CREATE INDEX IDX_QRTZ_T_NFT_ST ON QRTZ_TRIGGERS(SCHED_NAME, TRIGGER_STATE, NEXT_FIRE_TIME);
+CREATE INDEX IDX_QRTZ_T_LP_NFT_ST ON QRTZ_TRIGGERS(SCHED_NAME, LOCK_PARTITION, TRIGGER_STATE, NEXT_FIRE_TIME);
 CREATE INDEX IDX_QRTZ_T_NFT_MISFIRE ON QRTZ_TRIGGERS(SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME);
 CREATE INDEX IDX_QRTZ_T_NFT_ST_MISFIRE ON QRTZ_TRIGGERS(SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME, TRIGGER_STATE);
 CREATE INDEX IDX_QRTZ_T_NFT_ST_MISFIRE_GRP ON QRTZ_TRIGGERS(SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME, TRIGGER_GROUP, TRIGGER_STATE);
@@ -179,4 +183,6 @@ CREATE INDEX IDX_QRTZ_FT_INST_JOB_REQ_RCVRY ON QRTZ_FIRED_TRIGGERS(SCHED_NAME, I
 CREATE INDEX IDX_QRTZ_FT_J_G ON QRTZ_FIRED_TRIGGERS(SCHED_NAME, JOB_NAME, JOB_GROUP);
 CREATE INDEX IDX_QRTZ_FT_JG ON QRTZ_FIRED_TRIGGERS(SCHED_NAME, JOB_GROUP);
 CREATE INDEX IDX_QRTZ_FT_T_G ON QRTZ_FIRED_TRIGGERS(SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP);
-CREATE INDEX IDX_QRTZ_FT_TG ON QRTZ_FIRED_TRIGGERS(SCHED_NAME, TRIGGER_GROUP);
\ No newline at end of file
+CREATE INDEX IDX_QRTZ_FT_TG ON QRTZ_FIRED_TRIGGERS(SCHED_NAME, TRIGGER_GROUP);
+
+CREATE INDEX IDX_QRTZ_SS_CHECKIN ON QRTZ_SCHEDULER_STATE(SCHED_NAME, LAST_CHECKIN_TIME);
\ No newline at end of file
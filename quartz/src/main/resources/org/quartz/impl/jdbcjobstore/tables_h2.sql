@@ -11,6 +11,7 @@
 CREATE TABLE QRTZ_CALENDARS (
   SCHED_NAME VARCHAR(120) NOT NULL,
   CALENDAR_NAME VARCHAR (200)  NOT NULL ,
+  DATA_VERSION BIGINT NULL ,
   CALENDAR IMAGE NOT NULL
 );
 
@@ -61,6 +62,7 @@ CREATE TABLE QRTZ_JOB_DETAILS (
   JOB_GROUP VARCHAR (200)  NOT NULL ,
   DESCRIPTION VARCHAR (250) NULL ,
   JOB_CLASS_NAME VARCHAR (250)  NOT NULL ,
+  DATA_VERSION BIGINT NULL ,
   IS_DURABLE BOOLEAN  NOT NULL ,
   IS_NONCONCURRENT BOOLEAN  NOT NULL ,
   IS_UPDATE_DATA BOOLEAN  NOT NULL ,
@@ -117,6 +119,7 @@ CREATE TABLE QRTZ_TRIGGERS (
   END_TIME BIGINT NULL ,
   CALENDAR_NAME VARCHAR (200)  NULL ,
   MISFIRE_INSTR SMALLINT NULL ,
+  LOCK_PARTITION SMALLINT NULL ,
   JOB_DATA IMAGE NULL
 );
 
@@ -22,6 +22,7 @@ JOB_NAME VARCHAR(200) NOT NULL,
 JOB_GROUP VARCHAR(200) NOT NULL,
 DESCRIPTION VARCHAR(250) NULL,
 JOB_CLASS_NAME VARCHAR(250) NOT NULL,
+DATA_VERSION NUMERIC(12) NULL,
 IS_DURABLE BOOLEAN NOT NULL,
 IS_NONCONCURRENT BOOLEAN NOT NULL,
 IS_UPDATE_DATA BOOLEAN NOT NULL,
@@ -47,6 +48,7 @@ START_TIME NUMERIC(13) NOT NULL,
 END_TIME NUMERIC(13) NULL,
 CALENDAR_NAME VARCHAR(200) NULL,
 MISFIRE_INSTR NUMERIC(2) NULL,
+LOCK_PARTITION NUMERIC(4) NULL,
 JOB_DATA BLOB NULL,
 PRIMARY KEY (SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP),
 FOREIGN KEY (SCHED_NAME,JOB_NAME,JOB_GROUP)
@@ -114,6 +116,7 @@ CREATE TABLE qrtz_calendars
 (
 SCHED_NAME VARCHAR(120) NOT NULL,
 CALENDAR_NAME VARCHAR(200) NOT NULL,
+DATA_VERSION NUMERIC(12) NULL,
 CALENDAR BLOB NOT NULL,
 PRIMARY KEY (SCHED_NAME,CALENDAR_NAME)
 );
@@ -16,6 +16,7 @@ JOB_NAME LONGVARCHAR(80) NOT NULL,
 JOB_GROUP LONGVARCHAR(80) NOT NULL,
 DESCRIPTION LONGVARCHAR(120) NULL,
 JOB_CLASS_NAME LONGVARCHAR(128) NOT NULL,
+DATA_VERSION NUMERIC(12) NULL,
 IS_DURABLE LONGVARCHAR(1) NOT NULL,
 IS_NONCONCURRENT LONGVARCHAR(1) NOT NULL,
 IS_UPDATE_DATA LONGVARCHAR(1) NOT NULL,
@@ -41,6 +42,7 @@ START_TIME NUMERIC(13) NOT NULL,
 END_TIME NUMERIC(13) NULL,
 CALENDAR_NAME LONGVARCHAR(80) NULL,
 MISFIRE_INSTR NUMERIC(2) NULL,
+LOCK_PARTITION NUMERIC(4) NULL,
 JOB_DATA OTHER NULL,
 PRIMARY KEY (SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP),
 FOREIGN KEY (SCHED_NAME,JOB_NAME,JOB_GROUP)
@@ -108,6 +110,7 @@ CREATE TABLE qrtz_calendars
 (
 SCHED_NAME VARCHAR(120) NOT NULL,
 CALENDAR_NAME LONGVARCHAR(80) NOT NULL,
+DATA_VERSION NUMERIC(12) NULL,
 CALENDAR OTHER NOT NULL,
 PRIMARY KEY (SCHED_NAME,CALENDAR_NAME)
 ); 
@@ -19,6 +19,7 @@ ADD CONSTRAINT PRIMARY KEY (SCHED_NAME,TRIGGER_NAME, TRIGGER_GROUP);
 CREATE TABLE qcalendars (
 SCHED_NAME VARCHAR(120) NOT NULL,
 CALENDAR_NAME varchar(80) NOT NULL,
+DATA_VERSION numeric(12),
 CALENDAR byte in table NOT NULL
 );
 
@@ -93,6 +94,7 @@ JOB_NAME varchar(80) NOT NULL,
 JOB_GROUP varchar(80) NOT NULL,
 DESCRIPTION varchar(120),
 JOB_CLASS_NAME varchar(128) NOT NULL,
+DATA_VERSION numeric(12),
 IS_DURABLE varchar(1) NOT NULL,
 IS_NONCONCURRENT varchar(1) NOT NULL,
 IS_UPDATE_DATA varchar(1) NOT NULL,
@@ -155,6 +157,7 @@ START_TIME numeric(13) NOT NULL,
 END_TIME numeric(13),
 CALENDAR_NAME varchar(80),
 MISFIRE_INSTR numeric(2),
+LOCK_PARTITION numeric(4),
 JOB_DATA byte in table
 );
 
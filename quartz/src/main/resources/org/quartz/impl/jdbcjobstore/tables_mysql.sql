@@ -26,6 +26,7 @@ CREATE TABLE QRTZ_JOB_DETAILS
     JOB_GROUP VARCHAR(200) NOT NULL,
     DESCRIPTION VARCHAR(250) NULL,
     JOB_CLASS_NAME   VARCHAR(250) NOT NULL,
+    DATA_VERSION BIGINT(12) NULL,
     IS_DURABLE VARCHAR(1) NOT NULL,
     IS_NONCONCURRENT VARCHAR(1) NOT NULL,
     IS_UPDATE_DATA VARCHAR(1) NOT NULL,
@@ -51,6 +52,7 @@ CREATE TABLE QRTZ_TRIGGERS
     END_TIME BIGINT(13) NULL,
     CALENDAR_NAME VARCHAR(200) NULL,
     MISFIRE_INSTR SMALLINT(2) NULL,
+    LOCK_PARTITION SMALLINT(2) NULL,
     JOB_DATA BLOB NULL,
     PRIMARY KEY (SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP),
     FOREIGN KEY (SCHED_NAME,JOB_NAME,JOB_GROUP)
@@ -118,6 +120,7 @@ CREATE TABLE QRTZ_CALENDARS
   (
     SCHED_NAME VARCHAR(120) NOT NULL,
     CALENDAR_NAME  VARCHAR(200) NOT NULL,
+    DATA_VERSION BIGINT(12) NULL,
     CALENDAR BLOB NOT NULL,
     PRIMARY KEY (SCHED_NAME,CALENDAR_NAME)
 );
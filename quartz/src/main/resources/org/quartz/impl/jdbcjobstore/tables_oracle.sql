@@ -40,6 +40,7 @@ CREATE TABLE qrtz_job_details
     JOB_GROUP VARCHAR2(200) NOT NULL,
     DESCRIPTION VARCHAR2(250) NULL,
     JOB_CLASS_NAME   VARCHAR2(250) NOT NULL, 
+    DATA_VERSION NUMBER(12) NULL,
     IS_DURABLE VARCHAR2(1) NOT NULL,
     IS_NONCONCURRENT VARCHAR2(1) NOT NULL,
     IS_UPDATE_DATA VARCHAR2(1) NOT NULL,
@@ -64,6 +65,7 @@ CREATE TABLE qrtz_triggers
     END_TIME NUMBER(13) NULL,
     CALENDAR_NAME VARCHAR2(200) NULL,
     MISFIRE_INSTR NUMBER(2) NULL,
+    LOCK_PARTITION NUMBER(4) NULL,
     JOB_DATA BLOB NULL,
     CONSTRAINT QRTZ_TRIGGERS_PK PRIMARY KEY (SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP),
     CONSTRAINT QRTZ_TRIGGER_TO_JOBS_FK FOREIGN KEY (SCHED_NAME,JOB_NAME,JOB_GROUP) 
@@ -126,6 +128,7 @@ CREATE TABLE qrtz_calendars
   (
     SCHED_NAME VARCHAR2(120) NOT NULL,
     CALENDAR_NAME  VARCHAR2(200) NOT NULL, 
+    DATA_VERSION NUMBER(12) NULL,
     CALENDAR BLOB NOT NULL,
     CONSTRAINT QRTZ_CALENDARS_PK PRIMARY KEY (SCHED_NAME,CALENDAR_NAME)
 );
@@ -179,6 +182,7 @@ create index idx_qrtz_t_n_state on qrtz_triggers(SCHED_NAME,TRIGGER_NAME,TRIGGER
 create index idx_qrtz_t_n_g_state on qrtz_triggers(SCHED_NAME,TRIGGER_GROUP,TRIGGER_STATE);
 create index idx_qrtz_t_next_fire_time on qrtz_triggers(SCHED_NAME,NEXT_FIRE_TIME);
 create index idx_qrtz_t_nft_st on qrtz_triggers(SCHED_NAME,TRIGGER_STATE,NEXT_FIRE_TIME);
+create index idx_qrtz_t_lp_nft_st on qrtz_triggers(SCHED_NAME,LOCK_PARTITION,TRIGGER_STATE,NEXT_FIRE_TIME);
 create index idx_qrtz_t_nft_misfire on qrtz_triggers(SCHED_NAME,MISFIRE_INSTR,NEXT_FIRE_TIME);
 create index idx_qrtz_t_nft_st_misfire on qrtz_triggers(SCHED_NAME,MISFIRE_INSTR,NEXT_FIRE_TIME,TRIGGER_STATE);
 create index idx_qrtz_t_nft_st_misfire_grp on qrtz_triggers(SCHED_NAME,MISFIRE_INSTR,NEXT_FIRE_TIME,TRIGGER_GROUP,TRIGGER_STATE);
@@ -190,4 +194,6 @@ create index idx_qrtz_ft_jg on qrtz_fired_triggers(SCHED_NAME,JOB_GROUP);
 create index idx_qrtz_ft_t_g on qrtz_fired_triggers(SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP);
 create index idx_qrtz_ft_tg on qrtz_fired_triggers(SCHED_NAME,TRIGGER_GROUP);
 
+create index idx_qrtz_ss_checkin on qrtz_scheduler_state(SCHED_NAME,LAST_CHECKIN_TIME);
+
 
@@ -39,6 +39,7 @@ CREATE TABLE qrtz_job_details
     JOB_GROUP VARCHAR2(80) NOT NULL,
     DESCRIPTION VARCHAR2(120) NULL,
     JOB_CLASS_NAME   VARCHAR2(128) NOT NULL, 
+    DATA_VERSION NUMBER(12) NULL,
     IS_DURABLE BOOLEAN NOT NULL,
     IS_NONCONCURRENT BOOLEAN NOT NULL,
     IS_UPDATE_DATA BOOLEAN NOT NULL,
@@ -64,6 +65,7 @@ CREATE TABLE qrtz_triggers
     END_TIME NUMBER(13) NULL,
     CALENDAR_NAME VARCHAR2(80) NULL,
     MISFIRE_INSTR NUMBER(2) NULL,
+    LOCK_PARTITION NUMBER(4) NULL,
     JOB_DATA BLOB(4K) NULL,
     PRIMARY KEY (SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP),
     FOREIGN KEY (SCHED_NAME,JOB_NAME,JOB_GROUP) 
@@ -132,6 +134,7 @@ CREATE TABLE qrtz_calendars
   (
     SCHED_NAME VARCHAR(120) NOT NULL,
     CALENDAR_NAME  VARCHAR2(80) NOT NULL, 
+    DATA_VERSION NUMBER(12) NULL,
     CALENDAR BLOB(4K) NOT NULL,
     PRIMARY KEY (SCHED_NAME,CALENDAR_NAME)
 );
@@ -12,6 +12,7 @@ CREATE TABLE QRTZ_JOB_DETAILS
     JOB_GROUP VARCHAR(200) NOT NULL,
     DESCRIPTION VARCHAR(250) NULL,
     JOB_CLASS_NAME VARCHAR(128) NOT NULL, 
+    DATA_VERSION FIXED(12) NULL,
     IS_DURABLE VARCHAR(1) NOT NULL,
     IS_NONCONCURRENT VARCHAR(1) NOT NULL,
     IS_UPDATE_DATA VARCHAR(1) NOT NULL,
@@ -37,6 +38,7 @@ CREATE TABLE QRTZ_TRIGGERS
     END_TIME FIXED(13) NULL,
     CALENDAR_NAME VARCHAR(200) NULL,
     MISFIRE_INSTR FIXED(2) NULL,
+    LOCK_PARTITION FIXED(4) NULL,
     JOB_DATA LONG BYTE NULL,
     PRIMARY KEY (SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP),
     FOREIGN KEY (SCHED_NAME,JOB_NAME,JOB_GROUP) REFERENCES QRTZ_JOB_DETAILS(SCHED_NAME,JOB_NAME,JOB_GROUP) 
@@ -100,6 +102,7 @@ CREATE TABLE QRTZ_CALENDARS
 (
     SCHED_NAME VARCHAR(120) NOT NULL,
     CALENDAR_NAME  VARCHAR(200) NOT NULL,
+    DATA_VERSION FIXED(12) NULL,
     DESCRIPTION VARCHAR(250) NULL,
     CALENDAR LONG BYTE NOT NULL,
     PRIMARY KEY (SCHED_NAME,CALENDAR_NAME)
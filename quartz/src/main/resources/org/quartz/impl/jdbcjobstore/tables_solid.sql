@@ -17,6 +17,7 @@ create table qrtz_job_details (
 	job_group varchar(80) not null,
 	description varchar(120) ,
 	job_class_name varchar(128) not null,
+	data_version numeric(13),
 	is_durable varchar(5) not null,
     is_nonconcurrent varchar(5) not null,
     is_update_data varchar(5) not null,
@@ -41,6 +42,7 @@ create table qrtz_triggers(
 	end_time numeric(13),
 	calendar_name varchar(80),
 	misfire_instr smallint,
+	lock_partition smallint,
 	job_data long varbinary,
 primary key (sched_name,trigger_name,trigger_group),
 foreign key (sched_name,job_name,job_group) references qrtz_job_details(sched_name,job_name,job_group)
@@ -100,6 +102,7 @@ foreign key (sched_name,trigger_name,trigger_group) references qrtz_triggers(sch
 create table qrtz_calendars(
     sched_name varchar(120) not null,
 	calendar_name varchar(80) not null,
+	data_version numeric(13),
 	calendar long varbinary not null,
 primary key (sched_name,calendar_name)
 ); 
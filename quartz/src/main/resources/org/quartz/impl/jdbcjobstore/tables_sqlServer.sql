@@ -94,6 +94,7 @@ GO
 CREATE TABLE [dbo].[QRTZ_CALENDARS] (
   [SCHED_NAME] [NVARCHAR] (120)  NOT NULL ,
   [CALENDAR_NAME] [NVARCHAR] (200)  NOT NULL ,
+  [DATA_VERSION] [BIGINT] NULL ,
   [CALENDAR] [VARBINARY] (max) NOT NULL
 ) ON [PRIMARY]
 GO
@@ -150,6 +151,7 @@ CREATE TABLE [dbo].[QRTZ_JOB_DETAILS] (
   [JOB_GROUP] [NVARCHAR] (200)  NOT NULL ,
   [DESCRIPTION] [NVARCHAR] (250) NULL ,
   [JOB_CLASS_NAME] [NVARCHAR] (250)  NOT NULL ,
+  [DATA_VERSION] [BIGINT] NULL ,
   [IS_DURABLE] [NVARCHAR] (1)  NOT NULL ,
   [IS_NONCONCURRENT] [NVARCHAR] (1)  NOT NULL ,
   [IS_UPDATE_DATA] [NVARCHAR] (1)  NOT NULL ,
@@ -210,6 +212,7 @@ CREATE TABLE [dbo].[QRTZ_TRIGGERS] (
   [END_TIME] [BIGINT] NULL ,
   [CALENDAR_NAME] [NVARCHAR] (200)  NULL ,
   [MISFIRE_INSTR] [SMALLINT] NULL ,
+  [LOCK_PARTITION] [SMALLINT] NULL ,
   [JOB_DATA] [VARBINARY] (max) NULL
 ) ON [PRIMARY]
 GO
@@ -108,6 +108,7 @@ go
 create table QRTZ_CALENDARS (
 SCHED_NAME varchar(120) not null,
 CALENDAR_NAME varchar(200) not null,
+DATA_VERSION numeric(13,0) null,
 CALENDAR image not null
 )
 go
@@ -165,6 +166,7 @@ JOB_NAME varchar(200) not null,
 JOB_GROUP varchar(200) not null,
 DESCRIPTION varchar(250) null,
 JOB_CLASS_NAME varchar(250) not null,
+DATA_VERSION numeric(13,0) null,
 IS_DURABLE bit not null,
 IS_NONCONCURRENT bit not null,
 IS_UPDATE_DATA bit not null,
@@ -226,6 +228,7 @@ START_TIME numeric(13,0) not null,
 END_TIME numeric(13,0) null,
 CALENDAR_NAME varchar(200) null,
 MISFIRE_INSTR smallint null,
+LOCK_PARTITION smallint null,
 JOB_DATA image null
 )
 go
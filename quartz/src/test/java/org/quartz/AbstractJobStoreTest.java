@@ -16,8 +16,10 @@
  */
 package org.quartz;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -29,6 +31,8 @@ import static org.quartz.DailyTimeIntervalScheduleBuilder.MONDAY_THROUGH_FRIDAY;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -749,6 +753,227 @@ public abstract class AbstractJobStoreTest  {
     }
 
 
+    @Test
+    void testTriggersFiredStoresFireState() throws Exception {
+        Date baseFireTimeDate = DateBuilder.evenMinuteDateAfterNow();
+
+        OperableTrigger simple = new SimpleTriggerImpl("fireStateSimple", "fireStateGroup",
+                this.fJobDetail.getName(), this.fJobDetail.getGroup(), baseFireTimeDate, null, 2, 2000);
+        simple.getJobDataMap().put("key", "value");
+        OperableTrigger calendarInterval = (OperableTrigger) TriggerBuilder.newTrigger()
+                .withIdentity("fireStateCalendarInterval", "fireStateGroup")
+                .forJob(this.fJobDetail)
+                .startAt(baseFireTimeDate)
+                .withSchedule(CalendarIntervalScheduleBuilder.calendarIntervalSchedule().withIntervalInMinutes(1))
+                .build();
+        for (OperableTrigger trigger : new OperableTrigger[] {simple, calendarInterval}) {
+            trigger.computeFirstFireTime(null);
+            this.fJobStore.storeTrigger(trigger, false);
+        }
+
+        List<OperableTrigger> acquired = this.fJobStore.acquireNextTriggers(baseFireTimeDate.getTime() + 10000, 2, 0L);
+        assertEquals(2, acquired.size());
+        this.fJobStore.triggersFired(acquired);
+
+        OperableTrigger firedSimple = this.fJobStore.retrieveTrigger(simple.getKey());
+        assertEquals(1, ((SimpleTrigger) firedSimple).getTimesTriggered());
+        assertEquals(2, ((SimpleTrigger) firedSimple).getRepeatCount());
+        assertEquals(baseFireTimeDate, firedSimple.getPreviousFireTime());
+        assertEquals(new Date(baseFireTimeDate.getTime() + 2000), firedSimple.getNextFireTime());
+        assertEquals("value", firedSimple.getJobDataMap().getString("key"));
+        assertEquals(TriggerState.NORMAL, this.fJobStore.getTriggerState(simple.getKey()));
+
+        OperableTrigger firedCalendarInterval = this.fJobStore.retrieveTrigger(calendarInterval.getKey());
+        assertEquals(1, ((CalendarIntervalTrigger) firedCalendarInterval).getTimesTriggered());
+        assertEquals(baseFireTimeDate, firedCalendarInterval.getPreviousFireTime());
+        assertEquals(new Date(baseFireTimeDate.getTime() + 60000), firedCalendarInterval.getNextFireTime());
+    }
+
+    @Test
+    void testKeysArePagedInGroupAndNameOrder() throws Exception {
+        List<JobKey> expectedJobs = new ArrayList<>();
+        List<TriggerKey> expectedTriggers = new ArrayList<>();
+        for (String group : new String[] {"pagingGroupA", "pagingGroupB"}) {
+            for (int i = 0; i < 3; i++) {
+                JobDetail job = JobBuilder.newJob(MyJob.class).withIdentity("job" + i, group).build();
+                OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+                        .withIdentity("trigger" + i, group).forJob(job).build();
+                this.fJobStore.storeJobAndTrigger(job, trigger);
+                expectedJobs.add(job.getKey());
+                expectedTriggers.add(trigger.getKey());
+            }
+        }
+
+        List<JobKey> pagedJobs = new ArrayList<>();
+        List<JobKey> page = this.fJobStore.getJobKeys(GroupMatcher.jobGroupStartsWith("pagingGroup"), null, 4);
+        assertEquals(4, page.size());
+        pagedJobs.addAll(page);
+        page = this.fJobStore.getJobKeys(GroupMatcher.jobGroupStartsWith("pagingGroup"), page.get(3), 4);
+        assertEquals(2, page.size());
+        pagedJobs.addAll(page);
+        assertEquals(expectedJobs, pagedJobs);
+
+        List<TriggerKey> pagedTriggers = new ArrayList<>();
+        List<TriggerKey> triggerPage = this.fJobStore.getTriggerKeys(GroupMatcher.triggerGroupEquals("pagingGroupB"), null, 2);
+        pagedTriggers.addAll(triggerPage);
+        triggerPage = this.fJobStore.getTriggerKeys(GroupMatcher.triggerGroupEquals("pagingGroupB"), triggerPage.get(1), 2);
+        pagedTriggers.addAll(triggerPage);
+        assertEquals(expectedTriggers.subList(3, 6), pagedTriggers);
+        assertTrue(this.fJobStore.getTriggerKeys(GroupMatcher.triggerGroupEquals("pagingGroupB"), pagedTriggers.get(2), 2).isEmpty());
+
+        List<JobKey> streamedJobs = new ArrayList<>();
+        this.fJobStore.forEachJobKey(GroupMatcher.jobGroupStartsWith("pagingGroup"), streamedJobs::add);
+        assertEquals(6, streamedJobs.size());
+        assertTrue(streamedJobs.containsAll(expectedJobs));
+
+        List<TriggerKey> streamedTriggers = new ArrayList<>();
+        this.fJobStore.forEachTriggerKey(GroupMatcher.triggerGroupEquals("pagingGroupA"), streamedTriggers::add);
+        assertEquals(3, streamedTriggers.size());
+        assertTrue(streamedTriggers.containsAll(expectedTriggers.subList(0, 3)));
+    }
+
+    @Test
+    void testFireTimeForecast() throws Exception {
+        long base = DateBuilder.evenMinuteDateAfterNow().getTime() + 3600000L;
+        OperableTrigger[] triggers = {
+            // 6 a minute, acquired below
+            forecastTrigger("everyTenSeconds", "forecastA", base, 10),
+            // 2 a minute
+            forecastTrigger("everyThirtySeconds", "forecastB", base + 5000L, 30),
+            // paused
+            forecastTrigger("paused", "forecastB", base, 1),
+            // after the window
+            forecastTrigger("later", "forecastA", base + 180000L, 1),
+        };
+        for (OperableTrigger trigger : triggers) {
+            JobDetail job = JobBuilder.newJob(MyJob.class).withIdentity(trigger.getJobKey()).build();
+            trigger.computeFirstFireTime(null);
+            this.fJobStore.storeJobAndTrigger(job, trigger);
+        }
+        this.fJobStore.pauseTrigger(triggers[2].getKey());
+        List<OperableTrigger> acquired = this.fJobStore.acquireNextTriggers(base, 1, 0L);
+        assertEquals(triggers[0].getKey(), acquired.get(0).getKey());
+
+        FireTimeForecast forecast = this.fJobStore.getFireTimeForecast(
+                GroupMatcher.jobGroupStartsWith("forecast"), base, 60000L, 3);
+
+        assertEquals(new Date(base + 180000L), forecast.getWindowEnd());
+        assertEquals(Set.of("forecastA", "forecastB"), forecast.getJobGroupNames());
+        assertArrayEquals(new int[] {6, 6, 6}, forecast.getFireCounts("forecastA"));
+        assertArrayEquals(new int[] {2, 2, 2}, forecast.getFireCounts("forecastB"));
+        assertArrayEquals(new int[] {8, 8, 8}, forecast.getTotalFireCounts());
+
+        forecast = this.fJobStore.getFireTimeForecast(
+                GroupMatcher.jobGroupEquals("forecastB"), base + 30000L, 15000L, 4);
+        assertEquals(Set.of("forecastB"), forecast.getJobGroupNames());
+        assertArrayEquals(new int[] {1, 0, 1, 0}, forecast.getFireCounts("forecastB"));
+        assertEquals(2L, forecast.getTotalFireCount());
+    }
+
+    private static OperableTrigger forecastTrigger(String name, String group, long startTime, int intervalInSeconds) {
+        return (OperableTrigger) TriggerBuilder.newTrigger()
+                .withIdentity(name, group)
+                .forJob(name, group)
+                .startAt(new Date(startTime))
+                .withSchedule(SimpleScheduleBuilder.repeatSecondlyForever(intervalInSeconds))
+                .build();
+    }
+
+    @Test
+    void testStoreJobsAndTriggersInBulk() throws Exception {
+        if (fJobStore instanceof JobStoreSupport) {
+            // several chunks and transactions per call
+            ((JobStoreSupport) fJobStore).setBulkStoreChunkSize(2);
+            ((JobStoreSupport) fJobStore).setBulkStoreCommitInterval(3);
+        }
+        this.fJobStore.pauseTriggers(GroupMatcher.triggerGroupEquals("bulkPausedGroup"));
+
+        Map<JobDetail, Set<? extends Trigger>> triggersAndJobs = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            JobDetail job = JobBuilder.newJob(MyJob.class).withIdentity("bulkJob" + i, "bulkGroup")
+                    .usingJobData("index", i).build();
+            Trigger simple = TriggerBuilder.newTrigger().withIdentity("bulkSimple" + i, "bulkGroup")
+                    .forJob(job).withSchedule(SimpleScheduleBuilder.repeatMinutelyForever()).build();
+            Trigger cron = TriggerBuilder.newTrigger().withIdentity("bulkCron" + i, "bulkPausedGroup")
+                    .forJob(job).withSchedule(CronScheduleBuilder.cronSchedule("0 0 12 * * ?")).build();
+            triggersAndJobs.put(job, Set.of(simple, cron));
+        }
+        this.fJobStore.storeJobsAndTriggers(triggersAndJobs, false);
+
+        assertEquals(5, this.fJobStore.getJobKeys(GroupMatcher.jobGroupEquals("bulkGroup")).size());
+        assertEquals(4, this.fJobStore.retrieveJob(JobKey.jobKey("bulkJob4", "bulkGroup")).getJobDataMap().getInt("index"));
+        assertEquals(TriggerState.NORMAL, this.fJobStore.getTriggerState(TriggerKey.triggerKey("bulkSimple3", "bulkGroup")));
+        assertEquals(TriggerState.PAUSED, this.fJobStore.getTriggerState(TriggerKey.triggerKey("bulkCron3", "bulkPausedGroup")));
+        assertEquals("0 0 12 * * ?", ((CronTrigger) this.fJobStore.retrieveTrigger(
+                TriggerKey.triggerKey("bulkCron1", "bulkPausedGroup"))).getCronExpression());
+        assertEquals(2, this.fJobStore.getTriggersForJob(JobKey.jobKey("bulkJob2", "bulkGroup")).size());
+
+        // nothing is stored if any of the jobs already exists
+        Map<JobDetail, Set<? extends Trigger>> withExisting = new LinkedHashMap<>();
+        JobDetail newJob = JobBuilder.newJob(MyJob.class).withIdentity("bulkJobNew", "bulkGroup").storeDurably().build();
+        withExisting.put(newJob, Set.of());
+        withExisting.put(JobBuilder.newJob(MyJob.class).withIdentity("bulkJob0", "bulkGroup").storeDurably().build(), Set.of());
+        assertThrows(ObjectAlreadyExistsException.class, () -> this.fJobStore.storeJobsAndTriggers(withExisting, false));
+        assertNull(this.fJobStore.retrieveJob(newJob.getKey()));
+
+        // replacing updates the existing jobs and triggers and adds the new ones
+        Map<JobDetail, Set<? extends Trigger>> replacing = new LinkedHashMap<>();
+        JobDetail replacement = JobBuilder.newJob(MyJob.class).withIdentity("bulkJob0", "bulkGroup")
+                .withDescription("replaced").build();
+        replacing.put(replacement, Set.of(TriggerBuilder.newTrigger().withIdentity("bulkSimple0", "bulkGroup")
+                .forJob(replacement).withPriority(7).build()));
+        replacing.put(newJob, Set.of());
+        this.fJobStore.storeJobsAndTriggers(replacing, true);
+        assertEquals("replaced", this.fJobStore.retrieveJob(replacement.getKey()).getDescription());
+        assertEquals(7, this.fJobStore.retrieveTrigger(TriggerKey.triggerKey("bulkSimple0", "bulkGroup")).getPriority());
+        assertNotNull(this.fJobStore.retrieveJob(newJob.getKey()));
+    }
+
+    @Test
+    void testPauseResumeAndRemoveInBulk() throws Exception {
+        List<TriggerKey> triggerKeys = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            JobDetail job = JobBuilder.newJob(MyJob.class).withIdentity("massJob" + i, "massJobs" + (i % 2))
+                    .storeDurably(i == 3).build();
+            OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+                    .withIdentity("massTrigger" + i, "massTriggers" + (i % 2)).forJob(job)
+                    .withSchedule(SimpleScheduleBuilder.repeatHourlyForever())
+                    .startAt(new Date(System.currentTimeMillis() + 60000L)).build();
+            trigger.computeFirstFireTime(null);
+            this.fJobStore.storeJobAndTrigger(job, trigger);
+            triggerKeys.add(trigger.getKey());
+        }
+
+        assertEquals(Set.of("massJobs0", "massJobs1"), new HashSet<>(this.fJobStore.pauseJobs(GroupMatcher.jobGroupStartsWith("massJobs"))));
+        for (TriggerKey triggerKey : triggerKeys) {
+            assertEquals(TriggerState.PAUSED, this.fJobStore.getTriggerState(triggerKey));
+        }
+        assertEquals(Set.of("massJobs1"), new HashSet<>(this.fJobStore.resumeJobs(GroupMatcher.jobGroupEndsWith("Jobs1"))));
+        assertEquals(TriggerState.PAUSED, this.fJobStore.getTriggerState(triggerKeys.get(0)));
+        assertEquals(TriggerState.NORMAL, this.fJobStore.getTriggerState(triggerKeys.get(1)));
+        this.fJobStore.resumeJobs(GroupMatcher.jobGroupEquals("massJobs0"));
+
+        this.fJobStore.pauseTriggers(GroupMatcher.triggerGroupContains("Triggers"));
+        assertEquals(TriggerState.PAUSED, this.fJobStore.getTriggerState(triggerKeys.get(1)));
+        assertEquals(Set.of("massTriggers0", "massTriggers1"),
+                new HashSet<>(this.fJobStore.resumeTriggers(GroupMatcher.triggerGroupStartsWith("massTriggers"))));
+        for (TriggerKey triggerKey : triggerKeys) {
+            assertEquals(TriggerState.NORMAL, this.fJobStore.getTriggerState(triggerKey));
+        }
+
+        // removing the triggers removes their non-durable jobs
+        assertFalse(this.fJobStore.removeTriggers(List.of(triggerKeys.get(2), triggerKeys.get(3),
+                TriggerKey.triggerKey("massMissing", "massTriggers0"))));
+        assertNull(this.fJobStore.retrieveTrigger(triggerKeys.get(3)));
+        assertNull(this.fJobStore.retrieveJob(JobKey.jobKey("massJob2", "massJobs0")));
+        assertNotNull(this.fJobStore.retrieveJob(JobKey.jobKey("massJob3", "massJobs1")));
+
+        assertTrue(this.fJobStore.removeJobs(List.of(JobKey.jobKey("massJob0", "massJobs0"),
+                JobKey.jobKey("massJob1", "massJobs1"), JobKey.jobKey("massJob3", "massJobs1"))));
+        assertNull(this.fJobStore.retrieveTrigger(triggerKeys.get(0)));
+        assertEquals(0, this.fJobStore.getJobKeys(GroupMatcher.jobGroupStartsWith("massJobs")).size());
+    }
+
     /**
      * Replacing an existing trigger with one of a different concrete type must
      * rewrite extended trigger rows (e.g. SIMPLE -> CRON). Otherwise the base
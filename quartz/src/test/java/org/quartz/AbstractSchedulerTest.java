@@ -25,6 +25,7 @@ import static org.quartz.TriggerKey.triggerKey;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -303,6 +304,57 @@ public abstract class AbstractSchedulerTest {
         }
     }
 
+    @Test
+    void testForEachJobKeyWalksAllPages() throws Exception {
+        Scheduler sched = createScheduler("testForEachJobKeyWalksAllPages", 2);
+        try {
+            List<JobKey> expected = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                JobDetail job = newJob()
+                        .ofType(TestJob.class)
+                        .withIdentity("j" + i, "pagedGroup")
+                        .storeDurably()
+                        .build();
+                sched.addJob(job, false);
+                expected.add(job.getKey());
+            }
+
+            List<JobKey> firstPage = sched.getJobKeys(GroupMatcher.jobGroupEquals("pagedGroup"), null, 3);
+            assertEquals(expected.subList(0, 3), firstPage);
+            assertEquals(expected.subList(3, 6),
+                    sched.getJobKeys(GroupMatcher.jobGroupEquals("pagedGroup"), firstPage.get(2), 3));
+
+            List<JobKey> walked = new ArrayList<>();
+            sched.forEachJobKey(GroupMatcher.jobGroupEquals("pagedGroup"), 3, walked::add);
+            assertEquals(expected, walked);
+        } finally {
+            sched.shutdown(true);
+        }
+    }
+
+    @Test
+    void testFireTimeForecast() throws Exception {
+        Scheduler sched = createScheduler("testFireTimeForecast", 2);
+        try {
+            Date base = new Date(DateBuilder.evenMinuteDateAfterNow().getTime() + 3600000L);
+            for (String group : new String[] {"forecastGroup", "pausedForecastGroup"}) {
+                sched.scheduleJob(newJob().ofType(TestJob.class).withIdentity("j", group).build(),
+                        newTrigger().withIdentity("t", group).startAt(base)
+                                .withSchedule(simpleSchedule().withIntervalInSeconds(20).repeatForever())
+                                .build());
+            }
+            sched.pauseJobs(GroupMatcher.jobGroupEquals("pausedForecastGroup"));
+
+            FireTimeForecast forecast = sched.getFireTimeForecast(null, base, 60000L, 2);
+
+            assertEquals(Collections.singleton("forecastGroup"), forecast.getJobGroupNames());
+            assertArrayEquals(new int[] {3, 3}, forecast.getFireCounts("forecastGroup"));
+            assertEquals(6L, forecast.getTotalFireCount());
+        } finally {
+            sched.shutdown(true);
+        }
+    }
+
     @Test
     void testShutdownWithSleepReturnsAfterAllThreadsAreStopped() throws Exception {
       Map<Thread, StackTraceElement[]> allThreadsStart = Thread.getAllStackTraces();
@@ -0,0 +1,76 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.quartz;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares the cost of computing a chain of next fire times with the
+ * compiled form of cron expressions and with the walk of a
+ * <code>java.util.Calendar</code> it replaces.
+ * Run with <code>-Dquartz.benchmark=true</code>.
+ */
+@EnabledIfSystemProperty(named = "quartz.benchmark", matches = "true")
+class CompiledCronExpressionBenchmark {
+
+    private static final int WARMUP_FIRES = 50000;
+
+    private static final int FIRES = 500000;
+
+    private static final String[] EXPRESSIONS = {
+        "0 0/5 * ? * MON-FRI",
+        "0 15 10 ? * 6L",
+        "0 0 12 L-3 * ?",
+        "0 30 2 ? * SUN#2",
+        "*/10 * 9-17 * JAN,APR,JUL,OCT ?"
+    };
+
+    @Test
+    void benchmarkNextFireTimes() throws Exception {
+        for (String timeZone : new String[] {"UTC", "America/New_York"}) {
+            for (String expression : EXPRESSIONS) {
+                CronExpression cron = new CronExpression(expression);
+                cron.setTimeZone(TimeZone.getTimeZone(timeZone));
+
+                measure(cron, true, WARMUP_FIRES);
+                long compiled = measure(cron, true, FIRES);
+                measure(cron, false, WARMUP_FIRES);
+                long calendar = measure(cron, false, FIRES);
+                System.out.printf("%-32s %-16s compiled %6d ns/fire  calendar %6d ns/fire%n",
+                        expression, timeZone, compiled / FIRES, calendar / FIRES);
+            }
+        }
+    }
+
+    private long measure(CronExpression cron, boolean compiled, int fires) {
+        Date first = new Date(1704067200000L);
+        Date time = first;
+        long start = System.nanoTime();
+        for (int i = 0; i < fires; i++) {
+            time = compiled ? cron.getTimeAfter(time) : cron.getTimeAfterUsingCalendar(time);
+            if (time == null) {
+                // sparse expressions run out of years, start the chain over
+                time = first;
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
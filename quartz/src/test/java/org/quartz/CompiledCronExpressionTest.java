@@ -0,0 +1,227 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the compiled evaluation of cron expressions gives the same
+ * results as the evaluation walking a <code>java.util.Calendar</code>.
+ */
+class CompiledCronExpressionTest {
+
+    private static final String[] TIME_ZONES = {"UTC", "America/New_York", "Europe/London",
+            "Europe/Paris", "Australia/Lord_Howe", "Asia/Kolkata", "America/Sao_Paulo",
+            "Pacific/Apia", "Asia/Tehran", "America/St_Johns", "Asia/Gaza", "Africa/Casablanca",
+            "GMT+05:30"};
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN",
+            "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+    private static final String[] DAYS = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    @Test
+    void testDateArithmetic() {
+        for (long epochDay = -200000L; epochDay < 200000L; epochDay += 7) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            int civil = CompiledCronExpression.civil(epochDay);
+            assertEquals(date.getYear(), civil >> 9);
+            assertEquals(date.getMonthValue(), (civil >> 5) & 15);
+            assertEquals(date.getDayOfMonth(), civil & 31);
+            assertEquals(epochDay, CompiledCronExpression.daysFromCivil(
+                    date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+            assertEquals(date.getDayOfWeek().getValue() % 7 + 1, CompiledCronExpression.dayOfWeek(epochDay));
+        }
+    }
+
+    @Test
+    void testMatchesCalendarEvaluation() throws ParseException {
+        Random random = new Random(20240601L);
+        long from = Date.UTC(80, 0, 1, 0, 0, 0);
+        long span = Date.UTC(220, 0, 1, 0, 0, 0) - from;
+
+        for (int i = 0; i < 10000; i++) {
+            String expression = randomExpression(random);
+            CronExpression cron;
+            try {
+                cron = new CronExpression(expression);
+            } catch (ParseException e) {
+                continue;
+            }
+            cron.setTimeZone(TimeZone.getTimeZone(TIME_ZONES[random.nextInt(TIME_ZONES.length)]));
+
+            Date after = new Date(from + (long) (random.nextDouble() * span) + random.nextInt(1000));
+            for (int j = 0; j < 8 && after != null; j++) {
+                Date expected = cron.getTimeAfterUsingCalendar(after);
+                assertEquals(expected, cron.getTimeAfter(after),
+                        expression + " in " + cron.getTimeZone().getID() + " after " + after.getTime());
+                after = expected;
+            }
+        }
+    }
+
+    @Test
+    void testMatchesCalendarEvaluationAcrossTransitions() throws ParseException {
+        String[] expressions = {"0 30 1 * * ?", "0 0 2 ? * SUN", "0 0/15 * * * ?", "0 0 0 L * ?",
+                "0 0 12 ? 3,10 1#5", "0 0 3 ? * 1L", "15 45 2 1,15,28-31 * ?", "0 0 0 1 1 ? 2030-2040/3"};
+        for (String zone : TIME_ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            for (String expression : expressions) {
+                CronExpression cron = new CronExpression(expression);
+                cron.setTimeZone(timeZone);
+                Date after = new Date(Date.UTC(120, 0, 1, 0, 0, 0));
+                for (int i = 0; i < 400 && after != null; i++) {
+                    Date expected = cron.getTimeAfterUsingCalendar(after);
+                    assertEquals(expected, cron.getTimeAfter(after), expression + " in " + zone);
+                    after = expected;
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCustomTimeZone() throws ParseException {
+        CronExpression cron = new CronExpression("0 0 2 * * ?");
+        // the ID of a zone with other rules
+        cron.setTimeZone(new SimpleTimeZone(3600000, "UTC", 2, 1, 0, 7200000, 9, 1, 0, 7200000));
+        Date after = new Date(Date.UTC(124, 2, 1, 0, 0, 0));
+        for (int i = 0; i < 400; i++) {
+            Date expected = cron.getTimeAfterUsingCalendar(after);
+            assertEquals(expected, cron.getTimeAfter(after));
+            after = expected;
+        }
+    }
+
+    @Test
+    void testExhaustedExpressions() throws ParseException {
+        CronExpression cron = new CronExpression("0 0 0 30 2 ?");
+        assertNull(cron.getTimeAfter(new Date()));
+
+        cron = new CronExpression("0 0 0 1 1 ? 2001");
+        assertNull(cron.getTimeAfter(new Date()));
+
+        cron = new CronExpression("0 0 0 ? * 6#5");
+        assertNotNull(cron.getTimeAfter(new Date()));
+    }
+
+    private static String randomExpression(Random random) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(randomField(random, 0, 59, null)).append(' ');
+        sb.append(randomField(random, 0, 59, null)).append(' ');
+        sb.append(randomField(random, 0, 23, null)).append(' ');
+        if (random.nextBoolean()) {
+            sb.append(randomDayOfMonth(random)).append(' ');
+            sb.append(randomField(random, 1, 12, MONTHS)).append(" ?");
+        } else {
+            sb.append("? ");
+            sb.append(randomField(random, 1, 12, MONTHS)).append(' ');
+            sb.append(randomDayOfWeek(random));
+        }
+        switch (random.nextInt(6)) {
+            case 0:
+                sb.append(" *");
+                break;
+            case 1:
+                sb.append(' ').append(1990 + random.nextInt(80));
+                break;
+            case 2:
+                int year = 1990 + random.nextInt(60);
+                sb.append(' ').append(year).append('-').append(year + random.nextInt(30))
+                        .append('/').append(1 + random.nextInt(4));
+                break;
+            default:
+                break;
+        }
+        return sb.toString();
+    }
+
+    private static String randomField(Random random, int min, int max, String[] names) {
+        int range = max - min + 1;
+        switch (random.nextInt(7)) {
+            case 0:
+            case 1:
+                return "*";
+            case 2:
+                return value(random.nextInt(range) + min, min, names);
+            case 3:
+                return (random.nextBoolean() ? "*" : value(random.nextInt(range) + min, min, names))
+                        + "/" + (1 + random.nextInt(Math.min(range - 1, 23)));
+            case 4:
+                // ranges may overflow
+                return value(random.nextInt(range) + min, min, names) + "-"
+                        + value(random.nextInt(range) + min, min, names);
+            case 5:
+                return random.nextInt(range) + min + "-" + (random.nextInt(range) + min)
+                        + "/" + (1 + random.nextInt(5));
+            default:
+                StringBuilder list = new StringBuilder();
+                int count = 1 + random.nextInt(4);
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        list.append(',');
+                    }
+                    list.append(value(random.nextInt(range) + min, min, names));
+                }
+                return list.toString();
+        }
+    }
+
+    private static String value(int value, int min, String[] names) {
+        return names != null && value % 3 == 0 ? names[value - min] : String.valueOf(value);
+    }
+
+    private static String randomDayOfMonth(Random random) {
+        switch (random.nextInt(8)) {
+            case 0:
+                return "L";
+            case 1:
+                return "L-" + random.nextInt(31);
+            case 2:
+                return (1 + random.nextInt(31)) + ",L-" + random.nextInt(31);
+            case 3:
+                return (1 + random.nextInt(31)) + "W";
+            case 4:
+                return "LW";
+            default:
+                return randomField(random, 1, 31, null);
+        }
+    }
+
+    private static String randomDayOfWeek(Random random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return (1 + random.nextInt(7)) + "L";
+            case 1:
+                return DAYS[random.nextInt(7)] + "#" + (1 + random.nextInt(5));
+            case 2:
+                return "L";
+            default:
+                return randomField(random, 1, 7, DAYS);
+        }
+    }
+}
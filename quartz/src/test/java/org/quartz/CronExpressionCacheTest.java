@@ -0,0 +1,113 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Date;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.impl.triggers.CronTriggerImpl;
+
+class CronExpressionCacheTest {
+
+    private static final TimeZone PARIS = TimeZone.getTimeZone("Europe/Paris");
+
+    private static final TimeZone TOKYO = TimeZone.getTimeZone("Asia/Tokyo");
+
+    @Test
+    void testParsedFormIsSharedByExpression() throws Exception {
+        CronExpression paris = CronExpressionCache.get("0 0 12 * * ?", PARIS);
+        CronExpression tokyo = CronExpressionCache.get("0 0 12 * * ?", TOKYO);
+        assertNotSame(paris, tokyo);
+        assertSame(paris.seconds, tokyo.seconds);
+        assertSame(paris.daysOfWeek, tokyo.daysOfWeek);
+        assertEquals("Europe/Paris", paris.getTimeZone().getID());
+        assertEquals("Asia/Tokyo", tokyo.getTimeZone().getID());
+
+        Date after = new Date();
+        CronExpression parsed = new CronExpression("0 0 12 * * ?");
+        parsed.setTimeZone(TOKYO);
+        assertEquals(parsed.getTimeAfter(after), tokyo.getTimeAfter(after));
+    }
+
+    @Test
+    void testExpressionsCanBeChanged() throws Exception {
+        CronScheduleBuilder builder = CronScheduleBuilder.cronSchedule(
+                CronExpressionCache.get("0 30 6 * * ?", null)).inTimeZone(TOKYO);
+        assertEquals("Asia/Tokyo", ((CronTrigger) TriggerBuilder.newTrigger().withSchedule(builder).build())
+                .getTimeZone().getID());
+
+        CronExpression paris = CronExpressionCache.get("0 30 6 * * ?", PARIS);
+        paris.setTimeZone(TOKYO);
+        assertEquals(TimeZone.getDefault(), CronExpressionCache.get("0 30 6 * * ?", null).getTimeZone());
+        assertEquals("Europe/Paris", CronExpressionCache.get("0 30 6 * * ?", PARIS).getTimeZone().getID());
+    }
+
+    @Test
+    void testCustomTimeZoneIsKept() throws Exception {
+        TimeZone fake = new SimpleTimeZone(5 * 3600000, "Europe/Paris");
+        CronExpression custom = CronExpressionCache.get("0 0 6 * * ?", fake);
+        assertSame(fake, custom.getTimeZone());
+
+        Date after = new Date();
+        CronExpression parsed = new CronExpression("0 0 6 * * ?");
+        parsed.setTimeZone(fake);
+        assertEquals(parsed.getTimeAfter(after), custom.getTimeAfter(after));
+        assertEquals(parsed.getTimeAfter(after), CronExpressionCache.get("0 0 6 * * ?", fake).getTimeAfter(after));
+    }
+
+    @Test
+    void testCopiesHaveTheirOwnTimeZone() throws Exception {
+        CronExpression cached = CronExpressionCache.get("0 15 10 ? * MON-FRI", PARIS);
+        CronExpression copy = new CronExpression(cached);
+        copy.setTimeZone(TOKYO);
+        assertEquals("Europe/Paris", cached.getTimeZone().getID());
+
+        Date after = new Date();
+        CronExpression parsed = new CronExpression("0 15 10 ? * MON-FRI");
+        parsed.setTimeZone(TOKYO);
+        assertEquals(parsed.getTimeAfter(after), copy.getTimeAfter(after));
+        parsed.setTimeZone(PARIS);
+        assertEquals(parsed.getTimeAfter(after), cached.getTimeAfter(after));
+    }
+
+    @Test
+    void testTriggersShareExpressions() throws Exception {
+        CronTriggerImpl first = new CronTriggerImpl();
+        first.setTimeZone(PARIS);
+        first.setCronExpression("0 0/5 * * * ?");
+        CronTriggerImpl second = new CronTriggerImpl();
+        second.setTimeZone(PARIS);
+        second.setCronExpression("0 0/5 * * * ?");
+
+        CronTriggerImpl clone = (CronTriggerImpl) first.clone();
+        Date after = new Date();
+        assertEquals(first.getFireTimeAfter(after), clone.getFireTimeAfter(after));
+        assertEquals(first.getFireTimeAfter(after), second.getFireTimeAfter(after));
+
+        // changing the time zone of one trigger leaves the others alone
+        clone.setTimeZone(TOKYO);
+        assertEquals("Asia/Tokyo", clone.getTimeZone().getID());
+        assertEquals("Europe/Paris", first.getTimeZone().getID());
+        assertEquals("Europe/Paris", second.getTimeZone().getID());
+    }
+}
@@ -22,6 +22,8 @@ import java.util.Date;
 import java.util.TimeZone;
 
 import org.junit.jupiter.api.Test;
+import org.quartz.impl.calendar.DailyCalendar;
+import org.quartz.impl.calendar.WeeklyCalendar;
 import org.quartz.impl.triggers.SimpleTriggerImpl;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -157,6 +159,37 @@ public class SimpleTriggerTest extends SerializationTestSupport {
         assertEquals("V2", simpleTrigger.getJobDataMap().get("K2"));
     }
     
+    @Test
+    void testTriggeredSkipsExcludedRanges() {
+        DailyCalendar businessHours = new DailyCalendar(new WeeklyCalendar(), "8:00", "17:00");
+
+        SimpleTriggerImpl simpleTrigger = new SimpleTriggerImpl();
+        simpleTrigger.setStartTime(START_TIME.getTime());
+        simpleTrigger.setRepeatInterval(1500);
+        simpleTrigger.setRepeatCount(SimpleTrigger.REPEAT_INDEFINITELY);
+        Date fireTime = simpleTrigger.computeFirstFireTime(businessHours);
+
+        for (int i = 0; i < 5; i++) {
+            // the last time included before the business hours of the day
+            Calendar lastFireTime = Calendar.getInstance();
+            lastFireTime.setTime(fireTime);
+            lastFireTime.set(Calendar.HOUR_OF_DAY, 7);
+            lastFireTime.set(Calendar.MINUTE, 59);
+            lastFireTime.set(Calendar.SECOND, 59);
+            simpleTrigger.setNextFireTime(lastFireTime.getTime());
+
+            // stepping through every fire time, as the trigger used to
+            Date expected = lastFireTime.getTime();
+            do {
+                expected = simpleTrigger.getFireTimeAfter(expected);
+            } while (!businessHours.isTimeIncluded(expected.getTime()));
+
+            simpleTrigger.triggered(businessHours);
+            assertEquals(expected, simpleTrigger.getNextFireTime());
+            fireTime = new Date(expected.getTime() + 86400000L);
+        }
+    }
+
     // NPE in equals()
     @Test
     void testQuartz665() {
@@ -0,0 +1,213 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.quartz.CalendarIntervalScheduleBuilder.calendarIntervalSchedule;
+import static org.quartz.CronScheduleBuilder.cronSchedule;
+import static org.quartz.DailyTimeIntervalScheduleBuilder.dailyTimeIntervalSchedule;
+import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.impl.calendar.DailyCalendar;
+import org.quartz.impl.calendar.WeeklyCalendar;
+import org.quartz.spi.OperableTrigger;
+
+/**
+ * Unit tests for the fire time projections of TriggerUtils.
+ */
+class TriggerUtilsTest {
+
+    private static final Date START = new Date(Date.UTC(124, 2, 1, 6, 30, 0));
+
+    private static final Date NOON = new Date(Date.UTC(124, 2, 1, 12, 0, 0));
+
+    private static final long MIDDLE = Date.UTC(124, 3, 15, 10, 15, 0);
+
+    private static final long FRIDAY_NIGHT = Date.UTC(124, 3, 12, 20, 0, 0);
+
+    private static final long END = Date.UTC(124, 5, 1, 0, 0, 0);
+
+    @Test
+    void testProjectionsMatchFiringTheTriggers() {
+        WeeklyCalendar weekends = new WeeklyCalendar();
+        DailyCalendar nights = new DailyCalendar(weekends, "08:00", "18:00");
+        nights.setInvertTimeRange(true);
+
+        for (OperableTrigger trigger : triggers()) {
+            for (Calendar calendar : new Calendar[] {null, weekends, nights}) {
+                String name = trigger.getKey() + " with " + calendar;
+                assertArrayEquals(fireTimesByFiring(trigger, calendar, END),
+                        TriggerUtils.fireTimeStream(trigger, calendar, END).toArray(), name);
+
+                // once scheduled, and partway through its fire times
+                OperableTrigger scheduled = (OperableTrigger) trigger.clone();
+                scheduled.computeFirstFireTime(calendar);
+                for (int i = 0; i < 7 && scheduled.getNextFireTime() != null; i++) {
+                    scheduled.triggered(calendar);
+                }
+                assertArrayEquals(fireTimesByFiring(scheduled, calendar, END),
+                        TriggerUtils.fireTimeStream(scheduled, calendar, END).toArray(), name);
+            }
+        }
+    }
+
+    @Test
+    void testProjectionsFromAStartTimeMatchFiringTheTriggers() {
+        WeeklyCalendar weekends = new WeeklyCalendar();
+        DailyCalendar nights = new DailyCalendar(weekends, "08:00", "18:00");
+        nights.setInvertTimeRange(true);
+
+        for (OperableTrigger trigger : triggers()) {
+            OperableTrigger scheduled = (OperableTrigger) trigger.clone();
+            scheduled.computeFirstFireTime(null);
+            for (OperableTrigger t : new OperableTrigger[] {trigger, scheduled}) {
+                for (Calendar calendar : new Calendar[] {null, weekends, nights}) {
+                    for (long from : new long[] {START.getTime() - 1L, MIDDLE, MIDDLE + 1L, FRIDAY_NIGHT, END + 1L}) {
+                        String name = t.getKey() + " with " + calendar + " from " + from;
+                        long[] expected = Arrays.stream(fireTimesByFiring(t, calendar, END))
+                            .filter(fireTime -> fireTime >= from).toArray();
+                        assertArrayEquals(expected, toArray(t.projectFireTimes(calendar, from, END)), name);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFireTimesBetweenMatchFiringTheTriggers() {
+        WeeklyCalendar weekends = new WeeklyCalendar();
+        Date from = new Date(MIDDLE);
+        Date to = new Date(END);
+
+        for (OperableTrigger trigger : triggers()) {
+            Date startTime = trigger.getStartTime();
+            OperableTrigger scheduled = (OperableTrigger) trigger.clone();
+            scheduled.computeFirstFireTime(weekends);
+            for (OperableTrigger t : new OperableTrigger[] {trigger, scheduled}) {
+                String name = t.getKey() + " scheduled " + (t == scheduled);
+                assertEquals(fireTimesBetweenByFiring(t, weekends, from, to),
+                        TriggerUtils.computeFireTimesBetween(t, weekends, from, to), name);
+            }
+            assertNull(trigger.getNextFireTime());
+            assertEquals(startTime, trigger.getStartTime());
+        }
+    }
+
+    @Test
+    void testProjectionLeavesTheTriggerAlone() {
+        OperableTrigger trigger = (OperableTrigger) newTrigger().withIdentity("simple").startAt(START)
+            .withSchedule(simpleSchedule().withIntervalInMinutes(90).withRepeatCount(3)).build();
+
+        PrimitiveIterator.OfLong fireTimes = TriggerUtils.projectFireTimes(trigger, null, Long.MAX_VALUE);
+        long last = 0L;
+        int count = 0;
+        while (fireTimes.hasNext()) {
+            last = fireTimes.nextLong();
+            count++;
+        }
+
+        assertEquals(4, count);
+        assertEquals(START.getTime() + 3 * 90 * 60000L, last);
+        assertFalse(fireTimes.hasNext());
+        assertNull(trigger.getNextFireTime());
+        List<Date> firstTwo = TriggerUtils.computeFireTimes(trigger, null, 2);
+        assertEquals(Arrays.asList(START, new Date(START.getTime() + 90 * 60000L)), firstTwo);
+    }
+
+    private static OperableTrigger[] triggers() {
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        return new OperableTrigger[] {
+            (OperableTrigger) newTrigger().withIdentity("simple").startAt(START)
+                .withSchedule(simpleSchedule().withIntervalInMinutes(47).repeatForever()).build(),
+            (OperableTrigger) newTrigger().withIdentity("simpleCount").startAt(START)
+                .withSchedule(simpleSchedule().withIntervalInHours(5).withRepeatCount(200)).build(),
+            (OperableTrigger) newTrigger().withIdentity("cron").startAt(START)
+                .withSchedule(cronSchedule("0 15 7-19/3 ? * MON-SAT").inTimeZone(newYork)).build(),
+            (OperableTrigger) newTrigger().withIdentity("calendarHours").startAt(START)
+                .withSchedule(calendarIntervalSchedule().withIntervalInHours(7)).build(),
+            (OperableTrigger) newTrigger().withIdentity("calendarDays").startAt(NOON)
+                .withSchedule(calendarIntervalSchedule().withIntervalInDays(2).inTimeZone(newYork)).build(),
+            (OperableTrigger) newTrigger().withIdentity("calendarMonths").startAt(NOON)
+                .withSchedule(calendarIntervalSchedule().withIntervalInMonths(1)).build(),
+            (OperableTrigger) newTrigger().withIdentity("daily").startAt(START)
+                .withSchedule(dailyTimeIntervalSchedule().withIntervalInMinutes(40)
+                    .startingDailyAt(TimeOfDay.hourAndMinuteOfDay(7, 10))
+                    .endingDailyAt(TimeOfDay.hourAndMinuteOfDay(19, 0))).build(),
+            (OperableTrigger) newTrigger().withIdentity("dailyCount").startAt(START)
+                .withSchedule(dailyTimeIntervalSchedule().withIntervalInHours(1).withRepeatCount(150)
+                    .onDaysOfTheWeek(DateBuilder.TUESDAY, DateBuilder.SATURDAY)).build(),
+        };
+    }
+
+    private static long[] toArray(PrimitiveIterator.OfLong fireTimes) {
+        long[] array = new long[10000];
+        int count = 0;
+        while (fireTimes.hasNext()) {
+            array[count++] = fireTimes.nextLong();
+        }
+        return Arrays.copyOf(array, count);
+    }
+
+    // the fire times between the given ones the way computeFireTimesBetween
+    // used to find them, firing a clone of the trigger started at the first
+    // if it has not been scheduled
+    private static List<Date> fireTimesBetweenByFiring(OperableTrigger trigger, Calendar calendar, Date from, Date to) {
+        OperableTrigger t = (OperableTrigger) trigger.clone();
+        if (t.getNextFireTime() == null) {
+            t.setStartTime(from);
+            t.setEndTime(to);
+            t.computeFirstFireTime(calendar);
+        }
+
+        List<Date> fireTimes = new ArrayList<>();
+        while (t.getNextFireTime() != null && !t.getNextFireTime().after(to)) {
+            if (!t.getNextFireTime().before(from)) {
+                fireTimes.add(t.getNextFireTime());
+            }
+            t.triggered(calendar);
+        }
+        return fireTimes;
+    }
+
+    // the fire times the trigger goes through, on a clone of it
+    private static long[] fireTimesByFiring(OperableTrigger trigger, Calendar calendar, long to) {
+        OperableTrigger t = (OperableTrigger) trigger.clone();
+        if (t.getNextFireTime() == null) {
+            t.computeFirstFireTime(calendar);
+        }
+
+        long[] fireTimes = new long[10000];
+        int count = 0;
+        while (t.getNextFireTime() != null && t.getNextFireTime().getTime() <= to) {
+            fireTimes[count++] = t.getNextFireTime().getTime();
+            t.triggered(calendar);
+        }
+        return Arrays.copyOf(fireTimes, count);
+    }
+}
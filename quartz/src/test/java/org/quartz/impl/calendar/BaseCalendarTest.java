@@ -2,9 +2,15 @@ package org.quartz.impl.calendar;
 
 
 
+import java.util.Date;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
+import org.quartz.Calendar;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class BaseCalendarTest  {
 
@@ -18,5 +24,37 @@ class BaseCalendarTest  {
         assertEquals(base.getTimeZone(), clone.getTimeZone());
     }
 
+    @Test
+    void testNextIncludedIntervalStartOfChainedCalendars() throws Exception {
+        CronCalendar cronCalendar = new CronCalendar("* * 0-5 ? * *");
+        HolidayCalendar holidayCalendar = new HolidayCalendar(cronCalendar);
+        holidayCalendar.addExcludedDate(new Date(Date.UTC(124, 2, 8, 12, 0, 0)));
+        holidayCalendar.addExcludedDate(new Date(Date.UTC(124, 2, 11, 12, 0, 0)));
+        holidayCalendar.addExcludedDate(new Date(Date.UTC(124, 2, 12, 12, 0, 0)));
+        DailyCalendar dailyCalendar = new DailyCalendar(holidayCalendar, "12:00", "13:30");
+        WeeklyCalendar weeklyCalendar = new WeeklyCalendar(dailyCalendar);
+
+        Random random = new Random(20240305L);
+        long from = Date.UTC(124, 2, 1, 0, 0, 0);
+        for (Calendar calendar : new Calendar[] {cronCalendar, holidayCalendar, dailyCalendar, weeklyCalendar}) {
+            for (int i = 0; i < 400; i++) {
+                long time = from + (long) (random.nextDouble() * 21 * 86400000L);
+                assertExcludedUntilNextIncludedIntervalStart(calendar, time, random);
+            }
+        }
+    }
 
+    private static void assertExcludedUntilNextIncludedIntervalStart(Calendar calendar, long time, Random random) {
+        long start = calendar.getNextIncludedIntervalStart(time);
+        if (calendar.isTimeIncluded(time)) {
+            assertEquals(time, start);
+            return;
+        }
+        assertTrue(start >= time);
+        if (start > time) {
+            assertFalse(calendar.isTimeIncluded(start - 1), "before " + start);
+            long within = time + (long) (random.nextDouble() * (start - time));
+            assertFalse(calendar.isTimeIncluded(within), "at " + within);
+        }
+    }
 }
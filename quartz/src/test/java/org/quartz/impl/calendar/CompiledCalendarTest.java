@@ -0,0 +1,125 @@
+package org.quartz.impl.calendar;
+
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.Calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledCalendarTest {
+
+    private static final long DAY = 86400000L;
+
+    @Test
+    void testMatchesCalendarChain() throws Exception {
+        TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        DailyCalendar dailyCalendar = new DailyCalendar("02:30", "03:15");
+        dailyCalendar.setTimeZone(timeZone);
+        WeeklyCalendar weeklyCalendar = new WeeklyCalendar(dailyCalendar, timeZone);
+        HolidayCalendar holidayCalendar = new HolidayCalendar(weeklyCalendar, TimeZone.getTimeZone("Europe/Berlin"));
+        holidayCalendar.addExcludedDate(new Date(Date.UTC(124, 11, 25, 12, 0, 0)));
+        holidayCalendar.addExcludedDate(new Date(Date.UTC(125, 2, 10, 12, 0, 0)));
+        MonthlyCalendar monthlyCalendar = new MonthlyCalendar(holidayCalendar, timeZone);
+        monthlyCalendar.setDayExcluded(13, true);
+        AnnualCalendar annualCalendar = new AnnualCalendar(monthlyCalendar, timeZone);
+        annualCalendar.setDayExcluded(new GregorianCalendar(2024, java.util.Calendar.JULY, 4), true);
+
+        Calendar compiled = CompiledCalendar.compile(annualCalendar);
+
+        assertTrue(compiled instanceof CompiledCalendar);
+        assertMatches(annualCalendar, compiled, Date.UTC(124, 0, 1, 0, 0, 0), 2 * 365, 20240101L);
+    }
+
+    @Test
+    void testMatchesInvertedDailyCalendar() throws Exception {
+        DailyCalendar dailyCalendar = new DailyCalendar("08:00", "17:30:00:500");
+        dailyCalendar.setInvertTimeRange(true);
+        WeeklyCalendar weeklyCalendar = new WeeklyCalendar(dailyCalendar);
+
+        Calendar compiled = CompiledCalendar.compile(weeklyCalendar);
+
+        assertTrue(compiled instanceof CompiledCalendar);
+        assertMatches(weeklyCalendar, compiled, Date.UTC(125, 2, 1, 0, 0, 0), 90, 20250301L);
+    }
+
+    @Test
+    void testMatchesTransitionsWithinADay() throws Exception {
+        // until 2011, St. John's fell back at 00:01, to an hour of the day before
+        TimeZone timeZone = TimeZone.getTimeZone("America/St_Johns");
+        AnnualCalendar annualCalendar = new AnnualCalendar(timeZone);
+        annualCalendar.setDayExcluded(new GregorianCalendar(1997, java.util.Calendar.OCTOBER, 25), true);
+        annualCalendar.setDayExcluded(new GregorianCalendar(1997, java.util.Calendar.APRIL, 6), true);
+
+        Calendar compiled = CompiledCalendar.compile(annualCalendar);
+
+        assertFalse(annualCalendar.isTimeIncluded(877836314738L));
+        assertFalse(compiled.isTimeIncluded(877836314738L));
+        Random random = new Random(19971026L);
+        for (int i = 0; i < 20000; i++) {
+            long from = (i % 2 == 0) ? Date.UTC(97, 9, 24, 0, 0, 0) : Date.UTC(97, 3, 5, 0, 0, 0);
+            long time = from + (long) (random.nextDouble() * 3 * DAY);
+            assertEquals(annualCalendar.isTimeIncluded(time), compiled.isTimeIncluded(time), "at " + time);
+            assertEquals(annualCalendar.getNextIncludedTime(time), compiled.getNextIncludedTime(time), "at " + time);
+        }
+    }
+
+    @Test
+    void testCalendarsWhichCannotBeCompiled() throws Exception {
+        HolidayCalendar holidayCalendar = new HolidayCalendar(new CronCalendar("* * 0-5 ? * *"));
+        WeeklyCalendar allExcluded = new WeeklyCalendar();
+        for (int day = java.util.Calendar.SUNDAY; day <= java.util.Calendar.SATURDAY; day++) {
+            allExcluded.setDayExcluded(day, true);
+        }
+
+        assertSame(holidayCalendar, CompiledCalendar.compile(holidayCalendar));
+        assertSame(allExcluded, CompiledCalendar.compile(allExcluded));
+    }
+
+    @Test
+    void testIsNotChangedWithTheCalendar() {
+        WeeklyCalendar weeklyCalendar = new WeeklyCalendar(TimeZone.getTimeZone("UTC"));
+        Calendar compiled = CompiledCalendar.compile(weeklyCalendar);
+        long monday = Date.UTC(124, 2, 4, 12, 0, 0);
+
+        weeklyCalendar.setDayExcluded(java.util.Calendar.MONDAY, true);
+
+        assertFalse(weeklyCalendar.isTimeIncluded(monday));
+        assertTrue(compiled.isTimeIncluded(monday));
+        assertSame(compiled, compiled.clone());
+        assertThrows(UnsupportedOperationException.class, () -> compiled.setBaseCalendar(weeklyCalendar));
+    }
+
+    private static void assertMatches(Calendar calendar, Calendar compiled, long from, int days, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < 20000; i++) {
+            long time = from + (long) (random.nextDouble() * days * DAY);
+            if (i % 4 == 0) {
+                // near the boundaries of whole minutes, where the ranges end
+                time = time - time % 60000L + random.nextInt(3) - 1;
+            }
+            boolean included = calendar.isTimeIncluded(time);
+            assertEquals(included, compiled.isTimeIncluded(time), "at " + time);
+
+            long start = compiled.getNextIncludedIntervalStart(time);
+            if (included) {
+                assertEquals(time, start);
+                assertEquals(time, compiled.getNextIncludedTime(time));
+            } else {
+                assertTrue(start > time, "at " + time);
+                assertTrue(calendar.isTimeIncluded(start), "at " + start);
+                assertFalse(calendar.isTimeIncluded(start - 1), "before " + start);
+                long within = time + (long) (random.nextDouble() * (start - time));
+                assertFalse(calendar.isTimeIncluded(within), "at " + within);
+                assertEquals(start, compiled.getNextIncludedTime(time));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.quartz.impl.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.impl.triggers.CronTriggerImpl;
+
+/**
+ * Unit tests for the excluded ranges of CronCalendar.
+ */
+class CronCalendarTest {
+
+    private static final String[] EXPRESSIONS = {"* * * ? * SAT,SUN", "* * 0-5 ? * *", "* 0-29 * * * ?",
+            "0-39 * 9-17 ? * MON-FRI", "* * * L * ?", "* * 22-23 ? * 6L", "*/2 * * * * ?", "* * * ? * 2#3"};
+
+    private static final String[] TIME_ZONES = {"UTC", "America/New_York", "Australia/Lord_Howe"};
+
+    @Test
+    void testExcludedRangeEnd() throws ParseException {
+        Random random = new Random(20240609L);
+        long from = Date.UTC(124, 0, 1, 0, 0, 0);
+        for (String zone : TIME_ZONES) {
+            for (String expression : EXPRESSIONS) {
+                CronCalendar calendar = new CronCalendar(null, expression, TimeZone.getTimeZone(zone));
+                for (int i = 0; i < 300; i++) {
+                    long time = from + (long) (random.nextDouble() * 366 * 86400000L);
+                    long end = calendar.getExcludedRangeEnd(time);
+                    String name = expression + " in " + zone + " from " + time;
+                    if (calendar.isTimeIncluded(time)) {
+                        assertEquals(time, end, name);
+                        continue;
+                    }
+                    assertTrue(end >= time, name);
+                    if (end > time) {
+                        assertFalse(calendar.isTimeIncluded(end - 1), name);
+                        assertFalse(calendar.isTimeIncluded(time + (long) (random.nextDouble() * (end - time))), name);
+                        assertTrue(calendar.isTimeIncluded(end) || end - time >= 31 * 86400000L, name);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testExcludedFireTimesCostFewQueries() throws ParseException {
+        CountingCronCalendar calendar = new CountingCronCalendar("* * * ? * SAT,SUN");
+
+        // a whole weekend is skipped at once, with cron arithmetic
+        assertEquals(Date.UTC(124, 0, 8, 0, 0, 0), calendar.getExcludedRangeEnd(Date.UTC(124, 0, 6, 9, 30, 0)));
+
+        CronTriggerImpl trigger = new CronTriggerImpl();
+        trigger.setCronExpression("0 0 12 * * ?");
+        trigger.setTimeZone(TimeZone.getTimeZone("UTC"));
+        trigger.setStartTime(new Date(Date.UTC(124, 0, 1, 0, 0, 0)));
+        trigger.computeFirstFireTime(calendar);
+        calendar.queries = 0;
+        for (int i = 0; i < 200; i++) {
+            trigger.triggered(calendar);
+            assertTrue(calendar.isTimeIncluded(trigger.getNextFireTime().getTime()));
+        }
+
+        // 40 weeks of weekdays after Monday, January 1st, 2024
+        assertEquals(new Date(Date.UTC(124, 9, 7, 12, 0, 0)), trigger.getNextFireTime());
+        // skipping an hour of a weekend per query took 48 of them, each
+        // testing every second of its hour
+        assertTrue(calendar.queries < 200 * 5, calendar.queries + " queries");
+    }
+
+    private static class CountingCronCalendar extends CronCalendar {
+        private int queries;
+
+        CountingCronCalendar(String expression) throws ParseException {
+            super(null, expression, TimeZone.getTimeZone("UTC"));
+        }
+
+        @Override
+        public boolean isTimeIncluded(long timeInMillis) {
+            queries++;
+            return super.isTimeIncluded(timeInMillis);
+        }
+
+        @Override
+        protected long getExcludedRangeEnd(long timeInMillis) {
+            queries++;
+            return super.getExcludedRangeEnd(timeInMillis);
+        }
+    }
+}
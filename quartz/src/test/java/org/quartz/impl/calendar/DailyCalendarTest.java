@@ -46,6 +46,29 @@ public class DailyCalendarTest extends SerializationTestSupport {
         assertTrue(dailyCalendar.toString().indexOf("inverted: false") > 0);
     }
     
+    @Test
+    void testNextIncludedIntervalStart() {
+        DailyCalendar dailyCalendar = new DailyCalendar("8:00", "17:00");
+        java.util.Calendar cal = java.util.Calendar.getInstance();
+        cal.clear();
+        cal.set(2024, java.util.Calendar.MARCH, 5, 9, 30, 0);
+        long inRange = cal.getTimeInMillis();
+        cal.set(java.util.Calendar.HOUR_OF_DAY, 17);
+        cal.set(java.util.Calendar.MINUTE, 0);
+        cal.set(java.util.Calendar.MILLISECOND, 1);
+        assertEquals(cal.getTimeInMillis(), dailyCalendar.getNextIncludedIntervalStart(inRange));
+        assertTrue(dailyCalendar.isTimeIncluded(cal.getTimeInMillis()));
+
+        long afterRange = cal.getTimeInMillis() + 3600000L;
+        assertEquals(afterRange, dailyCalendar.getNextIncludedIntervalStart(afterRange));
+
+        dailyCalendar.setInvertTimeRange(true);
+        cal.set(2024, java.util.Calendar.MARCH, 6, 8, 0, 0);
+        cal.set(java.util.Calendar.MILLISECOND, 0);
+        assertEquals(cal.getTimeInMillis(), dailyCalendar.getNextIncludedIntervalStart(afterRange));
+        assertTrue(dailyCalendar.isTimeIncluded(cal.getTimeInMillis()));
+    }
+
     /**
      * Get the object to serialize when generating serialized file for future
      * tests, and against which to validate deserialized object.
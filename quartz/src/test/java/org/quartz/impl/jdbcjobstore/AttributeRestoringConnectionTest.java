@@ -0,0 +1,137 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AttributeRestoringConnectionTest {
+
+    @Test
+    void testOnlyChangedAttributesAreRestored() throws Exception {
+        FakeConnection fake = new FakeConnection(true, Connection.TRANSACTION_READ_COMMITTED);
+        AttributeRestoringConnection conn = new AttributeRestoringConnection(fake.connection);
+
+        conn.setAutoCommit(false);
+        conn.setAutoCommit(false);
+        conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        conn.close();
+
+        assertEquals(Arrays.asList("setAutoCommit false", "setAutoCommit true", "close"), fake.changes);
+    }
+
+    @Test
+    void testOriginalAttributesAreRestoredOnlyOnce() throws Exception {
+        FakeConnection fake = new FakeConnection(true, Connection.TRANSACTION_READ_COMMITTED);
+        AttributeRestoringConnection conn = new AttributeRestoringConnection(fake.connection);
+
+        conn.setAutoCommit(false);
+        conn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        conn.restoreOriginalAttributes();
+        conn.close();
+
+        assertEquals(Arrays.asList(
+                "setAutoCommit false",
+                "setTransactionIsolation " + Connection.TRANSACTION_SERIALIZABLE,
+                "setTransactionIsolation " + Connection.TRANSACTION_REPEATABLE_READ,
+                "setAutoCommit true",
+                "setTransactionIsolation " + Connection.TRANSACTION_READ_COMMITTED,
+                "close"), fake.changes);
+    }
+
+    @Test
+    void testUnwrapReachesWrappedConnection() throws Exception {
+        FakeConnection fake = new FakeConnection(true, Connection.TRANSACTION_READ_COMMITTED);
+        AttributeRestoringConnection conn = new AttributeRestoringConnection(fake.connection);
+
+        assertSame(conn, conn.unwrap(AttributeRestoringConnection.class));
+        assertTrue(conn.isWrapperFor(AttributeRestoringConnection.class));
+        assertSame(fake.connection, conn.getWrappedConnection());
+    }
+
+    @Test
+    void testConnectionAlreadyInRequiredStateIsNotWrapped() throws Exception {
+        JobStoreTX jobStore = new JobStoreTX();
+        FakeConnection fake = new FakeConnection(false, Connection.TRANSACTION_SERIALIZABLE);
+
+        Connection conn = jobStore.overrideConnectionAttributes(fake.connection, true, Connection.TRANSACTION_SERIALIZABLE);
+        jobStore.cleanupConnection(conn);
+
+        assertSame(fake.connection, conn);
+        assertEquals(Arrays.asList("close"), fake.changes);
+    }
+
+    @Test
+    void testOverriddenConnectionIsRestoredOnCleanup() throws Exception {
+        JobStoreTX jobStore = new JobStoreTX();
+        FakeConnection fake = new FakeConnection(true, Connection.TRANSACTION_SERIALIZABLE);
+
+        Connection conn = jobStore.overrideConnectionAttributes(fake.connection, true, -1);
+        jobStore.cleanupConnection(conn);
+
+        assertTrue(conn instanceof AttributeRestoringConnection);
+        assertEquals(Arrays.asList("setAutoCommit false", "setAutoCommit true", "close"), fake.changes);
+    }
+
+    /**
+     * A connection that only keeps track of its attributes and records every
+     * change made to them.
+     */
+    private static class FakeConnection {
+        private final List<String> changes = new ArrayList<>();
+        private boolean autoCommit;
+        private int txIsolation;
+        private final Connection connection;
+
+        FakeConnection(boolean autoCommit, int txIsolation) {
+            this.autoCommit = autoCommit;
+            this.txIsolation = txIsolation;
+            this.connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getAutoCommit":
+                                return this.autoCommit;
+                            case "getTransactionIsolation":
+                                return this.txIsolation;
+                            case "setAutoCommit":
+                                this.autoCommit = (Boolean) args[0];
+                                changes.add("setAutoCommit " + args[0]);
+                                return null;
+                            case "setTransactionIsolation":
+                                this.txIsolation = (Integer) args[0];
+                                changes.add("setTransactionIsolation " + args[0]);
+                                return null;
+                            case "close":
+                                changes.add("close");
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+}
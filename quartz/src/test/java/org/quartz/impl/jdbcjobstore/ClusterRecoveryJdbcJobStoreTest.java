@@ -0,0 +1,190 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.AbstractJobStoreTest.MyJob;
+import org.quartz.AbstractJobStoreTest.SampleSignaler;
+import org.quartz.JobDetail;
+import org.quartz.JobPersistenceException;
+import org.quartz.Scheduler;
+import org.quartz.Trigger.TriggerState;
+import org.quartz.TriggerKey;
+import org.quartz.impl.jdbcjobstore.JdbcQuartzTestUtilities.DatabaseType;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.simpl.CascadingClassLoadHelper;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.utils.DBConnectionManager;
+
+class ClusterRecoveryJdbcJobStoreTest {
+
+    private static final String DB_NAME = "ClusterRecoveryJdbcJobStoreTest";
+
+    private JobStoreTX failedStore;
+
+    private JobStoreTX jobStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcQuartzTestUtilities.createDatabase(DB_NAME, DatabaseType.DERBY);
+        failedStore = createJobStore("FAILED_NODE", false);
+        jobStore = createJobStore("RECOVERING_NODE", true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobStore.shutdown();
+        JdbcQuartzTestUtilities.destroyDatabase(DB_NAME, DatabaseType.DERBY);
+    }
+
+    @Test
+    void testFiredTriggersAreRecoveredInChunks() throws Exception {
+        JobDetail job = newJob(MyJob.class).withIdentity("job").storeDurably().requestRecovery().build();
+        failedStore.storeJob(job, false);
+        for (int i = 0; i < 5; i++) {
+            failedStore.storeTrigger((OperableTrigger) newTrigger().withIdentity("trigger" + i).forJob(job)
+                    .startAt(new Date(System.currentTimeMillis() - 1000L)).build(), false);
+        }
+
+        // the failed instance acquired all of the triggers and fired three of them
+        List<OperableTrigger> acquired = failedStore.acquireNextTriggers(System.currentTimeMillis() + 10000L, 5, 0L);
+        assertEquals(5, acquired.size());
+        failedStore.triggersFired(acquired.subList(0, 3));
+
+        jobStore.setClusterRecoveryChunkSize(2);
+        assertTrue(jobStore.doCheckin());
+
+        for (OperableTrigger trigger : acquired.subList(0, 3)) {
+            assertNull(jobStore.retrieveTrigger(trigger.getKey()));
+        }
+        for (OperableTrigger trigger : acquired.subList(3, 5)) {
+            assertEquals(TriggerState.NORMAL, jobStore.getTriggerState(trigger.getKey()));
+        }
+        assertEquals(3, jobStore.getTriggerKeys(
+                GroupMatcher.triggerGroupEquals(Scheduler.DEFAULT_RECOVERY_GROUP)).size());
+        for (TriggerKey key : jobStore.getTriggerKeys(
+                GroupMatcher.triggerGroupEquals(Scheduler.DEFAULT_RECOVERY_GROUP))) {
+            assertEquals(job.getKey(), jobStore.retrieveTrigger(key).getJobKey());
+        }
+
+        assertEquals(5L, (long) jobStore.getPerformanceMetrics().get("ClusterRecoveryRecords"));
+        assertTrue(jobStore.getPerformanceMetrics().get("LastClusterRecoveryMillis") >= 0L);
+    }
+
+    @Test
+    void testInstanceCheckingInBetweenChunksIsNotRecovered() throws Exception {
+        JobDetail job = newJob(MyJob.class).withIdentity("job").storeDurably().requestRecovery().build();
+        failedStore.storeJob(job, false);
+        for (int i = 0; i < 5; i++) {
+            failedStore.storeTrigger((OperableTrigger) newTrigger().withIdentity("trigger" + i).forJob(job)
+                    .startAt(new Date(System.currentTimeMillis() - 1000L)).build(), false);
+        }
+        List<OperableTrigger> acquired = failedStore.acquireNextTriggers(System.currentTimeMillis() + 10000L, 5, 0L);
+        assertEquals(5, acquired.size());
+
+        // the "failed" instance restarts after the first chunk
+        jobStore.shutdown();
+        jobStore = createJobStore(new JobStoreTX() {
+            private boolean restarted;
+
+            @Override
+            protected boolean clusterRecover(Connection conn, List<SchedulerStateRecord> failedInstances,
+                    int maxRecords) throws JobPersistenceException {
+                boolean complete = super.clusterRecover(conn, failedInstances, maxRecords);
+                if (!complete && !restarted) {
+                    try {
+                        getDelegate().insertSchedulerState(conn, "FAILED_NODE", System.currentTimeMillis(), 7500L);
+                    } catch (SQLException e) {
+                        throw new JobPersistenceException("Couldn't check in the restarted instance", e);
+                    }
+                    restarted = true;
+                }
+                return complete;
+            }
+        }, "RECOVERING_NODE", true);
+        jobStore.setClusterRecoveryChunkSize(2);
+        assertTrue(jobStore.doCheckin());
+
+        // its remaining records are live again, and left alone
+        try (Connection conn = DBConnectionManager.getInstance().getConnection(DB_NAME)) {
+            int acquiredCount = 0;
+            for (OperableTrigger trigger : acquired) {
+                if (Constants.STATE_ACQUIRED.equals(jobStore.getDelegate().selectTriggerState(conn, trigger.getKey()))) {
+                    acquiredCount++;
+                }
+            }
+            assertEquals(3, acquiredCount);
+            assertEquals(3, jobStore.getDelegate().selectInstancesFiredTriggerRecords(conn, "FAILED_NODE").size());
+            assertEquals(1, jobStore.getDelegate().selectSchedulerStateRecords(conn, "FAILED_NODE").size());
+        }
+        assertEquals(2L, (long) jobStore.getPerformanceMetrics().get("ClusterRecoveryRecords"));
+    }
+
+    @Test
+    void testHeartbeatFindsStaleInstances() throws Exception {
+        jobStore.setUseClusterHeartbeat(true);
+        jobStore.doCheckin();
+        assertFalse(jobStore.doCheckin());
+
+        try (Connection conn = DBConnectionManager.getInstance().getConnection(DB_NAME)) {
+            jobStore.getDelegate().insertSchedulerState(conn, "FAILED_NODE",
+                    System.currentTimeMillis() - 60000L, 7500L);
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+        }
+
+        assertTrue(jobStore.doCheckin());
+        try (Connection conn = DBConnectionManager.getInstance().getConnection(DB_NAME)) {
+            assertTrue(jobStore.getDelegate().selectSchedulerStateRecords(conn, "FAILED_NODE").isEmpty());
+            assertEquals(1, jobStore.getDelegate().selectSchedulerStateRecords(conn, null).size());
+        }
+    }
+
+    private JobStoreTX createJobStore(String instanceId, boolean clustered) throws Exception {
+        return createJobStore(new JobStoreTX(), instanceId, clustered);
+    }
+
+    private JobStoreTX createJobStore(JobStoreTX store, String instanceId, boolean clustered) throws Exception {
+        store.setDataSource(DB_NAME);
+        store.setTablePrefix("QRTZ_");
+        store.setInstanceId(instanceId);
+        store.setInstanceName(DB_NAME);
+        store.setUseDBLocks(true);
+        store.setIsClustered(clustered);
+
+        ClassLoadHelper loadHelper = new CascadingClassLoadHelper();
+        loadHelper.initialize();
+        store.initialize(loadHelper, new SampleSignaler());
+        return store;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.quartz.JobDataMap;
+import org.quartz.impl.calendar.HolidayCalendar;
+import org.quartz.impl.calendar.WeeklyCalendar;
+import org.quartz.impl.triggers.CronTriggerImpl;
+
+/**
+ * Compares the per-row cost of writing and reading BLOB values with
+ * <code>JavaBlobSerializer</code> and <code>CompactBlobSerializer</code>.
+ * Run with <code>-Dquartz.benchmark=true</code>.
+ */
+@EnabledIfSystemProperty(named = "quartz.benchmark", matches = "true")
+class CompactBlobSerializerBenchmark {
+
+    private static final int WARMUP_ROWS = 50000;
+
+    private static final int ROWS = 200000;
+
+    @Test
+    void benchmarkJobDataMap() throws Exception {
+        JobDataMap map = new JobDataMap();
+        map.put("customerId", 12345L);
+        map.put("region", "eu-west");
+        map.put("retries", 3);
+        map.put("dryRun", false);
+        run("JobDataMap", map);
+    }
+
+    @Test
+    void benchmarkCalendar() throws Exception {
+        HolidayCalendar holidays = new HolidayCalendar(new WeeklyCalendar());
+        for (int i = 0; i < 20; i++) {
+            holidays.addExcludedDate(new Date(1700000000000L + i * 7L * 24 * 3600 * 1000));
+        }
+        run("HolidayCalendar", holidays);
+    }
+
+    @Test
+    void benchmarkTrigger() throws Exception {
+        CronTriggerImpl trigger = new CronTriggerImpl();
+        trigger.setName("trigger");
+        trigger.setJobName("job");
+        trigger.setCronExpression("0 0/5 * ? * MON-FRI");
+        trigger.getJobDataMap().put("key", "value");
+        trigger.computeFirstFireTime(null);
+        run("CronTriggerImpl", trigger);
+    }
+
+    private void run(String name, Object obj) throws Exception {
+        for (BlobSerializer serializer : new BlobSerializer[] {new JavaBlobSerializer(), new CompactBlobSerializer()}) {
+            measure(serializer, obj, WARMUP_ROWS);
+            long[] result = measure(serializer, obj, ROWS);
+            System.out.printf("%-16s %-22s %5d bytes/row  write %6d ns/row  read %6d ns/row%n",
+                    name, serializer.getClass().getSimpleName(), result[0], result[1] / ROWS, result[2] / ROWS);
+        }
+    }
+
+    private long[] measure(BlobSerializer serializer, Object obj, int rows) throws Exception {
+        byte[] bytes = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            serializer.serialize(obj, baos);
+            bytes = baos.toByteArray();
+        }
+        long write = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            serializer.deserialize(new ByteArrayInputStream(bytes));
+        }
+        long read = System.nanoTime() - start;
+
+        return new long[] {bytes.length, write, read};
+    }
+}
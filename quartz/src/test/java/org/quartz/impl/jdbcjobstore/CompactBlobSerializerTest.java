@@ -0,0 +1,244 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.DateBuilder.IntervalUnit;
+import org.quartz.JobDataMap;
+import org.quartz.TimeOfDay;
+import org.quartz.impl.calendar.AnnualCalendar;
+import org.quartz.impl.calendar.CronCalendar;
+import org.quartz.impl.calendar.HolidayCalendar;
+import org.quartz.impl.calendar.MonthlyCalendar;
+import org.quartz.impl.calendar.WeeklyCalendar;
+import org.quartz.impl.triggers.CalendarIntervalTriggerImpl;
+import org.quartz.impl.triggers.CronTriggerImpl;
+import org.quartz.impl.triggers.DailyTimeIntervalTriggerImpl;
+import org.quartz.impl.triggers.SimpleTriggerImpl;
+
+class CompactBlobSerializerTest {
+
+    private final CompactBlobSerializer serializer = new CompactBlobSerializer();
+
+    private byte[] serialize(BlobSerializer blobSerializer, Object obj) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        blobSerializer.serialize(obj, baos);
+        return baos.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T roundTrip(T obj) throws Exception {
+        return (T) serializer.deserialize(new ByteArrayInputStream(serialize(serializer, obj)));
+    }
+
+    private boolean isCompact(Object obj) throws Exception {
+        return serialize(serializer, obj)[0] == 'Q';
+    }
+
+    @Test
+    void testJobDataMapRoundTrip() throws Exception {
+        JobDataMap map = new JobDataMap();
+        map.put("string", "value");
+        map.put("int", 1);
+        map.put("long", 2L);
+        map.put("boolean", true);
+        map.put("double", 3.5d);
+        map.put("float", 4.5f);
+        map.put("short", (short) 5);
+        map.put("byte", (byte) 6);
+        map.put("char", 'c');
+        map.put("null", null);
+        map.clearDirtyFlag();
+
+        JobDataMap copy = roundTrip(map);
+
+        assertTrue(isCompact(map));
+        assertEquals(map.getWrappedMap(), copy.getWrappedMap());
+        assertFalse(copy.isDirty());
+        assertTrue(serialize(serializer, map).length < serialize(new JavaBlobSerializer(), map).length);
+    }
+
+    @Test
+    void testJobDataMapWithOtherValuesFallsBack() throws Exception {
+        JobDataMap map = new JobDataMap();
+        ArrayList<String> list = new ArrayList<>();
+        list.add("a");
+        map.put("list", list);
+
+        assertFalse(isCompact(map));
+        assertEquals(list, ((JobDataMap) roundTrip(map)).get("list"));
+    }
+
+    @Test
+    void testReadsJavaSerializedRows() throws Exception {
+        JobDataMap map = new JobDataMap();
+        map.put("key", "value");
+
+        byte[] javaSerialized = serialize(new JavaBlobSerializer(), map);
+        JobDataMap copy = (JobDataMap) serializer.deserialize(new ByteArrayInputStream(javaSerialized));
+
+        assertEquals("value", copy.getString("key"));
+    }
+
+    @Test
+    void testCalendarRoundTrip() throws Exception {
+        TimeZone tz = TimeZone.getTimeZone("America/New_York");
+        WeeklyCalendar weekly = new WeeklyCalendar(tz);
+        weekly.setDayExcluded(java.util.Calendar.WEDNESDAY, true);
+        weekly.setDescription("weekly");
+        MonthlyCalendar monthly = new MonthlyCalendar(weekly);
+        monthly.setDayExcluded(15, true);
+        HolidayCalendar holiday = new HolidayCalendar(monthly, tz);
+        holiday.addExcludedDate(new Date(1700000000000L));
+        CronCalendar cron = new CronCalendar(holiday, "* * 0-7 ? * *", tz);
+
+        CronCalendar copy = roundTrip(cron);
+
+        assertTrue(isCompact(cron));
+        assertEquals(tz, copy.getTimeZone());
+        assertEquals("* * 0-7 ? * *", copy.getCronExpression().getCronExpression());
+        HolidayCalendar holidayCopy = (HolidayCalendar) copy.getBaseCalendar();
+        assertEquals(holiday.getExcludedDates(), holidayCopy.getExcludedDates());
+        MonthlyCalendar monthlyCopy = (MonthlyCalendar) holidayCopy.getBaseCalendar();
+        assertArrayEquals(toInts(monthly.getDaysExcluded()), toInts(monthlyCopy.getDaysExcluded()));
+        WeeklyCalendar weeklyCopy = (WeeklyCalendar) monthlyCopy.getBaseCalendar();
+        assertArrayEquals(toInts(weekly.getDaysExcluded()), toInts(weeklyCopy.getDaysExcluded()));
+        assertEquals("weekly", weeklyCopy.getDescription());
+        for (long t = 1700000000000L; t < 1700000000000L + 40L * 24 * 3600 * 1000; t += 3600 * 1000) {
+            assertEquals(cron.isTimeIncluded(t), copy.isTimeIncluded(t));
+        }
+    }
+
+    @Test
+    void testUnknownCalendarFallsBack() throws Exception {
+        AnnualCalendar annual = new AnnualCalendar();
+        WeeklyCalendar weekly = new WeeklyCalendar(annual);
+
+        assertFalse(isCompact(annual));
+        assertFalse(isCompact(weekly));
+        assertSame(AnnualCalendar.class, roundTrip(weekly).getBaseCalendar().getClass());
+    }
+
+    @Test
+    void testSimpleTriggerRoundTrip() throws Exception {
+        SimpleTriggerImpl trigger = new SimpleTriggerImpl("t", "g", "j", "jg",
+                new Date(1700000000000L), new Date(1800000000000L), 10, 60000L);
+        trigger.setDescription("description");
+        trigger.setCalendarName("calendar");
+        trigger.setPriority(7);
+        trigger.setMisfireInstruction(SimpleTriggerImpl.MISFIRE_INSTRUCTION_FIRE_NOW);
+        trigger.getJobDataMap().put("key", "value");
+        trigger.computeFirstFireTime(null);
+        trigger.triggered(null);
+
+        SimpleTriggerImpl copy = roundTrip(trigger);
+
+        assertTrue(isCompact(trigger));
+        assertEquals(trigger.getKey(), copy.getKey());
+        assertEquals(trigger.getJobKey(), copy.getJobKey());
+        assertEquals("description", copy.getDescription());
+        assertEquals("calendar", copy.getCalendarName());
+        assertEquals(7, copy.getPriority());
+        assertEquals(SimpleTriggerImpl.MISFIRE_INSTRUCTION_FIRE_NOW, copy.getMisfireInstruction());
+        assertEquals("value", copy.getJobDataMap().getString("key"));
+        assertEquals(trigger.getStartTime(), copy.getStartTime());
+        assertEquals(trigger.getEndTime(), copy.getEndTime());
+        assertEquals(trigger.getNextFireTime(), copy.getNextFireTime());
+        assertEquals(trigger.getPreviousFireTime(), copy.getPreviousFireTime());
+        assertEquals(10, copy.getRepeatCount());
+        assertEquals(60000L, copy.getRepeatInterval());
+        assertEquals(1, copy.getTimesTriggered());
+    }
+
+    @Test
+    void testCronTriggerRoundTrip() throws Exception {
+        CronTriggerImpl trigger = new CronTriggerImpl();
+        trigger.setName("t");
+        trigger.setJobName("j");
+        trigger.setCronExpression("0 15 10 ? * MON-FRI");
+        trigger.setTimeZone(TimeZone.getTimeZone("Asia/Tokyo"));
+        trigger.setStartTime(new Date(1700000000000L));
+        trigger.computeFirstFireTime(null);
+
+        CronTriggerImpl copy = roundTrip(trigger);
+
+        assertTrue(isCompact(trigger));
+        assertEquals("0 15 10 ? * MON-FRI", copy.getCronExpression());
+        assertEquals(trigger.getTimeZone(), copy.getTimeZone());
+        assertEquals(trigger.getNextFireTime(), copy.getNextFireTime());
+        assertEquals(trigger.getFireTimeAfter(new Date(1750000000000L)), copy.getFireTimeAfter(new Date(1750000000000L)));
+    }
+
+    @Test
+    void testCalendarIntervalTriggerRoundTrip() throws Exception {
+        CalendarIntervalTriggerImpl trigger = new CalendarIntervalTriggerImpl("t", new Date(1700000000000L), null, IntervalUnit.MONTH, 2);
+        trigger.setJobName("j");
+        trigger.setTimeZone(TimeZone.getTimeZone("Europe/Paris"));
+        trigger.setPreserveHourOfDayAcrossDaylightSavings(true);
+        trigger.computeFirstFireTime(null);
+
+        CalendarIntervalTriggerImpl copy = roundTrip(trigger);
+
+        assertTrue(isCompact(trigger));
+        assertEquals(IntervalUnit.MONTH, copy.getRepeatIntervalUnit());
+        assertEquals(2, copy.getRepeatInterval());
+        assertEquals(trigger.getTimeZone(), copy.getTimeZone());
+        assertTrue(copy.isPreserveHourOfDayAcrossDaylightSavings());
+        assertFalse(copy.isSkipDayIfHourDoesNotExist());
+        assertNull(copy.getEndTime());
+        assertEquals(trigger.getFireTimeAfter(new Date(1750000000000L)), copy.getFireTimeAfter(new Date(1750000000000L)));
+    }
+
+    @Test
+    void testDailyTimeIntervalTriggerRoundTrip() throws Exception {
+        DailyTimeIntervalTriggerImpl trigger = new DailyTimeIntervalTriggerImpl("t", new Date(1700000000000L), null,
+                new TimeOfDay(8, 0), new TimeOfDay(17, 30), IntervalUnit.MINUTE, 15);
+        trigger.setJobName("j");
+        trigger.computeFirstFireTime(null);
+
+        DailyTimeIntervalTriggerImpl copy = roundTrip(trigger);
+
+        assertTrue(isCompact(trigger));
+        assertEquals(trigger.getDaysOfWeek(), copy.getDaysOfWeek());
+        assertEquals(trigger.getStartTimeOfDay(), copy.getStartTimeOfDay());
+        assertEquals(trigger.getEndTimeOfDay(), copy.getEndTimeOfDay());
+        assertEquals(15, copy.getRepeatInterval());
+        assertEquals(IntervalUnit.MINUTE, copy.getRepeatIntervalUnit());
+        assertEquals(trigger.getFireTimeAfter(new Date(1750000000000L)), copy.getFireTimeAfter(new Date(1750000000000L)));
+    }
+
+    private static int[] toInts(boolean[] values) {
+        int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ints[i] = values[i] ? 1 : 0;
+        }
+        return ints;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Measures the cost of dispatching the connection calls made for one job
+ * store transaction through the reflective
+ * <code>AttributeRestoringConnectionInvocationHandler</code> proxy and through
+ * <code>AttributeRestoringConnection</code>.  The wrapped connection is a
+ * no-op proxy itself, so its cost is measured on its own as well and should
+ * be subtracted from the other two.  Run with
+ * <code>-Dquartz.benchmark=true</code>.
+ */
+@EnabledIfSystemProperty(named = "quartz.benchmark", matches = "true")
+class ConnectionDispatchBenchmark {
+
+    private static final int WARMUP_TRANSACTIONS = 200000;
+
+    private static final int TRANSACTIONS = 2000000;
+
+    private static final int STATEMENTS_PER_TRANSACTION = 8;
+
+    @Test
+    void benchmarkStatementDispatch() throws Exception {
+        PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> null);
+        Connection raw = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> method.getName().equals("prepareStatement") ? ps
+                        : method.getReturnType() == boolean.class ? Boolean.FALSE
+                        : method.getReturnType() == int.class ? Integer.valueOf(0) : null);
+
+        Connection reflective = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {Connection.class}, new AttributeRestoringConnectionInvocationHandler(raw));
+        Connection direct = new AttributeRestoringConnection(raw);
+
+        String[] names = {"no wrapper", "reflective proxy", "direct wrapper"};
+        Connection[] connections = {raw, reflective, direct};
+        for (int i = 0; i < connections.length; i++) {
+            measure(connections[i], WARMUP_TRANSACTIONS);
+            System.out.printf("%-18s %6d ns/transaction%n", names[i],
+                    measure(connections[i], TRANSACTIONS) / TRANSACTIONS);
+        }
+    }
+
+    private long measure(Connection conn, int transactions) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < transactions; i++) {
+            conn.setAutoCommit(false);
+            for (int s = 0; s < STATEMENTS_PER_TRANSACTION; s++) {
+                conn.prepareStatement("SELECT 1").close();
+            }
+            conn.commit();
+        }
+        return System.nanoTime() - start;
+    }
+}
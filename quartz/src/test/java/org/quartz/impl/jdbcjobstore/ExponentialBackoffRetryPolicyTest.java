@@ -0,0 +1,87 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ExponentialBackoffRetryPolicyTest {
+
+    @Test
+    void testDelayGrowsUpToTheMaximum() {
+        ExponentialBackoffRetryPolicy policy = newPolicy(0.0);
+
+        assertEquals(100L, policy.getRetryDelay(1));
+        assertEquals(200L, policy.getRetryDelay(2));
+        assertEquals(400L, policy.getRetryDelay(3));
+        assertEquals(1000L, policy.getRetryDelay(5));
+        assertEquals(1000L, policy.getRetryDelay(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testJitterShortensTheDelay() {
+        ExponentialBackoffRetryPolicy policy = newPolicy(0.5);
+
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.getRetryDelay(3);
+            assertTrue(delay > 200L && delay <= 400L, "delay " + delay);
+        }
+    }
+
+    @Test
+    void testOpenCircuitBacksOffEveryThread() {
+        ExponentialBackoffRetryPolicy policy = newPolicy(0.0);
+
+        policy.recordFailure();
+        policy.recordFailure();
+        assertFalse(policy.isCircuitOpen());
+        assertEquals(100L, policy.getRetryDelay(1));
+
+        policy.recordFailure();
+        policy.recordFailure();
+        assertTrue(policy.isCircuitOpen());
+        assertEquals(800L, policy.getRetryDelay(1));
+
+        policy.recordSuccess();
+        assertFalse(policy.isCircuitOpen());
+        assertEquals(100L, policy.getRetryDelay(1));
+    }
+
+    @Test
+    void testFixedInterval() {
+        ExponentialBackoffRetryPolicy policy = newPolicy(0.0);
+        policy.setMultiplier(1.0);
+        for (int i = 0; i < 10; i++) {
+            policy.recordFailure();
+        }
+
+        assertEquals(100L, policy.getRetryDelay(1));
+        assertEquals(100L, policy.getRetryDelay(Integer.MAX_VALUE));
+    }
+
+    private static ExponentialBackoffRetryPolicy newPolicy(double jitter) {
+        ExponentialBackoffRetryPolicy policy = new ExponentialBackoffRetryPolicy();
+        policy.setInitialInterval(100L);
+        policy.setMaxInterval(1000L);
+        policy.setJitter(jitter);
+        policy.setFailureThreshold(3);
+        return policy;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LockPartitionAffinityTest {
+
+    @Test
+    void testPartitionsAreDealtOutInInstanceIdOrder() {
+        List<String> live = Arrays.asList("node-c", "node-a", "node-b");
+
+        assertArrayEquals(new int[] {0, 3, 6}, JobStoreSupport.getLockPartitionsOwnedBy("node-a", live, 8));
+        assertArrayEquals(new int[] {1, 4, 7}, JobStoreSupport.getLockPartitionsOwnedBy("node-b", live, 8));
+        assertArrayEquals(new int[] {2, 5}, JobStoreSupport.getLockPartitionsOwnedBy("node-c", live, 8));
+    }
+
+    @Test
+    void testPartitionsAreRebalancedWhenAnInstanceLeaves() {
+        List<String> live = Arrays.asList("node-a", "node-c");
+
+        assertArrayEquals(new int[] {0, 2, 4, 6}, JobStoreSupport.getLockPartitionsOwnedBy("node-a", live, 8));
+        assertArrayEquals(new int[] {1, 3, 5, 7}, JobStoreSupport.getLockPartitionsOwnedBy("node-c", live, 8));
+    }
+
+    @Test
+    void testInstancesBeyondThePartitionCountOwnNothing() {
+        List<String> live = Arrays.asList("node-a", "node-b", "node-c");
+
+        assertArrayEquals(new int[] {1}, JobStoreSupport.getLockPartitionsOwnedBy("node-b", live, 2));
+        assertArrayEquals(new int[0], JobStoreSupport.getLockPartitionsOwnedBy("node-c", live, 2));
+    }
+
+    @Test
+    void testUnknownInstanceOwnsNothingInParticular() {
+        assertNull(JobStoreSupport.getLockPartitionsOwnedBy("node-x", Arrays.asList("node-a"), 4));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.quartz.CronScheduleBuilder.cronSchedule;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.AbstractJobStoreTest.MyJob;
+import org.quartz.AbstractJobStoreTest.SampleSignaler;
+import org.quartz.JobDetail;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+import org.quartz.impl.jdbcjobstore.JdbcQuartzTestUtilities.DatabaseType;
+import org.quartz.simpl.CascadingClassLoadHelper;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+
+class MisfireHandlingJdbcJobStoreTest {
+
+    private static final String DB_NAME = "MisfireHandlingJdbcJobStoreTest";
+
+    private JobStoreTX jobStore;
+
+    private JobDetail job;
+
+    private long startTime;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcQuartzTestUtilities.createDatabase(DB_NAME, DatabaseType.DERBY);
+        jobStore = new JobStoreTX();
+        jobStore.setDataSource(DB_NAME);
+        jobStore.setTablePrefix("QRTZ_");
+        jobStore.setInstanceId("SINGLE_NODE_TEST");
+        jobStore.setInstanceName(DB_NAME);
+        jobStore.setUseDBLocks(true);
+
+        ClassLoadHelper loadHelper = new CascadingClassLoadHelper();
+        loadHelper.initialize();
+        jobStore.initialize(loadHelper, new SampleSignaler());
+
+        job = newJob(MyJob.class).withIdentity("job").storeDurably().build();
+        jobStore.storeJob(job, false);
+        startTime = System.currentTimeMillis() - 3600000L;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobStore.shutdown();
+        JdbcQuartzTestUtilities.destroyDatabase(DB_NAME, DatabaseType.DERBY);
+    }
+
+    @Test
+    void testSetBasedMisfireHandlingFiresTriggersNow() throws Exception {
+        jobStore.setUseSetBasedMisfireHandling(true);
+
+        storeMisfiredTrigger(newTrigger().withIdentity("cronSmart").forJob(job).startAt(new Date(startTime))
+                .withSchedule(cronSchedule("0 0 0 1 1 ? 2100")));
+        storeMisfiredTrigger(newTrigger().withIdentity("simpleOnce").forJob(job).startAt(new Date(startTime))
+                .withSchedule(simpleSchedule().withMisfireHandlingInstructionFireNow()));
+        storeMisfiredTrigger(newTrigger().withIdentity("simpleRepeating").forJob(job).startAt(new Date(startTime))
+                .withSchedule(simpleSchedule().withIntervalInHours(24).repeatForever()));
+        storeMisfiredTrigger(newTrigger().withIdentity("cronDoNothing").forJob(job).startAt(new Date(startTime))
+                .withSchedule(cronSchedule("0 0 0 1 1 ? 2100").withMisfireHandlingInstructionDoNothing()));
+
+        long beforeRecovery = System.currentTimeMillis();
+        JobStoreSupport.RecoverMisfiredJobsResult result = jobStore.doRecoverMisfires();
+
+        assertEquals(4, result.getProcessedMisfiredTriggerCount());
+        assertFalse(result.hasMoreMisfiredTriggers());
+        assertTrue(nextFireTime("cronSmart") >= beforeRecovery);
+        assertTrue(nextFireTime("simpleOnce") >= beforeRecovery);
+        assertTrue(nextFireTime("simpleRepeating") >= beforeRecovery);
+        assertTrue(nextFireTime("cronDoNothing") > System.currentTimeMillis());
+
+        assertEquals(4L, (long) jobStore.getPerformanceMetrics().get("MisfiresHandled"));
+        assertEquals(0L, (long) jobStore.getPerformanceMetrics().get("MisfireBacklog"));
+    }
+
+    @Test
+    void testMisfireBacklogIsReportedBetweenBatches() throws Exception {
+        jobStore.setMaxMisfiresToHandleAtATime(2);
+
+        for (int i = 0; i < 5; i++) {
+            storeMisfiredTrigger(newTrigger().withIdentity("trigger" + i).forJob(job).startAt(new Date(startTime))
+                    .withSchedule(cronSchedule("0 0 0 1 1 ? 2100")));
+        }
+
+        JobStoreSupport.RecoverMisfiredJobsResult result = jobStore.doRecoverMisfires();
+        assertEquals(2, result.getProcessedMisfiredTriggerCount());
+        assertTrue(result.hasMoreMisfiredTriggers());
+        assertEquals(3L, (long) jobStore.getPerformanceMetrics().get("MisfireBacklog"));
+
+        jobStore.doRecoverMisfires();
+        result = jobStore.doRecoverMisfires();
+        assertEquals(1, result.getProcessedMisfiredTriggerCount());
+        assertFalse(result.hasMoreMisfiredTriggers());
+        assertEquals(0L, (long) jobStore.getPerformanceMetrics().get("MisfireBacklog"));
+        assertEquals(5L, (long) jobStore.getPerformanceMetrics().get("MisfiresHandled"));
+    }
+
+    @Test
+    void testSetBasedMisfireHandlingIsBoundedPerPass() throws Exception {
+        jobStore.setUseSetBasedMisfireHandling(true);
+        jobStore.setMaxMisfiresToHandleAtATime(2);
+
+        for (int i = 0; i < 5; i++) {
+            OperableTrigger trigger = (OperableTrigger) newTrigger().withIdentity("trigger" + i).forJob(job)
+                    .startAt(new Date(startTime)).withSchedule(cronSchedule("0 0 0 1 1 ? 2100")).build();
+            trigger.setNextFireTime(new Date(startTime + i));
+            jobStore.storeTrigger(trigger, false);
+        }
+
+        long beforeRecovery = System.currentTimeMillis();
+        JobStoreSupport.RecoverMisfiredJobsResult result = jobStore.doRecoverMisfires();
+        assertEquals(2, result.getProcessedMisfiredTriggerCount());
+        assertTrue(result.hasMoreMisfiredTriggers());
+        // the ones that misfired first
+        assertTrue(nextFireTime("trigger0") >= beforeRecovery);
+        assertTrue(nextFireTime("trigger1") >= beforeRecovery);
+        assertEquals(startTime + 2, nextFireTime("trigger2"));
+        assertEquals(3L, (long) jobStore.getPerformanceMetrics().get("MisfireBacklog"));
+
+        jobStore.doRecoverMisfires();
+        result = jobStore.doRecoverMisfires();
+        assertEquals(1, result.getProcessedMisfiredTriggerCount());
+        assertFalse(result.hasMoreMisfiredTriggers());
+        assertEquals(5L, (long) jobStore.getPerformanceMetrics().get("MisfiresHandled"));
+    }
+
+    private void storeMisfiredTrigger(TriggerBuilder<? extends Trigger> builder) throws Exception {
+        OperableTrigger trigger = (OperableTrigger) builder.build();
+        trigger.setNextFireTime(new Date(startTime));
+        jobStore.storeTrigger(trigger, false);
+    }
+
+    private long nextFireTime(String name) throws Exception {
+        return jobStore.retrieveTrigger(new TriggerKey(name)).getNextFireTime().getTime();
+    }
+}
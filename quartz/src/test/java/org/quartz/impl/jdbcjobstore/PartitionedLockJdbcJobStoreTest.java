@@ -0,0 +1,78 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDetail;
+import org.quartz.spi.JobStore;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.utils.DBConnectionManager;
+
+/**
+ * Runs the job store tests with the trigger access lock split into partitions.
+ */
+public class PartitionedLockJdbcJobStoreTest extends JdbcJobStoreTest {
+
+    @Override
+    protected JobStore createJobStore(String prefix) {
+        JobStoreSupport jdbcJobStore = (JobStoreSupport) super.createJobStore(prefix);
+        jdbcJobStore.setLockPartitionCount(4);
+        return jdbcJobStore;
+    }
+
+    @Test
+    void testTriggerWithoutLockPartitionIsAcquired() throws Exception {
+        JobStoreSupport store = stores().values().iterator().next();
+        JobDetail job = newJob(MyJob.class).withIdentity("unpartitioned").build();
+        OperableTrigger trigger = (OperableTrigger) newTrigger().withIdentity("unpartitioned").forJob(job)
+                .startAt(new Date(System.currentTimeMillis() - 1000L)).build();
+        store.storeJobAndTrigger(job, trigger);
+
+        // as stored by an instance that doesn't partition the lock
+        try (Connection conn = DBConnectionManager.getInstance().getConnection(store.getDataSource());
+             Statement statement = conn.createStatement()) {
+            statement.executeUpdate("UPDATE QRTZ_TRIGGERS SET LOCK_PARTITION = NULL");
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+        }
+
+        List<OperableTrigger> acquired = store.acquireNextTriggers(System.currentTimeMillis() + 10000L, 1, 0L);
+        assertEquals(1, acquired.size());
+        assertEquals(trigger.getKey(), acquired.get(0).getKey());
+
+        try (Connection conn = DBConnectionManager.getInstance().getConnection(store.getDataSource());
+             Statement statement = conn.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT LOCK_PARTITION FROM QRTZ_TRIGGERS")) {
+            assertTrue(rs.next());
+            assertEquals(store.getLockPartition(job.getKey()), rs.getInt(1));
+            assertFalse(rs.wasNull());
+        }
+    }
+}
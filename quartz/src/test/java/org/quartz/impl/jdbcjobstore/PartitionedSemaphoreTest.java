@@ -0,0 +1,80 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.sql.Connection;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class PartitionedSemaphoreTest {
+
+    @Test
+    void testPartitionLockIsPassedThrough() throws LockException {
+        Semaphore delegate = mock(Semaphore.class);
+        Connection conn = mock(Connection.class);
+        PartitionedSemaphore semaphore = new PartitionedSemaphore(delegate, "TRIGGER_ACCESS", 3);
+
+        assertTrue(semaphore.obtainLock(conn, "TRIGGER_ACCESS_1"));
+        semaphore.releaseLock("TRIGGER_ACCESS_1");
+
+        verify(delegate).obtainLock(conn, "TRIGGER_ACCESS_1");
+        verify(delegate).releaseLock("TRIGGER_ACCESS_1");
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void testPartitionedLockObtainsAllPartitionsInOrder() throws LockException {
+        Semaphore delegate = mock(Semaphore.class);
+        Connection conn = mock(Connection.class);
+        PartitionedSemaphore semaphore = new PartitionedSemaphore(delegate, "TRIGGER_ACCESS", 3);
+
+        assertTrue(semaphore.obtainLock(conn, "TRIGGER_ACCESS"));
+        semaphore.releaseLock("TRIGGER_ACCESS");
+
+        InOrder order = inOrder(delegate);
+        order.verify(delegate).obtainLock(conn, "TRIGGER_ACCESS_0");
+        order.verify(delegate).obtainLock(conn, "TRIGGER_ACCESS_1");
+        order.verify(delegate).obtainLock(conn, "TRIGGER_ACCESS_2");
+        order.verify(delegate).releaseLock("TRIGGER_ACCESS_2");
+        order.verify(delegate).releaseLock("TRIGGER_ACCESS_1");
+        order.verify(delegate).releaseLock("TRIGGER_ACCESS_0");
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void testOtherLocksArePassedThrough() throws LockException {
+        Semaphore delegate = mock(Semaphore.class);
+        Connection conn = mock(Connection.class);
+        PartitionedSemaphore semaphore = new PartitionedSemaphore(delegate, "TRIGGER_ACCESS", 3);
+
+        semaphore.obtainLock(conn, "STATE_ACCESS");
+        semaphore.releaseLock("STATE_ACCESS");
+
+        verify(delegate).obtainLock(conn, "STATE_ACCESS");
+        verify(delegate).releaseLock("STATE_ACCESS");
+        verifyNoMoreInteractions(delegate);
+        assertEquals(3, semaphore.getPartitionCount());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.AbstractJobStoreTest.MyJob;
+import org.quartz.AbstractJobStoreTest.SampleSignaler;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.Trigger.TriggerState;
+import org.quartz.TriggerKey;
+import org.quartz.impl.jdbcjobstore.JdbcQuartzTestUtilities.DatabaseType;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.simpl.CascadingClassLoadHelper;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+
+/**
+ * Uses a second, separately populated database as the read-only data source,
+ * so that it is visible which queries are routed to it.
+ */
+class ReadOnlyDataSourceJdbcJobStoreTest {
+
+    private static final String INSTANCE_NAME = "ReadOnlyDataSourceJdbcJobStoreTest";
+
+    private static final String PRIMARY_DB_NAME = "ReadOnlyDataSourcePrimary";
+
+    private static final String REPLICA_DB_NAME = "ReadOnlyDataSourceReplica";
+
+    private JobStoreTX jobStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcQuartzTestUtilities.createDatabase(PRIMARY_DB_NAME, DatabaseType.DERBY);
+        JdbcQuartzTestUtilities.createDatabase(REPLICA_DB_NAME, DatabaseType.DERBY);
+
+        JobStoreTX replicaStore = createJobStore(REPLICA_DB_NAME);
+        storeJobAndTrigger(replicaStore, "replicaJob");
+        replicaStore.shutdown();
+
+        jobStore = createJobStore(PRIMARY_DB_NAME);
+        jobStore.setReadOnlyDataSource(REPLICA_DB_NAME);
+        storeJobAndTrigger(jobStore, "primaryJob");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobStore.shutdown();
+        JdbcQuartzTestUtilities.destroyDatabase(PRIMARY_DB_NAME, DatabaseType.DERBY);
+        JdbcQuartzTestUtilities.destroyDatabase(REPLICA_DB_NAME, DatabaseType.DERBY);
+    }
+
+    @Test
+    void testStaleTolerantReadsUseReadOnlyDataSource() throws Exception {
+        assertEquals(Collections.singleton(new JobKey("replicaJob")), jobStore.getJobKeys(GroupMatcher.anyJobGroup()));
+        assertEquals(Collections.singleton(new TriggerKey("replicaJob")),
+                jobStore.getTriggerKeys(GroupMatcher.anyTriggerGroup()));
+        assertEquals(TriggerState.NORMAL, jobStore.getTriggerState(new TriggerKey("replicaJob")));
+        assertEquals(TriggerState.NONE, jobStore.getTriggerState(new TriggerKey("primaryJob")));
+    }
+
+    @Test
+    void testReadsBeforeWritesUsePrimaryDataSource() throws Exception {
+        assertTrue(jobStore.checkExists(new JobKey("primaryJob")));
+        assertNotNull(jobStore.retrieveJob(new JobKey("primaryJob")));
+        assertNotNull(jobStore.retrieveTrigger(new TriggerKey("primaryJob")));
+        assertEquals(1, jobStore.getTriggersForJob(new JobKey("primaryJob")).size());
+
+        jobStore.setReadOnlyDataSource(null);
+        assertEquals(Collections.singleton(new JobKey("primaryJob")), jobStore.getJobKeys(GroupMatcher.anyJobGroup()));
+        assertEquals(1, jobStore.getNumberOfTriggers());
+    }
+
+    private JobStoreTX createJobStore(String dbName) throws Exception {
+        JobStoreTX store = new JobStoreTX();
+        store.setDataSource(dbName);
+        store.setTablePrefix("QRTZ_");
+        store.setInstanceId("SINGLE_NODE_TEST");
+        store.setInstanceName(INSTANCE_NAME);
+        store.setUseDBLocks(true);
+
+        ClassLoadHelper loadHelper = new CascadingClassLoadHelper();
+        loadHelper.initialize();
+        store.initialize(loadHelper, new SampleSignaler());
+        return store;
+    }
+
+    private void storeJobAndTrigger(JobStoreTX store, String name) throws Exception {
+        JobDetail job = newJob(MyJob.class).withIdentity(name).build();
+        OperableTrigger trigger = (OperableTrigger) newTrigger().withIdentity(name).forJob(job).build();
+        store.storeJobAndTrigger(job, trigger);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.impl.jdbcjobstore.JdbcQuartzTestUtilities.DatabaseType;
+import org.quartz.impl.jdbcjobstore.SchemaAdvisor.AccessPath;
+import org.quartz.impl.jdbcjobstore.SchemaAdvisor.Coverage;
+import org.quartz.utils.DBConnectionManager;
+
+class SchemaAdvisorTest {
+
+    private static AccessPath path(String name) {
+        for (AccessPath path : SchemaAdvisor.ACCESS_PATHS) {
+            if (path.name.equals(name)) {
+                return path;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @Test
+    void testCoverageOfRangePath() {
+        AccessPath acquire = path("SELECT_NEXT_TRIGGER_TO_ACQUIRE");
+
+        assertEquals(Coverage.FULL, SchemaAdvisor.coverage(
+                Arrays.asList("SCHED_NAME", "TRIGGER_STATE", "NEXT_FIRE_TIME"), acquire));
+        assertEquals(Coverage.FULL, SchemaAdvisor.coverage(
+                Arrays.asList("TRIGGER_STATE", "SCHED_NAME", "NEXT_FIRE_TIME", "PRIORITY"), acquire));
+        assertEquals(Coverage.PARTIAL, SchemaAdvisor.coverage(
+                Arrays.asList("SCHED_NAME", "TRIGGER_STATE"), acquire));
+        assertEquals(Coverage.PARTIAL, SchemaAdvisor.coverage(
+                Arrays.asList("SCHED_NAME", "TRIGGER_STATE", "PRIORITY", "NEXT_FIRE_TIME"), acquire));
+        assertEquals(Coverage.NONE, SchemaAdvisor.coverage(
+                Arrays.asList("SCHED_NAME", "NEXT_FIRE_TIME", "TRIGGER_STATE"), acquire));
+        assertEquals(Coverage.NONE, SchemaAdvisor.coverage(
+                Arrays.asList("SCHED_NAME"), acquire));
+    }
+
+    @Test
+    void testCoverageOfEqualityPath() {
+        AccessPath forJob = path("SELECT_TRIGGERS_FOR_JOB");
+
+        assertEquals(Coverage.FULL, SchemaAdvisor.coverage(
+                Arrays.asList("SCHED_NAME", "JOB_NAME", "JOB_GROUP"), forJob));
+        assertEquals(Coverage.FULL, SchemaAdvisor.coverage(
+                Arrays.asList("SCHED_NAME", "JOB_GROUP", "JOB_NAME", "TRIGGER_NAME"), forJob));
+        assertEquals(Coverage.NONE, SchemaAdvisor.coverage(
+                Arrays.asList("SCHED_NAME", "TRIGGER_NAME", "TRIGGER_GROUP"), forJob));
+    }
+
+    @Test
+    void testShippedIndexesServeAnAccessPath() {
+        // indexes of tables_postgres.sql, by table, that serve the statements the advisor models
+        String[][] shipped = {
+                {"JOB_DETAILS", "SCHED_NAME", "JOB_GROUP"},
+                {"TRIGGERS", "SCHED_NAME", "JOB_NAME", "JOB_GROUP"},
+                {"TRIGGERS", "SCHED_NAME", "CALENDAR_NAME"},
+                {"TRIGGERS", "SCHED_NAME", "TRIGGER_GROUP"},
+                {"TRIGGERS", "SCHED_NAME", "TRIGGER_STATE"},
+                {"TRIGGERS", "SCHED_NAME", "TRIGGER_GROUP", "TRIGGER_STATE"},
+                {"TRIGGERS", "SCHED_NAME", "TRIGGER_STATE", "NEXT_FIRE_TIME"},
+                {"TRIGGERS", "SCHED_NAME", "LOCK_PARTITION", "TRIGGER_STATE", "NEXT_FIRE_TIME"},
+                {"FIRED_TRIGGERS", "SCHED_NAME", "INSTANCE_NAME"},
+                {"FIRED_TRIGGERS", "SCHED_NAME", "INSTANCE_NAME", "REQUESTS_RECOVERY"},
+                {"FIRED_TRIGGERS", "SCHED_NAME", "JOB_NAME", "JOB_GROUP"},
+                {"FIRED_TRIGGERS", "SCHED_NAME", "TRIGGER_NAME", "TRIGGER_GROUP"},
+                {"SCHEDULER_STATE", "SCHED_NAME", "LAST_CHECKIN_TIME"}};
+        for (String[] index : shipped) {
+            List<String> columns = Arrays.asList(index).subList(1, index.length);
+            boolean serving = false;
+            for (AccessPath path : SchemaAdvisor.ACCESS_PATHS) {
+                serving |= path.table.equals(index[0]) && SchemaAdvisor.coverage(columns, path) != Coverage.NONE;
+            }
+            assertTrue(serving, Arrays.toString(index));
+        }
+    }
+
+    @Test
+    void testAnalyzeReportsMissingIndexes() throws Exception {
+        String dbName = "SchemaAdvisorTest";
+        JdbcQuartzTestUtilities.createDatabase(dbName, DatabaseType.DERBY);
+        try (Connection conn = DBConnectionManager.getInstance().getConnection(dbName)) {
+            SchemaAdvisor advisor = new SchemaAdvisor("QRTZ_", "TestScheduler");
+            advisor.setCoveringAcquisitionIndex(true);
+            advisor.setFiredTriggersPartitions(4);
+            SchemaAdvisor.Report report = advisor.analyze(conn);
+
+            assertEquals(0L, (long) report.getRowCounts().get(Constants.TABLE_TRIGGERS));
+            assertEquals(SchemaAdvisor.ACCESS_PATHS.size(), report.getCoverage().size());
+            // the Derby script creates no secondary indexes
+            assertEquals(Coverage.NONE, report.getCoverage().get("SELECT_NEXT_TRIGGER_TO_ACQUIRE"));
+            assertEquals(Coverage.PARTIAL, report.getCoverage().get("SELECT_STALE_SCHEDULER_STATES"));
+            assertTrue(report.getRecommendedDdl().contains(
+                    "CREATE INDEX IDX_QRTZ_T_NFT_ST ON QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_STATE, NEXT_FIRE_TIME);"));
+            assertTrue(report.getRecommendedDdl().contains("CREATE INDEX IDX_QRTZ_T_NFT_ST_COVER ON QRTZ_TRIGGERS "
+                    + "(SCHED_NAME, TRIGGER_STATE, NEXT_FIRE_TIME, PRIORITY, MISFIRE_INSTR, TRIGGER_NAME, TRIGGER_GROUP);"));
+            assertTrue(report.getRecommendedDdl().contains(
+                    "-- partitioning QRTZ_FIRED_TRIGGERS is not generated for Apache Derby"));
+            assertFalse(report.getPlans().get("SELECT_NEXT_TRIGGER_TO_ACQUIRE").isEmpty());
+            assertTrue(report.getRecommendedDdl().contains(
+                    "CREATE INDEX IDX_QRTZ_J_GRP ON QRTZ_JOB_DETAILS (SCHED_NAME, JOB_GROUP);"));
+        } finally {
+            JdbcQuartzTestUtilities.destroyDatabase(dbName, DatabaseType.DERBY);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.quartz.TriggerKey;
+import org.quartz.impl.triggers.SimpleTriggerImpl;
+import org.quartz.simpl.SimpleClassLoadHelper;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the delegate-side CPU cost of the statements run for one fired
+ * trigger (acquire, fire and complete), with and without the statement cache.
+ * The first row is the cost of formatting the same SQL once per statement,
+ * which the delegate paid on top of that before queries were pre-expanded.
+ * Statements are run against a no-op connection, so the numbers exclude the
+ * driver's own cost of preparing a statement, which the statement cache also
+ * saves.  Run with <code>-Dquartz.benchmark=true</code>.
+ */
+@EnabledIfSystemProperty(named = "quartz.benchmark", matches = "true")
+class StatementCacheBenchmark {
+
+    private static final int WARMUP_FIRES = 50000;
+
+    private static final int FIRES = 500000;
+
+    private static final String[] FIRE_STATEMENTS = {
+        StdJDBCConstants.SELECT_NEXT_TRIGGER_TO_ACQUIRE,
+        StdJDBCConstants.UPDATE_TRIGGER_STATE_FROM_STATE,
+        StdJDBCConstants.INSERT_FIRED_TRIGGER,
+        StdJDBCConstants.SELECT_TRIGGER_STATUS,
+        StdJDBCConstants.UPDATE_FIRED_TRIGGER,
+        StdJDBCConstants.UPDATE_TRIGGER_STATE,
+        StdJDBCConstants.DELETE_FIRED_TRIGGER
+    };
+
+    @Test
+    void benchmarkFiredTrigger() throws Exception {
+        Connection conn = noOpConnection();
+
+        measureExpandEachTime(conn, WARMUP_FIRES);
+        System.out.printf("%-28s %6d ns/fire%n", "SQL expansion alone, before", measureExpandEachTime(conn, FIRES) / FIRES);
+
+        for (boolean cacheStatements : new boolean[] {false, true}) {
+            StdJDBCDelegate delegate = new StdJDBCDelegate();
+            delegate.initialize(LoggerFactory.getLogger(getClass()), "QRTZ_", "BENCH", "INSTANCE", new SimpleClassLoadHelper(), false, null);
+            delegate.setUseStatementCache(cacheStatements);
+
+            measure(delegate, conn, WARMUP_FIRES);
+            System.out.printf("%-28s %6d ns/fire%n", cacheStatements ? "delegate, statement cache" : "delegate",
+                    measure(delegate, conn, FIRES) / FIRES);
+            delegate.releaseCachedStatements(conn);
+        }
+    }
+
+    private long measureExpandEachTime(Connection conn, int fires) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < fires; i++) {
+            for (String statement : FIRE_STATEMENTS) {
+                PreparedStatement ps = conn.prepareStatement(Util.rtp(statement, "QRTZ_", "'BENCH'"));
+                ps.close();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long measure(StdJDBCDelegate delegate, Connection conn, int fires) throws Exception {
+        SimpleTriggerImpl trigger = new SimpleTriggerImpl();
+        trigger.setKey(new TriggerKey("trigger"));
+        trigger.setJobName("job");
+        trigger.setFireInstanceId("fire-1");
+        trigger.setNextFireTime(new Date());
+        TriggerKey key = trigger.getKey();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < fires; i++) {
+            delegate.selectTriggerToAcquire(conn, Long.MAX_VALUE, 0L, 1);
+            delegate.updateTriggerStateFromOtherState(conn, key, Constants.STATE_ACQUIRED, Constants.STATE_WAITING);
+            delegate.insertFiredTrigger(conn, trigger, Constants.STATE_ACQUIRED, null);
+            delegate.selectTriggerStatus(conn, key);
+            delegate.updateFiredTrigger(conn, trigger, Constants.STATE_EXECUTING, null);
+            delegate.updateTriggerState(conn, key, Constants.STATE_WAITING);
+            delegate.deleteFiredTrigger(conn, "fire-1");
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Connection noOpConnection() {
+        ResultSet rs = noOp(ResultSet.class);
+        PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(StatementCacheBenchmark.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                (proxy, method, args) -> method.getName().equals("executeQuery") ? rs : defaultValue(method.getReturnType()));
+        return (Connection) Proxy.newProxyInstance(StatementCacheBenchmark.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> method.getName().equals("prepareStatement") ? ps : defaultValue(method.getReturnType()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T noOp(Class<T> type) {
+        return (T) Proxy.newProxyInstance(StatementCacheBenchmark.class.getClassLoader(),
+                new Class<?>[] {type}, (proxy, method, args) -> defaultValue(method.getReturnType()));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
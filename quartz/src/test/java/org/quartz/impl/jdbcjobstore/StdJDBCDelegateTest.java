@@ -21,9 +21,12 @@ import static org.hamcrest.collection.IsIterableWithSize.iterableWithSize;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,11 +36,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.quartz.JobKey;
 import org.quartz.JobPersistenceException;
 import org.quartz.TriggerKey;
+import org.quartz.impl.triggers.SimpleTriggerImpl;
 import org.quartz.spi.OperableTrigger;
 import org.slf4j.LoggerFactory;
 import org.quartz.JobDataMap;
@@ -93,6 +100,27 @@ public class StdJDBCDelegateTest  {
 
     }
 
+    @Test
+    void testNullDataVersionIsUnversioned() throws SQLException {
+        StdJDBCDelegate jdbcDelegate = new StdJDBCDelegate();
+        jdbcDelegate.initialize(LoggerFactory.getLogger(getClass()), "QRTZ_", "TESTSCHED", "INSTANCE", new SimpleClassLoadHelper(), false, "");
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+
+        when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        // a NULL column reads as 0
+        when(resultSet.getLong(Constants.COL_DATA_VERSION)).thenReturn(0L);
+        when(resultSet.wasNull()).thenReturn(true, true, false);
+
+        assertEquals(Long.valueOf(VersionedCache.UNVERSIONED), jdbcDelegate.selectJobDetailVersion(conn, JobKey.jobKey("test")));
+        assertEquals(Long.valueOf(VersionedCache.UNVERSIONED), jdbcDelegate.selectCalendarVersion(conn, "test"));
+        assertEquals(Long.valueOf(0L), jdbcDelegate.selectCalendarVersion(conn, "test"));
+    }
+
     @Test
     void testHandleTriggerBlob() throws SQLException, JobPersistenceException, IOException, ClassNotFoundException {
         StdJDBCDelegate jdbcDelegate = new StdJDBCDelegate();
@@ -215,6 +243,105 @@ public class StdJDBCDelegateTest  {
         assertThat(triggerKeys, iterableWithSize(10));
     }
 
+    @Test
+    void testRtpExpandsTablePrefixAndSchedulerName() throws NoSuchDelegateException {
+        StdJDBCDelegate jdbcDelegate = new StdJDBCDelegate();
+        jdbcDelegate.initialize(LoggerFactory.getLogger(getClass()), "PFX_", "TESTSCHED", "INSTANCE", new SimpleClassLoadHelper(), false, "");
+
+        assertEquals(Util.rtp(StdJDBCConstants.UPDATE_TRIGGER_STATE, "PFX_", "'TESTSCHED'"),
+                jdbcDelegate.rtp(StdJDBCConstants.UPDATE_TRIGGER_STATE));
+
+        String dynamic = StdJDBCConstants.SELECT_TRIGGERS_IN_GROUP + " AND 1 = 1";
+        assertEquals(Util.rtp(dynamic, "PFX_", "'TESTSCHED'"), jdbcDelegate.rtp(dynamic));
+        assertEquals(Util.rtp(dynamic, "PFX_", "'TESTSCHED'"), jdbcDelegate.rtp(dynamic));
+    }
+
+    @Test
+    void testStatementCacheReusesStatementsUntilReleased() throws SQLException, NoSuchDelegateException {
+        StdJDBCDelegate jdbcDelegate = new StdJDBCDelegate();
+        jdbcDelegate.initialize(LoggerFactory.getLogger(getClass()), "QRTZ_", "TESTSCHED", "INSTANCE", new SimpleClassLoadHelper(), false, "");
+        jdbcDelegate.setUseStatementCache(true);
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+
+        TriggerKey triggerKey = new TriggerKey("trigger");
+        jdbcDelegate.updateTriggerState(conn, triggerKey, Constants.STATE_WAITING);
+        jdbcDelegate.updateTriggerState(conn, triggerKey, Constants.STATE_ACQUIRED);
+
+        verify(conn, times(1)).prepareStatement(anyString());
+        verify(preparedStatement, times(2)).executeUpdate();
+        verify(preparedStatement, never()).close();
+
+        jdbcDelegate.releaseCachedStatements(conn);
+        verify(preparedStatement, times(1)).close();
+
+        jdbcDelegate.updateTriggerState(conn, triggerKey, Constants.STATE_WAITING);
+        verify(conn, times(2)).prepareStatement(anyString());
+    }
+
+    @Test
+    void testStatementsClosedWithoutStatementCache() throws SQLException, NoSuchDelegateException {
+        StdJDBCDelegate jdbcDelegate = new StdJDBCDelegate();
+        jdbcDelegate.initialize(LoggerFactory.getLogger(getClass()), "QRTZ_", "TESTSCHED", "INSTANCE", new SimpleClassLoadHelper(), false, "");
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+
+        TriggerKey triggerKey = new TriggerKey("trigger");
+        jdbcDelegate.updateTriggerState(conn, triggerKey, Constants.STATE_WAITING);
+        jdbcDelegate.updateTriggerState(conn, triggerKey, Constants.STATE_ACQUIRED);
+
+        verify(conn, times(2)).prepareStatement(anyString());
+        verify(preparedStatement, times(2)).close();
+    }
+
+    @Test
+    void testUpdateTriggerFireStateSkipsJobDataAndSchedule() throws SQLException, IOException, NoSuchDelegateException {
+        StdJDBCDelegate jdbcDelegate = new StdJDBCDelegate();
+        jdbcDelegate.initialize(LoggerFactory.getLogger(getClass()), "QRTZ_", "TESTSCHED", "INSTANCE", new SimpleClassLoadHelper(), false, "");
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+
+        SimpleTriggerImpl trigger = new SimpleTriggerImpl("trigger", "group", "job", "group", new Date(), null, 5, 1000L);
+        trigger.setJobDataMap(new JobDataMap(Collections.singletonMap("key", "value")));
+        trigger.computeFirstFireTime(null);
+        trigger.triggered(null);
+
+        jdbcDelegate.updateTriggerFireState(conn, trigger, Constants.STATE_WAITING, null);
+
+        verify(conn).prepareStatement(Util.rtp(StdJDBCConstants.UPDATE_TRIGGER_FIRE_STATE, "QRTZ_", "'TESTSCHED'"));
+        verify(conn).prepareStatement(Util.rtp(StdJDBCConstants.UPDATE_SIMPLE_TRIGGER_TIMES_TRIGGERED, "QRTZ_", "'TESTSCHED'"));
+        verify(conn, times(2)).prepareStatement(anyString());
+        verify(preparedStatement, never()).setBytes(anyInt(), any());
+    }
+
+    @Test
+    void testUpdateTriggerFireStateWithDirtyJobDataUpdatesFully() throws SQLException, IOException, NoSuchDelegateException {
+        StdJDBCDelegate jdbcDelegate = new StdJDBCDelegate();
+        jdbcDelegate.initialize(LoggerFactory.getLogger(getClass()), "QRTZ_", "TESTSCHED", "INSTANCE", new SimpleClassLoadHelper(), false, "");
+
+        Connection conn = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+
+        SimpleTriggerImpl trigger = new SimpleTriggerImpl("trigger", "group", "job", "group", new Date(), null, 5, 1000L);
+        trigger.getJobDataMap().put("key", "value");
+        trigger.computeFirstFireTime(null);
+        trigger.triggered(null);
+
+        jdbcDelegate.updateTriggerFireState(conn, trigger, Constants.STATE_WAITING, null);
+
+        verify(conn).prepareStatement(Util.rtp(StdJDBCConstants.UPDATE_TRIGGER, "QRTZ_", "'TESTSCHED'"));
+        verify(conn, never()).prepareStatement(Util.rtp(StdJDBCConstants.UPDATE_TRIGGER_FIRE_STATE, "QRTZ_", "'TESTSCHED'"));
+    }
+
     static class TestStdJDBCDelegate extends StdJDBCDelegate {
 
         private final TriggerPersistenceDelegate testDelegate;
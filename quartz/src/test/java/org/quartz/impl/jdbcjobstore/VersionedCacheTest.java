@@ -0,0 +1,106 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.quartz.impl.jdbcjobstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+
+class VersionedCacheTest {
+
+    @Test
+    void testValueIsOnlyServedForItsVersion() {
+        VersionedCache<String, String> cache = new VersionedCache<>(10);
+        cache.put("a", 7L, "value");
+
+        assertEquals("value", cache.get("a", 7L));
+        assertNull(cache.get("a", 8L));
+        assertNull(cache.get("b", 7L));
+
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(33L, cache.getHitPercentage());
+    }
+
+    @Test
+    void testUnversionedValueIsNotCached() {
+        VersionedCache<String, String> cache = new VersionedCache<>(10);
+        cache.put("a", VersionedCache.UNVERSIONED, "value");
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a", VersionedCache.UNVERSIONED));
+
+        cache.put("a", 7L, "value");
+        assertNull(cache.get("a", VersionedCache.UNVERSIONED));
+        assertEquals(2L, cache.getMissCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedValueIsEvicted() {
+        VersionedCache<String, String> cache = new VersionedCache<>(2);
+        cache.put("a", 1L, "a");
+        cache.put("b", 1L, "b");
+        cache.get("a", 1L);
+        cache.put("c", 1L, "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("a", 1L));
+        assertNull(cache.get("b", 1L));
+        assertEquals("c", cache.get("c", 1L));
+    }
+
+    @Test
+    void testRemoveAndClear() {
+        VersionedCache<String, String> cache = new VersionedCache<>(10);
+        cache.put("a", 1L, "a");
+        cache.put("b", 1L, "b");
+
+        cache.remove("a");
+        assertNull(cache.get("a", 1L));
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testOnlyJobsWithImmutableDataAreCacheable() {
+        JobDetail plain = JobBuilder.newJob(TestJob.class)
+                .usingJobData("name", "value").usingJobData("count", 3).build();
+        JobDetail mutable = JobBuilder.newJob(TestJob.class).build();
+        mutable.getJobDataMap().put("list", new ArrayList<String>());
+
+        assertTrue(JobStoreSupport.isCacheable(plain));
+        assertFalse(JobStoreSupport.isCacheable(mutable));
+    }
+
+    public static class TestJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.quartz.impl.triggers;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.quartz.DateBuilder.IntervalUnit;
+
+/**
+ * Compares the cost of computing the next fire time of calendar interval
+ * triggers that started far in the past, on epoch arithmetic and by stepping
+ * a <code>java.util.Calendar</code> from the start time.
+ * Run with <code>-Dquartz.benchmark=true</code>.
+ */
+@EnabledIfSystemProperty(named = "quartz.benchmark", matches = "true")
+class CalendarIntervalTriggerBenchmark {
+
+    private static final int WARMUP_CALLS = 10000;
+
+    private static final int CALLS = 10000;
+
+    private static final long[] STARTS = {Date.UTC(75, 0, 1, 9, 30, 0), Date.UTC(0, 0, 1, 9, 30, 0),
+            Date.UTC(-200, 0, 1, 9, 30, 0)};
+
+    private static final IntervalUnit[] UNITS = {IntervalUnit.DAY, IntervalUnit.WEEK,
+            IntervalUnit.MONTH, IntervalUnit.YEAR};
+
+    @Test
+    void benchmarkFireTimeAfter() {
+        Date after = new Date(Date.UTC(125, 5, 15, 0, 0, 0));
+        for (String timeZone : new String[] {"UTC", "America/New_York"}) {
+            for (long start : STARTS) {
+                for (IntervalUnit unit : UNITS) {
+                    CalendarIntervalTriggerImpl trigger = new CalendarIntervalTriggerImpl();
+                    trigger.setTimeZone(TimeZone.getTimeZone(timeZone));
+                    trigger.setStartTime(new Date(start));
+                    trigger.setRepeatIntervalUnit(unit);
+                    trigger.setRepeatInterval(1);
+
+                    measure(trigger, after, true, WARMUP_CALLS);
+                    measure(trigger, after, false, WARMUP_CALLS);
+                    long computed = measure(trigger, after, true, CALLS);
+                    long calendar = measure(trigger, after, false, CALLS);
+                    System.out.printf("%-16s start %-5d %-6s computed %8d ns/call  calendar %8d ns/call%n",
+                            timeZone, 1900 + new Date(start).getYear(), unit, computed / CALLS, calendar / CALLS);
+                }
+            }
+        }
+    }
+
+    private long measure(CalendarIntervalTriggerImpl trigger, Date after, boolean computed, int calls) {
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            if (computed) {
+                trigger.getFireTimeAfter(after);
+            } else {
+                trigger.getFireTimeAfterUsingCalendar(after, false);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
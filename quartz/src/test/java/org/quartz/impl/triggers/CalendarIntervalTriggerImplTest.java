@@ -0,0 +1,146 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.quartz.impl.triggers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.DateBuilder.IntervalUnit;
+
+/**
+ * Checks that the fire times computed on epoch milliseconds are the ones
+ * computed by stepping a <code>java.util.Calendar</code>.
+ */
+class CalendarIntervalTriggerImplTest {
+
+    private static final String[] TIME_ZONES = {"UTC", "America/New_York", "Europe/London",
+            "Australia/Lord_Howe", "Asia/Kolkata", "America/Sao_Paulo", "Pacific/Apia",
+            "America/St_Johns", "Asia/Gaza", "Africa/Casablanca", "GMT+05:30"};
+
+    private static final IntervalUnit[] UNITS = {IntervalUnit.DAY, IntervalUnit.WEEK,
+            IntervalUnit.MONTH, IntervalUnit.YEAR};
+
+    private static final long HOUR = 3600000L;
+
+    private static final long YEAR = 365L * 24L * HOUR;
+
+    @Test
+    void testMatchesCalendarComputation() {
+        Random random = new Random(20240715L);
+        long from = Date.UTC(75, 0, 1, 0, 0, 0);
+        for (int i = 0; i < 4000; i++) {
+            TimeZone timeZone = TimeZone.getTimeZone(TIME_ZONES[random.nextInt(TIME_ZONES.length)]);
+            long start = from + (long) (random.nextDouble() * 60 * YEAR);
+            if (random.nextBoolean()) {
+                // around the hours the time zones change their offsets at
+                long local = start + timeZone.getOffset(start);
+                start += Math.floorMod(-local, 24 * HOUR) + random.nextInt(4 * (int) HOUR);
+            }
+            CalendarIntervalTriggerImpl trigger = randomTrigger(random, timeZone, start);
+            Date after = new Date(start + (long) (random.nextDouble() * 70 * YEAR));
+            assertSameFireTimes(trigger, after, 6);
+        }
+    }
+
+    @Test
+    void testMatchesCalendarComputationAcrossTransitions() {
+        long[] starts = {Date.UTC(101, 2, 25, 1, 30, 0), Date.UTC(104, 9, 31, 0, 30, 0),
+                Date.UTC(110, 0, 31, 2, 30, 0), Date.UTC(111, 11, 29, 23, 0, 0)};
+        for (String zone : TIME_ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            for (long start : starts) {
+                for (IntervalUnit unit : UNITS) {
+                    for (int preserve = 0; preserve < 3; preserve++) {
+                        CalendarIntervalTriggerImpl trigger = trigger(timeZone, start, unit, 1);
+                        trigger.setPreserveHourOfDayAcrossDaylightSavings(preserve > 0);
+                        trigger.setSkipDayIfHourDoesNotExist(preserve > 1);
+                        Date after = new Date(start);
+                        assertSameFireTimes(trigger, after, unit == IntervalUnit.DAY ? 800 : 200);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCustomTimeZone() {
+        // the ID of a zone with other rules
+        TimeZone timeZone = new SimpleTimeZone(3600000, "UTC", 2, 1, 0, 7200000, 9, 1, 0, 7200000);
+        for (IntervalUnit unit : UNITS) {
+            CalendarIntervalTriggerImpl trigger = trigger(timeZone, Date.UTC(100, 0, 31, 1, 30, 0), unit, 1);
+            assertSameFireTimes(trigger, new Date(Date.UTC(120, 0, 1, 0, 0, 0)), 300);
+        }
+    }
+
+    @Test
+    void testStartFarInThePast() {
+        TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        // before 1883, the time zone and its java.time rules disagree on the offset
+        for (long start : new long[] {Date.UTC(0, 2, 31, 7, 30, 0), Date.UTC(-200, 2, 31, 7, 30, 0)}) {
+            for (IntervalUnit unit : UNITS) {
+                CalendarIntervalTriggerImpl trigger = trigger(timeZone, start, unit, 1);
+                assertSameFireTimes(trigger, new Date(Date.UTC(-150, 0, 1, 0, 0, 0)), 20);
+                assertSameFireTimes(trigger, new Date(), 20);
+            }
+        }
+    }
+
+    @Test
+    void testBefore1970WithoutLaterTransitions() {
+        for (String zone : new String[] {"UTC", "GMT+05:30"}) {
+            for (IntervalUnit unit : UNITS) {
+                CalendarIntervalTriggerImpl trigger = trigger(TimeZone.getTimeZone(zone), -18000000000L, unit, 1);
+                assertSameFireTimes(trigger, new Date(-17000000000L), 20);
+                assertSameFireTimes(trigger, new Date(Long.MAX_VALUE / 2), 1);
+            }
+        }
+    }
+
+    private static void assertSameFireTimes(CalendarIntervalTriggerImpl trigger, Date after, int count) {
+        for (int i = 0; i < count && after != null; i++) {
+            Date expected = trigger.getFireTimeAfterUsingCalendar(after, false);
+            assertEquals(expected, trigger.getFireTimeAfter(after),
+                    "every " + trigger.getRepeatInterval() + " " + trigger.getRepeatIntervalUnit()
+                    + " from " + trigger.getStartTime().getTime() + " in " + trigger.getTimeZone().getID()
+                    + " after " + after.getTime());
+            after = expected;
+        }
+    }
+
+    private static CalendarIntervalTriggerImpl randomTrigger(Random random, TimeZone timeZone, long start) {
+        IntervalUnit unit = UNITS[random.nextInt(UNITS.length)];
+        int interval = random.nextInt(4) == 0 ? 1 + random.nextInt(40) : 1 + random.nextInt(3);
+        CalendarIntervalTriggerImpl trigger = trigger(timeZone, start, unit, interval);
+        trigger.setPreserveHourOfDayAcrossDaylightSavings(random.nextInt(3) == 0);
+        trigger.setSkipDayIfHourDoesNotExist(random.nextBoolean());
+        return trigger;
+    }
+
+    private static CalendarIntervalTriggerImpl trigger(TimeZone timeZone, long start, IntervalUnit unit, int interval) {
+        CalendarIntervalTriggerImpl trigger = new CalendarIntervalTriggerImpl();
+        trigger.setTimeZone(timeZone);
+        trigger.setStartTime(new Date(start));
+        trigger.setRepeatIntervalUnit(unit);
+        trigger.setRepeatInterval(interval);
+        return trigger;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.quartz.impl.triggers;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.quartz.DailyTimeIntervalScheduleBuilder;
+import org.quartz.DateBuilder.IntervalUnit;
+import org.quartz.TimeOfDay;
+
+/**
+ * Compares the cost of computing the fire times of long running daily time
+ * interval triggers, on epoch arithmetic and by stepping a
+ * <code>java.util.Calendar</code> through the days: a chain of consecutive
+ * fire times, and the next fire time of triggers started years ago.
+ * Run with <code>-Dquartz.benchmark=true</code>.
+ */
+@EnabledIfSystemProperty(named = "quartz.benchmark", matches = "true")
+class DailyTimeIntervalTriggerBenchmark {
+
+    private static final int WARMUP_CALLS = 200000;
+
+    private static final int CALLS = 200000;
+
+    private static final int[] START_YEARS = {2024, 2015, 1995};
+
+    @Test
+    void benchmarkFireTimes() {
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        try {
+            for (String timeZone : new String[] {"UTC", "America/New_York"}) {
+                TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+                for (int startYear : START_YEARS) {
+                    DailyTimeIntervalTriggerImpl trigger = newTrigger(Date.UTC(startYear - 1900, 0, 1, 0, 0, 0));
+                    Date after = new Date(Date.UTC(125, 5, 15, 12, 0, 0));
+
+                    measure(trigger, after, true, true, WARMUP_CALLS);
+                    measure(trigger, after, false, true, WARMUP_CALLS);
+                    measure(trigger, after, true, false, WARMUP_CALLS);
+                    measure(trigger, after, false, false, WARMUP_CALLS);
+                    long computedChain = measure(trigger, after, true, true, CALLS);
+                    long calendarChain = measure(trigger, after, false, true, CALLS);
+                    long computed = measure(trigger, after, true, false, CALLS);
+                    long calendar = measure(trigger, after, false, false, CALLS);
+                    System.out.printf("%-16s start %-4d chain computed %6d ns/call  calendar %6d ns/call"
+                                    + "  next computed %6d ns/call  calendar %6d ns/call%n",
+                            timeZone, startYear, computedChain / CALLS,
+                            calendarChain / CALLS, computed / CALLS, calendar / CALLS);
+                }
+            }
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    // fires every 37 minutes between 08:00 and 17:00 on weekdays
+    private static DailyTimeIntervalTriggerImpl newTrigger(long start) {
+        DailyTimeIntervalTriggerImpl trigger = new DailyTimeIntervalTriggerImpl();
+        trigger.setStartTime(new Date(start));
+        trigger.setStartTimeOfDay(new TimeOfDay(8, 0, 0));
+        trigger.setEndTimeOfDay(new TimeOfDay(17, 0, 0));
+        trigger.setDaysOfWeek(DailyTimeIntervalScheduleBuilder.MONDAY_THROUGH_FRIDAY);
+        trigger.setRepeatIntervalUnit(IntervalUnit.MINUTE);
+        trigger.setRepeatInterval(37);
+        return trigger;
+    }
+
+    private long measure(DailyTimeIntervalTriggerImpl trigger, Date after, boolean computed, boolean chain, int calls) {
+        Date time = after;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            Date next = computed ? trigger.getFireTimeAfter(time) : trigger.getFireTimeAfterUsingCalendar(time);
+            if (chain) {
+                time = next;
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
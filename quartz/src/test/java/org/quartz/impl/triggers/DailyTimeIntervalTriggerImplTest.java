@@ -24,7 +24,9 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.TimeZone;
 
 
 import org.junit.jupiter.api.Test;
@@ -39,6 +41,8 @@ import org.quartz.SchedulerException;
 import org.quartz.TimeOfDay;
 import org.quartz.TriggerUtils;
 import org.quartz.impl.calendar.CronCalendar;
+import org.quartz.impl.calendar.DailyCalendar;
+import org.quartz.impl.calendar.WeeklyCalendar;
 
 /**
  * Unit test for {@link DailyTimeIntervalTriggerImpl}.
@@ -655,4 +659,105 @@ class DailyTimeIntervalTriggerImplTest  {
         DailyTimeIntervalTriggerImpl trigger = new DailyTimeIntervalTriggerImpl();
         assertThrows(IllegalArgumentException.class, () -> trigger.setRepeatInterval(repeatInterval));
     }
+
+  @Test
+  void testMatchesCalendarComputation() {
+    String[] zones = {"UTC", "America/New_York", "Europe/London", "Australia/Lord_Howe",
+        "Asia/Kolkata", "America/Sao_Paulo", "Pacific/Apia", "Asia/Gaza"};
+    IntervalUnit[] units = {IntervalUnit.SECOND, IntervalUnit.MINUTE, IntervalUnit.HOUR};
+    Random random = new Random(20240801L);
+    TimeZone defaultTimeZone = TimeZone.getDefault();
+    try {
+      for (int i = 0; i < 3000; i++) {
+        TimeZone.setDefault(TimeZone.getTimeZone(zones[random.nextInt(zones.length)]));
+        DailyTimeIntervalTriggerImpl trigger = new DailyTimeIntervalTriggerImpl();
+        long start = Date.UTC(80, 0, 1, 0, 0, 0) + (long) (random.nextDouble() * 50 * 365 * 86400000L);
+        trigger.setStartTime(new Date(start));
+        if (random.nextInt(4) == 0) {
+          trigger.setEndTime(new Date(start + random.nextInt(400) * 86400000L));
+        }
+        TimeOfDay startTimeOfDay = new TimeOfDay(random.nextInt(12), random.nextInt(60), random.nextInt(60));
+        trigger.setStartTimeOfDay(startTimeOfDay);
+        if (random.nextBoolean()) {
+          trigger.setEndTimeOfDay(new TimeOfDay(startTimeOfDay.getHour() + random.nextInt(12), random.nextInt(60), 0));
+        }
+        Set<Integer> daysOfWeek = new HashSet<Integer>();
+        daysOfWeek.add(1 + random.nextInt(7));
+        while (random.nextBoolean()) {
+          daysOfWeek.add(1 + random.nextInt(7));
+        }
+        trigger.setDaysOfWeek(daysOfWeek);
+        trigger.setRepeatIntervalUnit(units[random.nextInt(units.length)]);
+        trigger.setRepeatInterval(random.nextInt(3) == 0 ? 1 + random.nextInt(5000) : 1 + random.nextInt(90));
+        Date after = new Date(start + (long) (random.nextDouble() * 3 * 365 * 86400000L) - 86400000L);
+        assertSameFireTimes(trigger, after, 8);
+      }
+    } finally {
+      TimeZone.setDefault(defaultTimeZone);
+    }
+  }
+
+  @Test
+  void testMatchesCalendarComputationAcrossTransitions() {
+    TimeZone defaultTimeZone = TimeZone.getDefault();
+    try {
+      for (String zone : new String[] {"America/New_York", "Europe/London", "Australia/Lord_Howe"}) {
+        TimeZone.setDefault(TimeZone.getTimeZone(zone));
+        for (int hour = 0; hour < 4; hour++) {
+          DailyTimeIntervalTriggerImpl trigger = new DailyTimeIntervalTriggerImpl();
+          trigger.setStartTime(dateOf(0, 0, 0, 1, 1, 2011));
+          trigger.setStartTimeOfDay(new TimeOfDay(hour, 30, 0));
+          trigger.setRepeatIntervalUnit(IntervalUnit.MINUTE);
+          trigger.setRepeatInterval(45);
+          assertSameFireTimes(trigger, dateOf(0, 0, 0, 1, 1, 2011), 2000);
+        }
+      }
+    } finally {
+      TimeZone.setDefault(defaultTimeZone);
+    }
+  }
+
+  @Test
+  void testTriggeredSkipsExcludedRanges() {
+    DailyCalendar lunchBreak = new DailyCalendar(new WeeklyCalendar(), "11:59:30", "13:00:00");
+    DailyTimeIntervalTriggerImpl trigger = new DailyTimeIntervalTriggerImpl();
+    trigger.setStartTime(dateOf(0, 0, 0, 1, 1, 2011));
+    trigger.setStartTimeOfDay(new TimeOfDay(8, 0, 0));
+    trigger.setEndTimeOfDay(new TimeOfDay(17, 0, 0));
+    trigger.setRepeatIntervalUnit(IntervalUnit.SECOND);
+    trigger.setRepeatInterval(1);
+    Date fireTime = trigger.computeFirstFireTime(lunchBreak);
+
+    for (int i = 0; i < 10; i++) {
+      // the last fire time before the lunch break of the day
+      Calendar cal = Calendar.getInstance();
+      cal.setTime(fireTime);
+      cal.set(Calendar.HOUR_OF_DAY, 11);
+      cal.set(Calendar.MINUTE, 59);
+      cal.set(Calendar.SECOND, 29);
+      Date lastFireTime = cal.getTime();
+      trigger.setNextFireTime(lastFireTime);
+
+      // stepping through every fire time, as the trigger used to
+      Date expected = lastFireTime;
+      do {
+        expected = trigger.getFireTimeAfter(expected);
+      } while (!lunchBreak.isTimeIncluded(expected.getTime()));
+
+      trigger.triggered(lunchBreak);
+      assertEquals(expected, trigger.getNextFireTime());
+      fireTime = new Date(expected.getTime() + 86400000L);
+    }
+  }
+
+  private static void assertSameFireTimes(DailyTimeIntervalTriggerImpl trigger, Date after, int count) {
+    for (int i = 0; i < count && after != null; i++) {
+      Date expected = trigger.getFireTimeAfterUsingCalendar(after);
+      assertEquals(expected, trigger.getFireTimeAfter(after),
+          "every " + trigger.getRepeatInterval() + " " + trigger.getRepeatIntervalUnit()
+          + " from " + trigger.getStartTime().getTime() + " in " + TimeZone.getDefault().getID()
+          + " after " + after.getTime());
+      after = expected;
+    }
+  }
 }
@@ -0,0 +1,76 @@
+/* 
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ * Copyright IBM Corp. 2024, 2025
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not 
+ * use this file except in compliance with the License. You may obtain a copy 
+ * of the License at 
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0 
+ *   
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT 
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the 
+ * License for the specific language governing permissions and limitations 
+ * under the License.
+ */
+package org.quartz.simpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for CompactFireInstanceIdGenerator.
+ */
+class CompactFireInstanceIdGeneratorTest {
+
+    @Test
+    void testIdsArePrefixedWithTheInstanceId() {
+        CompactFireInstanceIdGenerator gen = new CompactFireInstanceIdGenerator();
+        gen.initialize("node1");
+
+        String id = gen.generateFireInstanceId();
+
+        assertTrue(id.startsWith("node1-"), id);
+        assertTrue(id.length() <= "node1-".length() + 9, id);
+    }
+
+    @Test
+    void testIdsWithoutInstanceId() {
+        CompactFireInstanceIdGenerator gen = new CompactFireInstanceIdGenerator();
+        gen.initialize(null);
+
+        String first = gen.generateFireInstanceId();
+        String second = gen.generateFireInstanceId();
+
+        assertEquals(Long.parseLong(first, Character.MAX_RADIX) + 1, Long.parseLong(second, Character.MAX_RADIX));
+    }
+
+    @Test
+    void testIdsAreUniqueAcrossThreads() throws Exception {
+        final CompactFireInstanceIdGenerator gen = new CompactFireInstanceIdGenerator();
+        gen.initialize("node1");
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    ids.add(gen.generateFireInstanceId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(40000, ids.size());
+    }
+}
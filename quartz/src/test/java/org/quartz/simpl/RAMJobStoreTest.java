@@ -16,11 +16,23 @@
  */
 package org.quartz.simpl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.junit.jupiter.api.Test;
 import org.quartz.AbstractJobStoreTest;
+import org.quartz.DateBuilder;
+import org.quartz.impl.JobDetailImpl;
+import org.quartz.impl.calendar.BaseCalendar;
+import org.quartz.impl.triggers.SimpleTriggerImpl;
 import org.quartz.spi.JobStore;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredResult;
 
 public class RAMJobStoreTest extends AbstractJobStoreTest {
     private HashMap<String, JobStore> stores = new HashMap<>();
@@ -41,4 +53,41 @@ public class RAMJobStoreTest extends AbstractJobStoreTest {
         return stores;
     }
 
+    @Test
+    void testTriggersFiredCopiesUncompiledCalendarOnce() throws Exception {
+        RAMJobStore store = new RAMJobStore();
+        store.initialize(null, null);
+        JobDetailImpl job = new JobDetailImpl("job", "group", MyJob.class);
+        job.setDurability(true);
+        store.storeJob(job, false);
+        CloneCountingCalendar calendar = new CloneCountingCalendar();
+        store.storeCalendar("uncompiled", calendar, false, false);
+
+        Date fireTime = DateBuilder.evenMinuteDateAfterNow();
+        SimpleTriggerImpl trigger = new SimpleTriggerImpl("trigger", "group", "job", "group",
+                fireTime, null, 2, 2000);
+        trigger.setCalendarName("uncompiled");
+        trigger.computeFirstFireTime(calendar);
+        store.storeTrigger(trigger, false);
+
+        List<OperableTrigger> acquired = store.acquireNextTriggers(fireTime.getTime() + 10000, 1, 0L);
+        calendar.clones[0] = 0;
+        List<TriggerFiredResult> fired = store.triggersFired(acquired);
+
+        assertEquals(1, calendar.clones[0]);
+        assertSame(CloneCountingCalendar.class, fired.get(0).getTriggerFiredBundle().getCalendar().getClass());
+        assertEquals(new Date(fireTime.getTime() + 2000), store.retrieveTrigger(trigger.getKey()).getNextFireTime());
+    }
+
+    // not one of the built-in calendars, so it is never compiled
+    private static class CloneCountingCalendar extends BaseCalendar {
+        private int[] clones = new int[1];
+
+        @Override
+        public Object clone() {
+            clones[0]++;
+            return super.clone();
+        }
+    }
+
 }